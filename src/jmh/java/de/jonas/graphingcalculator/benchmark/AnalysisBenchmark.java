@@ -0,0 +1,102 @@
+package de.jonas.graphingcalculator.benchmark;
+
+import de.jonas.graphingcalculator.expression.CompiledFunction;
+import de.jonas.graphingcalculator.expression.FunctionCache;
+import de.jonas.graphingcalculator.handler.FunctionHandler;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Misst, wie lange das Bestimmen der Nullstellen, Extremstellen und Wendepunkte einer Funktion dauert. Da ein
+ * {@link FunctionHandler} alle Ergebnisse zwischenspeichert, wird in jedem Aufruf ein neuer {@link FunctionHandler}
+ * erzeugt, dessen symbolische Ableitungen bereits gebildet wurden, sodass nur die Analyse selbst gemessen wird. Ob die
+ * Ergebnisse der Analyse korrekt sind, wird von den Tests geprüft.
+ */
+@NotNull
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnalysisBenchmark {
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Die Funktion, die analysiert wird. */
+    @Param({"x^3-2x+1", "sin(x)*cos(x)+tan(x/2)", "1/(x-3)", "x^4-5x^2+4", "(x-1)^2", "x^4-2x^2+1"})
+    public String function;
+    /** Die Skalierung der x- und y-Achse. */
+    @Param({"10", "100"})
+    public int scaling;
+    /** Die eingelesene Funktion, die analysiert wird. */
+    private CompiledFunction compiledFunction;
+    //</editor-fold>
+
+
+    /**
+     * Liest die Funktion ein und bildet vorab alle Ableitungen, die für die Analyse benötigt werden.
+     */
+    @Setup
+    public void setup() {
+        this.compiledFunction = FunctionCache.get(this.function);
+        this.compiledFunction.getDerivative(2);
+    }
+
+    /**
+     * Misst {@link FunctionHandler#getRoots()}.
+     *
+     * @return Alle Nullstellen der Funktion.
+     */
+    @Benchmark
+    public Map<Double, Double> roots() {
+        return createFunctionHandler().getRoots();
+    }
+
+    /**
+     * Misst {@link FunctionHandler#getExtremes()}.
+     *
+     * @return Alle Extremstellen der Funktion.
+     */
+    @Benchmark
+    public Map<Double, Double> extremes() {
+        return createFunctionHandler().getExtremes();
+    }
+
+    /**
+     * Misst {@link FunctionHandler#getTurningPoints()}.
+     *
+     * @return Alle Wendepunkte der Funktion.
+     */
+    @Benchmark
+    public Map<Double, Double> turningPoints() {
+        return createFunctionHandler().getTurningPoints();
+    }
+
+    //<editor-fold desc="utility">
+
+    /**
+     * Erzeugt einen neuen {@link FunctionHandler}, der noch keine Ergebnisse zwischengespeichert hat. Dies ist deutlich
+     * schneller als die gemessene Analyse, sodass hierfür kein eigener Aufruf vor jeder Messung nötig ist.
+     *
+     * @return Ein neuer {@link FunctionHandler} für die analysierte Funktion.
+     */
+    @NotNull
+    private FunctionHandler createFunctionHandler() {
+        return new FunctionHandler(this.compiledFunction, -this.scaling, this.scaling, this.scaling, false);
+    }
+    //</editor-fold>
+
+}
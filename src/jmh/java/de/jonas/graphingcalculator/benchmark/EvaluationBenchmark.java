@@ -0,0 +1,166 @@
+package de.jonas.graphingcalculator.benchmark;
+
+import de.jonas.graphingcalculator.expression.BatchEvaluator;
+import de.jonas.graphingcalculator.expression.CompiledFunction;
+import de.jonas.graphingcalculator.expression.ExpressionParser;
+import de.jonas.graphingcalculator.expression.FunctionCache;
+import de.jonas.graphingcalculator.handler.FunctionHandler;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Misst, wie lange das Einlesen und Ausrechnen von Termen eines repräsentativen Korpus dauert.
+ */
+@NotNull
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EvaluationBenchmark {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Die Anzahl an x-Werten, an denen eine eingelesene Funktion in einem Durchlauf ausgerechnet wird. */
+    private static final int SAMPLE_AMOUNT = 1000;
+    //</editor-fold>
+
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Der Term, der eingelesen und ausgerechnet wird. */
+    @Param({
+        "2+3*4-5/6",
+        "sin(π/4)^2+cos(π/4)^2",
+        "sqrt(2)*ln(10)/log(100)",
+        "x^3-2x+1",
+        "sin(x)*cos(x)+tan(x/2)",
+        "1/(x-3)",
+        "sqrt(x^2+1)-e^(-x^2)"
+    })
+    public String term;
+    /** Die bereits eingelesene Funktion des Terms. */
+    private CompiledFunction function;
+    /** Die x-Werte, an denen die eingelesene Funktion in einem Durchlauf ausgerechnet wird. */
+    private double[] xValues;
+    /** Die Funktionswerte, die in einem Durchlauf berechnet werden. */
+    private double[] yValues;
+    /** Der Arbeitsspeicher des {@link BatchEvaluator}. */
+    private double[] batchWorkspace;
+    //</editor-fold>
+
+
+    /**
+     * Liest den Term einmalig ein, damit das reine Ausrechnen unabhängig vom Einlesen gemessen werden kann.
+     */
+    @Setup
+    public void setup() {
+        this.function = CompiledFunction.compile(this.term);
+        this.xValues = new double[SAMPLE_AMOUNT];
+        this.yValues = new double[SAMPLE_AMOUNT];
+        this.batchWorkspace = this.function.getBatchEvaluator().createWorkspace();
+
+        for (int i = 0; i < SAMPLE_AMOUNT; i++) {
+            this.xValues[i] = -10 + i * (20D / SAMPLE_AMOUNT);
+        }
+    }
+
+    /**
+     * Misst {@link FunctionHandler#eval(String)}, also das einmalige Ausrechnen des Terms, welcher nach dem ersten
+     * Aufruf dem {@link FunctionCache} entnommen wird.
+     *
+     * @return Das Ergebnis des Terms.
+     */
+    @Benchmark
+    public double eval() {
+        return FunctionHandler.eval(this.term);
+    }
+
+    /**
+     * Misst das vollständige Einlesen, Optimieren und Übersetzen des Terms ohne den {@link FunctionCache}.
+     *
+     * @return Die eingelesene Funktion.
+     */
+    @Benchmark
+    public CompiledFunction compile() {
+        return CompiledFunction.compile(this.term);
+    }
+
+    /**
+     * Misst das reine Einlesen des Terms in einen Syntaxbaum.
+     *
+     * @return Der eingelesene Syntaxbaum.
+     */
+    @Benchmark
+    public Object parse() {
+        return ExpressionParser.parse(this.term);
+    }
+
+    /**
+     * Misst das Ausrechnen der bereits eingelesenen Funktion an {@value SAMPLE_AMOUNT} verschiedenen x-Werten.
+     *
+     * @param blackhole Das {@link Blackhole}, welches alle Ergebnisse aufnimmt.
+     */
+    @Benchmark
+    @OperationsPerInvocation(SAMPLE_AMOUNT)
+    public void evaluate(@NotNull final Blackhole blackhole) {
+        for (int i = 0; i < SAMPLE_AMOUNT; i++) {
+            blackhole.consume(this.function.applyAsDouble(-10 + i * (20D / SAMPLE_AMOUNT)));
+        }
+    }
+
+    /**
+     * Misst {@link CompiledFunction#evaluate(double[], double[])}, also das Ausrechnen der bereits eingelesenen
+     * Funktion an {@value SAMPLE_AMOUNT} verschiedenen x-Werten mit einem einzigen Aufruf.
+     *
+     * @return Alle berechneten Funktionswerte.
+     */
+    @Benchmark
+    @OperationsPerInvocation(SAMPLE_AMOUNT)
+    public double[] evaluateArray() {
+        this.function.evaluate(this.xValues, this.yValues);
+        return this.yValues;
+    }
+
+    /**
+     * Misst den {@link BatchEvaluator}, welcher jeden Knoten des Terms für einen ganzen Block an x-Werten auf einmal
+     * ausrechnet und genutzt wird, wenn der Term nicht in eine eigene Klasse übersetzt werden kann.
+     *
+     * @return Alle berechneten Funktionswerte.
+     */
+    @Benchmark
+    @OperationsPerInvocation(SAMPLE_AMOUNT)
+    public double[] evaluateBatch() {
+        this.function.getBatchEvaluator().evaluate(this.xValues, this.yValues, 0, SAMPLE_AMOUNT, this.batchWorkspace);
+        return this.yValues;
+    }
+
+    /**
+     * Misst das Ausrechnen der bereits eingelesenen Funktion durch rekursives Durchlaufen des Syntaxbaums, welches
+     * der {@link BatchEvaluator} ersetzt.
+     *
+     * @return Alle berechneten Funktionswerte.
+     */
+    @Benchmark
+    @OperationsPerInvocation(SAMPLE_AMOUNT)
+    public double[] evaluateTree() {
+        for (int i = 0; i < SAMPLE_AMOUNT; i++) {
+            this.yValues[i] = this.function.getRoot().evaluate(this.xValues[i]);
+        }
+        return this.yValues;
+    }
+
+}
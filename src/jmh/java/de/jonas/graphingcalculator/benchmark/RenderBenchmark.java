@@ -0,0 +1,109 @@
+package de.jonas.graphingcalculator.benchmark;
+
+import de.jonas.graphingcalculator.handler.FunctionHandler;
+import de.jonas.graphingcalculator.object.DrawFunction;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Misst, wie lange das Zeichnen einer Funktion mithilfe von {@link DrawFunction#getGraphicsAsImage()} ohne Bildschirm
+ * dauert. Alle Funktionswerte werden vorab berechnet, sodass nur das Zeichnen selbst gemessen wird.
+ */
+@NotNull
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RenderBenchmark {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Die Breite, mit der die Funktion gezeichnet wird. */
+    private static final int WIDTH = 800;
+    /** Die Höhe, mit der die Funktion gezeichnet wird. */
+    private static final int HEIGHT = 829;
+    //</editor-fold>
+
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Die Funktion, die gezeichnet wird. */
+    @Param({"x^3-2x+1", "sin(x)*cos(x)+tan(x/2)", "1/(x-3)"})
+    public String function;
+    /** Die Skalierung der x- und y-Achse. */
+    @Param({"10", "100"})
+    public int scaling;
+    /** Der {@link FunctionHandler}, dessen Funktionswerte bereits berechnet wurden. */
+    private FunctionHandler functionHandler;
+    /** Das {@link DrawFunction}, dessen Ebenen bereits gezeichnet wurden. */
+    private DrawFunction cachedDrawFunction;
+    //</editor-fold>
+
+
+    /**
+     * Berechnet alle Funktionswerte und besonderen Punkte der Funktion vorab und zeichnet einmalig alle Ebenen des
+     * zwischengespeicherten {@link DrawFunction}.
+     */
+    @Setup
+    public void setup() {
+        this.functionHandler = new FunctionHandler(this.function, this.scaling, this.scaling);
+        this.cachedDrawFunction = createDrawFunction();
+        this.cachedDrawFunction.calculateSpecialPoints();
+        this.cachedDrawFunction.getGraphicsAsImage();
+    }
+
+    /**
+     * Misst das vollständige Zeichnen der Funktion, ihrer Ableitungen und ihrer besonderen Punkte.
+     *
+     * @return Die gezeichnete Funktion in Form eines Bildes.
+     */
+    @Benchmark
+    public BufferedImage fullRender() {
+        return createDrawFunction().getGraphicsAsImage();
+    }
+
+    /**
+     * Misst das Zusammensetzen eines Bildes aus bereits gezeichneten Ebenen, wie es bei jeder Bewegung der Maus
+     * geschieht.
+     *
+     * @return Die gezeichnete Funktion in Form eines Bildes.
+     */
+    @Benchmark
+    public BufferedImage cachedRender() {
+        return this.cachedDrawFunction.getGraphicsAsImage();
+    }
+
+    /**
+     * Erzeugt ein neues {@link DrawFunction}, welches die Funktion samt Ableitungen und besonderen Punkten zeichnet.
+     *
+     * @return Das neue {@link DrawFunction}.
+     */
+    @NotNull
+    private DrawFunction createDrawFunction() {
+        final DrawFunction drawFunction = new DrawFunction(this.functionHandler, this.scaling, this.scaling);
+
+        drawFunction.showFunctionValues();
+        drawFunction.setBounds(0, 0, WIDTH, HEIGHT);
+        drawFunction.setEnableRoots(true);
+        drawFunction.setEnableExtremes(true);
+        drawFunction.setEnableTurningPoints(true);
+        drawFunction.setEnableSaddlePoints(true);
+        drawFunction.getDerivations().values().forEach(derivation -> derivation.setDraw(true));
+
+        return drawFunction;
+    }
+
+}
@@ -0,0 +1,111 @@
+package de.jonas.graphingcalculator.benchmark;
+
+import de.jonas.graphingcalculator.expression.CompiledFunction;
+import de.jonas.graphingcalculator.handler.FunctionHandler;
+import de.jonas.graphingcalculator.object.SampledFunction;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Misst, wie lange das Abtasten einer Funktion und das Berechnen ihrer Ableitung bei verschiedenen Skalierungen der
+ * x-Achse dauert. Da ein {@link FunctionHandler} alle Funktionswerte zwischenspeichert, wird für jeden Durchlauf ein
+ * neuer {@link FunctionHandler} erzeugt.
+ */
+@NotNull
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SamplingBenchmark {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Die Anzahl an Pixel-Spalten und -Zeilen, auf welche die Funktion adaptiv abgetastet wird. */
+    private static final int PLOT_SIZE = 700;
+    //</editor-fold>
+
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Die Funktion, die abgetastet wird. */
+    @Param({"x^3-2x+1", "sin(x)*cos(x)+tan(x/2)", "1/(x-3)", "sqrt(x^2+1)-e^(-x^2)"})
+    public String function;
+    /** Die Skalierung der x- und y-Achse. */
+    @Param({"10", "100", "1000"})
+    public int scaling;
+    /** Die bereits abgetasteten Funktionswerte, aus denen die Ableitung berechnet wird. */
+    private SampledFunction functionValues;
+    /** Die bereits eingelesene Funktion, deren Ableitungen exakt berechnet werden. */
+    private CompiledFunction compiledFunction;
+    //</editor-fold>
+
+
+    /**
+     * Tastet die Funktion einmalig ab, damit das Berechnen der Ableitung unabhängig vom Abtasten gemessen werden kann.
+     */
+    @Setup
+    public void setup() {
+        final FunctionHandler functionHandler = new FunctionHandler(this.function, this.scaling, this.scaling);
+
+        this.functionValues = functionHandler.getFunctionValues();
+        this.compiledFunction = functionHandler.getCompiledFunction();
+    }
+
+    /**
+     * Misst {@link FunctionHandler#getFunctionValues()}, also das gleichmäßige Abtasten der Funktion.
+     *
+     * @return Die abgetasteten Funktionswerte.
+     */
+    @Benchmark
+    public SampledFunction functionValues() {
+        return new FunctionHandler(this.function, this.scaling, this.scaling).getFunctionValues();
+    }
+
+    /**
+     * Misst {@link FunctionHandler#getAdaptiveFunctionValues(int, int)}, also das an die Pixel angepasste Abtasten
+     * der Funktion.
+     *
+     * @return Die abgetasteten Funktionswerte.
+     */
+    @Benchmark
+    public SampledFunction adaptiveFunctionValues() {
+        return new FunctionHandler(this.function, this.scaling, this.scaling)
+            .getAdaptiveFunctionValues(PLOT_SIZE, PLOT_SIZE);
+    }
+
+    /**
+     * Misst {@link FunctionHandler#getDerivationValues(SampledFunction)}, also das Berechnen der Ableitung aus bereits
+     * abgetasteten Funktionswerten.
+     *
+     * @return Die Funktionswerte der Ableitung.
+     */
+    @Benchmark
+    public SampledFunction derivationValues() {
+        return FunctionHandler.getDerivationValues(this.functionValues);
+    }
+
+    /**
+     * Misst {@link FunctionHandler#getDerivationValues(CompiledFunction, SampledFunction, int)}, also das exakte
+     * Berechnen aller drei Ableitungen an den bereits abgetasteten x-Werten.
+     *
+     * @return Die Funktionswerte aller drei Ableitungen.
+     */
+    @Benchmark
+    public List<SampledFunction> exactDerivationValues() {
+        return FunctionHandler.getDerivationValues(this.compiledFunction, this.functionValues, 3);
+    }
+
+}
@@ -0,0 +1,154 @@
+package de.jonas.graphingcalculator.benchmark;
+
+import de.jonas.graphingcalculator.expression.CompiledFunction;
+import de.jonas.graphingcalculator.gui.ValueTableGui;
+import de.jonas.graphingcalculator.object.ValueTable;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Misst, wie lange das Erzeugen einer Wertetabelle im {@link ValueTableGui} dauert, also das Ausrechnen aller Werte
+ * und das Zeichnen der sichtbaren Zeilen der Tabelle.
+ */
+@NotNull
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class ValueTableBenchmark {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Der kleinste x-Wert der Wertetabelle. */
+    private static final double X_MIN = -5;
+    /** Die Anzahl an Zeilen, die auf einmal gezeichnet werden. */
+    private static final int PAGE_ROWS = 23;
+    /** Die Breite des Bildes, in welches die Zeilen gezeichnet werden. */
+    private static final int PAGE_WIDTH = 740;
+    /** Die Höhe des Bildes, in welches die Zeilen gezeichnet werden. */
+    private static final int PAGE_HEIGHT = PAGE_ROWS * 30;
+    //</editor-fold>
+
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Die Funktion, deren Wertetabelle erzeugt wird. */
+    @Param({"x^3-2x+1", "sin(x)*cos(x)+tan(x/2)"})
+    public String function;
+    /** Die Anzahl an Zeilen der Wertetabelle. */
+    @Param({"11", "1001", "20000001"})
+    public int rows;
+    /** Die bereits eingelesene Funktion. */
+    private CompiledFunction compiledFunction;
+    /** Das Bild, in welches die sichtbaren Zeilen gezeichnet werden. */
+    private BufferedImage page;
+    /** Der Index der ersten gezeichneten Zeile, welcher bei jedem Durchlauf weiter springt. */
+    private int firstRow;
+    //</editor-fold>
+
+
+    /**
+     * Liest die Funktion einmalig ein und erzeugt das Bild, in welches die sichtbaren Zeilen gezeichnet werden.
+     */
+    @Setup
+    public void setup() {
+        this.compiledFunction = CompiledFunction.compile(this.function);
+        this.page = new BufferedImage(PAGE_WIDTH, PAGE_HEIGHT, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    /**
+     * Misst das Erzeugen einer neuen Wertetabelle und das Zeichnen ihrer ersten sichtbaren Zeilen, also die Zeit, bis
+     * die Wertetabelle angezeigt wird. Diese ist unabhängig von der Anzahl an Zeilen.
+     *
+     * @return Das Bild mit den ersten sichtbaren Zeilen.
+     */
+    @Benchmark
+    public BufferedImage open() {
+        return drawPage(createValueTable(), 0);
+    }
+
+    /**
+     * Misst das Springen an eine beliebige Stelle einer bestehenden Wertetabelle und das Zeichnen der dort sichtbaren
+     * Zeilen, wobei die Funktionswerte dieser Zeilen in der Regel noch nicht berechnet wurden.
+     *
+     * @param state Die bereits erzeugte Wertetabelle.
+     *
+     * @return Das Bild mit den sichtbaren Zeilen.
+     */
+    @Benchmark
+    public BufferedImage jump(@NotNull final TableState state) {
+        this.firstRow = (int) ((this.firstRow + 7_919L * PAGE_ROWS) % Math.max(1, this.rows - PAGE_ROWS));
+
+        return drawPage(state.valueTable, this.firstRow);
+    }
+
+    /**
+     * Erzeugt eine neue Wertetabelle mit einer Schrittweite, die den Bereich von {@value X_MIN} bis {@code -X_MIN}
+     * in die gewünschte Anzahl an Zeilen aufteilt.
+     *
+     * @return Die neue Wertetabelle.
+     */
+    @NotNull
+    private ValueTable createValueTable() {
+        return new ValueTable(this.compiledFunction, X_MIN, -2 * X_MIN / (this.rows - 1), this.rows);
+    }
+
+    /**
+     * Zeichnet die sichtbaren Zeilen einer Wertetabelle ab einer bestimmten Zeile in das Bild.
+     *
+     * @param valueTable Die Wertetabelle.
+     * @param row        Der Index der ersten gezeichneten Zeile.
+     *
+     * @return Das Bild mit den sichtbaren Zeilen.
+     */
+    @NotNull
+    private BufferedImage drawPage(@NotNull final ValueTable valueTable, final int row) {
+        final Graphics2D g = this.page.createGraphics();
+
+        try {
+            ValueTableGui.drawValueTable(g, valueTable, row, PAGE_ROWS);
+        } finally {
+            g.dispose();
+        }
+
+        return this.page;
+    }
+
+
+    /**
+     * Der Zustand, in dem eine Wertetabelle einmalig je Durchlauf erzeugt wird, damit beim Springen bereits berechnete
+     * Blöcke wiederverwendet werden können.
+     */
+    @State(Scope.Thread)
+    public static class TableState {
+
+        /** Die bereits erzeugte Wertetabelle. */
+        private ValueTable valueTable;
+
+        /**
+         * Erzeugt die Wertetabelle für die aktuellen Parameter.
+         *
+         * @param benchmark Der Benchmark, dessen Parameter genutzt werden.
+         */
+        @Setup
+        public void setup(@NotNull final ValueTableBenchmark benchmark) {
+            this.valueTable = benchmark.createValueTable();
+        }
+
+    }
+
+}
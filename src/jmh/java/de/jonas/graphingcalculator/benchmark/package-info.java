@@ -0,0 +1,6 @@
+/**
+ * In diesem package befinden sich alle JMH-Benchmarks, mit denen die Geschwindigkeit des Einlesens, Ausrechnens,
+ * Abtastens, Analysierens und Zeichnens von Funktionen gemessen werden kann. Die Benchmarks werden über das Profil
+ * {@code benchmark} als Test-Quellen gebaut und ausgeführt, sodass sie nicht Teil der jar-Datei sind.
+ */
+package de.jonas.graphingcalculator.benchmark;
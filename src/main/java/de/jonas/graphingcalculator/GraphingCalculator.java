@@ -1,8 +1,15 @@
 package de.jonas.graphingcalculator;
 
 import de.jonas.graphingcalculator.gui.MainGui;
+import de.jonas.graphingcalculator.handler.RenderHandler;
+import de.jonas.graphingcalculator.handler.ServerHandler;
+import de.jonas.graphingcalculator.object.RenderJob;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
 /**
  * <p>Ein {@link GraphingCalculator} ist eine grafische Oberfläche, auf der verschiedene mathematische Funktionen
  * gezeichnet werden können. Um diese Funktionen zu zeichnen werden verschiedene X- und Y-Werte der Funktionen
@@ -20,13 +27,43 @@ public class GraphingCalculator {
 
     /**
      * Die Main-Methode dieser {@link GraphingCalculator Anwendung}, die als erstes von der JRE aufgerufen wird und von
-     * der aus die gesamte Anwendung initialisiert bzw. instanziiert wird.
+     * der aus die gesamte Anwendung initialisiert bzw. instanziiert wird. Wird eine Auftragsdatei übergeben, werden
+     * alle darin beschriebenen Funktionen ohne grafische Oberfläche mithilfe des {@link RenderHandler} gezeichnet und
+     * als Bilder gespeichert; optional kann als zweites Argument der Ordner für die Bilder angegeben werden. Mit dem
+     * Argument {@code --server} und optional einem Port wird stattdessen der lokale HTTP-Server des
+     * {@link ServerHandler} gestartet.
      *
      * @param args Die Argumente, die von der JRE übergeben werden.
+     *
+     * @throws IOException Wird geworfen, wenn die Auftragsdatei nicht gelesen oder der Server nicht gestartet werden
+     *                     kann.
      */
-    public static void main(@NotNull final String @NotNull [] args) {
-        final MainGui gui = new MainGui();
-        gui.setVisible(true);
+    public static void main(@NotNull final String @NotNull [] args) throws IOException {
+        if (args.length == 0) {
+            final MainGui gui = new MainGui();
+            gui.setVisible(true);
+            return;
+        }
+
+        System.setProperty("java.awt.headless", "true");
+
+        if (args[0].equals("--server")) {
+            final ServerHandler server = new ServerHandler(
+                args.length > 1 ? Integer.parseInt(args[1]) : ServerHandler.DEFAULT_PORT
+            );
+            server.start();
+
+            System.out.println("Listening on http://localhost:" + server.getPort());
+            return;
+        }
+
+        final File jobFile = new File(args[0]);
+        final File outputDir = args.length > 1 ? new File(args[1]) : jobFile.getAbsoluteFile().getParentFile();
+        final List<RenderJob> jobs = RenderHandler.readJobs(jobFile, outputDir);
+        final int failures = RenderHandler.renderAll(jobs);
+
+        System.out.println((jobs.size() - failures) + "/" + jobs.size() + " images rendered");
+        System.exit(failures == 0 ? 0 : 1);
     }
     //</editor-fold>
 
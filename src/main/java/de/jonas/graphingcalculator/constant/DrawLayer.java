@@ -0,0 +1,37 @@
+package de.jonas.graphingcalculator.constant;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Eine {@link DrawLayer Ebene} beschreibt einen Teil der Grafiken eines
+ * {@link de.jonas.graphingcalculator.object.DrawFunction}, welcher einmalig in ein Bild gezeichnet wird und solange
+ * wiederverwendet wird, bis sich sein Inhalt ändert. Die Ebenen werden in der Reihenfolge ihrer Deklaration
+ * übereinander gezeichnet.
+ */
+@NotNull
+public enum DrawLayer {
+
+    //<editor-fold desc="VALUES">
+    /** Die {@link DrawLayer Ebene} für den Hintergrund, die Funktionsgleichung und das Koordinatensystem. */
+    COORDINATE_SYSTEM,
+    /** Die {@link DrawLayer Ebene} für die Funktion selbst. */
+    FUNCTION,
+    /** Die {@link DrawLayer Ebene} für alle weiteren Funktionen, die gemeinsam mit der Funktion gezeichnet werden. */
+    ADDITIONAL_FUNCTIONS,
+    /** Die {@link DrawLayer Ebene} für die Nullstellen der Funktion. */
+    ROOTS,
+    /** Die {@link DrawLayer Ebene} für die Extremstellen der Funktion. */
+    EXTREMES,
+    /** Die {@link DrawLayer Ebene} für die Wendepunkte der Funktion. */
+    TURNING_POINTS,
+    /** Die {@link DrawLayer Ebene} für die Sattelpunkte der Funktion. */
+    SADDLE_POINTS,
+    /** Die {@link DrawLayer Ebene} für die Schnittpunkte aller gezeichneten Funktionen. */
+    INTERSECTIONS,
+    /** Die {@link DrawLayer Ebene} für die vom Nutzer markierten Punkte. */
+    MARKED_POINTS,
+    /** Die {@link DrawLayer Ebene} für die angelegte Tangente. */
+    TANGENT;
+    //</editor-fold>
+
+}
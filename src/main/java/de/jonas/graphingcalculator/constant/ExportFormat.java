@@ -0,0 +1,67 @@
+package de.jonas.graphingcalculator.constant;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Ein {@link ExportFormat Format} beschreibt, in welcher Form Funktionswerte mithilfe des
+ * {@link de.jonas.graphingcalculator.handler.FileHandler} in eine Datei geschrieben werden. Jede Zeile besteht aus
+ * einem x-Wert, dem Funktionswert und - falls gewünscht - den Werten der Ableitungen an diesem x-Wert.
+ */
+@Getter
+@NotNull
+public enum ExportFormat {
+
+    //<editor-fold desc="VALUES">
+    /**
+     * Das {@link ExportFormat Format} für eine Textdatei, in der jede Zeile aus durch Kommas getrennten Werten besteht.
+     * Die erste Zeile enthält die Namen der Spalten, nicht definierte Werte werden als {@code NaN} geschrieben.
+     */
+    CSV("CSV", "csv"),
+    /**
+     * Das {@link ExportFormat Format} für eine kompakte Binärdatei, in der alle Zahlen im Little-Endian-Format stehen.
+     * Die Datei beginnt mit den vier Zeichen {@code GCV1}, gefolgt von der Anzahl an Spalten (4 Byte) und der Anzahl
+     * an Zeilen (8 Byte); danach folgen alle Werte Zeile für Zeile als 8 Byte lange Kommazahlen.
+     */
+    BINARY("Binär", "bin");
+    //</editor-fold>
+
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Der Name, mit dem dieses {@link ExportFormat Format} dem Nutzer angezeigt wird. */
+    @NotNull
+    private final String displayName;
+    /** Die Dateiendung, die Dateien in diesem {@link ExportFormat Format} besitzen. */
+    @NotNull
+    private final String extension;
+    //</editor-fold>
+
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Erzeugt eine neue und vollständig unabhängige Instanz eines {@link ExportFormat}. Ein
+     * {@link ExportFormat Format} beschreibt, in welcher Form Funktionswerte in eine Datei geschrieben werden.
+     *
+     * @param displayName Der Name, mit dem dieses Format dem Nutzer angezeigt wird.
+     * @param extension   Die Dateiendung, die Dateien in diesem Format besitzen.
+     */
+    ExportFormat(
+        @NotNull final String displayName,
+        @NotNull final String extension
+    ) {
+        this.displayName = displayName;
+        this.extension = extension;
+    }
+    //</editor-fold>
+
+
+    //<editor-fold desc="implementation">
+    @NotNull
+    @Override
+    public String toString() {
+        return this.displayName;
+    }
+    //</editor-fold>
+
+}
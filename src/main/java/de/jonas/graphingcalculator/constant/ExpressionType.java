@@ -0,0 +1,88 @@
+package de.jonas.graphingcalculator.constant;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Range;
+
+/**
+ * Ein {@link ExpressionType Typ} beschreibt die Art eines Knotens innerhalb eines eingelesenen Terms. Jeder Typ besitzt
+ * eine Anzahl an Operanden und - falls vorhanden - das Symbol bzw. den Namen, mit dem er in einem Term geschrieben
+ * wird.
+ */
+@Getter
+@NotNull
+public enum ExpressionType {
+
+    //<editor-fold desc="VALUES">
+    /** Der {@link ExpressionType Typ} für eine feste Zahl. */
+    CONSTANT(0, null),
+    /** Der {@link ExpressionType Typ} für die Variable x. */
+    VARIABLE(0, "x"),
+    /** Der {@link ExpressionType Typ} für eine Addition. */
+    ADD(2, "+"),
+    /** Der {@link ExpressionType Typ} für eine Subtraktion. */
+    SUBTRACT(2, "-"),
+    /** Der {@link ExpressionType Typ} für eine Multiplikation. */
+    MULTIPLY(2, "*"),
+    /** Der {@link ExpressionType Typ} für eine Division. */
+    DIVIDE(2, "/"),
+    /** Der {@link ExpressionType Typ} für eine Potenz. */
+    POWER(2, "^"),
+    /** Der {@link ExpressionType Typ} für ein negatives Vorzeichen. */
+    NEGATE(1, "-"),
+    /** Der {@link ExpressionType Typ} für eine Quadratwurzel. */
+    SQRT(1, "sqrt"),
+    /** Der {@link ExpressionType Typ} für den natürlichen Logarithmus. */
+    LN(1, "ln"),
+    /** Der {@link ExpressionType Typ} für den Logarithmus zur Basis 10. */
+    LOG(1, "log"),
+    /** Der {@link ExpressionType Typ} für den Sinus. */
+    SIN(1, "sin"),
+    /** Der {@link ExpressionType Typ} für den Cosinus. */
+    COS(1, "cos"),
+    /** Der {@link ExpressionType Typ} für den Tangens. */
+    TAN(1, "tan");
+    //</editor-fold>
+
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Die Anzahl an Operanden, die ein Knoten dieses {@link ExpressionType Typs} besitzt. */
+    @Range(from = 0, to = 2)
+    private final int operandAmount;
+    /** Das Symbol bzw. der Name, mit dem dieser {@link ExpressionType Typ} in einem Term geschrieben wird. */
+    @Nullable
+    private final String symbol;
+    //</editor-fold>
+
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Erzeugt eine neue und vollständig unabhängige Instanz eines {@link ExpressionType}. Ein
+     * {@link ExpressionType Typ} beschreibt die Art eines Knotens innerhalb eines eingelesenen Terms.
+     *
+     * @param operandAmount Die Anzahl an Operanden, die ein Knoten dieses Typs besitzt.
+     * @param symbol        Das Symbol bzw. der Name, mit dem dieser Typ in einem Term geschrieben wird.
+     */
+    ExpressionType(
+        @Range(from = 0, to = 2) final int operandAmount,
+        @Nullable final String symbol
+    ) {
+        this.operandAmount = operandAmount;
+        this.symbol = symbol;
+    }
+    //</editor-fold>
+
+
+    /**
+     * Gibt zurück, ob dieser {@link ExpressionType Typ} eine benannte Funktion (wie {@code sin} oder {@code sqrt})
+     * darstellt.
+     *
+     * @return Ob dieser {@link ExpressionType Typ} eine benannte Funktion darstellt.
+     */
+    public boolean isFunction() {
+        return this.operandAmount == 1 && this != NEGATE;
+    }
+
+}
@@ -0,0 +1,247 @@
+package de.jonas.graphingcalculator.expression;
+
+import de.jonas.graphingcalculator.constant.ExpressionType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Range;
+
+import java.util.Arrays;
+
+/**
+ * Mithilfe eines {@link BatchEvaluator} wird ein eingelesener Term für viele x-Werte gleichzeitig ausgerechnet. Statt
+ * den Term für jeden x-Wert einzeln auszurechnen, wird jeder Knoten nacheinander für einen ganzen Block an x-Werten
+ * ausgerechnet, sodass jede Rechenoperation zu einer einfachen Schleife über ein Array wird, welche die JVM
+ * vektorisieren kann. Ein {@link BatchEvaluator} ist unveränderbar und kann daher von mehreren Threads gleichzeitig
+ * genutzt werden, solange jeder Thread einen eigenen Arbeitsspeicher ({@link #createWorkspace()}) verwendet.
+ */
+@NotNull
+public final class BatchEvaluator {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Die Anzahl an x-Werten, für die jeder Knoten auf einmal ausgerechnet wird. */
+    public static final int BLOCK_SIZE = 256;
+    //</editor-fold>
+
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Der eingelesene Term in Form einer Liste, in der jeder Knoten nach seinen Operanden steht. */
+    @NotNull
+    private final ExpressionProgram program;
+    //</editor-fold>
+
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Erzeugt eine neue Instanz eines {@link BatchEvaluator} für einen eingelesenen Term. Der Baum aus
+     * {@link ExpressionNode Knoten} wird dabei einmalig in ein {@link ExpressionProgram} umgewandelt, sodass der Term
+     * ohne Rekursion ausgerechnet werden kann.
+     *
+     * @param root Der eingelesene Term in Form eines Baums aus {@link ExpressionNode Knoten}.
+     */
+    public BatchEvaluator(@NotNull final ExpressionNode root) {
+        this.program = new ExpressionProgram(root);
+    }
+    //</editor-fold>
+
+
+    /**
+     * Erzeugt einen neuen Arbeitsspeicher, in dem die Ergebnisse aller Knoten für einen Block an x-Werten abgelegt
+     * werden. Ein Arbeitsspeicher kann für beliebig viele Aufrufe von
+     * {@link #evaluate(double[], double[], int, int, double[])} wiederverwendet werden, darf aber nicht von mehreren
+     * Threads gleichzeitig genutzt werden.
+     *
+     * @return Ein neuer Arbeitsspeicher für diesen {@link BatchEvaluator}.
+     */
+    @NotNull
+    public double[] createWorkspace() {
+        return new double[this.program.size() * BLOCK_SIZE];
+    }
+
+    /**
+     * Rechnet den Term für einen einzelnen x-Wert aus. Dabei wird ein Arbeitsspeicher angelegt, der nur Platz für
+     * genau einen x-Wert pro Knoten bietet, sodass auch sehr große Terme ohne Rekursion ausgerechnet werden können.
+     *
+     * @param x Der x-Wert, welcher für die Variable eingesetzt wird.
+     *
+     * @return Das Ergebnis des Terms für den x-Wert.
+     */
+    public double evaluate(final double x) {
+        final double[] workspace = new double[this.program.size()];
+
+        evaluateBlock(new double[] {x}, 0, 1, workspace, 1);
+        return workspace[workspace.length - 1];
+    }
+
+    /**
+     * Rechnet den Term für alle x-Werte in einem bestimmten Bereich eines Arrays aus und schreibt die Funktionswerte
+     * an dieselben Indizes eines anderen Arrays.
+     *
+     * @param xValues   Das Array der x-Werte.
+     * @param yValues   Das Array, in welches die Funktionswerte geschrieben werden. Es darf dasselbe Array wie
+     *                  {@code xValues} sein.
+     * @param from      Der erste Index des Bereichs.
+     * @param to        Der Index hinter dem Ende des Bereichs.
+     * @param workspace Der Arbeitsspeicher, welcher mit {@link #createWorkspace()} erzeugt wurde.
+     */
+    public void evaluate(
+        @NotNull final double[] xValues,
+        @NotNull final double[] yValues,
+        @Range(from = 0, to = Integer.MAX_VALUE) final int from,
+        @Range(from = 0, to = Integer.MAX_VALUE) final int to,
+        @NotNull final double[] workspace
+    ) {
+        for (int start = from; start < to; start += BLOCK_SIZE) {
+            final int length = Math.min(BLOCK_SIZE, to - start);
+
+            evaluateBlock(xValues, start, length, workspace, BLOCK_SIZE);
+            System.arraycopy(workspace, (this.program.size() - 1) * BLOCK_SIZE, yValues, start, length);
+        }
+    }
+
+    /**
+     * Rechnet jeden Knoten nacheinander für einen Block an x-Werten aus.
+     *
+     * @param xValues   Das Array der x-Werte.
+     * @param start     Der erste Index des Blocks.
+     * @param length    Die Anzahl an x-Werten des Blocks.
+     * @param workspace Der Arbeitsspeicher.
+     * @param stride    Der Abstand zwischen den Ergebnissen zweier aufeinanderfolgender Knoten im Arbeitsspeicher.
+     */
+    private void evaluateBlock(
+        @NotNull final double[] xValues,
+        final int start,
+        final int length,
+        @NotNull final double[] workspace,
+        final int stride
+    ) {
+        final ExpressionType[] types = this.program.getTypes();
+        final double[] values = this.program.getValues();
+        final int[] leftIndices = this.program.getLeftIndices();
+        final int[] rightIndices = this.program.getRightIndices();
+
+        for (int node = 0; node < types.length; node++) {
+            final int out = node * stride;
+            final int left = leftIndices[node] * stride;
+            final int right = rightIndices[node] * stride;
+
+            switch (types[node]) {
+                case CONSTANT:
+                    Arrays.fill(workspace, out, out + length, values[node]);
+                    break;
+
+                case VARIABLE:
+                    System.arraycopy(xValues, start, workspace, out, length);
+                    break;
+
+                case ADD:
+                    for (int i = 0; i < length; i++) {
+                        workspace[out + i] = workspace[left + i] + workspace[right + i];
+                    }
+                    break;
+
+                case SUBTRACT:
+                    for (int i = 0; i < length; i++) {
+                        workspace[out + i] = workspace[left + i] - workspace[right + i];
+                    }
+                    break;
+
+                case MULTIPLY:
+                    for (int i = 0; i < length; i++) {
+                        workspace[out + i] = workspace[left + i] * workspace[right + i];
+                    }
+                    break;
+
+                case DIVIDE:
+                    for (int i = 0; i < length; i++) {
+                        workspace[out + i] = workspace[left + i] / workspace[right + i];
+                    }
+                    break;
+
+                case POWER:
+                    power(workspace, out, left, right, rightIndices[node], length);
+                    break;
+
+                case NEGATE:
+                    for (int i = 0; i < length; i++) {
+                        workspace[out + i] = -workspace[left + i];
+                    }
+                    break;
+
+                case SQRT:
+                    for (int i = 0; i < length; i++) {
+                        workspace[out + i] = Math.sqrt(workspace[left + i]);
+                    }
+                    break;
+
+                case LN:
+                    for (int i = 0; i < length; i++) {
+                        workspace[out + i] = Math.log(workspace[left + i]);
+                    }
+                    break;
+
+                case LOG:
+                    for (int i = 0; i < length; i++) {
+                        workspace[out + i] = Math.log10(workspace[left + i]);
+                    }
+                    break;
+
+                case SIN:
+                    for (int i = 0; i < length; i++) {
+                        workspace[out + i] = Math.sin(workspace[left + i]);
+                    }
+                    break;
+
+                case COS:
+                    for (int i = 0; i < length; i++) {
+                        workspace[out + i] = Math.cos(workspace[left + i]);
+                    }
+                    break;
+
+                case TAN:
+                    for (int i = 0; i < length; i++) {
+                        workspace[out + i] = Math.tan(workspace[left + i]);
+                    }
+                    break;
+
+                default:
+                    throw new IllegalStateException("Unknown expression type: " + types[node]);
+            }
+        }
+    }
+
+    /**
+     * Potenziert einen Block mit einem anderen. Ist der Exponent fest 2, wird die Potenz durch eine Multiplikation
+     * berechnet, sodass die Schleife vektorisiert werden kann; das Ergebnis ist dabei dasselbe wie bei
+     * {@link Math#pow(double, double)}.
+     *
+     * @param c            Der Arbeitsspeicher.
+     * @param out          Die Position des Ergebnisses im Arbeitsspeicher.
+     * @param a            Die Position der Basis im Arbeitsspeicher.
+     * @param b            Die Position des Exponenten im Arbeitsspeicher.
+     * @param exponentNode Der Index des Knotens, der den Exponenten ausrechnet.
+     * @param length       Die Anzahl an x-Werten des Blocks.
+     */
+    private void power(
+        @NotNull final double[] c,
+        final int out,
+        final int a,
+        final int b,
+        final int exponentNode,
+        final int length
+    ) {
+        final boolean square = this.program.getTypes()[exponentNode] == ExpressionType.CONSTANT
+            && this.program.getValues()[exponentNode] == 2;
+
+        if (square) {
+            for (int i = 0; i < length; i++) {
+                c[out + i] = c[a + i] * c[a + i];
+            }
+            return;
+        }
+
+        for (int i = 0; i < length; i++) {
+            c[out + i] = Math.pow(c[a + i], c[b + i]);
+        }
+    }
+
+}
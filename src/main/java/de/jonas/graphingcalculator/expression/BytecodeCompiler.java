@@ -0,0 +1,662 @@
+package de.jonas.graphingcalculator.expression;
+
+import de.jonas.graphingcalculator.constant.ExpressionType;
+import lombok.Getter;
+import lombok.Setter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Mithilfe des {@link BytecodeCompiler} wird ein eingelesener Term in eine eigene Klasse übersetzt, welche das
+ * Interface {@link DoubleUnaryOperator} implementiert. Der Term wird dadurch nicht mehr Knoten für Knoten
+ * ausgerechnet, sondern wie gewöhnlicher Java-Code von der JVM optimiert. Sofern die JVM dies unterstützt, wird die
+ * Klasse als versteckte Klasse ({@code Lookup#defineHiddenClass}) angelegt, ansonsten über einen eigenen
+ * {@link ClassLoader}. Die erzeugten Klassen werden nicht zwischengespeichert, sondern gehören zu ihrer
+ * {@link CompiledFunction}, sodass sie gemeinsam mit dieser von dem {@link FunctionCache} verworfen und anschließend
+ * entladen werden. Kommt ein Teilterm mehrfach als dieselbe Instanz vor (siehe {@link ExpressionOptimizer}), wird
+ * er nur einmal ausgerechnet und sein Ergebnis in einer lokalen Variable abgelegt. Da auch eine lange Summe wie
+ * {@code x + x + ... + x} einen sehr tiefen Baum ergibt, wird der Term dabei ohne Rekursion durchlaufen.
+ */
+@NotNull
+public final class BytecodeCompiler {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Der Name der System-Property, mit welcher der {@link BytecodeCompiler} ausgeschaltet werden kann. */
+    @NotNull
+    public static final String ENABLED_PROPERTY = "graphingcalculator.jit";
+    /** Der Präfix des Namens jeder erzeugten Klasse. */
+    @NotNull
+    private static final String CLASS_NAME = "de/jonas/graphingcalculator/expression/GeneratedFunction";
+    /** Die maximale Länge des Bytecodes einer Methode, die von der JVM erlaubt wird. */
+    private static final int MAX_CODE_LENGTH = 65535;
+    /** Die maximale Anzahl an Plätzen für lokale Variablen, die von der JVM erlaubt wird. */
+    private static final int MAX_LOCALS = 65535;
+    /** Die maximale Anzahl an Plätzen auf dem Operanden-Stack, die von der JVM erlaubt wird. */
+    private static final int MAX_STACK_SIZE = 65535;
+    /** Der erste Platz für lokale Variablen, welcher nicht von {@code this} und dem x-Wert belegt ist. */
+    private static final int FIRST_FREE_LOCAL = 3;
+    /** Der Zähler, mit dem jede erzeugte Klasse einen eindeutigen Namen erhält. */
+    @NotNull
+    private static final AtomicInteger CLASS_COUNTER = new AtomicInteger();
+    //</editor-fold>
+
+
+    //<editor-fold desc="STATIC FIELDS">
+    /** Der Zustand, ob Terme in eigene Klassen übersetzt oder nur Knoten für Knoten ausgerechnet werden sollen. */
+    @Getter
+    @Setter
+    private static boolean enabled = !"false".equalsIgnoreCase(System.getProperty(ENABLED_PROPERTY));
+    //</editor-fold>
+
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Alle Einträge des Konstanten-Pools der erzeugten Klasse. */
+    @NotNull
+    private final ByteArrayOutputStream constantPool = new ByteArrayOutputStream();
+    /** Die Indizes aller bereits angelegten Einträge des Konstanten-Pools. */
+    @NotNull
+    private final Map<String, Integer> constantIndices = new HashMap<>();
+    /** Der Bytecode der Methode {@code applyAsDouble}. */
+    @NotNull
+    private final ByteArrayOutputStream code = new ByteArrayOutputStream();
+    /** Die Anzahl, wie oft jeder Knoten als Operand eines anderen Knotens vorkommt. */
+    @NotNull
+    private final Map<ExpressionNode, Integer> useCounts = new IdentityHashMap<>();
+    /** Die Plätze der lokalen Variablen, in denen die Ergebnisse mehrfach genutzter Knoten abgelegt sind. */
+    @NotNull
+    private final Map<ExpressionNode, Integer> locals = new IdentityHashMap<>();
+    /** Der nächste freie Index im Konstanten-Pool. */
+    private int nextConstantIndex = 1;
+    /** Der nächste freie Platz für lokale Variablen. */
+    private int nextLocal = FIRST_FREE_LOCAL;
+    /** Die Anzahl an Plätzen, die nach dem bisher geschriebenen Bytecode auf dem Operanden-Stack belegt sind. */
+    private int stackSize;
+    /** Die größte Anzahl an Plätzen, die bisher auf dem Operanden-Stack belegt war. */
+    private int maxStackSize;
+    //</editor-fold>
+
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Erzeugt eine neue Instanz eines {@link BytecodeCompiler}, welcher genau eine Klasse erzeugt.
+     */
+    private BytecodeCompiler() {
+    }
+    //</editor-fold>
+
+
+    /**
+     * Erzeugt den vollständigen Inhalt einer Klassen-Datei, welche den Term in der Methode {@code applyAsDouble}
+     * ausrechnet.
+     *
+     * @param className Der interne Name der Klasse.
+     * @param root      Der Term, der ausgerechnet werden soll.
+     *
+     * @return Der Inhalt der Klassen-Datei; {@code null}, wenn der Term zu groß für eine einzelne Methode ist.
+     *
+     * @throws IOException Wird geworfen, wenn die Klassen-Datei nicht geschrieben werden kann.
+     */
+    @Nullable
+    private byte[] generate(
+        @NotNull final String className,
+        @NotNull final ExpressionNode root
+    ) throws IOException {
+        final int thisClass = classConstant(className);
+        final int superClass = classConstant("java/lang/Object");
+        final int interfaceClass = classConstant("java/util/function/DoubleUnaryOperator");
+        final int objectConstructor = methodConstant("java/lang/Object", "<init>", "()V");
+        final int codeName = utf8Constant("Code");
+        final int constructorName = utf8Constant("<init>");
+        final int constructorDescriptor = utf8Constant("()V");
+        final int methodName = utf8Constant("applyAsDouble");
+        final int methodDescriptor = utf8Constant("(D)D");
+
+        countUses(root);
+        emit(root);
+        this.code.write(0xAF); // dreturn
+
+        final boolean tooLarge = this.code.size() > MAX_CODE_LENGTH
+            || this.nextConstantIndex > 0xFFFF
+            || this.nextLocal > MAX_LOCALS
+            || this.maxStackSize > MAX_STACK_SIZE;
+
+        if (tooLarge) return null;
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(bytes);
+
+        // header and constant pool
+        out.writeInt(0xCAFEBABE);
+        out.writeShort(0);
+        out.writeShort(52);
+        out.writeShort(this.nextConstantIndex);
+        this.constantPool.writeTo(out);
+
+        // class information
+        out.writeShort(0x0001 | 0x0010 | 0x0020); // public final super
+        out.writeShort(thisClass);
+        out.writeShort(superClass);
+        out.writeShort(1);
+        out.writeShort(interfaceClass);
+        out.writeShort(0);
+
+        // methods
+        out.writeShort(2);
+
+        out.writeShort(0x0001); // public
+        out.writeShort(constructorName);
+        out.writeShort(constructorDescriptor);
+        out.writeShort(1);
+        out.writeShort(codeName);
+        out.writeInt(17);
+        out.writeShort(1);
+        out.writeShort(1);
+        out.writeInt(5);
+        out.writeByte(0x2A); // aload_0
+        out.writeByte(0xB7); // invokespecial
+        out.writeShort(objectConstructor);
+        out.writeByte(0xB1); // return
+        out.writeShort(0);
+        out.writeShort(0);
+
+        out.writeShort(0x0001 | 0x0010); // public final
+        out.writeShort(methodName);
+        out.writeShort(methodDescriptor);
+        out.writeShort(1);
+        out.writeShort(codeName);
+        out.writeInt(12 + this.code.size());
+        out.writeShort(this.maxStackSize);
+        out.writeShort(this.nextLocal);
+        out.writeInt(this.code.size());
+        this.code.writeTo(out);
+        out.writeShort(0);
+        out.writeShort(0);
+
+        // class attributes
+        out.writeShort(0);
+        out.flush();
+
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Zählt, wie oft jeder Knoten eines Terms als Operand eines anderen Knotens vorkommt. Die Operanden eines Knotens
+     * werden dabei nur beim ersten Vorkommen des Knotens gezählt, da er danach nicht erneut ausgerechnet wird.
+     *
+     * @param root Der oberste Knoten des Terms.
+     */
+    private void countUses(@NotNull final ExpressionNode root) {
+        final Deque<ExpressionNode> pending = new ArrayDeque<>();
+        pending.push(root);
+
+        while (!pending.isEmpty()) {
+            final ExpressionNode node = pending.pop();
+
+            if (this.useCounts.merge(node, 1, Integer::sum) > 1) continue;
+
+            if (node.getRight() != null) pending.push(node.getRight());
+            if (node.getLeft() != null) pending.push(node.getLeft());
+        }
+    }
+
+    /**
+     * Schreibt den Bytecode, der einen Term ausrechnet und das Ergebnis auf den Operanden-Stack legt. Jeder Knoten
+     * wird dabei nach seinen Operanden ausgerechnet. Wird ein Knoten mehrfach genutzt, wird sein Ergebnis beim ersten
+     * Mal zusätzlich in einer lokalen Variable abgelegt und bei jedem weiteren Mal nur noch aus dieser geladen.
+     *
+     * @param root Der oberste Knoten des Terms.
+     */
+    private void emit(@NotNull final ExpressionNode root) {
+        final Deque<ExpressionNode> pending = new ArrayDeque<>();
+        final Deque<Boolean> operandsEmitted = new ArrayDeque<>();
+        pending.push(root);
+        operandsEmitted.push(false);
+
+        while (!pending.isEmpty()) {
+            final ExpressionNode node = pending.pop();
+
+            if (operandsEmitted.pop()) {
+                emitOperation(node.getType());
+                storeShared(node);
+                continue;
+            }
+
+            final Integer local = this.locals.get(node);
+
+            if (local != null) {
+                emitLocal(0x18, local); // dload
+                changeStackSize(2);
+                continue;
+            }
+
+            if (node.getLeft() == null) {
+                emitOperand(node);
+                continue;
+            }
+
+            // emit the node itself once the first and then the second operand are on the operand stack
+            pending.push(node);
+            operandsEmitted.push(true);
+
+            if (node.getRight() != null) {
+                pending.push(node.getRight());
+                operandsEmitted.push(false);
+            }
+
+            pending.push(node.getLeft());
+            operandsEmitted.push(false);
+        }
+    }
+
+    /**
+     * Legt das Ergebnis eines Knotens, welches sich bereits auf dem Operanden-Stack befindet, zusätzlich in einer
+     * lokalen Variable ab, sofern der Knoten mehrfach genutzt wird.
+     *
+     * @param node Der Knoten, dessen Ergebnis sich auf dem Operanden-Stack befindet.
+     */
+    private void storeShared(@NotNull final ExpressionNode node) {
+        if (this.useCounts.get(node) < 2) return;
+
+        this.code.write(0x5C); // dup2
+        changeStackSize(2);
+        emitLocal(0x39, this.nextLocal); // dstore
+        changeStackSize(-2);
+        this.locals.put(node, this.nextLocal);
+        this.nextLocal += 2;
+    }
+
+    /**
+     * Schreibt den Bytecode, der einen Knoten ohne Operanden, also eine feste Zahl oder die Variable, auf den
+     * Operanden-Stack legt.
+     *
+     * @param node Der Knoten ohne Operanden.
+     */
+    private void emitOperand(@NotNull final ExpressionNode node) {
+        if (node.getType() == ExpressionType.VARIABLE) {
+            this.code.write(0x27); // dload_1
+        } else {
+            emitConstant(node.getValue());
+        }
+
+        changeStackSize(2);
+    }
+
+    /**
+     * Schreibt den Bytecode, der einen Knoten aus seinen Operanden, die sich bereits auf dem Operanden-Stack befinden,
+     * ausrechnet und die Operanden auf dem Operanden-Stack durch das Ergebnis ersetzt.
+     *
+     * @param type Der {@link ExpressionType Typ} des Knotens.
+     */
+    private void emitOperation(@NotNull final ExpressionType type) {
+        switch (type) {
+            case ADD:
+                this.code.write(0x63); // dadd
+                break;
+
+            case SUBTRACT:
+                this.code.write(0x67); // dsub
+                break;
+
+            case MULTIPLY:
+                this.code.write(0x6B); // dmul
+                break;
+
+            case DIVIDE:
+                this.code.write(0x6F); // ddiv
+                break;
+
+            case NEGATE:
+                this.code.write(0x77); // dneg
+                break;
+
+            case POWER:
+                emitMathCall("pow", "(DD)D");
+                break;
+
+            case SQRT:
+                emitMathCall("sqrt", "(D)D");
+                break;
+
+            case LN:
+                emitMathCall("log", "(D)D");
+                break;
+
+            case LOG:
+                emitMathCall("log10", "(D)D");
+                break;
+
+            case SIN:
+                emitMathCall("sin", "(D)D");
+                break;
+
+            case COS:
+                emitMathCall("cos", "(D)D");
+                break;
+
+            case TAN:
+                emitMathCall("tan", "(D)D");
+                break;
+
+            default:
+                throw new IllegalStateException("Unknown expression type: " + type);
+        }
+
+        // two operands are replaced by one result
+        if (type.getOperandAmount() == 2) changeStackSize(-2);
+    }
+
+    /**
+     * Verändert die Anzahl an Plätzen, die auf dem Operanden-Stack belegt sind, und merkt sich dabei die größte
+     * Anzahl.
+     *
+     * @param delta Die Anzahl an Plätzen, die hinzukommen bzw. - falls negativ - frei werden.
+     */
+    private void changeStackSize(final int delta) {
+        this.stackSize += delta;
+        this.maxStackSize = Math.max(this.maxStackSize, this.stackSize);
+    }
+
+    /**
+     * Schreibt den Bytecode, der eine feste Zahl auf den Operanden-Stack legt.
+     *
+     * @param value Die feste Zahl.
+     */
+    private void emitConstant(final double value) {
+        if (Double.doubleToRawLongBits(value) == 0L) {
+            this.code.write(0x0E); // dconst_0
+            return;
+        }
+
+        if (value == 1D) {
+            this.code.write(0x0F); // dconst_1
+            return;
+        }
+
+        final int index = doubleConstant(value);
+        this.code.write(0x14); // ldc2_w
+        this.code.write(index >> 8);
+        this.code.write(index);
+    }
+
+    /**
+     * Schreibt den Bytecode, der eine lokale Variable lädt oder ablegt. Liegt der Platz der Variable außerhalb eines
+     * Bytes, wird die Anweisung mit {@code wide} erweitert.
+     *
+     * @param opcode Die Anweisung ({@code dload} oder {@code dstore}).
+     * @param local  Der Platz der lokalen Variable.
+     */
+    private void emitLocal(final int opcode, final int local) {
+        if (local <= 0xFF) {
+            this.code.write(opcode);
+            this.code.write(local);
+            return;
+        }
+
+        this.code.write(0xC4); // wide
+        this.code.write(opcode);
+        this.code.write(local >> 8);
+        this.code.write(local);
+    }
+
+    /**
+     * Schreibt den Bytecode, der eine statische Methode der Klasse {@link Math} aufruft.
+     *
+     * @param name       Der Name der Methode.
+     * @param descriptor Die Beschreibung der Parameter und des Rückgabewerts der Methode.
+     */
+    private void emitMathCall(@NotNull final String name, @NotNull final String descriptor) {
+        final int index = methodConstant("java/lang/Math", name, descriptor);
+        this.code.write(0xB8); // invokestatic
+        this.code.write(index >> 8);
+        this.code.write(index);
+    }
+
+    /**
+     * Legt einen Text im Konstanten-Pool an, sofern dieser noch nicht vorhanden ist.
+     *
+     * @param value Der Text.
+     *
+     * @return Der Index des Textes im Konstanten-Pool.
+     */
+    private int utf8Constant(@NotNull final String value) {
+        return constant("utf8:" + value, 1, out -> {
+            out.writeByte(1);
+            out.writeUTF(value);
+        });
+    }
+
+    /**
+     * Legt eine Klasse im Konstanten-Pool an, sofern diese noch nicht vorhanden ist.
+     *
+     * @param name Der interne Name der Klasse.
+     *
+     * @return Der Index der Klasse im Konstanten-Pool.
+     */
+    private int classConstant(@NotNull final String name) {
+        final int nameIndex = utf8Constant(name);
+        return constant("class:" + name, 1, out -> {
+            out.writeByte(7);
+            out.writeShort(nameIndex);
+        });
+    }
+
+    /**
+     * Legt eine Methode im Konstanten-Pool an, sofern diese noch nicht vorhanden ist.
+     *
+     * @param owner      Der interne Name der Klasse, in der sich die Methode befindet.
+     * @param name       Der Name der Methode.
+     * @param descriptor Die Beschreibung der Parameter und des Rückgabewerts der Methode.
+     *
+     * @return Der Index der Methode im Konstanten-Pool.
+     */
+    private int methodConstant(
+        @NotNull final String owner,
+        @NotNull final String name,
+        @NotNull final String descriptor
+    ) {
+        final int ownerIndex = classConstant(owner);
+        final int nameIndex = utf8Constant(name);
+        final int descriptorIndex = utf8Constant(descriptor);
+        final int nameAndTypeIndex = constant("nameAndType:" + name + descriptor, 1, out -> {
+            out.writeByte(12);
+            out.writeShort(nameIndex);
+            out.writeShort(descriptorIndex);
+        });
+
+        return constant("method:" + owner + "." + name + descriptor, 1, out -> {
+            out.writeByte(10);
+            out.writeShort(ownerIndex);
+            out.writeShort(nameAndTypeIndex);
+        });
+    }
+
+    /**
+     * Legt eine Kommazahl im Konstanten-Pool an, sofern diese noch nicht vorhanden ist.
+     *
+     * @param value Die Kommazahl.
+     *
+     * @return Der Index der Kommazahl im Konstanten-Pool.
+     */
+    private int doubleConstant(final double value) {
+        final long bits = Double.doubleToRawLongBits(value);
+        return constant("double:" + bits, 2, out -> {
+            out.writeByte(6);
+            out.writeLong(bits);
+        });
+    }
+
+    /**
+     * Legt einen beliebigen Eintrag im Konstanten-Pool an, sofern dieser noch nicht vorhanden ist.
+     *
+     * @param key    Der eindeutige Schlüssel des Eintrags.
+     * @param slots  Die Anzahl an Plätzen, die der Eintrag im Konstanten-Pool belegt.
+     * @param writer Der {@link ConstantWriter}, welcher den Eintrag in den Konstanten-Pool schreibt.
+     *
+     * @return Der Index des Eintrags im Konstanten-Pool.
+     */
+    private int constant(
+        @NotNull final String key,
+        final int slots,
+        @NotNull final ConstantWriter writer
+    ) {
+        final Integer existingIndex = this.constantIndices.get(key);
+
+        if (existingIndex != null) return existingIndex;
+
+        try {
+            writer.write(new DataOutputStream(this.constantPool));
+        } catch (@NotNull final IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+
+        final int index = this.nextConstantIndex;
+        this.nextConstantIndex += slots;
+        this.constantIndices.put(key, index);
+
+        return index;
+    }
+
+    //<editor-fold desc="utility">
+
+    /**
+     * Gibt eine Funktion zurück, welche einen eingelesenen Term in Form einer eigenen Klasse ausrechnet. Für jeden
+     * Aufruf wird eine neue Klasse erzeugt; bereits eingelesene Funktionen werden über den {@link FunctionCache}
+     * wiederverwendet.
+     *
+     * @param root Der eingelesene Term.
+     *
+     * @return Eine Funktion, welche den Term ausrechnet; {@code null}, wenn der {@link BytecodeCompiler} ausgeschaltet
+     *     ist oder keine Klasse erzeugt werden konnte.
+     */
+    @Nullable
+    public static DoubleUnaryOperator compile(@NotNull final ExpressionNode root) {
+        if (!enabled) return null;
+
+        return define(root);
+    }
+
+    /**
+     * Erzeugt eine neue Klasse für einen eingelesenen Term und gibt eine Instanz dieser Klasse zurück.
+     *
+     * @param root Der eingelesene Term.
+     *
+     * @return Eine Instanz der neu erzeugten Klasse; {@code null}, wenn keine Klasse erzeugt werden konnte.
+     */
+    @Nullable
+    private static DoubleUnaryOperator define(@NotNull final ExpressionNode root) {
+        final String className = CLASS_NAME + CLASS_COUNTER.incrementAndGet();
+
+        try {
+            final byte[] bytes = new BytecodeCompiler().generate(className, root);
+
+            if (bytes == null) return null;
+
+            final Class<?> generatedClass = defineClass(className, bytes);
+
+            return (DoubleUnaryOperator) generatedClass.getConstructor().newInstance();
+        } catch (@NotNull final ReflectiveOperationException | IOException | LinkageError ignored) {
+            return null;
+        }
+    }
+
+    /**
+     * Definiert eine Klasse aus ihrem Bytecode. Sofern die JVM versteckte Klassen unterstützt, wird eine versteckte
+     * Klasse angelegt, welche wieder entladen wird, sobald sie nicht mehr genutzt wird. Ansonsten wird die Klasse über
+     * einen eigenen {@link ClassLoader} definiert.
+     *
+     * @param className Der interne Name der Klasse.
+     * @param bytes     Der Bytecode der Klasse.
+     *
+     * @return Die definierte Klasse.
+     */
+    @NotNull
+    private static Class<?> defineClass(@NotNull final String className, @NotNull final byte[] bytes) {
+        try {
+            final Class<?> classOption = Class.forName("java.lang.invoke.MethodHandles$Lookup$ClassOption");
+            final Method defineHiddenClass = MethodHandles.Lookup.class.getMethod(
+                "defineHiddenClass",
+                byte[].class,
+                boolean.class,
+                Array.newInstance(classOption, 0).getClass()
+            );
+            final MethodHandles.Lookup hiddenLookup = (MethodHandles.Lookup) defineHiddenClass.invoke(
+                MethodHandles.lookup(),
+                bytes,
+                true,
+                Array.newInstance(classOption, 0)
+            );
+
+            return hiddenLookup.lookupClass();
+        } catch (@NotNull final ReflectiveOperationException ignored) {
+            return new GeneratedClassLoader(BytecodeCompiler.class.getClassLoader()).define(
+                className.replace('/', '.'),
+                bytes
+            );
+        }
+    }
+    //</editor-fold>
+
+
+    /**
+     * Ein {@link ConstantWriter} schreibt genau einen Eintrag in den Konstanten-Pool einer Klasse.
+     */
+    @FunctionalInterface
+    private interface ConstantWriter {
+
+        /**
+         * Schreibt den Eintrag in den Konstanten-Pool.
+         *
+         * @param out Der Stream, in den der Eintrag geschrieben wird.
+         *
+         * @throws IOException Wird geworfen, wenn der Eintrag nicht geschrieben werden kann.
+         */
+        void write(@NotNull final DataOutputStream out) throws IOException;
+
+    }
+
+    /**
+     * Ein {@link GeneratedClassLoader} definiert genau eine erzeugte Klasse, wenn die JVM keine versteckten Klassen
+     * unterstützt. Da jede Klasse ihren eigenen {@link ClassLoader} besitzt, kann sie wieder entladen werden.
+     */
+    private static final class GeneratedClassLoader extends ClassLoader {
+
+        /**
+         * Erzeugt einen neuen {@link GeneratedClassLoader}.
+         *
+         * @param parent Der übergeordnete {@link ClassLoader}.
+         */
+        private GeneratedClassLoader(@Nullable final ClassLoader parent) {
+            super(parent);
+        }
+
+        /**
+         * Definiert eine Klasse aus ihrem Bytecode.
+         *
+         * @param name  Der Name der Klasse.
+         * @param bytes Der Bytecode der Klasse.
+         *
+         * @return Die definierte Klasse.
+         */
+        @NotNull
+        private Class<?> define(@NotNull final String name, @NotNull final byte[] bytes) {
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+
+    }
+
+}
@@ -0,0 +1,196 @@
+package de.jonas.graphingcalculator.expression;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Range;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Eine {@link CompiledFunction} ist eine Funktion, deren Term bereits einmalig eingelesen wurde und die somit beliebig
+ * oft für verschiedene x-Werte ausgerechnet werden kann, ohne den Term jedes Mal erneut verarbeiten zu müssen. Eine
+ * {@link CompiledFunction} ist unveränderbar und kann daher auch von mehreren Threads gleichzeitig genutzt werden.
+ * Zum Ausrechnen wird der Term zunächst mithilfe des {@link ExpressionOptimizer} optimiert und anschließend, sofern
+ * möglich, mithilfe des {@link BytecodeCompiler} in eine eigene Klasse übersetzt; ansonsten wird der optimierte Term
+ * Knoten für Knoten ausgerechnet.
+ */
+@NotNull
+public final class CompiledFunction implements DoubleUnaryOperator {
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Der Term, aus dem diese {@link CompiledFunction} erzeugt wurde. */
+    @Getter
+    @NotNull
+    private final String function;
+    /** Der eingelesene Term in Form eines Baums aus {@link ExpressionNode Knoten}. */
+    @Getter
+    @NotNull
+    private final ExpressionNode root;
+    /**
+     * Der mithilfe des {@link ExpressionOptimizer} optimierte Term, mit welchem die Funktionswerte ausgerechnet werden.
+     * Die Ableitungen und Intervalle werden weiterhin anhand des unveränderten Terms berechnet, da z.B. {@code x^2} für
+     * Intervalle eine engere Grenze als {@code x * x} liefert.
+     */
+    @Getter
+    @NotNull
+    private final ExpressionNode optimizedRoot;
+    /** Die Funktion, mit welcher der Term tatsächlich ausgerechnet wird. */
+    @Getter
+    @NotNull
+    private final DoubleUnaryOperator evaluator;
+    /** Der {@link DerivativeEvaluator}, mit dem die Ableitungen dieser Funktion exakt berechnet werden. */
+    @Getter
+    @NotNull
+    private final DerivativeEvaluator derivativeEvaluator;
+    /** Der {@link IntervalEvaluator}, mit dem diese Funktion für ganze Bereiche der x-Achse ausgerechnet wird. */
+    @Getter
+    @NotNull
+    private final IntervalEvaluator intervalEvaluator;
+    /** Der {@link BatchEvaluator}, mit dem diese Funktion für viele x-Werte gleichzeitig ausgerechnet wird. */
+    @Getter
+    @NotNull
+    private final BatchEvaluator batchEvaluator;
+    /** Ob der Term mithilfe des {@link BytecodeCompiler} in eine eigene Klasse übersetzt wurde. */
+    private final boolean generated;
+    /** Die symbolisch gebildete Ableitung dieser Funktion; {@code null}, solange diese noch nicht gebildet wurde. */
+    @Nullable
+    private volatile CompiledFunction derivative;
+    //</editor-fold>
+
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Erzeugt eine neue Instanz einer {@link CompiledFunction}, wobei der Term direkt eingelesen wird.
+     *
+     * @param function Der Term, aus dem diese {@link CompiledFunction} erzeugt wird.
+     */
+    private CompiledFunction(@NotNull final String function) {
+        this(function, ExpressionParser.parse(function));
+    }
+
+    /**
+     * Erzeugt eine neue Instanz einer {@link CompiledFunction} aus einem bereits eingelesenen Term.
+     *
+     * @param function Der Term in lesbarer Form.
+     * @param root     Der bereits eingelesene Term in Form eines Baums aus {@link ExpressionNode Knoten}.
+     */
+    private CompiledFunction(@NotNull final String function, @NotNull final ExpressionNode root) {
+        this.function = function;
+        this.root = root;
+        this.optimizedRoot = ExpressionOptimizer.optimize(this.root);
+        this.batchEvaluator = new BatchEvaluator(this.optimizedRoot);
+
+        // the batch evaluator does not recurse, so it also handles terms that are too deep for the node tree
+        final DoubleUnaryOperator generatedEvaluator = BytecodeCompiler.compile(this.optimizedRoot);
+        this.evaluator = generatedEvaluator != null ? generatedEvaluator : this.batchEvaluator::evaluate;
+        this.generated = generatedEvaluator != null;
+        this.derivativeEvaluator = new DerivativeEvaluator(this.root);
+        this.intervalEvaluator = new IntervalEvaluator(this.root);
+    }
+    //</editor-fold>
+
+
+    /**
+     * Gibt die symbolisch gebildete und vereinfachte Ableitung dieser Funktion zurück, welche wie jede andere
+     * {@link CompiledFunction} direkt ausgerechnet werden kann. Die Ableitung wird nur beim ersten Aufruf gebildet.
+     *
+     * @return Die Ableitung dieser Funktion.
+     */
+    @NotNull
+    public CompiledFunction getDerivative() {
+        CompiledFunction derivative = this.derivative;
+
+        if (derivative == null) {
+            final ExpressionNode derivativeRoot = ExpressionDifferentiator.derive(this.root);
+
+            derivative = new CompiledFunction(ExpressionFormatter.format(derivativeRoot), derivativeRoot);
+            this.derivative = derivative;
+        }
+
+        return derivative;
+    }
+
+    /**
+     * Gibt die symbolisch gebildete und vereinfachte Ableitung einer bestimmten Ordnung dieser Funktion zurück.
+     *
+     * @param order Die Ordnung der Ableitung; bei 0 wird diese Funktion selbst zurückgegeben.
+     *
+     * @return Die Ableitung der Ordnung dieser Funktion.
+     */
+    @NotNull
+    public CompiledFunction getDerivative(@Range(from = 0, to = Integer.MAX_VALUE) final int order) {
+        CompiledFunction derivative = this;
+
+        for (int i = 0; i < order; i++) {
+            derivative = derivative.getDerivative();
+        }
+
+        return derivative;
+    }
+
+    /**
+     * Rechnet diese Funktion für alle x-Werte eines Arrays aus und schreibt die Funktionswerte an dieselben Indizes
+     * eines anderen Arrays.
+     *
+     * @param xValues Das Array der x-Werte.
+     * @param yValues Das Array, in welches die Funktionswerte geschrieben werden.
+     */
+    public void evaluate(@NotNull final double[] xValues, @NotNull final double[] yValues) {
+        evaluate(xValues, yValues, 0, xValues.length);
+    }
+
+    /**
+     * Rechnet diese Funktion für alle x-Werte in einem bestimmten Bereich eines Arrays aus und schreibt die
+     * Funktionswerte an dieselben Indizes eines anderen Arrays. Wurde der Term in eine eigene Klasse übersetzt, wird
+     * diese in einer einzigen Schleife aufgerufen, welche die JVM vollständig inlinen kann; ansonsten wird jeder Knoten
+     * des Terms mithilfe des {@link BatchEvaluator} für einen ganzen Block an x-Werten auf einmal ausgerechnet, statt
+     * den Baum für jeden x-Wert einzeln zu durchlaufen.
+     *
+     * @param xValues Das Array der x-Werte.
+     * @param yValues Das Array, in welches die Funktionswerte geschrieben werden.
+     * @param from    Der erste Index des Bereichs.
+     * @param to      Der Index hinter dem Ende des Bereichs.
+     */
+    public void evaluate(
+        @NotNull final double[] xValues,
+        @NotNull final double[] yValues,
+        @Range(from = 0, to = Integer.MAX_VALUE) final int from,
+        @Range(from = 0, to = Integer.MAX_VALUE) final int to
+    ) {
+        if (!this.generated) {
+            this.batchEvaluator.evaluate(xValues, yValues, from, to, this.batchEvaluator.createWorkspace());
+            return;
+        }
+
+        final DoubleUnaryOperator evaluator = this.evaluator;
+
+        for (int i = from; i < to; i++) {
+            yValues[i] = evaluator.applyAsDouble(xValues[i]);
+        }
+    }
+
+    //<editor-fold desc="utility">
+
+    /**
+     * Liest einen Term einmalig ein und gibt diesen in Form einer {@link CompiledFunction} zurück.
+     *
+     * @param function Der Term, welcher eingelesen werden soll.
+     *
+     * @return Der eingelesene Term in Form einer {@link CompiledFunction}.
+     */
+    @NotNull
+    public static CompiledFunction compile(@NotNull final String function) {
+        return new CompiledFunction(function);
+    }
+    //</editor-fold>
+
+
+    //<editor-fold desc="implementation">
+    @Override
+    public double applyAsDouble(final double x) {
+        return this.evaluator.applyAsDouble(x);
+    }
+    //</editor-fold>
+}
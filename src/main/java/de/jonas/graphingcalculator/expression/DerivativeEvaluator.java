@@ -0,0 +1,416 @@
+package de.jonas.graphingcalculator.expression;
+
+import de.jonas.graphingcalculator.constant.ExpressionType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Range;
+
+/**
+ * Mithilfe eines {@link DerivativeEvaluator} werden ein Funktionswert und alle Ableitungen bis zur Ordnung
+ * {@link #MAX_ORDER} an einer Stelle in nur einem Durchlauf durch den eingelesenen Term exakt berechnet
+ * (automatisches Differenzieren im Vorwärtsmodus). Jeder Knoten wird dabei nicht als einzelne Zahl, sondern als
+ * abgeschnittene Taylor-Reihe ausgerechnet, deren Koeffizienten {@code f^(k)(x) / k!} entsprechen. Ein
+ * {@link DerivativeEvaluator} ist unveränderbar und kann daher von mehreren Threads gleichzeitig genutzt werden,
+ * solange jeder Thread einen eigenen Arbeitsspeicher ({@link #createWorkspace()}) verwendet.
+ */
+@NotNull
+public final class DerivativeEvaluator {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Die höchste Ordnung der Ableitungen, die berechnet werden. */
+    public static final int MAX_ORDER = 3;
+    /** Die Anzahl an Koeffizienten der Taylor-Reihe jedes Knotens. */
+    private static final int TERMS = MAX_ORDER + 1;
+    /** Die Fakultäten, mit denen die Koeffizienten der Taylor-Reihe in Ableitungen umgerechnet werden. */
+    @NotNull
+    private static final double[] FACTORIALS = {1, 1, 2, 6};
+    /** Die Anzahl an zusätzlichen Taylor-Reihen im Arbeitsspeicher, die für Zwischenergebnisse genutzt werden. */
+    private static final int SCRATCH_AMOUNT = 2;
+    /** Der natürliche Logarithmus von 10, durch den beim Logarithmus zur Basis 10 geteilt wird. */
+    private static final double LN_10 = Math.log(10);
+    //</editor-fold>
+
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Der eingelesene Term in Form einer Liste, in der jeder Knoten nach seinen Operanden steht. */
+    @NotNull
+    private final ExpressionProgram program;
+    //</editor-fold>
+
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Erzeugt eine neue Instanz eines {@link DerivativeEvaluator} für einen eingelesenen Term. Der Baum aus
+     * {@link ExpressionNode Knoten} wird dabei einmalig in ein {@link ExpressionProgram} umgewandelt, sodass der Term
+     * ohne Rekursion ausgerechnet werden kann.
+     *
+     * @param root Der eingelesene Term in Form eines Baums aus {@link ExpressionNode Knoten}.
+     */
+    public DerivativeEvaluator(@NotNull final ExpressionNode root) {
+        this.program = new ExpressionProgram(root);
+    }
+    //</editor-fold>
+
+
+    /**
+     * Erzeugt einen neuen Arbeitsspeicher, in dem die Taylor-Reihen aller Knoten während des Ausrechnens abgelegt
+     * werden. Ein Arbeitsspeicher kann für beliebig viele Aufrufe von {@link #evaluate(double, double[], double[])}
+     * wiederverwendet werden, darf aber nicht von mehreren Threads gleichzeitig genutzt werden.
+     *
+     * @return Ein neuer Arbeitsspeicher für diesen {@link DerivativeEvaluator}.
+     */
+    @NotNull
+    public double[] createWorkspace() {
+        return new double[(this.program.size() + SCRATCH_AMOUNT) * TERMS];
+    }
+
+    /**
+     * Berechnet den Funktionswert und alle Ableitungen bis zur Ordnung {@link #MAX_ORDER} an einer bestimmten Stelle.
+     * Da hierbei jedes Mal ein neuer Arbeitsspeicher angelegt wird, sollte für viele Stellen
+     * {@link #evaluate(double, double[], double[])} genutzt werden.
+     *
+     * @param x Die Stelle, an der die Ableitungen berechnet werden.
+     *
+     * @return Ein Array, welches an dem Index {@code k} die {@code k}-te Ableitung beinhaltet; an dem Index 0 also den
+     *     Funktionswert selbst.
+     */
+    @NotNull
+    public double[] evaluate(final double x) {
+        final double[] derivatives = new double[TERMS];
+
+        evaluate(x, createWorkspace(), derivatives);
+        return derivatives;
+    }
+
+    /**
+     * Berechnet den Funktionswert und alle Ableitungen bis zur Ordnung {@link #MAX_ORDER} an einer bestimmten Stelle.
+     *
+     * @param x           Die Stelle, an der die Ableitungen berechnet werden.
+     * @param workspace   Der Arbeitsspeicher, welcher mit {@link #createWorkspace()} erzeugt wurde.
+     * @param derivatives Das Array, in welches an dem Index {@code k} die {@code k}-te Ableitung geschrieben wird; an
+     *                    dem Index 0 also der Funktionswert selbst.
+     */
+    public void evaluate(final double x, @NotNull final double[] workspace, @NotNull final double[] derivatives) {
+        final int scratch = this.program.size() * TERMS;
+
+        final ExpressionType[] types = this.program.getTypes();
+        final double[] values = this.program.getValues();
+        final int[] leftIndices = this.program.getLeftIndices();
+        final int[] rightIndices = this.program.getRightIndices();
+
+        for (int node = 0; node < types.length; node++) {
+            final int out = node * TERMS;
+            final int left = leftIndices[node] * TERMS;
+            final int right = rightIndices[node] * TERMS;
+
+            switch (types[node]) {
+                case CONSTANT:
+                    setConstant(workspace, out, values[node]);
+                    break;
+
+                case VARIABLE:
+                    setConstant(workspace, out, x);
+                    workspace[out + 1] = 1;
+                    break;
+
+                case ADD:
+                    for (int k = 0; k < TERMS; k++) {
+                        workspace[out + k] = workspace[left + k] + workspace[right + k];
+                    }
+                    break;
+
+                case SUBTRACT:
+                    for (int k = 0; k < TERMS; k++) {
+                        workspace[out + k] = workspace[left + k] - workspace[right + k];
+                    }
+                    break;
+
+                case MULTIPLY:
+                    multiply(workspace, out, left, right);
+                    break;
+
+                case DIVIDE:
+                    divide(workspace, out, left, right);
+                    break;
+
+                case POWER:
+                    power(workspace, out, left, right, scratch);
+                    break;
+
+                case NEGATE:
+                    for (int k = 0; k < TERMS; k++) {
+                        workspace[out + k] = -workspace[left + k];
+                    }
+                    break;
+
+                case SQRT:
+                    sqrt(workspace, out, left);
+                    break;
+
+                case LN:
+                    ln(workspace, out, left);
+                    break;
+
+                case LOG:
+                    ln(workspace, out, left);
+
+                    for (int k = 0; k < TERMS; k++) {
+                        workspace[out + k] /= LN_10;
+                    }
+                    break;
+
+                case SIN:
+                    sinCos(workspace, out, scratch, left);
+                    break;
+
+                case COS:
+                    sinCos(workspace, scratch, out, left);
+                    break;
+
+                case TAN:
+                    sinCos(workspace, scratch, scratch + TERMS, left);
+                    divide(workspace, out, scratch, scratch + TERMS);
+                    break;
+
+                default:
+                    throw new IllegalStateException("Unknown expression type: " + types[node]);
+            }
+        }
+
+        final int root = (this.program.size() - 1) * TERMS;
+
+        for (int k = 0; k < TERMS; k++) {
+            derivatives[k] = workspace[root + k] * FACTORIALS[k];
+        }
+    }
+
+    //<editor-fold desc="utility">
+
+    /**
+     * Setzt eine Taylor-Reihe auf einen festen Wert, dessen Ableitungen alle 0 sind.
+     *
+     * @param c     Der Arbeitsspeicher.
+     * @param out   Die Position der Taylor-Reihe im Arbeitsspeicher.
+     * @param value Der feste Wert.
+     */
+    private static void setConstant(@NotNull final double[] c, final int out, final double value) {
+        c[out] = value;
+
+        for (int k = 1; k < TERMS; k++) {
+            c[out + k] = 0;
+        }
+    }
+
+    /**
+     * Multipliziert zwei Taylor-Reihen miteinander. Das Ergebnis darf keine der beiden Taylor-Reihen überschreiben.
+     *
+     * @param c   Der Arbeitsspeicher.
+     * @param out Die Position des Ergebnisses im Arbeitsspeicher.
+     * @param a   Die Position des ersten Faktors im Arbeitsspeicher.
+     * @param b   Die Position des zweiten Faktors im Arbeitsspeicher.
+     */
+    private static void multiply(@NotNull final double[] c, final int out, final int a, final int b) {
+        for (int k = 0; k < TERMS; k++) {
+            double sum = 0;
+
+            for (int j = 0; j <= k; j++) {
+                sum += c[a + j] * c[b + k - j];
+            }
+
+            c[out + k] = sum;
+        }
+    }
+
+    /**
+     * Dividiert zwei Taylor-Reihen durch einander. Das Ergebnis darf keine der beiden Taylor-Reihen überschreiben.
+     *
+     * @param c   Der Arbeitsspeicher.
+     * @param out Die Position des Ergebnisses im Arbeitsspeicher.
+     * @param a   Die Position des Dividenden im Arbeitsspeicher.
+     * @param b   Die Position des Divisors im Arbeitsspeicher.
+     */
+    private static void divide(@NotNull final double[] c, final int out, final int a, final int b) {
+        for (int k = 0; k < TERMS; k++) {
+            double sum = c[a + k];
+
+            for (int j = 1; j <= k; j++) {
+                sum -= c[b + j] * c[out + k - j];
+            }
+
+            c[out + k] = sum / c[b];
+        }
+    }
+
+    /**
+     * Potenziert eine Taylor-Reihe mit einer anderen. Ist der Exponent konstant, wird die Potenzregel genutzt, sodass
+     * auch negative Basen möglich sind; ansonsten wird die Potenz über {@code exp(b * ln(a))} berechnet.
+     *
+     * @param c       Der Arbeitsspeicher.
+     * @param out     Die Position des Ergebnisses im Arbeitsspeicher.
+     * @param a       Die Position der Basis im Arbeitsspeicher.
+     * @param b       Die Position des Exponenten im Arbeitsspeicher.
+     * @param scratch Die Position der zusätzlichen Taylor-Reihen für Zwischenergebnisse im Arbeitsspeicher.
+     */
+    private static void power(
+        @NotNull final double[] c,
+        final int out,
+        final int a,
+        final int b,
+        final int scratch
+    ) {
+        final double base = c[a];
+        final double exponent = c[b];
+
+        if (!isConstant(c, b)) {
+            // a ^ b = exp(b * ln(a))
+            ln(c, scratch, a);
+            multiply(c, scratch + TERMS, b, scratch);
+            exp(c, out, scratch + TERMS);
+            c[out] = Math.pow(base, exponent);
+            return;
+        }
+
+        if (base != 0) {
+            // (a ^ r)' * a = r * a' * (a ^ r)
+            c[out] = Math.pow(base, exponent);
+
+            for (int k = 1; k < TERMS; k++) {
+                double sum = 0;
+
+                for (int j = 1; j <= k; j++) {
+                    sum += ((exponent + 1) * j - k) * c[a + j] * c[out + k - j];
+                }
+
+                c[out + k] = sum / (k * base);
+            }
+            return;
+        }
+
+        if (exponent < 0 || exponent != Math.rint(exponent)) {
+            setConstant(c, out, Math.pow(base, exponent));
+
+            for (int k = 1; k < TERMS; k++) {
+                c[out + k] = Double.NaN;
+            }
+            return;
+        }
+
+        // the lowest term of a ^ r is of order r if the base is 0
+        setConstant(c, scratch, 1);
+
+        for (int i = 0; i < Math.min(exponent, TERMS); i++) {
+            multiply(c, scratch + TERMS, scratch, a);
+            System.arraycopy(c, scratch + TERMS, c, scratch, TERMS);
+        }
+
+        System.arraycopy(c, scratch, c, out, TERMS);
+    }
+
+    /**
+     * Berechnet die Quadratwurzel einer Taylor-Reihe.
+     *
+     * @param c   Der Arbeitsspeicher.
+     * @param out Die Position des Ergebnisses im Arbeitsspeicher.
+     * @param a   Die Position der Taylor-Reihe im Arbeitsspeicher.
+     */
+    private static void sqrt(@NotNull final double[] c, final int out, final int a) {
+        c[out] = Math.sqrt(c[a]);
+
+        for (int k = 1; k < TERMS; k++) {
+            double sum = c[a + k];
+
+            for (int j = 1; j < k; j++) {
+                sum -= c[out + j] * c[out + k - j];
+            }
+
+            c[out + k] = sum / (2 * c[out]);
+        }
+    }
+
+    /**
+     * Berechnet den natürlichen Logarithmus einer Taylor-Reihe.
+     *
+     * @param c   Der Arbeitsspeicher.
+     * @param out Die Position des Ergebnisses im Arbeitsspeicher.
+     * @param a   Die Position der Taylor-Reihe im Arbeitsspeicher.
+     */
+    private static void ln(@NotNull final double[] c, final int out, final int a) {
+        c[out] = Math.log(c[a]);
+
+        for (int k = 1; k < TERMS; k++) {
+            double sum = 0;
+
+            for (int j = 1; j < k; j++) {
+                sum += j * c[out + j] * c[a + k - j];
+            }
+
+            c[out + k] = (c[a + k] - sum / k) / c[a];
+        }
+    }
+
+    /**
+     * Berechnet die Exponentialfunktion einer Taylor-Reihe.
+     *
+     * @param c   Der Arbeitsspeicher.
+     * @param out Die Position des Ergebnisses im Arbeitsspeicher.
+     * @param a   Die Position der Taylor-Reihe im Arbeitsspeicher.
+     */
+    private static void exp(@NotNull final double[] c, final int out, final int a) {
+        c[out] = Math.exp(c[a]);
+
+        for (int k = 1; k < TERMS; k++) {
+            double sum = 0;
+
+            for (int j = 1; j <= k; j++) {
+                sum += j * c[a + j] * c[out + k - j];
+            }
+
+            c[out + k] = sum / k;
+        }
+    }
+
+    /**
+     * Berechnet den Sinus und den Cosinus einer Taylor-Reihe gleichzeitig, da die Koeffizienten beider Reihen
+     * voneinander abhängen.
+     *
+     * @param c      Der Arbeitsspeicher.
+     * @param sinOut Die Position des Sinus im Arbeitsspeicher.
+     * @param cosOut Die Position des Cosinus im Arbeitsspeicher.
+     * @param a      Die Position der Taylor-Reihe im Arbeitsspeicher.
+     */
+    private static void sinCos(@NotNull final double[] c, final int sinOut, final int cosOut, final int a) {
+        c[sinOut] = Math.sin(c[a]);
+        c[cosOut] = Math.cos(c[a]);
+
+        for (int k = 1; k < TERMS; k++) {
+            double sinSum = 0;
+            double cosSum = 0;
+
+            for (int j = 1; j <= k; j++) {
+                sinSum += j * c[a + j] * c[cosOut + k - j];
+                cosSum += j * c[a + j] * c[sinOut + k - j];
+            }
+
+            c[sinOut + k] = sinSum / k;
+            c[cosOut + k] = -cosSum / k;
+        }
+    }
+
+    /**
+     * Prüft, ob eine Taylor-Reihe einen festen Wert darstellt, also ob alle ihre Ableitungen 0 sind.
+     *
+     * @param c Der Arbeitsspeicher.
+     * @param a Die Position der Taylor-Reihe im Arbeitsspeicher.
+     *
+     * @return Ob die Taylor-Reihe einen festen Wert darstellt.
+     */
+    private static boolean isConstant(@NotNull final double[] c, @Range(from = 0, to = Integer.MAX_VALUE) final int a) {
+        for (int k = 1; k < TERMS; k++) {
+            if (c[a + k] != 0) return false;
+        }
+
+        return true;
+    }
+    //</editor-fold>
+
+}
@@ -0,0 +1,247 @@
+package de.jonas.graphingcalculator.expression;
+
+import de.jonas.graphingcalculator.constant.ExpressionType;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Mithilfe des {@link ExpressionDifferentiator} wird die Ableitung eines eingelesenen Terms symbolisch gebildet, also
+ * wiederum als Baum aus {@link ExpressionNode Knoten}. Dabei werden die Summen-, Produkt-, Quotienten- und
+ * Kettenregel sowie die Ableitungen aller Funktionen des {@link ExpressionParser} genutzt. Die gebildete Ableitung
+ * wird anschließend mithilfe des {@link ExpressionSimplifier} vereinfacht. Lange Summen werden dabei ohne Rekursion
+ * abgeleitet, sodass auch Terme mit vielen tausend Summanden abgeleitet werden können.
+ */
+@NotNull
+public final class ExpressionDifferentiator {
+
+    /**
+     * Bildet die Ableitung eines eingelesenen Terms nach x und vereinfacht diese.
+     *
+     * @param node Der eingelesene Term, welcher abgeleitet wird.
+     *
+     * @return Die vereinfachte Ableitung des Terms.
+     */
+    @NotNull
+    public static ExpressionNode derive(@NotNull final ExpressionNode node) {
+        return ExpressionSimplifier.simplify(deriveNode(node));
+    }
+
+    /**
+     * Prüft, ob ein eingelesener Term die Variable x beinhaltet.
+     *
+     * @param node Der eingelesene Term.
+     *
+     * @return Ob der Term die Variable x beinhaltet.
+     */
+    public static boolean containsVariable(@NotNull final ExpressionNode node) {
+        final Deque<ExpressionNode> pending = new ArrayDeque<>();
+        pending.push(node);
+
+        while (!pending.isEmpty()) {
+            final ExpressionNode current = pending.pop();
+
+            if (current.getType() == ExpressionType.VARIABLE) return true;
+            if (current.getLeft() != null) pending.push(current.getLeft());
+            if (current.getRight() != null) pending.push(current.getRight());
+        }
+
+        return false;
+    }
+
+    /**
+     * Bildet die Ableitung eines Knotens nach x, ohne diese zu vereinfachen.
+     *
+     * @param node Der Knoten, welcher abgeleitet wird.
+     *
+     * @return Die nicht vereinfachte Ableitung des Knotens.
+     */
+    @NotNull
+    private static ExpressionNode deriveNode(@NotNull final ExpressionNode node) {
+        final ExpressionNode u = node.getLeft();
+        final ExpressionNode v = node.getRight();
+
+        switch (node.getType()) {
+            case CONSTANT:
+                return ExpressionNode.constant(0);
+
+            case VARIABLE:
+                return ExpressionNode.constant(1);
+
+            case ADD:
+            case SUBTRACT:
+                return deriveSum(node);
+
+            case MULTIPLY:
+                // (u * v)' = u' * v + u * v'
+                return binary(
+                    ExpressionType.ADD,
+                    binary(ExpressionType.MULTIPLY, deriveNode(u), v),
+                    binary(ExpressionType.MULTIPLY, u, deriveNode(v))
+                );
+
+            case DIVIDE:
+                // (u / v)' = (u' * v - u * v') / v^2
+                return binary(
+                    ExpressionType.DIVIDE,
+                    binary(
+                        ExpressionType.SUBTRACT,
+                        binary(ExpressionType.MULTIPLY, deriveNode(u), v),
+                        binary(ExpressionType.MULTIPLY, u, deriveNode(v))
+                    ),
+                    binary(ExpressionType.POWER, v, ExpressionNode.constant(2))
+                );
+
+            case POWER:
+                return derivePower(node);
+
+            case NEGATE:
+                return ExpressionNode.unary(ExpressionType.NEGATE, deriveNode(u));
+
+            case SQRT:
+                // sqrt(u)' = u' / (2 * sqrt(u))
+                return binary(
+                    ExpressionType.DIVIDE,
+                    deriveNode(u),
+                    binary(ExpressionType.MULTIPLY, ExpressionNode.constant(2), node)
+                );
+
+            case LN:
+                // ln(u)' = u' / u
+                return binary(ExpressionType.DIVIDE, deriveNode(u), u);
+
+            case LOG:
+                // log(u)' = u' / (u * ln(10))
+                return binary(
+                    ExpressionType.DIVIDE,
+                    deriveNode(u),
+                    binary(
+                        ExpressionType.MULTIPLY,
+                        u,
+                        ExpressionNode.unary(ExpressionType.LN, ExpressionNode.constant(10))
+                    )
+                );
+
+            case SIN:
+                // sin(u)' = cos(u) * u'
+                return binary(ExpressionType.MULTIPLY, ExpressionNode.unary(ExpressionType.COS, u), deriveNode(u));
+
+            case COS:
+                // cos(u)' = -sin(u) * u'
+                return ExpressionNode.unary(
+                    ExpressionType.NEGATE,
+                    binary(ExpressionType.MULTIPLY, ExpressionNode.unary(ExpressionType.SIN, u), deriveNode(u))
+                );
+
+            case TAN:
+                // tan(u)' = u' / cos(u)^2
+                return binary(
+                    ExpressionType.DIVIDE,
+                    deriveNode(u),
+                    binary(
+                        ExpressionType.POWER,
+                        ExpressionNode.unary(ExpressionType.COS, u),
+                        ExpressionNode.constant(2)
+                    )
+                );
+
+            default:
+                throw new IllegalStateException("Unknown expression type: " + node.getType());
+        }
+    }
+
+    /**
+     * Bildet die Ableitung einer Summe bzw. Differenz nach x, ohne diese zu vereinfachen, also die Summe der
+     * Ableitungen aller Summanden. Da eingelesene Summen nach links verschachtelt sind, werden die ersten Operanden
+     * ohne Rekursion durchlaufen.
+     *
+     * @param node Die Summe bzw. Differenz, welche abgeleitet wird.
+     *
+     * @return Die nicht vereinfachte Ableitung der Summe.
+     */
+    @NotNull
+    private static ExpressionNode deriveSum(@NotNull final ExpressionNode node) {
+        final Deque<ExpressionNode> sums = new ArrayDeque<>();
+        ExpressionNode first = node;
+
+        while (first.getType() == ExpressionType.ADD || first.getType() == ExpressionType.SUBTRACT) {
+            sums.push(first);
+            first = first.getLeft();
+        }
+
+        ExpressionNode derivative = deriveNode(first);
+
+        while (!sums.isEmpty()) {
+            final ExpressionNode sum = sums.pop();
+            derivative = binary(sum.getType(), derivative, deriveNode(sum.getRight()));
+        }
+
+        return derivative;
+    }
+
+    /**
+     * Bildet die Ableitung einer Potenz nach x, ohne diese zu vereinfachen. Ist der Exponent konstant, wird die
+     * Potenzregel genutzt, ist die Basis konstant, die Ableitung der Exponentialfunktion; ansonsten wird die Potenz
+     * als {@code exp(v * ln(u))} abgeleitet.
+     *
+     * @param node Die Potenz, welche abgeleitet wird.
+     *
+     * @return Die nicht vereinfachte Ableitung der Potenz.
+     */
+    @NotNull
+    private static ExpressionNode derivePower(@NotNull final ExpressionNode node) {
+        final ExpressionNode u = node.getLeft();
+        final ExpressionNode v = node.getRight();
+
+        if (!containsVariable(v)) {
+            // (u^c)' = c * u^(c - 1) * u'
+            return binary(
+                ExpressionType.MULTIPLY,
+                binary(
+                    ExpressionType.MULTIPLY,
+                    v,
+                    binary(ExpressionType.POWER, u, binary(ExpressionType.SUBTRACT, v, ExpressionNode.constant(1)))
+                ),
+                deriveNode(u)
+            );
+        }
+
+        final ExpressionNode lnU = ExpressionNode.unary(ExpressionType.LN, u);
+
+        if (!containsVariable(u)) {
+            // (c^v)' = c^v * ln(c) * v'
+            return binary(ExpressionType.MULTIPLY, binary(ExpressionType.MULTIPLY, node, lnU), deriveNode(v));
+        }
+
+        // (u^v)' = u^v * (v' * ln(u) + v * u' / u)
+        return binary(
+            ExpressionType.MULTIPLY,
+            node,
+            binary(
+                ExpressionType.ADD,
+                binary(ExpressionType.MULTIPLY, deriveNode(v), lnU),
+                binary(ExpressionType.DIVIDE, binary(ExpressionType.MULTIPLY, v, deriveNode(u)), u)
+            )
+        );
+    }
+
+    /**
+     * Erzeugt einen Knoten mit zwei Operanden.
+     *
+     * @param type  Der {@link ExpressionType Typ} des Knotens.
+     * @param left  Der erste Operand des Knotens.
+     * @param right Der zweite Operand des Knotens.
+     *
+     * @return Ein Knoten mit zwei Operanden.
+     */
+    @NotNull
+    private static ExpressionNode binary(
+        @NotNull final ExpressionType type,
+        @NotNull final ExpressionNode left,
+        @NotNull final ExpressionNode right
+    ) {
+        return ExpressionNode.binary(type, left, right);
+    }
+
+}
@@ -0,0 +1,290 @@
+package de.jonas.graphingcalculator.expression;
+
+import de.jonas.graphingcalculator.constant.ExpressionType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Mithilfe des {@link ExpressionFormatter} wird ein eingelesener Term wieder in eine lesbare Form gebracht, in der er
+ * auch von dem {@link ExpressionParser} eingelesen werden kann. Im Gegensatz zu {@link ExpressionNode#toString()}
+ * werden dabei nur die Klammern gesetzt, die aufgrund der Rangfolge der Rechenoperationen notwendig sind, ganze Zahlen
+ * ohne Nachkommastellen geschrieben und Zahlen vor einer Variable, Funktion oder Klammer ohne {@code *} angehängt.
+ * Negative Summanden werden subtrahiert und negative Subtrahenden addiert, sodass nie zwei Vorzeichen aufeinander
+ * folgen.
+ */
+@NotNull
+public final class ExpressionFormatter {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Die Rangfolge einer Summe und einer Differenz. */
+    private static final int SUM_PRECEDENCE = 1;
+    /** Die Rangfolge eines Produkts und eines Quotienten. */
+    private static final int PRODUCT_PRECEDENCE = 2;
+    /** Die Rangfolge eines negativen Vorzeichens. */
+    private static final int NEGATE_PRECEDENCE = 3;
+    /** Die Rangfolge einer Potenz. */
+    private static final int POWER_PRECEDENCE = 4;
+    /** Die Rangfolge einer Funktion, welche als Basis einer Potenz eingeklammert werden muss. */
+    private static final int FUNCTION_PRECEDENCE = 5;
+    /** Die Rangfolge einer Zahl oder der Variable, welche nie eingeklammert werden müssen. */
+    private static final int ATOM_PRECEDENCE = 6;
+    /** Der Betrag, bis zu dem ganze Zahlen ohne Exponent geschrieben werden. */
+    private static final double MAX_PLAIN_NUMBER = 1E15;
+    //</editor-fold>
+
+
+    /**
+     * Bringt einen eingelesenen Term in eine lesbare Form.
+     *
+     * @param node Der eingelesene Term.
+     *
+     * @return Der Term in lesbarer Form.
+     */
+    @NotNull
+    public static String format(@NotNull final ExpressionNode node) {
+        return format(node, 0);
+    }
+
+    /**
+     * Bringt einen Knoten in eine lesbare Form und klammert diesen ein, wenn seine Rangfolge geringer als die
+     * mindestens benötigte Rangfolge ist.
+     *
+     * @param node          Der Knoten.
+     * @param minPrecedence Die Rangfolge, die der Knoten mindestens besitzen muss, um nicht eingeklammert zu werden.
+     *
+     * @return Der Knoten in lesbarer Form.
+     */
+    @NotNull
+    private static String format(@NotNull final ExpressionNode node, final int minPrecedence) {
+        final String text = formatNode(node);
+
+        return getPrecedence(node) < minPrecedence ? "(" + text + ")" : text;
+    }
+
+    /**
+     * Bringt einen Knoten in eine lesbare Form, ohne diesen selbst einzuklammern.
+     *
+     * @param node Der Knoten.
+     *
+     * @return Der Knoten in lesbarer Form.
+     */
+    @NotNull
+    private static String formatNode(@NotNull final ExpressionNode node) {
+        final ExpressionNode left = node.getLeft();
+        final ExpressionNode right = node.getRight();
+
+        switch (node.getType()) {
+            case CONSTANT:
+                return formatNumber(node.getValue());
+
+            case VARIABLE:
+                return ExpressionType.VARIABLE.getSymbol();
+
+            case ADD:
+            case SUBTRACT:
+                return formatSum(node);
+
+            case MULTIPLY:
+                // a product is associative, so another product does not have to be enclosed
+                final String factor = formatFactor(right);
+
+                // write 2x instead of 2*x
+                if (isPlainNumber(left) && isImplicitFactor(factor)) return formatNumber(left.getValue()) + factor;
+
+                return format(left, PRODUCT_PRECEDENCE) + "*" + factor;
+
+            case DIVIDE:
+                return format(left, PRODUCT_PRECEDENCE) + "/" + formatFactor(right, NEGATE_PRECEDENCE);
+
+            case POWER:
+                return format(left, ATOM_PRECEDENCE) + "^" + format(right, POWER_PRECEDENCE);
+
+            case NEGATE:
+                return "-" + format(left, PRODUCT_PRECEDENCE);
+
+            default:
+                return node.getType().getSymbol() + "(" + format(left, 0) + ")";
+        }
+    }
+
+    /**
+     * Bringt eine Summe bzw. Differenz in eine lesbare Form. Da eingelesene Summen nach links verschachtelt sind und
+     * eine Summe als erster Operand nie eingeklammert werden muss, werden die ersten Operanden ohne Rekursion
+     * durchlaufen und alle Summanden nacheinander angehängt.
+     *
+     * @param node Die Summe bzw. Differenz.
+     *
+     * @return Die Summe in lesbarer Form.
+     */
+    @NotNull
+    private static String formatSum(@NotNull final ExpressionNode node) {
+        final Deque<ExpressionNode> sums = new ArrayDeque<>();
+        ExpressionNode first = node;
+
+        while (first.getType() == ExpressionType.ADD || first.getType() == ExpressionType.SUBTRACT) {
+            sums.push(first);
+            first = first.getLeft();
+        }
+
+        final StringBuilder text = new StringBuilder(format(first, SUM_PRECEDENCE));
+
+        while (!sums.isEmpty()) {
+            final ExpressionNode sum = sums.pop();
+            final ExpressionNode negated = negate(sum.getRight());
+
+            // write u - v instead of u + (-v) and u + v instead of u - (-v)
+            final boolean add = (sum.getType() == ExpressionType.ADD) == (negated == null);
+            final ExpressionNode operand = negated == null ? sum.getRight() : negated;
+
+            // a sum is associative, so another sum does not have to be enclosed unless it is subtracted
+            text.append(add ? " + " : " - ").append(format(operand, add ? SUM_PRECEDENCE : PRODUCT_PRECEDENCE));
+        }
+
+        return text.toString();
+    }
+
+    /**
+     * Bringt den zweiten Faktor eines Produkts in eine lesbare Form. Beginnt dieser mit einem Vorzeichen, wird er
+     * eingeklammert, damit nicht zwei Rechenzeichen aufeinander folgen.
+     *
+     * @param node Der zweite Faktor.
+     *
+     * @return Der zweite Faktor in lesbarer Form.
+     */
+    @NotNull
+    private static String formatFactor(@NotNull final ExpressionNode node) {
+        return formatFactor(node, PRODUCT_PRECEDENCE);
+    }
+
+    /**
+     * Bringt den zweiten Operanden eines Produkts oder Quotienten in eine lesbare Form. Beginnt dieser mit einem
+     * Vorzeichen, wird er eingeklammert, damit nicht zwei Rechenzeichen aufeinander folgen.
+     *
+     * @param node          Der zweite Operand.
+     * @param minPrecedence Die Rangfolge, die der Operand mindestens besitzen muss, um nicht eingeklammert zu werden.
+     *
+     * @return Der zweite Operand in lesbarer Form.
+     */
+    @NotNull
+    private static String formatFactor(@NotNull final ExpressionNode node, final int minPrecedence) {
+        final String text = format(node, minPrecedence);
+
+        return text.startsWith("-") ? "(" + text + ")" : text;
+    }
+
+    /**
+     * Kehrt das Vorzeichen eines Knotens um, sofern dieser mit einem negativen Vorzeichen beginnt, also negiert, eine
+     * negative Zahl oder das Produkt bzw. der Quotient aus einer negativen Zahl und einem Term ist.
+     *
+     * @param node Der Knoten.
+     *
+     * @return Der Knoten mit umgekehrtem Vorzeichen; {@code null}, wenn der Knoten nicht mit einem negativen
+     *     Vorzeichen beginnt.
+     */
+    @Nullable
+    private static ExpressionNode negate(@NotNull final ExpressionNode node) {
+        final ExpressionNode left = node.getLeft();
+
+        switch (node.getType()) {
+            case NEGATE:
+                return left;
+
+            case CONSTANT:
+                return node.getValue() < 0 ? ExpressionNode.constant(-node.getValue()) : null;
+
+            case MULTIPLY:
+            case DIVIDE:
+                if (left == null || left.getType() != ExpressionType.CONSTANT || left.getValue() >= 0) return null;
+
+                return ExpressionNode.binary(
+                    node.getType(),
+                    ExpressionNode.constant(-left.getValue()),
+                    node.getRight()
+                );
+
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Gibt die Rangfolge eines Knotens zurück. Je höher die Rangfolge, desto stärker bindet der Knoten.
+     *
+     * @param node Der Knoten.
+     *
+     * @return Die Rangfolge des Knotens.
+     */
+    private static int getPrecedence(@NotNull final ExpressionNode node) {
+        switch (node.getType()) {
+            case CONSTANT:
+                return node.getValue() < 0 ? NEGATE_PRECEDENCE : ATOM_PRECEDENCE;
+
+            case VARIABLE:
+                return ATOM_PRECEDENCE;
+
+            case ADD:
+            case SUBTRACT:
+                return SUM_PRECEDENCE;
+
+            case MULTIPLY:
+            case DIVIDE:
+                return PRODUCT_PRECEDENCE;
+
+            case NEGATE:
+                return NEGATE_PRECEDENCE;
+
+            case POWER:
+                return POWER_PRECEDENCE;
+
+            default:
+                return FUNCTION_PRECEDENCE;
+        }
+    }
+
+    /**
+     * Bringt eine Zahl in eine lesbare Form. Die Eulersche Zahl und Pi werden dabei als {@code e} und {@code π}
+     * geschrieben, ganze Zahlen ohne Nachkommastellen.
+     *
+     * @param value Die Zahl.
+     *
+     * @return Die Zahl in lesbarer Form.
+     */
+    @NotNull
+    private static String formatNumber(final double value) {
+        if (value == Math.E) return "e";
+        if (value == Math.PI) return "π";
+        if (value == Math.rint(value) && Math.abs(value) < MAX_PLAIN_NUMBER) return String.valueOf((long) value);
+
+        return String.valueOf(value);
+    }
+
+    /**
+     * Prüft, ob ein Knoten eine Zahl ist, die - gegebenenfalls nach ihrem Vorzeichen - als Ziffern geschrieben wird.
+     *
+     * @param node Der Knoten.
+     *
+     * @return Ob der Knoten eine Zahl ist, die als Ziffern geschrieben wird.
+     */
+    private static boolean isPlainNumber(@NotNull final ExpressionNode node) {
+        return node.getType() == ExpressionType.CONSTANT
+            && Character.isDigit(formatNumber(Math.abs(node.getValue())).charAt(0));
+    }
+
+    /**
+     * Prüft, ob ein Faktor direkt ohne {@code *} an eine Zahl angehängt werden kann, also ob er mit einem Buchstaben
+     * oder einer Klammer beginnt.
+     *
+     * @param factor Der Faktor in lesbarer Form.
+     *
+     * @return Ob der Faktor direkt an eine Zahl angehängt werden kann.
+     */
+    private static boolean isImplicitFactor(@NotNull final String factor) {
+        final char first = factor.charAt(0);
+
+        return first == '(' || first == 'π' || (first >= 'a' && first <= 'z');
+    }
+
+}
@@ -0,0 +1,243 @@
+package de.jonas.graphingcalculator.expression;
+
+import de.jonas.graphingcalculator.constant.ExpressionType;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Objects;
+
+/**
+ * Ein {@link ExpressionNode} ist ein Knoten eines eingelesenen Terms. Ein Knoten besteht aus einem
+ * {@link ExpressionType Typ}, einem festen Wert (nur bei Konstanten) und bis zu zwei Operanden, die wiederum Knoten
+ * sind. Da ein Knoten unveränderbar ist, kann ein eingelesener Term beliebig oft und auch gleichzeitig ausgerechnet
+ * werden; zwei Knoten sind gleich, wenn ihre Bäume gleich aufgebaut sind. Da auch eine lange Summe wie
+ * {@code x + x + ... + x} einen sehr tiefen Baum ergibt, werden Knoten ohne Rekursion verglichen und ihr Hashwert
+ * wird bereits beim Erzeugen aus den Hashwerten ihrer Operanden gebildet.
+ */
+@Getter
+@NotNull
+public final class ExpressionNode {
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Der {@link ExpressionType Typ} dieses Knotens. */
+    @NotNull
+    private final ExpressionType type;
+    /** Der feste Wert dieses Knotens, welcher nur bei Konstanten genutzt wird. */
+    private final double value;
+    /** Der erste Operand dieses Knotens. */
+    @Nullable
+    private final ExpressionNode left;
+    /** Der zweite Operand dieses Knotens. */
+    @Nullable
+    private final ExpressionNode right;
+    /** Der Hashwert dieses Knotens, gebildet aus seinem Typ, seinem Wert und den Hashwerten seiner Operanden. */
+    @Getter(AccessLevel.NONE)
+    private final int hash;
+    //</editor-fold>
+
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Erzeugt eine neue Instanz eines {@link ExpressionNode}.
+     *
+     * @param type  Der {@link ExpressionType Typ} des Knotens.
+     * @param value Der feste Wert des Knotens, welcher nur bei Konstanten genutzt wird.
+     * @param left  Der erste Operand des Knotens.
+     * @param right Der zweite Operand des Knotens.
+     */
+    private ExpressionNode(
+        @NotNull final ExpressionType type,
+        final double value,
+        @Nullable final ExpressionNode left,
+        @Nullable final ExpressionNode right
+    ) {
+        this.type = type;
+        this.value = value;
+        this.left = left;
+        this.right = right;
+        this.hash = ((type.hashCode() * 31 + Double.hashCode(value)) * 31 + Objects.hashCode(left)) * 31
+            + Objects.hashCode(right);
+    }
+    //</editor-fold>
+
+
+    /**
+     * Rechnet diesen Knoten für einen bestimmten x-Wert aus.
+     *
+     * @param x Der x-Wert, welcher für die Variable eingesetzt wird.
+     *
+     * @return Das Ergebnis dieses Knotens für den x-Wert.
+     */
+    public double evaluate(final double x) {
+        switch (this.type) {
+            case CONSTANT:
+                return this.value;
+
+            case VARIABLE:
+                return x;
+
+            case ADD:
+                return this.left.evaluate(x) + this.right.evaluate(x);
+
+            case SUBTRACT:
+                return this.left.evaluate(x) - this.right.evaluate(x);
+
+            case MULTIPLY:
+                return this.left.evaluate(x) * this.right.evaluate(x);
+
+            case DIVIDE:
+                return this.left.evaluate(x) / this.right.evaluate(x);
+
+            case POWER:
+                return Math.pow(this.left.evaluate(x), this.right.evaluate(x));
+
+            case NEGATE:
+                return -this.left.evaluate(x);
+
+            case SQRT:
+                return Math.sqrt(this.left.evaluate(x));
+
+            case LN:
+                return Math.log(this.left.evaluate(x));
+
+            case LOG:
+                return Math.log10(this.left.evaluate(x));
+
+            case SIN:
+                return Math.sin(this.left.evaluate(x));
+
+            case COS:
+                return Math.cos(this.left.evaluate(x));
+
+            case TAN:
+                return Math.tan(this.left.evaluate(x));
+
+            default:
+                throw new IllegalStateException("Unknown expression type: " + this.type);
+        }
+    }
+
+    //<editor-fold desc="utility">
+
+    /**
+     * Erzeugt einen Knoten, welcher eine feste Zahl darstellt.
+     *
+     * @param value Die feste Zahl.
+     *
+     * @return Ein Knoten, welcher eine feste Zahl darstellt.
+     */
+    @NotNull
+    public static ExpressionNode constant(final double value) {
+        return new ExpressionNode(ExpressionType.CONSTANT, value, null, null);
+    }
+
+    /**
+     * Erzeugt einen Knoten, welcher die Variable x darstellt.
+     *
+     * @return Ein Knoten, welcher die Variable x darstellt.
+     */
+    @NotNull
+    public static ExpressionNode variable() {
+        return new ExpressionNode(ExpressionType.VARIABLE, 0, null, null);
+    }
+
+    /**
+     * Erzeugt einen Knoten mit genau einem Operanden, also ein Vorzeichen oder eine Funktion wie {@code sin}.
+     *
+     * @param type    Der {@link ExpressionType Typ} des Knotens.
+     * @param operand Der Operand des Knotens.
+     *
+     * @return Ein Knoten mit genau einem Operanden.
+     */
+    @NotNull
+    public static ExpressionNode unary(@NotNull final ExpressionType type, @NotNull final ExpressionNode operand) {
+        return new ExpressionNode(type, 0, operand, null);
+    }
+
+    /**
+     * Erzeugt einen Knoten mit zwei Operanden, also eine Rechenoperation wie {@code +} oder {@code ^}.
+     *
+     * @param type  Der {@link ExpressionType Typ} des Knotens.
+     * @param left  Der erste Operand des Knotens.
+     * @param right Der zweite Operand des Knotens.
+     *
+     * @return Ein Knoten mit zwei Operanden.
+     */
+    @NotNull
+    public static ExpressionNode binary(
+        @NotNull final ExpressionType type,
+        @NotNull final ExpressionNode left,
+        @NotNull final ExpressionNode right
+    ) {
+        return new ExpressionNode(type, 0, left, right);
+    }
+    //</editor-fold>
+
+
+    //<editor-fold desc="implementation">
+    @Override
+    public boolean equals(@Nullable final Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof ExpressionNode) || obj.hashCode() != this.hash) return false;
+
+        // compare both trees without recursion, since a long sum is a very deep tree
+        final Deque<ExpressionNode> pending = new ArrayDeque<>();
+        pending.push(this);
+        pending.push((ExpressionNode) obj);
+
+        while (!pending.isEmpty()) {
+            final ExpressionNode other = pending.pop();
+            final ExpressionNode node = pending.pop();
+
+            if (node == other) continue;
+
+            final boolean sameNode = node.hash == other.hash
+                && node.type == other.type
+                && Double.compare(node.value, other.value) == 0
+                && (node.left == null) == (other.left == null)
+                && (node.right == null) == (other.right == null);
+
+            if (!sameNode) return false;
+
+            if (node.left != null) {
+                pending.push(node.left);
+                pending.push(other.left);
+            }
+
+            if (node.right != null) {
+                pending.push(node.right);
+                pending.push(other.right);
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return this.hash;
+    }
+
+    @NotNull
+    @Override
+    public String toString() {
+        switch (this.type.getOperandAmount()) {
+            case 0:
+                return this.type == ExpressionType.CONSTANT ? String.valueOf(this.value) : this.type.getSymbol();
+
+            case 1:
+                if (this.type == ExpressionType.NEGATE) return "(-" + this.left + ")";
+
+                return this.type.getSymbol() + "(" + this.left + ")";
+
+            default:
+                return "(" + this.left + this.type.getSymbol() + this.right + ")";
+        }
+    }
+    //</editor-fold>
+}
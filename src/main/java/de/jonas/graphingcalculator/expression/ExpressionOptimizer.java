@@ -0,0 +1,420 @@
+package de.jonas.graphingcalculator.expression;
+
+import de.jonas.graphingcalculator.constant.ExpressionType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Mithilfe des {@link ExpressionOptimizer} wird ein eingelesener Term so umgeformt, dass er möglichst schnell
+ * ausgerechnet werden kann. Im Gegensatz zum {@link ExpressionSimplifier} verändert der {@link ExpressionOptimizer} das
+ * Ergebnis des Terms nicht algebraisch, weshalb z.B. {@code x - x} nicht zu 0 wird. Nur das Zusammenfassen der Zahlen
+ * eines Produkts und das Umwandeln von Potenzen außer {@code u^2} in Multiplikationen runden anders als der eingelesene
+ * Term und können das Ergebnis daher in der letzten Stelle verändern; alle übrigen Umformungen sind exakt. Dabei werden
+ * <ul>
+ *     <li>alle Teilterme ohne Variable (wie {@code 2π}, {@code sqrt(2)} oder {@code e^2}) zu einer Zahl
+ *     zusammengefasst,</li>
+ *     <li>die Zahlen eines Produkts zu einem einzigen Faktor zusammengefasst,</li>
+ *     <li>Divisionen durch eine Zweierpotenz in eine Multiplikation mit ihrem Kehrwert umgewandelt, da nur deren
+ *     Kehrwert exakt ist,</li>
+ *     <li>Potenzen mit kleinen ganzzahligen Exponenten in Multiplikationen umgewandelt und</li>
+ *     <li>gleiche Teilterme zusammengelegt, sodass der Term kein Baum, sondern ein gerichteter azyklischer Graph
+ *     ist, in dem jeder Teilterm genau einmal vorkommt.</li>
+ * </ul>
+ * Da gleiche Teilterme danach dieselbe Instanz sind, können der {@link BytecodeCompiler} und der
+ * {@link BatchEvaluator} jeden Teilterm einmalig ausrechnen und sein Ergebnis wiederverwenden.
+ */
+@NotNull
+public final class ExpressionOptimizer {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Der größte Betrag eines ganzzahligen Exponenten, bei dem eine Potenz in Multiplikationen umgewandelt wird. */
+    private static final int MAX_MULTIPLIED_EXPONENT = 8;
+    //</editor-fold>
+
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Alle bereits angelegten Knoten, die ihrem Schlüssel aus Typ, Wert und Nummern der Operanden zugeordnet sind. */
+    @NotNull
+    private final Map<String, ExpressionNode> nodes = new HashMap<>();
+    /** Die eindeutigen Nummern aller bereits angelegten Knoten. */
+    @NotNull
+    private final Map<ExpressionNode, Integer> numbers = new IdentityHashMap<>();
+    //</editor-fold>
+
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Erzeugt eine neue Instanz eines {@link ExpressionOptimizer}, welcher genau einen Term optimiert.
+     */
+    private ExpressionOptimizer() {
+    }
+    //</editor-fold>
+
+
+    /**
+     * Optimiert einen Term, indem jeder Knoten nach seinen Operanden optimiert wird. Da auch eine lange Summe wie
+     * {@code x + x + ... + x} einen sehr tiefen Baum ergibt, werden die Knoten dabei ohne Rekursion mithilfe eines
+     * eigenen Stacks durchlaufen.
+     *
+     * @param root Der oberste Knoten des Terms, welcher optimiert wird.
+     *
+     * @return Der optimierte Term.
+     */
+    @NotNull
+    private ExpressionNode optimizeNode(@NotNull final ExpressionNode root) {
+        final Map<ExpressionNode, ExpressionNode> optimizedNodes = new IdentityHashMap<>();
+        final Deque<ExpressionNode> pending = new ArrayDeque<>();
+        pending.push(root);
+
+        while (!pending.isEmpty()) {
+            final ExpressionNode node = pending.peek();
+            final ExpressionNode left = node.getLeft();
+            final ExpressionNode right = node.getRight();
+
+            // optimize the first and then the second operand before the node itself
+            if (left != null && !optimizedNodes.containsKey(left)) {
+                pending.push(left);
+                continue;
+            }
+
+            if (right != null && !optimizedNodes.containsKey(right)) {
+                pending.push(right);
+                continue;
+            }
+
+            pending.pop();
+
+            if (left == null) {
+                optimizedNodes.put(node, share(node));
+            } else if (right == null) {
+                optimizedNodes.put(node, optimizeUnary(node.getType(), optimizedNodes.get(left)));
+            } else {
+                optimizedNodes.put(
+                    node,
+                    optimizeBinary(node.getType(), optimizedNodes.get(left), optimizedNodes.get(right))
+                );
+            }
+        }
+
+        return optimizedNodes.get(root);
+    }
+
+    /**
+     * Optimiert einen Knoten mit genau einem bereits optimierten Operanden.
+     *
+     * @param type    Der {@link ExpressionType Typ} des Knotens.
+     * @param operand Der bereits optimierte Operand.
+     *
+     * @return Der optimierte Knoten.
+     */
+    @NotNull
+    private ExpressionNode optimizeUnary(
+        @NotNull final ExpressionType type,
+        @NotNull final ExpressionNode operand
+    ) {
+        final ExpressionNode node = ExpressionNode.unary(type, operand);
+
+        if (isConstant(operand)) return fold(node);
+
+        if (type != ExpressionType.NEGATE) return share(node);
+
+        // -(-u) = u
+        if (operand.getType() == ExpressionType.NEGATE) return operand.getLeft();
+
+        // -(a * u) = (-a) * u
+        if (hasConstantFactor(operand)) {
+            return optimizeMultiply(fold(ExpressionNode.unary(type, operand.getLeft())), operand.getRight());
+        }
+
+        return share(node);
+    }
+
+    /**
+     * Optimiert einen Knoten mit zwei bereits optimierten Operanden.
+     *
+     * @param type  Der {@link ExpressionType Typ} des Knotens.
+     * @param left  Der bereits optimierte erste Operand.
+     * @param right Der bereits optimierte zweite Operand.
+     *
+     * @return Der optimierte Knoten.
+     */
+    @NotNull
+    private ExpressionNode optimizeBinary(
+        @NotNull final ExpressionType type,
+        @NotNull final ExpressionNode left,
+        @NotNull final ExpressionNode right
+    ) {
+        final ExpressionNode node = ExpressionNode.binary(type, left, right);
+
+        if (isConstant(left) && isConstant(right)) return fold(node);
+
+        switch (type) {
+            // only u + (-0) and u - (+0) keep the sign of u = -0
+            case ADD:
+                if (isConstant(right, -0D)) return left;
+                if (isConstant(left, -0D)) return right;
+                break;
+
+            case SUBTRACT:
+                if (isConstant(right, 0D)) return left;
+                break;
+
+            case MULTIPLY:
+                return optimizeMultiply(left, right);
+
+            case DIVIDE:
+                return optimizeDivide(left, right);
+
+            case POWER:
+                return optimizePower(left, right);
+
+            default:
+                break;
+        }
+
+        return share(node);
+    }
+
+    /**
+     * Optimiert ein Produkt, indem alle Zahlen des Produkts zu einem einzigen Faktor zusammengefasst werden, welcher
+     * immer der erste Faktor ist.
+     *
+     * @param left  Der bereits optimierte erste Faktor.
+     * @param right Der bereits optimierte zweite Faktor.
+     *
+     * @return Das optimierte Produkt.
+     */
+    @NotNull
+    private ExpressionNode optimizeMultiply(@NotNull final ExpressionNode left, @NotNull final ExpressionNode right) {
+        // u * a = a * u
+        if (isConstant(right)) return optimizeMultiply(right, left);
+
+        if (isConstant(left)) {
+            if (isConstant(left, 1)) return right;
+
+            // a * (b * u) = (a * b) * u
+            if (hasConstantFactor(right)) {
+                return optimizeMultiply(
+                    fold(ExpressionNode.binary(ExpressionType.MULTIPLY, left, right.getLeft())),
+                    right.getRight()
+                );
+            }
+
+            return share(ExpressionNode.binary(ExpressionType.MULTIPLY, left, right));
+        }
+
+        // (a * u) * v = a * (u * v)
+        if (hasConstantFactor(left)) {
+            return optimizeMultiply(left.getLeft(), optimizeMultiply(left.getRight(), right));
+        }
+
+        // u * (a * v) = a * (u * v)
+        if (hasConstantFactor(right)) {
+            return optimizeMultiply(right.getLeft(), optimizeMultiply(left, right.getRight()));
+        }
+
+        return share(ExpressionNode.binary(ExpressionType.MULTIPLY, left, right));
+    }
+
+    /**
+     * Optimiert einen Quotienten, indem eine Division durch eine Zweierpotenz in eine Multiplikation mit ihrem
+     * Kehrwert umgewandelt wird. Bei allen anderen Zahlen ist der Kehrwert gerundet, sodass sich z.B. {@code x / 10}
+     * und {@code 0.1 * x} an der Stelle 3 unterscheiden.
+     *
+     * @param left  Der bereits optimierte Dividend.
+     * @param right Der bereits optimierte Divisor.
+     *
+     * @return Der optimierte Quotient.
+     */
+    @NotNull
+    private ExpressionNode optimizeDivide(@NotNull final ExpressionNode left, @NotNull final ExpressionNode right) {
+        if (isConstant(right)) {
+            final double reciprocal = 1 / right.getValue();
+
+            // u / a = (1 / a) * u, as long as 1 / a is exact, finite and not zero
+            if (Double.isFinite(reciprocal) && reciprocal != 0 && isPowerOfTwo(right.getValue())) {
+                return optimizeMultiply(share(ExpressionNode.constant(reciprocal)), left);
+            }
+        }
+
+        return share(ExpressionNode.binary(ExpressionType.DIVIDE, left, right));
+    }
+
+    /**
+     * Optimiert eine Potenz, indem Potenzen mit kleinen ganzzahligen Exponenten in Multiplikationen umgewandelt werden.
+     * Potenzen mit den Exponenten {@code 0.5} und {@code -0.5} bleiben erhalten, da sich eine Wurzel für {@code -0.0}
+     * und {@code -∞} anders als {@link Math#pow(double, double)} verhält.
+     *
+     * @param left  Die bereits optimierte Basis.
+     * @param right Der bereits optimierte Exponent.
+     *
+     * @return Die optimierte Potenz.
+     */
+    @NotNull
+    private ExpressionNode optimizePower(@NotNull final ExpressionNode left, @NotNull final ExpressionNode right) {
+        if (!isConstant(right)) return share(ExpressionNode.binary(ExpressionType.POWER, left, right));
+
+        final double exponent = right.getValue();
+
+        // u^0 = 1, even if u is not defined
+        if (exponent == 0) return share(ExpressionNode.constant(1));
+
+        if (exponent == Math.rint(exponent) && Math.abs(exponent) <= MAX_MULTIPLIED_EXPONENT) {
+            return reciprocal(multiply(left, (int) Math.abs(exponent)), exponent < 0);
+        }
+
+        return share(ExpressionNode.binary(ExpressionType.POWER, left, right));
+    }
+
+    /**
+     * Bildet eine Potenz mit einem positiven ganzzahligen Exponenten durch wiederholtes Quadrieren, sodass z.B.
+     * {@code u^4} zu {@code (u * u) * (u * u)} wird und {@code u * u} dabei nur einmal ausgerechnet werden muss.
+     *
+     * @param base     Die bereits optimierte Basis.
+     * @param exponent Der positive ganzzahlige Exponent.
+     *
+     * @return Die Potenz in Form von Multiplikationen.
+     */
+    @NotNull
+    private ExpressionNode multiply(@NotNull final ExpressionNode base, final int exponent) {
+        if (exponent == 1) return base;
+
+        final ExpressionNode half = multiply(base, exponent / 2);
+        final ExpressionNode square = share(ExpressionNode.binary(ExpressionType.MULTIPLY, half, half));
+
+        if (exponent % 2 == 0) return square;
+
+        return share(ExpressionNode.binary(ExpressionType.MULTIPLY, square, base));
+    }
+
+    /**
+     * Gibt einen Term oder seinen Kehrwert zurück.
+     *
+     * @param node       Der bereits optimierte Term.
+     * @param reciprocal Ob der Kehrwert des Terms zurückgegeben werden soll.
+     *
+     * @return Der Term oder sein Kehrwert.
+     */
+    @NotNull
+    private ExpressionNode reciprocal(@NotNull final ExpressionNode node, final boolean reciprocal) {
+        if (!reciprocal) return node;
+
+        return share(ExpressionNode.binary(ExpressionType.DIVIDE, share(ExpressionNode.constant(1)), node));
+    }
+
+    /**
+     * Rechnet einen Knoten ohne Variable aus und gibt das Ergebnis als Zahl zurück. Anders als beim
+     * {@link ExpressionSimplifier} werden auch nicht endliche Ergebnisse zusammengefasst, da der Term nur
+     * ausgerechnet und nicht angezeigt wird.
+     *
+     * @param node Der Knoten ohne Variable.
+     *
+     * @return Das Ergebnis des Knotens als Zahl.
+     */
+    @NotNull
+    private ExpressionNode fold(@NotNull final ExpressionNode node) {
+        return share(ExpressionNode.constant(node.evaluate(0)));
+    }
+
+    /**
+     * Gibt einen bereits angelegten Knoten zurück, welcher denselben Typ, denselben Wert und dieselben Operanden wie
+     * ein bestimmter Knoten besitzt. Existiert noch kein solcher Knoten, wird der Knoten selbst angelegt und
+     * zurückgegeben. Da die Operanden bereits angelegt wurden, genügt es, diese anhand ihrer Nummer zu vergleichen.
+     *
+     * @param node Der Knoten, dessen Operanden bereits angelegt wurden.
+     *
+     * @return Der angelegte Knoten.
+     */
+    @NotNull
+    private ExpressionNode share(@NotNull final ExpressionNode node) {
+        final String key = node.getType().name()
+            + ":" + Double.doubleToLongBits(node.getValue())
+            + ":" + getNumber(node.getLeft())
+            + ":" + getNumber(node.getRight());
+
+        return this.nodes.computeIfAbsent(key, k -> {
+            this.numbers.put(node, this.numbers.size());
+            return node;
+        });
+    }
+
+    /**
+     * Gibt die eindeutige Nummer eines bereits angelegten Knotens zurück.
+     *
+     * @param node Der angelegte Knoten.
+     *
+     * @return Die Nummer des Knotens; -1, wenn kein Knoten existiert.
+     */
+    private int getNumber(@Nullable final ExpressionNode node) {
+        return node == null ? -1 : this.numbers.get(node);
+    }
+
+    //<editor-fold desc="utility">
+
+    /**
+     * Optimiert einen eingelesenen Term, sodass er möglichst schnell ausgerechnet werden kann. Gleiche Teilterme sind
+     * in dem optimierten Term dieselbe Instanz.
+     *
+     * @param root Der eingelesene Term, welcher optimiert wird.
+     *
+     * @return Der optimierte Term.
+     */
+    @NotNull
+    public static ExpressionNode optimize(@NotNull final ExpressionNode root) {
+        return new ExpressionOptimizer().optimizeNode(root);
+    }
+
+    /**
+     * Prüft, ob ein Knoten eine Zahl ist.
+     *
+     * @param node Der Knoten.
+     *
+     * @return Ob der Knoten eine Zahl ist.
+     */
+    private static boolean isConstant(@Nullable final ExpressionNode node) {
+        return node != null && node.getType() == ExpressionType.CONSTANT;
+    }
+
+    /**
+     * Prüft, ob ein Knoten eine bestimmte Zahl ist. Dabei werden auch {@code 0} und {@code -0} unterschieden.
+     *
+     * @param node  Der Knoten.
+     * @param value Die Zahl.
+     *
+     * @return Ob der Knoten die Zahl ist.
+     */
+    private static boolean isConstant(@NotNull final ExpressionNode node, final double value) {
+        return isConstant(node) && Double.doubleToLongBits(node.getValue()) == Double.doubleToLongBits(value);
+    }
+
+    /**
+     * Prüft, ob der Betrag einer Zahl eine Zweierpotenz ist, sodass ihr Kehrwert exakt dargestellt werden kann.
+     *
+     * @param value Die Zahl.
+     *
+     * @return Ob der Betrag der Zahl eine Zweierpotenz ist.
+     */
+    private static boolean isPowerOfTwo(final double value) {
+        return Math.abs(value) == Math.scalb(1D, Math.getExponent(value));
+    }
+
+    /**
+     * Prüft, ob ein Term das Produkt aus einer Zahl und einem Term ist, also {@code a * u}.
+     *
+     * @param node Der Term.
+     *
+     * @return Ob der Term das Produkt aus einer Zahl und einem Term ist.
+     */
+    private static boolean hasConstantFactor(@NotNull final ExpressionNode node) {
+        return node.getType() == ExpressionType.MULTIPLY && isConstant(node.getLeft());
+    }
+    //</editor-fold>
+
+}
@@ -0,0 +1,230 @@
+package de.jonas.graphingcalculator.expression;
+
+import de.jonas.graphingcalculator.constant.ExpressionType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Mithilfe eines {@link ExpressionParser} wird ein Term, welcher in Form eines Strings vorliegt, einmalig eingelesen
+ * und in einen Baum aus {@link ExpressionNode Knoten} umgewandelt. Dieser Baum kann anschließend beliebig oft
+ * ausgerechnet werden, ohne dass der Term erneut eingelesen werden muss. Die Konstanten {@code e} und {@code π} sowie
+ * die Variable {@code x} werden dabei direkt als Knoten eingelesen, anstatt sie vorher im Term zu ersetzen.
+ */
+@NotNull
+public final class ExpressionParser {
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Der Term, welcher von diesem {@link ExpressionParser} eingelesen wird. */
+    @NotNull
+    private final String term;
+    /** Die aktuelle Position innerhalb des Terms. */
+    private int pos = -1;
+    /** Das Zeichen an der aktuellen Position innerhalb des Terms. */
+    private int ch;
+    //</editor-fold>
+
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Erzeugt eine neue Instanz eines {@link ExpressionParser}, welcher genau einen bestimmten Term einliest.
+     *
+     * @param term Der Term, welcher eingelesen werden soll.
+     */
+    private ExpressionParser(@NotNull final String term) {
+        this.term = term;
+    }
+    //</editor-fold>
+
+
+    /**
+     * Liest den gesamten Term ein. Sollte der Term nicht vollständig eingelesen werden können, wird - wie auch bei der
+     * bisherigen Berechnung - ein Knoten mit dem Wert 0 zurückgegeben.
+     *
+     * @return Der Baum aus {@link ExpressionNode Knoten}, welcher den Term darstellt.
+     */
+    @NotNull
+    private ExpressionNode parse() {
+        nextChar();
+        final ExpressionNode node = parseExpression();
+
+        if (this.pos < this.term.length()) return ExpressionNode.constant(0);
+
+        return node;
+    }
+
+    /**
+     * Liest eine Summe bzw. Differenz ein.
+     *
+     * @return Der Knoten, welcher die Summe bzw. Differenz darstellt.
+     */
+    @NotNull
+    private ExpressionNode parseExpression() {
+        ExpressionNode node = parseTerm();
+        while (true) {
+            if (eat('+')) {
+                node = ExpressionNode.binary(ExpressionType.ADD, node, parseTerm());
+            } else if (eat('-')) {
+                node = ExpressionNode.binary(ExpressionType.SUBTRACT, node, parseTerm());
+            } else {
+                return node;
+            }
+        }
+    }
+
+    /**
+     * Liest ein Produkt bzw. einen Quotienten ein. Folgt auf einen Faktor direkt eine Klammer, eine Funktion, eine
+     * Konstante oder die Variable, wird - wie beim handschriftlichen Rechnen - eine Multiplikation angenommen.
+     *
+     * @return Der Knoten, welcher das Produkt bzw. den Quotienten darstellt.
+     */
+    @NotNull
+    private ExpressionNode parseTerm() {
+        ExpressionNode node = parseFactor();
+        while (true) {
+            if (eat('*')) {
+                node = ExpressionNode.binary(ExpressionType.MULTIPLY, node, parseFactor());
+            } else if (eat('/')) {
+                node = ExpressionNode.binary(ExpressionType.DIVIDE, node, parseFactor());
+            } else if (isImplicitFactor()) {
+                node = ExpressionNode.binary(ExpressionType.MULTIPLY, node, parseFactor());
+            } else {
+                return node;
+            }
+        }
+    }
+
+    /**
+     * Liest einen einzelnen Faktor, also eine Zahl, eine Konstante, die Variable, eine Klammer oder eine Funktion -
+     * jeweils mit einer möglichen Potenz - ein.
+     *
+     * @return Der Knoten, welcher den Faktor darstellt.
+     */
+    @NotNull
+    private ExpressionNode parseFactor() {
+        if (eat('+')) return parseFactor();
+        if (eat('-')) return ExpressionNode.unary(ExpressionType.NEGATE, parseFactor());
+
+        ExpressionNode node;
+        final int startPos = this.pos;
+        if (eat('(')) {
+            node = parseExpression();
+            eat(')');
+        } else if ((this.ch >= '0' && this.ch <= '9') || this.ch == '.') {
+            while ((this.ch >= '0' && this.ch <= '9') || this.ch == '.') nextChar();
+            if (this.ch == 'E' && isExponent()) {
+                nextChar();
+                if (this.ch == '+' || this.ch == '-') nextChar();
+                while (this.ch >= '0' && this.ch <= '9') nextChar();
+            }
+            node = ExpressionNode.constant(Double.parseDouble(this.term.substring(startPos, this.pos)));
+        } else if (this.ch == 'π') {
+            nextChar();
+            node = ExpressionNode.constant(Math.PI);
+        } else if (this.ch >= 'a' && this.ch <= 'z') {
+            final ExpressionType function = getFunction();
+
+            if (function != null) {
+                this.pos += function.getSymbol().length() - 1;
+                nextChar();
+                node = ExpressionNode.unary(function, parseFactor());
+            } else if (this.ch == 'x') {
+                nextChar();
+                node = ExpressionNode.variable();
+            } else if (this.ch == 'e') {
+                nextChar();
+                node = ExpressionNode.constant(Math.E);
+            } else {
+                while (this.ch >= 'a' && this.ch <= 'z') nextChar();
+                throw new RuntimeException("Unknown function: " + this.term.substring(startPos, this.pos));
+            }
+        } else {
+            return ExpressionNode.constant(0);
+        }
+
+        if (eat('^')) node = ExpressionNode.binary(ExpressionType.POWER, node, parseFactor());
+
+        return node;
+    }
+
+    /**
+     * Springt zum nächsten Zeichen des Terms.
+     */
+    private void nextChar() {
+        this.ch = (++this.pos < this.term.length()) ? this.term.charAt(this.pos) : -1;
+    }
+
+    /**
+     * Überspringt alle Leerzeichen und prüft, ob das aktuelle Zeichen einem bestimmten Zeichen entspricht. Ist dies der
+     * Fall, wird dieses Zeichen verbraucht.
+     *
+     * @param charToEat Das Zeichen, welches erwartet wird.
+     *
+     * @return Ob das aktuelle Zeichen dem erwarteten Zeichen entsprochen hat und verbraucht wurde.
+     */
+    private boolean eat(final int charToEat) {
+        while (this.ch == ' ') nextChar();
+        if (this.ch == charToEat) {
+            nextChar();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Prüft, ob an der aktuellen Position ein Faktor beginnt, welcher ohne Rechenzeichen an den vorherigen Faktor
+     * angehängt wurde (z.B. {@code 2x} oder {@code 3(x+1)}).
+     *
+     * @return Ob an der aktuellen Position ein Faktor beginnt, welcher mit dem vorherigen Faktor multipliziert wird.
+     */
+    private boolean isImplicitFactor() {
+        while (this.ch == ' ') nextChar();
+        return this.ch == '(' || this.ch == 'π' || (this.ch >= 'a' && this.ch <= 'z');
+    }
+
+    /**
+     * Prüft, ob das aktuelle {@code E} den Exponenten einer Zahl in wissenschaftlicher Schreibweise einleitet.
+     *
+     * @return Ob das aktuelle {@code E} den Exponenten einer Zahl einleitet.
+     */
+    private boolean isExponent() {
+        int next = this.pos + 1;
+
+        if (next < this.term.length() && (this.term.charAt(next) == '+' || this.term.charAt(next) == '-')) next++;
+
+        return next < this.term.length() && this.term.charAt(next) >= '0' && this.term.charAt(next) <= '9';
+    }
+
+    /**
+     * Gibt die Funktion zurück, deren Name an der aktuellen Position des Terms beginnt.
+     *
+     * @return Die Funktion, deren Name an der aktuellen Position beginnt; falls keine Funktion beginnt {@code null}.
+     */
+    @Nullable
+    private ExpressionType getFunction() {
+        for (@NotNull final ExpressionType type : ExpressionType.values()) {
+            if (!type.isFunction()) continue;
+            if (!this.term.startsWith(type.getSymbol(), this.pos)) continue;
+
+            return type;
+        }
+
+        return null;
+    }
+
+    //<editor-fold desc="utility">
+
+    /**
+     * Liest einen Term einmalig ein und gibt den daraus entstandenen Baum aus {@link ExpressionNode Knoten} zurück.
+     *
+     * @param term Der Term, welcher eingelesen werden soll.
+     *
+     * @return Der Baum aus {@link ExpressionNode Knoten}, welcher den Term darstellt.
+     */
+    @NotNull
+    public static ExpressionNode parse(@NotNull final String term) {
+        return new ExpressionParser(term).parse();
+    }
+    //</editor-fold>
+
+}
@@ -0,0 +1,131 @@
+package de.jonas.graphingcalculator.expression;
+
+import de.jonas.graphingcalculator.constant.ExpressionType;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Range;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ein {@link ExpressionProgram} ist ein eingelesener Term, dessen Baum aus {@link ExpressionNode Knoten} in eine Liste
+ * umgewandelt wurde, in der jeder Knoten nach seinen Operanden steht. Dadurch kann der Term ohne Rekursion Knoten für
+ * Knoten ausgerechnet werden, wobei die Operanden jedes Knotens über ihre Indizes in der Liste gefunden werden. Kommt
+ * ein Teilterm mehrfach als dieselbe Instanz vor (siehe {@link ExpressionOptimizer}), wird er nur einmal in die Liste
+ * aufgenommen. Da auch eine lange Summe wie {@code x + x + ... + x} einen sehr tiefen Baum ergibt, wird der Baum dabei
+ * ohne Rekursion durchlaufen. Ein {@link ExpressionProgram} wird von dem {@link DerivativeEvaluator}, dem
+ * {@link IntervalEvaluator} und dem {@link BatchEvaluator} genutzt und darf nach seiner Erzeugung nicht mehr verändert
+ * werden.
+ */
+@Getter
+@NotNull
+public final class ExpressionProgram {
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Die {@link ExpressionType Typen} aller Knoten in der Reihenfolge, in der sie ausgerechnet werden. */
+    @NotNull
+    private final ExpressionType[] types;
+    /** Die festen Werte aller Knoten, welche nur bei Konstanten genutzt werden. */
+    @NotNull
+    private final double[] values;
+    /** Die Indizes der ersten Operanden aller Knoten; -1, wenn ein Knoten keinen ersten Operanden besitzt. */
+    @NotNull
+    private final int[] leftIndices;
+    /** Die Indizes der zweiten Operanden aller Knoten; -1, wenn ein Knoten keinen zweiten Operanden besitzt. */
+    @NotNull
+    private final int[] rightIndices;
+    //</editor-fold>
+
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Erzeugt eine neue Instanz eines {@link ExpressionProgram} für einen eingelesenen Term.
+     *
+     * @param root Der eingelesene Term in Form eines Baums aus {@link ExpressionNode Knoten}.
+     */
+    public ExpressionProgram(@NotNull final ExpressionNode root) {
+        final List<ExpressionNode> nodes = new ArrayList<>();
+        final List<Integer> lefts = new ArrayList<>();
+        final List<Integer> rights = new ArrayList<>();
+
+        addNodes(root, nodes, lefts, rights);
+
+        this.types = new ExpressionType[nodes.size()];
+        this.values = new double[nodes.size()];
+        this.leftIndices = new int[nodes.size()];
+        this.rightIndices = new int[nodes.size()];
+
+        for (int i = 0; i < nodes.size(); i++) {
+            this.types[i] = nodes.get(i).getType();
+            this.values[i] = nodes.get(i).getValue();
+            this.leftIndices[i] = lefts.get(i);
+            this.rightIndices[i] = rights.get(i);
+        }
+    }
+    //</editor-fold>
+
+
+    /**
+     * Gibt die Anzahl an Knoten dieses {@link ExpressionProgram} zurück. Der letzte Knoten ist dabei immer die Wurzel
+     * des Terms.
+     *
+     * @return Die Anzahl an Knoten dieses {@link ExpressionProgram}.
+     */
+    @Range(from = 1, to = Integer.MAX_VALUE)
+    public int size() {
+        return this.types.length;
+    }
+
+    //<editor-fold desc="utility">
+
+    /**
+     * Fügt alle Knoten eines Terms zu der Liste aller Knoten hinzu, wobei jeder Knoten nach seinen Operanden und
+     * jede Instanz nur einmal hinzugefügt wird.
+     *
+     * @param root   Der oberste Knoten des Terms.
+     * @param nodes  Die Liste aller Knoten.
+     * @param lefts  Die Liste der Indizes aller ersten Operanden.
+     * @param rights Die Liste der Indizes aller zweiten Operanden.
+     */
+    private static void addNodes(
+        @NotNull final ExpressionNode root,
+        @NotNull final List<ExpressionNode> nodes,
+        @NotNull final List<Integer> lefts,
+        @NotNull final List<Integer> rights
+    ) {
+        final Map<ExpressionNode, Integer> indices = new IdentityHashMap<>();
+        final Deque<ExpressionNode> pending = new ArrayDeque<>();
+        pending.push(root);
+
+        while (!pending.isEmpty()) {
+            final ExpressionNode node = pending.peek();
+            final ExpressionNode left = node.getLeft();
+            final ExpressionNode right = node.getRight();
+
+            // add the first and then the second operand before the node itself
+            if (left != null && !indices.containsKey(left)) {
+                pending.push(left);
+                continue;
+            }
+
+            if (right != null && !indices.containsKey(right)) {
+                pending.push(right);
+                continue;
+            }
+
+            pending.pop();
+            nodes.add(node);
+            lefts.add(left == null ? -1 : indices.get(left));
+            rights.add(right == null ? -1 : indices.get(right));
+            indices.put(node, nodes.size() - 1);
+        }
+    }
+    //</editor-fold>
+
+}
@@ -0,0 +1,1278 @@
+package de.jonas.graphingcalculator.expression;
+
+import de.jonas.graphingcalculator.constant.ExpressionType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Mithilfe des {@link ExpressionSimplifier} wird ein eingelesener Term algebraisch vereinfacht. Dabei werden alle
+ * Teilterme ohne Variable zu einer Zahl zusammengefasst, neutrale Elemente wie {@code + 0} oder {@code * 1} entfernt,
+ * Vorzeichen und Zahlen nach außen gezogen und gleichartige Summanden einer gesamten Summe sowie Faktoren mit
+ * derselben Basis in einem gesamten Produkt bzw. Quotienten zusammengefasst, wobei sich gemeinsame Faktoren von Zähler
+ * und Nenner kürzen. Summanden, die ein Polynom mit ganzzahligen Koeffizienten und kleinem Grad sind, werden dafür
+ * ausmultipliziert. Funktionen einer Zahl wie {@code ln(10)} werden nur dann ausgerechnet, wenn das Ergebnis eine
+ * ganze Zahl ist. Die Regeln werden so lange angewandt, bis sich der Term nicht mehr verändert.
+ */
+@NotNull
+public final class ExpressionSimplifier {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Die maximale Anzahl an Durchläufen, in denen alle Regeln auf den Term angewandt werden. */
+    private static final int MAX_PASSES = 16;
+    /** Die größte Zahl, bis zu der alle ganzen Zahlen exakt als Kommazahl dargestellt werden können. */
+    private static final double MAX_EXACT_WHOLE_NUMBER = 0x1p53;
+    /** Der höchste Grad, bis zu dem Produkte und Potenzen von Summen ausmultipliziert werden. */
+    private static final int MAX_EXPANDED_DEGREE = 8;
+    //</editor-fold>
+
+
+    /**
+     * Vereinfacht einen eingelesenen Term so weit wie möglich.
+     *
+     * @param node Der eingelesene Term, welcher vereinfacht wird.
+     *
+     * @return Der vereinfachte Term.
+     */
+    @NotNull
+    public static ExpressionNode simplify(@NotNull final ExpressionNode node) {
+        ExpressionNode current = node;
+
+        for (int i = 0; i < MAX_PASSES; i++) {
+            final ExpressionNode simplified = simplifyTree(current);
+
+            if (simplified.equals(current)) return simplified;
+
+            current = simplified;
+        }
+
+        return current;
+    }
+
+    /**
+     * Wendet alle Regeln einmalig von unten nach oben auf einen Term an. Die ersten Operanden werden dabei ohne
+     * Rekursion durchlaufen, sodass auch lange, nach links verschachtelte Summen und Produkte vereinfacht werden
+     * können.
+     *
+     * @param node Der Term, auf den die Regeln angewandt werden.
+     *
+     * @return Der Term, nachdem die Regeln angewandt wurden.
+     */
+    @NotNull
+    private static ExpressionNode simplifyTree(@NotNull final ExpressionNode node) {
+        final Deque<ExpressionNode> parents = new ArrayDeque<>();
+        ExpressionNode first = node;
+
+        while (first.getLeft() != null) {
+            parents.push(first);
+            first = first.getLeft();
+        }
+
+        ExpressionNode simplified = first;
+
+        while (!parents.isEmpty()) {
+            final ExpressionNode parent = parents.pop();
+
+            simplified = parent.getRight() == null
+                ? simplifyUnary(parent.getType(), simplified)
+                : simplifyBinary(parent.getType(), simplified, simplifyTree(parent.getRight()));
+        }
+
+        return simplified;
+    }
+
+    /**
+     * Vereinfacht einen Knoten mit genau einem bereits vereinfachten Operanden.
+     *
+     * @param type    Der {@link ExpressionType Typ} des Knotens.
+     * @param operand Der bereits vereinfachte Operand.
+     *
+     * @return Der vereinfachte Knoten.
+     */
+    @NotNull
+    private static ExpressionNode simplifyUnary(
+        @NotNull final ExpressionType type,
+        @NotNull final ExpressionNode operand
+    ) {
+        final ExpressionNode node = ExpressionNode.unary(type, operand);
+
+        if (isConstant(operand)) {
+            final ExpressionNode folded = fold(node);
+
+            // keep functions of numbers like ln(10) instead of printing all of their digits
+            if (type == ExpressionType.NEGATE || (isConstant(folded) && isWholeNumber(folded.getValue()))) {
+                return folded;
+            }
+
+            return node;
+        }
+
+        if (type != ExpressionType.NEGATE) return node;
+
+        // -(-u) = u
+        if (operand.getType() == ExpressionType.NEGATE) return operand.getLeft();
+
+        // -(a * u) = (-a) * u and -(a / u) = (-a) / u
+        if (hasConstantFactor(operand)) return negate(operand);
+
+        return node;
+    }
+
+    /**
+     * Vereinfacht einen Knoten mit zwei bereits vereinfachten Operanden.
+     *
+     * @param type  Der {@link ExpressionType Typ} des Knotens.
+     * @param left  Der bereits vereinfachte erste Operand.
+     * @param right Der bereits vereinfachte zweite Operand.
+     *
+     * @return Der vereinfachte Knoten.
+     */
+    @NotNull
+    private static ExpressionNode simplifyBinary(
+        @NotNull final ExpressionType type,
+        @NotNull final ExpressionNode left,
+        @NotNull final ExpressionNode right
+    ) {
+        final ExpressionNode node = ExpressionNode.binary(type, left, right);
+
+        if (isConstant(left) && isConstant(right)) return fold(node);
+
+        switch (type) {
+            case ADD:
+                return simplifyAdd(left, right, node);
+
+            case SUBTRACT:
+                return simplifySubtract(left, right, node);
+
+            case MULTIPLY:
+                return simplifyMultiply(left, right, node);
+
+            case DIVIDE:
+                return simplifyDivide(left, right, node);
+
+            case POWER:
+                return simplifyPower(left, right, node);
+
+            default:
+                return node;
+        }
+    }
+
+    /**
+     * Vereinfacht eine Summe.
+     *
+     * @param left  Der erste Summand.
+     * @param right Der zweite Summand.
+     * @param node  Die nicht vereinfachte Summe.
+     *
+     * @return Die vereinfachte Summe.
+     */
+    @NotNull
+    private static ExpressionNode simplifyAdd(
+        @NotNull final ExpressionNode left,
+        @NotNull final ExpressionNode right,
+        @NotNull final ExpressionNode node
+    ) {
+        if (isConstant(left, 0)) return right;
+        if (isConstant(right, 0)) return left;
+
+        // u + (-v) = u - v
+        if (isNegative(right)) return ExpressionNode.binary(ExpressionType.SUBTRACT, left, negate(right));
+        // (-u) + v = v - u
+        if (isNegative(left)) return ExpressionNode.binary(ExpressionType.SUBTRACT, right, negate(left));
+
+        // a * u + b * u = (a + b) * u
+        if (getTerm(left).equals(getTerm(right))) {
+            return multiply(getCoefficient(left) + getCoefficient(right), getTerm(left));
+        }
+
+        return collectTerms(node);
+    }
+
+    /**
+     * Vereinfacht eine Differenz.
+     *
+     * @param left  Der Minuend.
+     * @param right Der Subtrahend.
+     * @param node  Die nicht vereinfachte Differenz.
+     *
+     * @return Die vereinfachte Differenz.
+     */
+    @NotNull
+    private static ExpressionNode simplifySubtract(
+        @NotNull final ExpressionNode left,
+        @NotNull final ExpressionNode right,
+        @NotNull final ExpressionNode node
+    ) {
+        if (isConstant(right, 0)) return left;
+        if (isConstant(left, 0)) return ExpressionNode.unary(ExpressionType.NEGATE, right);
+
+        // u - (-v) = u + v
+        if (isNegative(right)) return ExpressionNode.binary(ExpressionType.ADD, left, negate(right));
+
+        // a * u - b * u = (a - b) * u
+        if (getTerm(left).equals(getTerm(right))) {
+            return multiply(getCoefficient(left) - getCoefficient(right), getTerm(left));
+        }
+
+        return collectTerms(node);
+    }
+
+    /**
+     * Vereinfacht ein Produkt.
+     *
+     * @param left  Der erste Faktor.
+     * @param right Der zweite Faktor.
+     * @param node  Das nicht vereinfachte Produkt.
+     *
+     * @return Das vereinfachte Produkt.
+     */
+    @NotNull
+    private static ExpressionNode simplifyMultiply(
+        @NotNull final ExpressionNode left,
+        @NotNull final ExpressionNode right,
+        @NotNull final ExpressionNode node
+    ) {
+        if (isConstant(left, 0) || isConstant(right, 0)) return ExpressionNode.constant(0);
+        if (isConstant(left, 1)) return right;
+        if (isConstant(right, 1)) return left;
+
+        return collectFactors(node);
+    }
+
+    /**
+     * Vereinfacht einen Quotienten.
+     *
+     * @param left  Der Dividend.
+     * @param right Der Divisor.
+     * @param node  Der nicht vereinfachte Quotient.
+     *
+     * @return Der vereinfachte Quotient.
+     */
+    @NotNull
+    private static ExpressionNode simplifyDivide(
+        @NotNull final ExpressionNode left,
+        @NotNull final ExpressionNode right,
+        @NotNull final ExpressionNode node
+    ) {
+        if (isConstant(left, 0)) return ExpressionNode.constant(0);
+        if (isConstant(right, 1)) return left;
+
+        return collectFactors(node);
+    }
+
+    /**
+     * Vereinfacht eine Potenz.
+     *
+     * @param left  Die Basis.
+     * @param right Der Exponent.
+     * @param node  Die nicht vereinfachte Potenz.
+     *
+     * @return Die vereinfachte Potenz.
+     */
+    @NotNull
+    private static ExpressionNode simplifyPower(
+        @NotNull final ExpressionNode left,
+        @NotNull final ExpressionNode right,
+        @NotNull final ExpressionNode node
+    ) {
+        if (isConstant(right, 0) || isConstant(left, 1)) return ExpressionNode.constant(1);
+        if (isConstant(right, 1)) return left;
+
+        // (u * v)^n = u^n * v^n, so that the factors can be merged with others
+        if (isConstant(right) && isWholeNumber(right.getValue()) && isProduct(left)) return collectFactors(node);
+
+        // (u^a)^b = u^(a * b), which only holds for whole numbers a and b
+        if (isConstant(right) && isWholeNumber(right.getValue()) && left.getType() == ExpressionType.POWER) {
+            final Double exponent = getConstantExponent(left);
+
+            if (exponent != null && isWholeNumber(exponent)) {
+                return ExpressionNode.binary(
+                    ExpressionType.POWER,
+                    left.getLeft(),
+                    ExpressionNode.constant(exponent * right.getValue())
+                );
+            }
+        }
+
+        return node;
+    }
+
+    //<editor-fold desc="utility">
+
+    /**
+     * Fasst alle gleichartigen Summanden einer gesamten Summe zusammen, also z.B. {@code u + v + u} zu
+     * {@code 2 * u + v}, und multipliziert dabei alle Produkte aus einer Zahl und einer Summe sowie alle Polynome mit
+     * kleinem Grad aus, sodass z.B. {@code (x - 1) * (x + 1) - x^2} zu {@code -1} wird. Summanden, die
+     * nicht direkt nebeneinander stehen, werden von den übrigen Regeln nicht erfasst, da diese immer nur die beiden
+     * Operanden eines Knotens betrachten.
+     *
+     * @param node Die Summe bzw. Differenz.
+     *
+     * @return Die Summe mit zusammengefassten Summanden.
+     */
+    @NotNull
+    private static ExpressionNode collectTerms(@NotNull final ExpressionNode node) {
+        final List<ExpressionNode> terms = new ArrayList<>();
+        final List<Double> coefficients = new ArrayList<>();
+
+        collectTerms(node, 1, terms, coefficients);
+
+        return sum(terms, coefficients);
+    }
+
+    /**
+     * Setzt eine Summe aus ihren Summanden und deren Zahlen zusammen, wobei Summanden mit der Zahl 0 entfallen.
+     *
+     * @param terms        Alle unterschiedlichen Summanden ohne ihre Zahl.
+     * @param coefficients Die Zahlen der Summanden.
+     *
+     * @return Die zusammengesetzte Summe.
+     */
+    @NotNull
+    private static ExpressionNode sum(
+        @NotNull final List<ExpressionNode> terms,
+        @NotNull final List<Double> coefficients
+    ) {
+        ExpressionNode sum = null;
+
+        for (int i = 0; i < terms.size(); i++) {
+            final double coefficient = coefficients.get(i);
+
+            if (coefficient == 0) continue;
+
+            if (sum == null) {
+                sum = multiply(coefficient, terms.get(i));
+                continue;
+            }
+
+            sum = ExpressionNode.binary(
+                coefficient < 0 ? ExpressionType.SUBTRACT : ExpressionType.ADD,
+                sum,
+                multiply(Math.abs(coefficient), terms.get(i))
+            );
+        }
+
+        return sum == null ? ExpressionNode.constant(0) : sum;
+    }
+
+    /**
+     * Zerlegt eine Summe in ihre Summanden und addiert dabei die Zahlen gleichartiger Summanden. Zahlen werden als
+     * Vielfaches von 1 betrachtet, sodass auch diese zusammengefasst werden; das Produkt aus einer Zahl und einer Summe
+     * sowie Produkte und Potenzen, die ein Polynom mit kleinem Grad ergeben, werden ausmultipliziert. Die Summe wird
+     * ohne Rekursion zerlegt, sodass auch Summen mit vielen tausend Summanden zusammengefasst werden können.
+     *
+     * @param node         Die Summe, welche zerlegt wird.
+     * @param sign         Das Vorzeichen, mit dem die Summe eingeht.
+     * @param terms        Alle bisherigen unterschiedlichen Summanden ohne ihre Zahl.
+     * @param coefficients Die addierten Zahlen der bisherigen Summanden.
+     */
+    private static void collectTerms(
+        @NotNull final ExpressionNode node,
+        final double sign,
+        @NotNull final List<ExpressionNode> terms,
+        @NotNull final List<Double> coefficients
+    ) {
+        final Deque<ExpressionNode> pendingNodes = new ArrayDeque<>();
+        final Deque<Double> pendingSigns = new ArrayDeque<>();
+
+        pendingNodes.push(node);
+        pendingSigns.push(sign);
+
+        while (!pendingNodes.isEmpty()) {
+            final ExpressionNode current = pendingNodes.pop();
+            final double currentSign = pendingSigns.pop();
+
+            switch (current.getType()) {
+                case ADD:
+                case SUBTRACT:
+                    // the first operand is pushed last, so that the summands keep their order
+                    pendingNodes.push(current.getRight());
+                    pendingSigns.push(current.getType() == ExpressionType.ADD ? currentSign : -currentSign);
+                    pendingNodes.push(current.getLeft());
+                    pendingSigns.push(currentSign);
+                    break;
+
+                case NEGATE:
+                    pendingNodes.push(current.getLeft());
+                    pendingSigns.push(-currentSign);
+                    break;
+
+                case MULTIPLY:
+                    // a * (u + v) = a * u + a * v
+                    if (isConstant(current.getLeft()) && isSum(current.getRight())) {
+                        pendingNodes.push(current.getRight());
+                        pendingSigns.push(currentSign * current.getLeft().getValue());
+                        break;
+                    }
+
+                    addExpandedTerm(current, currentSign, terms, coefficients);
+                    break;
+
+                case POWER:
+                    addExpandedTerm(current, currentSign, terms, coefficients);
+                    break;
+
+                default:
+                    addTerm(current, currentSign, terms, coefficients);
+            }
+        }
+    }
+
+    /**
+     * Fügt einen einzelnen Summanden zu den bisherigen Summanden hinzu bzw. addiert seine Zahl zu der Zahl eines
+     * gleichartigen Summanden.
+     *
+     * @param node         Der Summand.
+     * @param sign         Das Vorzeichen, mit dem der Summand in die gesamte Summe eingeht.
+     * @param terms        Alle bisherigen unterschiedlichen Summanden ohne ihre Zahl.
+     * @param coefficients Die addierten Zahlen der bisherigen Summanden.
+     */
+    private static void addTerm(
+        @NotNull final ExpressionNode node,
+        final double sign,
+        @NotNull final List<ExpressionNode> terms,
+        @NotNull final List<Double> coefficients
+    ) {
+        final ExpressionNode term = isConstant(node) ? ExpressionNode.constant(1) : getTerm(node);
+        final double coefficient = sign * (isConstant(node) ? node.getValue() : getCoefficient(node));
+        final int index = terms.indexOf(term);
+
+        if (index < 0) {
+            terms.add(term);
+            coefficients.add(coefficient);
+        } else {
+            coefficients.set(index, coefficients.get(index) + coefficient);
+        }
+    }
+
+    /**
+     * Multipliziert einen Summanden, welcher ein Polynom mit kleinem Grad ist, aus und fügt jede Potenz der Variable
+     * einzeln zu den bisherigen Summanden hinzu, also z.B. {@code (x + 1)^2} als {@code x^2}, {@code 2x} und
+     * {@code 1}. Alle übrigen Summanden werden unverändert hinzugefügt.
+     *
+     * @param node         Der Summand.
+     * @param sign         Das Vorzeichen, mit dem der Summand in die gesamte Summe eingeht.
+     * @param terms        Alle bisherigen unterschiedlichen Summanden ohne ihre Zahl.
+     * @param coefficients Die addierten Zahlen der bisherigen Summanden.
+     */
+    private static void addExpandedTerm(
+        @NotNull final ExpressionNode node,
+        final double sign,
+        @NotNull final List<ExpressionNode> terms,
+        @NotNull final List<Double> coefficients
+    ) {
+        final double[] polynomial = expand(node);
+
+        if (polynomial == null) {
+            addTerm(node, sign, terms, coefficients);
+            return;
+        }
+
+        for (int degree = polynomial.length - 1; degree >= 0; degree--) {
+            if (polynomial[degree] != 0) addTerm(monomial(degree), sign * polynomial[degree], terms, coefficients);
+        }
+    }
+
+    /**
+     * Multipliziert einen Term aus, sofern dieser ein Polynom mit ganzzahligen Koeffizienten ist, dessen Grad höchstens
+     * {@link #MAX_EXPANDED_DEGREE} beträgt. Die Koeffizienten bleiben dabei ganze Zahlen, die exakt als Kommazahl
+     * dargestellt werden können, sodass beim Ausmultiplizieren keine Rundungsfehler entstehen.
+     *
+     * @param node Der Term.
+     *
+     * @return Die Koeffizienten des Polynoms, beginnend mit dem Grad 0; {@code null}, wenn der Term kein solches
+     *     Polynom ist.
+     */
+    @Nullable
+    private static double[] expand(@NotNull final ExpressionNode node) {
+        switch (node.getType()) {
+            case CONSTANT:
+                return isExactWholeNumber(node.getValue()) ? new double[] {node.getValue()} : null;
+
+            case VARIABLE:
+                return new double[] {0, 1};
+
+            case NEGATE: {
+                final double[] operand = expand(node.getLeft());
+
+                return operand == null ? null : combine(new double[] {0}, operand, -1);
+            }
+
+            case ADD:
+            case SUBTRACT: {
+                final double[] left = expand(node.getLeft());
+                final double[] right = left == null ? null : expand(node.getRight());
+
+                if (right == null) return null;
+
+                return combine(left, right, node.getType() == ExpressionType.ADD ? 1 : -1);
+            }
+
+            case MULTIPLY: {
+                final double[] left = expand(node.getLeft());
+                final double[] right = left == null ? null : expand(node.getRight());
+
+                return right == null ? null : multiply(left, right);
+            }
+
+            case POWER: {
+                final double exponent = isConstant(node.getRight()) ? node.getRight().getValue() : -1;
+
+                if (exponent < 0 || exponent > MAX_EXPANDED_DEGREE || !isWholeNumber(exponent)) return null;
+
+                final double[] base = expand(node.getLeft());
+                double[] result = new double[] {1};
+
+                for (int i = 0; i < exponent && result != null && base != null; i++) {
+                    result = multiply(result, base);
+                }
+
+                return base == null ? null : result;
+            }
+
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Teilt ein Polynom durch ein anderes Polynom, sofern dabei kein Rest bleibt und alle Koeffizienten des Ergebnisses
+     * ganze Zahlen sind.
+     *
+     * @param dividend Die Koeffizienten des Polynoms, welches geteilt wird.
+     * @param divisor  Die Koeffizienten des Polynoms, durch welches geteilt wird.
+     *
+     * @return Die Koeffizienten des Quotienten; {@code null}, wenn das Polynom nicht ohne Rest geteilt werden kann oder
+     *     der Teiler keine Variable enthält.
+     */
+    @Nullable
+    private static double[] divide(@NotNull final double[] dividend, @NotNull final double[] divisor) {
+        final int dividendLength = getLength(dividend);
+        final int divisorLength = getLength(divisor);
+
+        if (divisorLength < 2 || dividendLength < divisorLength) return null;
+
+        final double[] remainder = Arrays.copyOf(dividend, dividendLength);
+        final double[] quotient = new double[dividendLength - divisorLength + 1];
+
+        for (int i = quotient.length - 1; i >= 0; i--) {
+            quotient[i] = remainder[i + divisorLength - 1] / divisor[divisorLength - 1];
+
+            if (!isExactWholeNumber(quotient[i])) return null;
+
+            for (int j = 0; j < divisorLength; j++) {
+                remainder[i + j] -= quotient[i] * divisor[j];
+            }
+        }
+
+        for (final double coefficient : remainder) {
+            if (coefficient != 0) return null;
+        }
+
+        return quotient;
+    }
+
+    /**
+     * Gibt die Anzahl an Koeffizienten eines Polynoms ohne die führenden Nullen zurück, also seinen Grad plus 1.
+     *
+     * @param polynomial Die Koeffizienten des Polynoms.
+     *
+     * @return Die Anzahl an Koeffizienten ohne führende Nullen; 0, wenn alle Koeffizienten 0 sind.
+     */
+    private static int getLength(@NotNull final double[] polynomial) {
+        int length = polynomial.length;
+
+        while (length > 0 && polynomial[length - 1] == 0) length--;
+
+        return length;
+    }
+
+    /**
+     * Setzt ein Polynom aus seinen Koeffizienten wieder zu einem Term zusammen.
+     *
+     * @param polynomial Die Koeffizienten des Polynoms, beginnend mit dem Grad 0.
+     *
+     * @return Das Polynom als Summe von Potenzen der Variable.
+     */
+    @NotNull
+    private static ExpressionNode toNode(@NotNull final double[] polynomial) {
+        final List<ExpressionNode> terms = new ArrayList<>();
+        final List<Double> coefficients = new ArrayList<>();
+
+        for (int degree = polynomial.length - 1; degree >= 0; degree--) {
+            terms.add(monomial(degree));
+            coefficients.add(polynomial[degree]);
+        }
+
+        return sum(terms, coefficients);
+    }
+
+    /**
+     * Erzeugt eine Potenz der Variable.
+     *
+     * @param degree Der Exponent der Potenz.
+     *
+     * @return Die Potenz der Variable; die Zahl 1, wenn der Exponent 0 ist.
+     */
+    @NotNull
+    private static ExpressionNode monomial(final int degree) {
+        return degree == 0 ? ExpressionNode.constant(1) : power(ExpressionNode.variable(), degree);
+    }
+
+    /**
+     * Addiert bzw. subtrahiert die Koeffizienten zweier Polynome.
+     *
+     * @param left  Die Koeffizienten des ersten Polynoms.
+     * @param right Die Koeffizienten des zweiten Polynoms.
+     * @param sign  Das Vorzeichen, mit dem das zweite Polynom eingeht.
+     *
+     * @return Die Koeffizienten der Summe; {@code null}, wenn ein Koeffizient nicht mehr exakt dargestellt werden
+     *     kann.
+     */
+    @Nullable
+    private static double[] combine(@NotNull final double[] left, @NotNull final double[] right, final double sign) {
+        final double[] result = new double[Math.max(left.length, right.length)];
+
+        for (int i = 0; i < result.length; i++) {
+            result[i] = (i < left.length ? left[i] : 0) + sign * (i < right.length ? right[i] : 0);
+
+            if (!isExactWholeNumber(result[i])) return null;
+        }
+
+        return result;
+    }
+
+    /**
+     * Multipliziert die Koeffizienten zweier Polynome.
+     *
+     * @param left  Die Koeffizienten des ersten Polynoms.
+     * @param right Die Koeffizienten des zweiten Polynoms.
+     *
+     * @return Die Koeffizienten des Produkts; {@code null}, wenn der Grad des Produkts zu groß ist oder ein Koeffizient
+     *     nicht mehr exakt dargestellt werden kann.
+     */
+    @Nullable
+    private static double[] multiply(@NotNull final double[] left, @NotNull final double[] right) {
+        if (left.length + right.length - 2 > MAX_EXPANDED_DEGREE) return null;
+
+        final double[] result = new double[left.length + right.length - 1];
+
+        for (int i = 0; i < left.length; i++) {
+            for (int j = 0; j < right.length; j++) {
+                result[i + j] += left[i] * right[j];
+
+                if (!isExactWholeNumber(result[i + j])) return null;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Fasst alle Faktoren mit derselben Basis in einem gesamten Produkt bzw. Quotienten zusammen, also z.B.
+     * {@code u * v * u^2 / v^3} zu {@code u^3 / v^2}, und kürzt Faktoren, die jeder Summand einer Summe im Zähler mit
+     * dem Nenner gemeinsam hat. Alle Zahlen werden zu einem gekürzten Bruch zusammengefasst und die übrigen Faktoren
+     * werden in einer festen Reihenfolge angeordnet, damit gleichartige Summanden einer Summe erkannt werden.
+     *
+     * @param node Das Produkt, der Quotient oder die Potenz eines Produkts mit einem ganzzahligen Exponenten.
+     *
+     * @return Das Produkt bzw. der Quotient mit zusammengefassten Faktoren; der unveränderte Knoten, wenn sich die
+     *     Zahlen nicht zu einer endlichen Zahl zusammenfassen lassen.
+     */
+    @NotNull
+    private static ExpressionNode collectFactors(@NotNull final ExpressionNode node) {
+        final Product product = new Product();
+
+        product.multiply(node, 1);
+        product.cancel();
+
+        final ExpressionNode collected = product.build();
+
+        return collected == null ? node : collected;
+    }
+
+    /**
+     * Teilt jeden einzelnen Summanden einer Summe durch einen Term und vereinfacht ihn dabei.
+     *
+     * @param node    Die Summe bzw. ein Teil der Summe.
+     * @param divisor Der Term, durch den jeder Summand geteilt wird.
+     *
+     * @return Die Summe aus allen geteilten Summanden.
+     */
+    @NotNull
+    private static ExpressionNode divideTerms(
+        @NotNull final ExpressionNode node,
+        @NotNull final ExpressionNode divisor
+    ) {
+        switch (node.getType()) {
+            case ADD:
+            case SUBTRACT:
+                return simplifyBinary(
+                    node.getType(),
+                    divideTerms(node.getLeft(), divisor),
+                    divideTerms(node.getRight(), divisor)
+                );
+
+            case NEGATE:
+                return simplifyUnary(ExpressionType.NEGATE, divideTerms(node.getLeft(), divisor));
+
+            default:
+                return simplifyBinary(ExpressionType.DIVIDE, node, divisor);
+        }
+    }
+
+    /**
+     * Rechnet einen Knoten ohne Variable aus und gibt das Ergebnis als Zahl zurück. Ist das Ergebnis nicht endlich,
+     * bleibt der Knoten unverändert, damit z.B. {@code ln(0)} nicht als Zahl angezeigt wird.
+     *
+     * @param node Der Knoten ohne Variable.
+     *
+     * @return Das Ergebnis des Knotens als Zahl oder der unveränderte Knoten.
+     */
+    @NotNull
+    private static ExpressionNode fold(@NotNull final ExpressionNode node) {
+        final double value = node.evaluate(0);
+
+        return Double.isFinite(value) ? ExpressionNode.constant(value) : node;
+    }
+
+    /**
+     * Erzeugt ein Produkt aus einer Zahl und einem Term und vereinfacht dieses.
+     *
+     * @param coefficient Die Zahl.
+     * @param term        Der Term.
+     *
+     * @return Das vereinfachte Produkt.
+     */
+    @NotNull
+    private static ExpressionNode multiply(final double coefficient, @NotNull final ExpressionNode term) {
+        return simplifyBinary(ExpressionType.MULTIPLY, ExpressionNode.constant(coefficient), term);
+    }
+
+    /**
+     * Kehrt das Vorzeichen eines Terms um, der negiert, eine Zahl oder das Produkt bzw. der Quotient aus einer Zahl und
+     * einem Term ist.
+     *
+     * @param node Der Term.
+     *
+     * @return Der Term mit umgekehrtem Vorzeichen.
+     */
+    @NotNull
+    private static ExpressionNode negate(@NotNull final ExpressionNode node) {
+        if (node.getType() == ExpressionType.NEGATE) return node.getLeft();
+        if (isConstant(node)) return ExpressionNode.constant(-node.getValue());
+
+        return ExpressionNode.binary(
+            node.getType(),
+            ExpressionNode.constant(-node.getLeft().getValue()),
+            node.getRight()
+        );
+    }
+
+    /**
+     * Prüft, ob ein Term negiert, eine negative Zahl oder das Produkt bzw. der Quotient aus einer negativen Zahl und
+     * einem Term ist.
+     *
+     * @param node Der Term.
+     *
+     * @return Ob der Term ein negatives Vorzeichen besitzt.
+     */
+    private static boolean isNegative(@NotNull final ExpressionNode node) {
+        if (node.getType() == ExpressionType.NEGATE) return true;
+        if (isConstant(node)) return node.getValue() < 0;
+
+        return hasConstantFactor(node) && node.getLeft().getValue() < 0;
+    }
+
+    /**
+     * Prüft, ob ein Term das Produkt bzw. der Quotient aus einer Zahl und einem Term ist, also {@code a * u} oder
+     * {@code a / u}.
+     *
+     * @param node Der Term.
+     *
+     * @return Ob der Term das Produkt bzw. der Quotient aus einer Zahl und einem Term ist.
+     */
+    private static boolean hasConstantFactor(@NotNull final ExpressionNode node) {
+        return (node.getType() == ExpressionType.MULTIPLY || node.getType() == ExpressionType.DIVIDE)
+            && isConstant(node.getLeft());
+    }
+
+    /**
+     * Prüft, ob ein Term eine Summe, eine Differenz oder ein negierter Term ist.
+     *
+     * @param node Der Term.
+     *
+     * @return Ob der Term eine Summe, eine Differenz oder ein negierter Term ist.
+     */
+    private static boolean isSum(@NotNull final ExpressionNode node) {
+        return node.getType() == ExpressionType.ADD
+            || node.getType() == ExpressionType.SUBTRACT
+            || node.getType() == ExpressionType.NEGATE;
+    }
+
+    /**
+     * Prüft, ob ein Term ein Produkt, ein Quotient oder ein negierter Term ist.
+     *
+     * @param node Der Term.
+     *
+     * @return Ob der Term ein Produkt, ein Quotient oder ein negierter Term ist.
+     */
+    private static boolean isProduct(@NotNull final ExpressionNode node) {
+        return node.getType() == ExpressionType.MULTIPLY
+            || node.getType() == ExpressionType.DIVIDE
+            || node.getType() == ExpressionType.NEGATE;
+    }
+
+    /**
+     * Gibt die Zahl zurück, mit welcher ein Term multipliziert wird, also {@code a} bei {@code a * u} bzw.
+     * {@code a / u} und ansonsten 1.
+     *
+     * @param node Der Term.
+     *
+     * @return Die Zahl, mit welcher der Term multipliziert wird.
+     */
+    private static double getCoefficient(@NotNull final ExpressionNode node) {
+        return hasConstantFactor(node) ? node.getLeft().getValue() : 1;
+    }
+
+    /**
+     * Gibt den Term ohne die Zahl zurück, mit der er multipliziert wird, also {@code u} bei {@code a * u} bzw.
+     * {@code 1 / u} bei {@code a / u}.
+     *
+     * @param node Der Term.
+     *
+     * @return Der Term ohne die Zahl, mit der er multipliziert wird.
+     */
+    @NotNull
+    private static ExpressionNode getTerm(@NotNull final ExpressionNode node) {
+        if (!hasConstantFactor(node)) return node;
+        if (node.getType() == ExpressionType.MULTIPLY) return node.getRight();
+
+        return ExpressionNode.binary(ExpressionType.DIVIDE, ExpressionNode.constant(1), node.getRight());
+    }
+
+    /**
+     * Erzeugt die Potenz aus einer Basis und einem konstanten Exponenten.
+     *
+     * @param base     Die Basis.
+     * @param exponent Der Exponent.
+     *
+     * @return Die Potenz; die Basis selbst, wenn der Exponent 1 ist.
+     */
+    @NotNull
+    private static ExpressionNode power(@NotNull final ExpressionNode base, final double exponent) {
+        if (exponent == 1) return base;
+
+        return ExpressionNode.binary(ExpressionType.POWER, base, ExpressionNode.constant(exponent));
+    }
+
+    /**
+     * Erzeugt das Produkt aus einer Zahl und einem nicht vereinfachten Term, wobei die Zahlen 1 und -1 nicht als Faktor
+     * geschrieben werden.
+     *
+     * @param coefficient Die Zahl.
+     * @param term        Der Term; {@code null}, wenn nur die Zahl selbst erzeugt wird.
+     *
+     * @return Das Produkt aus der Zahl und dem Term.
+     */
+    @NotNull
+    private static ExpressionNode withCoefficient(final double coefficient, @Nullable final ExpressionNode term) {
+        if (term == null) return ExpressionNode.constant(coefficient);
+        if (coefficient == 1) return term;
+        if (coefficient == -1) return ExpressionNode.unary(ExpressionType.NEGATE, term);
+
+        return ExpressionNode.binary(ExpressionType.MULTIPLY, ExpressionNode.constant(coefficient), term);
+    }
+
+    /**
+     * Hängt einen Faktor an ein nicht vereinfachtes Produkt an.
+     *
+     * @param product Das bisherige Produkt; {@code null}, wenn es noch keine Faktoren besitzt.
+     * @param factor  Der Faktor, welcher angehängt wird.
+     *
+     * @return Das Produkt mit dem angehängten Faktor.
+     */
+    @NotNull
+    private static ExpressionNode append(
+        @Nullable final ExpressionNode product,
+        @NotNull final ExpressionNode factor
+    ) {
+        return product == null ? factor : ExpressionNode.binary(ExpressionType.MULTIPLY, product, factor);
+    }
+
+    /**
+     * Gibt den konstanten Exponenten eines Terms zurück, also {@code a} bei {@code u^a} und ansonsten 1.
+     *
+     * @param node Der Term.
+     *
+     * @return Der konstante Exponent des Terms; {@code null}, wenn der Exponent nicht konstant ist.
+     */
+    @Nullable
+    private static Double getConstantExponent(@NotNull final ExpressionNode node) {
+        if (node.getType() != ExpressionType.POWER) return 1D;
+
+        return isConstant(node.getRight()) ? node.getRight().getValue() : null;
+    }
+
+    /**
+     * Prüft, ob ein Knoten eine Zahl ist.
+     *
+     * @param node Der Knoten.
+     *
+     * @return Ob der Knoten eine Zahl ist.
+     */
+    private static boolean isConstant(@Nullable final ExpressionNode node) {
+        return node != null && node.getType() == ExpressionType.CONSTANT;
+    }
+
+    /**
+     * Prüft, ob ein Knoten eine bestimmte Zahl ist.
+     *
+     * @param node  Der Knoten.
+     * @param value Die Zahl.
+     *
+     * @return Ob der Knoten die Zahl ist.
+     */
+    private static boolean isConstant(@NotNull final ExpressionNode node, final double value) {
+        return isConstant(node) && node.getValue() == value;
+    }
+
+    /**
+     * Prüft, ob eine Zahl eine ganze Zahl ist.
+     *
+     * @param value Die Zahl.
+     *
+     * @return Ob die Zahl eine ganze Zahl ist.
+     */
+    private static boolean isWholeNumber(final double value) {
+        return value == Math.rint(value) && !Double.isInfinite(value);
+    }
+
+    /**
+     * Prüft, ob eine Zahl eine ganze Zahl ist, die exakt als Kommazahl dargestellt werden kann.
+     *
+     * @param value Die Zahl.
+     *
+     * @return Ob die Zahl eine exakt darstellbare ganze Zahl ist.
+     */
+    private static boolean isExactWholeNumber(final double value) {
+        return isWholeNumber(value) && Math.abs(value) <= MAX_EXACT_WHOLE_NUMBER;
+    }
+
+    /**
+     * Bestimmt den größten gemeinsamen Teiler zweier positiver ganzer Zahlen.
+     *
+     * @param first  Die erste Zahl.
+     * @param second Die zweite Zahl.
+     *
+     * @return Der größte gemeinsame Teiler der beiden Zahlen.
+     */
+    private static double gcd(final double first, final double second) {
+        double a = first;
+        double b = second;
+
+        while (b != 0) {
+            final double remainder = a % b;
+
+            a = b;
+            b = remainder;
+        }
+
+        return a;
+    }
+    //</editor-fold>
+
+
+    /**
+     * Ein {@link Product} ist ein in seine Faktoren zerlegtes Produkt bzw. ein Quotient, in dem alle Zahlen als Bruch
+     * und alle übrigen Faktoren als Basis mit einem konstanten Exponenten gespeichert werden. Faktoren im Nenner
+     * besitzen dabei einen negativen Exponenten, sodass sich gleiche Basen in Zähler und Nenner gegenseitig kürzen.
+     */
+    private static final class Product {
+
+        //<editor-fold desc="LOCAL FIELDS">
+        /** Alle unterschiedlichen Basen in der Reihenfolge, in der sie zuerst vorkommen. */
+        @NotNull
+        private final List<ExpressionNode> bases = new ArrayList<>();
+        /** Die addierten Exponenten aller Basen. */
+        @NotNull
+        private final List<Double> exponents = new ArrayList<>();
+        /** Die Zahl im Zähler. */
+        private double numerator = 1;
+        /** Die Zahl im Nenner. */
+        private double denominator = 1;
+        //</editor-fold>
+
+
+        /**
+         * Zerlegt einen Term in seine Faktoren und multipliziert diese mit dem bisherigen Produkt. Potenzen eines
+         * Produkts werden dabei nur mit ganzzahligen Exponenten zerlegt.
+         *
+         * @param node     Der Term.
+         * @param exponent Der ganzzahlige Exponent, mit dem der Term in das Produkt eingeht.
+         */
+        private void multiply(@NotNull final ExpressionNode node, final double exponent) {
+            switch (node.getType()) {
+                case CONSTANT:
+                    if (exponent > 0) {
+                        this.numerator *= Math.pow(node.getValue(), exponent);
+                    } else {
+                        this.denominator *= Math.pow(node.getValue(), -exponent);
+                    }
+                    return;
+
+                case NEGATE:
+                    if (exponent % 2 != 0) this.numerator = -this.numerator;
+
+                    multiply(node.getLeft(), exponent);
+                    return;
+
+                case MULTIPLY:
+                    multiply(node.getLeft(), exponent);
+                    multiply(node.getRight(), exponent);
+                    return;
+
+                case DIVIDE:
+                    multiply(node.getLeft(), exponent);
+                    multiply(node.getRight(), -exponent);
+                    return;
+
+                case POWER:
+                    if (isConstant(node.getRight())) {
+                        final double power = node.getRight().getValue();
+
+                        // (u * v)^n = u^n * v^n, which only holds for a whole number n
+                        if (isWholeNumber(power) && isProduct(node.getLeft())) {
+                            multiply(node.getLeft(), exponent * power);
+                            return;
+                        }
+
+                        // (u^a)^n = u^(a * n), which only holds for whole numbers a and n
+                        if (isWholeNumber(power) || Math.abs(exponent) == 1) {
+                            add(node.getLeft(), exponent * power);
+                            return;
+                        }
+                    }
+
+                    add(node, exponent);
+                    return;
+
+                default:
+                    add(node, exponent);
+            }
+        }
+
+        /**
+         * Kürzt alle Faktoren im Nenner, die jeder Summand einer Summe im Zähler besitzt, indem jeder Summand durch
+         * diese Faktoren geteilt wird. Anschließend werden Polynome im Zähler durch alle Polynome im Nenner geteilt,
+         * durch die sie sich ohne Rest teilen lassen.
+         */
+        private void cancel() {
+            for (int i = 0; i < this.bases.size(); i++) {
+                if (this.exponents.get(i) != 1 || !isSum(this.bases.get(i))) continue;
+
+                final List<Product> terms = new ArrayList<>();
+                collectTerms(this.bases.get(i), terms);
+
+                ExpressionNode divisor = null;
+
+                for (int j = 0; j < this.bases.size(); j++) {
+                    double common = -this.exponents.get(j);
+
+                    for (final Product term : terms) {
+                        common = Math.min(common, term.getExponent(this.bases.get(j)));
+                    }
+
+                    if (common > 0) divisor = append(divisor, power(this.bases.get(j), common));
+                }
+
+                if (divisor == null) continue;
+
+                this.bases.set(i, divideTerms(this.bases.get(i), divisor));
+                multiply(divisor, 1);
+            }
+
+            cancelPolynomials();
+        }
+
+        /**
+         * Teilt alle Summen im Zähler, die Polynome sind, durch alle Polynome im Nenner, durch die sie sich ohne Rest
+         * teilen lassen, also z.B. {@code (x^2 - 1) / (x - 1)} zu {@code x + 1}. Dies erfasst auch gemeinsame Faktoren,
+         * die nach dem Ausmultiplizieren nicht mehr in jedem Summanden stehen.
+         */
+        private void cancelPolynomials() {
+            final int size = this.bases.size();
+
+            for (int i = 0; i < size; i++) {
+                if (this.exponents.get(i) != 1 || !isSum(this.bases.get(i))) continue;
+
+                double[] polynomial = expand(this.bases.get(i));
+                boolean divided = false;
+
+                for (int j = 0; j < size && polynomial != null; j++) {
+                    final double exponent = this.exponents.get(j);
+                    final double[] divisor = exponent < 0 && isWholeNumber(exponent) ? expand(this.bases.get(j)) : null;
+
+                    if (divisor == null) continue;
+
+                    double[] quotient = divide(polynomial, divisor);
+
+                    while (quotient != null && this.exponents.get(j) < 0) {
+                        polynomial = quotient;
+                        divided = true;
+                        this.exponents.set(j, this.exponents.get(j) + 1);
+                        quotient = divide(polynomial, divisor);
+                    }
+                }
+
+                if (!divided) continue;
+
+                this.exponents.set(i, 0D);
+                multiply(toNode(polynomial), 1);
+            }
+        }
+
+        /**
+         * Setzt das Produkt wieder zu einem Term zusammen. Ganze Zahlen werden dabei als gekürzter Bruch geschrieben
+         * und alle übrigen Faktoren nach ihrer Art und danach alphabetisch sortiert.
+         *
+         * @return Das zusammengesetzte Produkt; {@code null}, wenn die Zahlen keine endliche Zahl ergeben.
+         */
+        @Nullable
+        private ExpressionNode build() {
+            double upperNumber = this.denominator < 0 ? -this.numerator : this.numerator;
+            double lowerNumber = Math.abs(this.denominator);
+
+            if (lowerNumber == 0 || !Double.isFinite(upperNumber) || !Double.isFinite(lowerNumber)) return null;
+
+            if (isWholeNumber(upperNumber) && isWholeNumber(lowerNumber)
+                && Math.abs(upperNumber) <= MAX_EXACT_WHOLE_NUMBER && lowerNumber <= MAX_EXACT_WHOLE_NUMBER) {
+                final double divisor = gcd(Math.abs(upperNumber), lowerNumber);
+
+                upperNumber /= divisor;
+                lowerNumber /= divisor;
+            } else {
+                upperNumber /= lowerNumber;
+                lowerNumber = 1;
+            }
+
+            if (upperNumber == 0) return ExpressionNode.constant(0);
+
+            final List<Integer> order = new ArrayList<>();
+
+            for (int i = 0; i < this.bases.size(); i++) {
+                if (this.exponents.get(i) != 0) order.add(i);
+            }
+
+            order.sort(
+                Comparator.<Integer>comparingInt(i -> getRank(this.bases.get(i)))
+                    .thenComparing(i -> ExpressionFormatter.format(this.bases.get(i)))
+            );
+
+            ExpressionNode upper = null;
+            ExpressionNode lower = null;
+
+            for (final int index : order) {
+                final double exponent = this.exponents.get(index);
+                final ExpressionNode factor = power(this.bases.get(index), Math.abs(exponent));
+
+                if (exponent > 0) {
+                    upper = append(upper, factor);
+                } else {
+                    lower = append(lower, factor);
+                }
+            }
+
+            if (lowerNumber != 1) lower = withCoefficient(lowerNumber, lower);
+
+            if (lower == null) return withCoefficient(upperNumber, upper);
+            if (upper == null) {
+                return ExpressionNode.binary(ExpressionType.DIVIDE, ExpressionNode.constant(upperNumber), lower);
+            }
+
+            return withCoefficient(upperNumber, ExpressionNode.binary(ExpressionType.DIVIDE, upper, lower));
+        }
+
+        //<editor-fold desc="utility">
+
+        /**
+         * Multipliziert das Produkt mit einer Basis, die einen konstanten Exponenten besitzt.
+         *
+         * @param base     Die Basis.
+         * @param exponent Der Exponent der Basis.
+         */
+        private void add(@NotNull final ExpressionNode base, final double exponent) {
+            final int index = this.bases.indexOf(base);
+
+            if (index < 0) {
+                this.bases.add(base);
+                this.exponents.add(exponent);
+                return;
+            }
+
+            this.exponents.set(index, this.exponents.get(index) + exponent);
+        }
+
+        /**
+         * Gibt den Exponenten zurück, mit dem eine Basis in diesem Produkt vorkommt.
+         *
+         * @param base Die Basis.
+         *
+         * @return Der Exponent der Basis; 0, wenn die Basis nicht vorkommt.
+         */
+        private double getExponent(@NotNull final ExpressionNode base) {
+            final int index = this.bases.indexOf(base);
+
+            return index < 0 ? 0 : this.exponents.get(index);
+        }
+
+        /**
+         * Zerlegt eine Summe in ihre Summanden und diese wiederum in ihre Faktoren.
+         *
+         * @param node  Die Summe bzw. ein Teil der Summe.
+         * @param terms Alle bisherigen zerlegten Summanden.
+         */
+        private static void collectTerms(@NotNull final ExpressionNode node, @NotNull final List<Product> terms) {
+            if (node.getType() == ExpressionType.ADD || node.getType() == ExpressionType.SUBTRACT) {
+                collectTerms(node.getLeft(), terms);
+                collectTerms(node.getRight(), terms);
+                return;
+            }
+
+            if (node.getType() == ExpressionType.NEGATE) {
+                collectTerms(node.getLeft(), terms);
+                return;
+            }
+
+            final Product term = new Product();
+
+            term.multiply(node, 1);
+            terms.add(term);
+        }
+
+        /**
+         * Gibt die Art einer Basis zurück, nach der die Faktoren eines Produkts sortiert werden: zuerst die Variable,
+         * dann alle Funktionen und Potenzen, dann alle Summen und zuletzt alle Terme ohne Variable.
+         *
+         * @param base Die Basis.
+         *
+         * @return Die Art der Basis.
+         */
+        private static int getRank(@NotNull final ExpressionNode base) {
+            if (base.getType() == ExpressionType.VARIABLE) return 0;
+            if (!ExpressionDifferentiator.containsVariable(base)) return 3;
+
+            return isSum(base) ? 2 : 1;
+        }
+        //</editor-fold>
+
+    }
+
+}
@@ -0,0 +1,275 @@
+package de.jonas.graphingcalculator.expression;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Range;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Der {@link FunctionCache} speichert bereits eingelesene {@link CompiledFunction Funktionen} für die gesamte
+ * Anwendung zwischen, sodass eine Funktion, die erneut gezeichnet, in einer Wertetabelle angezeigt oder ausgerechnet
+ * wird, weder erneut eingelesen noch erneut in eine eigene Klasse übersetzt werden muss. Die Terme werden dabei vorab
+ * {@link #normalize(String) vereinheitlicht}, sodass unterschiedliche Schreibweisen desselben Terms dieselbe Funktion
+ * erhalten. Überschreitet der Zwischenspeicher seine maximale Anzahl an Funktionen oder sein maximales Gewicht - die
+ * Anzahl an Knoten aller Terme - werden die am längsten nicht genutzten Funktionen verworfen.
+ */
+@NotNull
+public final class FunctionCache {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Der Name der System-Property, mit der die maximale Anzahl an Funktionen festgelegt werden kann. */
+    @NotNull
+    public static final String MAX_SIZE_PROPERTY = "graphingcalculator.functionCacheSize";
+    /** Der Name der System-Property, mit der das maximale Gewicht aller Funktionen festgelegt werden kann. */
+    @NotNull
+    public static final String MAX_WEIGHT_PROPERTY = "graphingcalculator.functionCacheWeight";
+    //</editor-fold>
+
+
+    //<editor-fold desc="STATIC FIELDS">
+    /** Die maximale Anzahl an Funktionen, die gleichzeitig zwischengespeichert werden. */
+    @Getter
+    @Setter
+    @Range(from = 0, to = Integer.MAX_VALUE)
+    private static int maxSize = Integer.getInteger(MAX_SIZE_PROPERTY, 256);
+    /** Die maximale Anzahl an Knoten aller Terme, die gleichzeitig zwischengespeichert werden. */
+    @Getter
+    @Setter
+    @Range(from = 0, to = Integer.MAX_VALUE)
+    private static int maxWeight = Integer.getInteger(MAX_WEIGHT_PROPERTY, 65_536);
+    /** Alle zwischengespeicherten Funktionen, wobei die am längsten nicht genutzten Funktionen zuerst stehen. */
+    @NotNull
+    private static final Map<String, CompiledFunction> functions = new LinkedHashMap<>(16, 0.75F, true);
+    /** Die Anzahl an Knoten aller zwischengespeicherten Terme. */
+    private static long weight;
+    /** Die Anzahl an Anfragen, deren Funktion bereits zwischengespeichert war. */
+    private static long hits;
+    /** Die Anzahl an Anfragen, deren Funktion erst eingelesen werden musste. */
+    private static long misses;
+    /** Die Anzahl an Funktionen, die verworfen wurden, um Platz für neue Funktionen zu schaffen. */
+    private static long evictions;
+    //</editor-fold>
+
+
+    //<editor-fold desc="utility">
+
+    /**
+     * Gibt die eingelesene Funktion eines Terms zurück. Ist die Funktion noch nicht zwischengespeichert, wird der Term
+     * eingelesen und die Funktion für alle weiteren Anfragen zwischengespeichert.
+     *
+     * @param function Der Term, dessen Funktion zurückgegeben wird.
+     *
+     * @return Die eingelesene Funktion des vereinheitlichten Terms.
+     */
+    @NotNull
+    public static CompiledFunction get(@NotNull final String function) {
+        final String term = normalize(function);
+
+        synchronized (FunctionCache.class) {
+            final CompiledFunction cachedFunction = functions.get(term);
+
+            if (cachedFunction != null) {
+                hits++;
+                return cachedFunction;
+            }
+
+            misses++;
+        }
+
+        // compile outside of the lock, as generating a class takes far longer than a lookup
+        final CompiledFunction compiledFunction = CompiledFunction.compile(term);
+
+        synchronized (FunctionCache.class) {
+            final CompiledFunction concurrentFunction = functions.putIfAbsent(term, compiledFunction);
+
+            if (concurrentFunction != null) return concurrentFunction;
+
+            weight += getWeight(compiledFunction);
+            evict();
+        }
+
+        return compiledFunction;
+    }
+
+    /**
+     * Vereinheitlicht die Schreibweise eines Terms. Dabei werden die Symbole {@code √}, {@code ÷} und {@code ×} der
+     * Tastatur des Taschenrechners in ihre Schreibweise im Term übersetzt, Kommas durch Punkte ersetzt und alle
+     * Leerzeichen entfernt, die nicht zwischen zwei Zahlen stehen.
+     *
+     * @param function Der Term in beliebiger Schreibweise.
+     *
+     * @return Der vereinheitlichte Term.
+     */
+    @NotNull
+    public static String normalize(@NotNull final String function) {
+        final StringBuilder term = new StringBuilder(function.length());
+        boolean space = false;
+
+        for (int i = 0; i < function.length(); i++) {
+            final char ch = function.charAt(i);
+
+            if (Character.isWhitespace(ch)) {
+                space = term.length() > 0;
+                continue;
+            }
+
+            // a space between two numbers separates them, anywhere else it has no meaning
+            if (space && isNumberChar(term.charAt(term.length() - 1)) && isNumberChar(ch)) term.append(' ');
+
+            space = false;
+
+            switch (ch) {
+                case '√':
+                    term.append("sqrt");
+                    break;
+
+                case '÷':
+                    term.append('/');
+                    break;
+
+                case '×':
+                    term.append('*');
+                    break;
+
+                case ',':
+                    term.append('.');
+                    break;
+
+                default:
+                    term.append(ch);
+                    break;
+            }
+        }
+
+        return term.toString();
+    }
+
+    /**
+     * Verwirft alle zwischengespeicherten Funktionen. Die Statistik über Treffer und Fehlschläge bleibt erhalten.
+     */
+    public static synchronized void clear() {
+        functions.clear();
+        weight = 0;
+    }
+
+    /**
+     * Gibt die Anzahl an zwischengespeicherten Funktionen zurück.
+     *
+     * @return Die Anzahl an zwischengespeicherten Funktionen.
+     */
+    @Range(from = 0, to = Integer.MAX_VALUE)
+    public static synchronized int getSize() {
+        return functions.size();
+    }
+
+    /**
+     * Gibt die Anzahl an Knoten aller zwischengespeicherten Terme zurück.
+     *
+     * @return Die Anzahl an Knoten aller zwischengespeicherten Terme.
+     */
+    @Range(from = 0, to = Long.MAX_VALUE)
+    public static synchronized long getWeight() {
+        return weight;
+    }
+
+    /**
+     * Gibt die Anzahl an Anfragen zurück, deren Funktion bereits zwischengespeichert war.
+     *
+     * @return Die Anzahl an Treffern.
+     */
+    @Range(from = 0, to = Long.MAX_VALUE)
+    public static synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Gibt die Anzahl an Anfragen zurück, deren Funktion erst eingelesen werden musste.
+     *
+     * @return Die Anzahl an Fehlschlägen.
+     */
+    @Range(from = 0, to = Long.MAX_VALUE)
+    public static synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Gibt die Anzahl an Funktionen zurück, die verworfen wurden, um Platz für neue Funktionen zu schaffen.
+     *
+     * @return Die Anzahl an verworfenen Funktionen.
+     */
+    @Range(from = 0, to = Long.MAX_VALUE)
+    public static synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Verwirft die am längsten nicht genutzten Funktionen, bis weder die maximale Anzahl an Funktionen noch das
+     * maximale Gewicht überschritten wird. Die zuletzt hinzugefügte Funktion wird dabei nie verworfen.
+     */
+    private static void evict() {
+        final Iterator<CompiledFunction> iterator = functions.values().iterator();
+
+        while (functions.size() > 1 && (functions.size() > maxSize || weight > maxWeight)) {
+            weight -= getWeight(iterator.next());
+            iterator.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * Gibt das Gewicht einer Funktion zurück, also die Anzahl an Knoten ihres Terms.
+     *
+     * @param function Die Funktion.
+     *
+     * @return Das Gewicht der Funktion.
+     */
+    @Range(from = 1, to = Integer.MAX_VALUE)
+    private static int getWeight(@NotNull final CompiledFunction function) {
+        return countNodes(function.getRoot());
+    }
+
+    /**
+     * Zählt alle Knoten eines Terms. Die Knoten werden ohne Rekursion durchlaufen, sodass auch sehr tiefe Terme
+     * gezählt werden können.
+     *
+     * @param root Der oberste Knoten des Terms.
+     *
+     * @return Die Anzahl an Knoten des Terms.
+     */
+    @Range(from = 1, to = Integer.MAX_VALUE)
+    private static int countNodes(@NotNull final ExpressionNode root) {
+        final Deque<ExpressionNode> pending = new ArrayDeque<>();
+        int count = 0;
+
+        pending.push(root);
+
+        while (!pending.isEmpty()) {
+            final ExpressionNode node = pending.pop();
+            count++;
+
+            if (node.getLeft() != null) pending.push(node.getLeft());
+            if (node.getRight() != null) pending.push(node.getRight());
+        }
+
+        return count;
+    }
+
+    /**
+     * Prüft, ob ein Zeichen Teil einer Zahl sein kann.
+     *
+     * @param ch Das Zeichen.
+     *
+     * @return Ob das Zeichen Teil einer Zahl sein kann.
+     */
+    private static boolean isNumberChar(final char ch) {
+        return (ch >= '0' && ch <= '9') || ch == '.' || ch == ',';
+    }
+    //</editor-fold>
+
+}
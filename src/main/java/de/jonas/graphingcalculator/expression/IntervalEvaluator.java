@@ -0,0 +1,520 @@
+package de.jonas.graphingcalculator.expression;
+
+import de.jonas.graphingcalculator.constant.ExpressionType;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Mithilfe eines {@link IntervalEvaluator} wird ein eingelesener Term nicht für einen einzelnen x-Wert, sondern für
+ * einen ganzen Bereich der x-Achse ausgerechnet (Intervallarithmetik). Das Ergebnis ist ein Bereich der y-Achse, in
+ * dem garantiert alle definierten Funktionswerte des x-Bereichs liegen; dazu wird jedes Zwischenergebnis nach außen
+ * gerundet. Ist der Bereich der y-Achse unbeschränkt, besitzt die Funktion in dem x-Bereich möglicherweise eine
+ * Polstelle; ist er leer (beide Grenzen {@link Double#NaN}), ist die Funktion in dem x-Bereich nirgends definiert. Ein
+ * {@link IntervalEvaluator} ist unveränderbar und kann daher von mehreren Threads gleichzeitig genutzt werden, solange
+ * jeder Thread einen eigenen Arbeitsspeicher ({@link #createWorkspace()}) verwendet.
+ */
+@NotNull
+public final class IntervalEvaluator {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Die Anzahl an Grenzen jedes Bereichs. */
+    private static final int BOUNDS = 2;
+    /** Die Anzahl an zusätzlichen Bereichen im Arbeitsspeicher, die für Zwischenergebnisse genutzt werden. */
+    private static final int SCRATCH_AMOUNT = 2;
+    /** Die Periode des Sinus und des Cosinus. */
+    private static final double TWO_PI = 2 * Math.PI;
+    //</editor-fold>
+
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Der eingelesene Term in Form einer Liste, in der jeder Knoten nach seinen Operanden steht. */
+    @NotNull
+    private final ExpressionProgram program;
+    //</editor-fold>
+
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Erzeugt eine neue Instanz eines {@link IntervalEvaluator} für einen eingelesenen Term. Der Baum aus
+     * {@link ExpressionNode Knoten} wird dabei einmalig in ein {@link ExpressionProgram} umgewandelt, sodass der Term
+     * ohne Rekursion ausgerechnet werden kann.
+     *
+     * @param root Der eingelesene Term in Form eines Baums aus {@link ExpressionNode Knoten}.
+     */
+    public IntervalEvaluator(@NotNull final ExpressionNode root) {
+        this.program = new ExpressionProgram(root);
+    }
+    //</editor-fold>
+
+
+    /**
+     * Erzeugt einen neuen Arbeitsspeicher, in dem die Bereiche aller Knoten während des Ausrechnens abgelegt werden.
+     * Ein Arbeitsspeicher kann für beliebig viele Aufrufe von {@link #evaluate(double, double, double[], double[])}
+     * wiederverwendet werden, darf aber nicht von mehreren Threads gleichzeitig genutzt werden.
+     *
+     * @return Ein neuer Arbeitsspeicher für diesen {@link IntervalEvaluator}.
+     */
+    @NotNull
+    public double[] createWorkspace() {
+        return new double[(this.program.size() + SCRATCH_AMOUNT) * BOUNDS];
+    }
+
+    /**
+     * Berechnet den Bereich der y-Achse, in dem alle definierten Funktionswerte eines Bereichs der x-Achse liegen. Da
+     * hierbei jedes Mal ein neuer Arbeitsspeicher angelegt wird, sollte für viele Bereiche
+     * {@link #evaluate(double, double, double[], double[])} genutzt werden.
+     *
+     * @param xMin Der kleinste x-Wert des Bereichs.
+     * @param xMax Der größte x-Wert des Bereichs.
+     *
+     * @return Ein Array, welches an dem Index 0 die untere und an dem Index 1 die obere Grenze des y-Bereichs
+     *     beinhaltet.
+     */
+    @NotNull
+    public double[] evaluate(final double xMin, final double xMax) {
+        final double[] bounds = new double[BOUNDS];
+
+        evaluate(xMin, xMax, createWorkspace(), bounds);
+        return bounds;
+    }
+
+    /**
+     * Berechnet den Bereich der y-Achse, in dem alle definierten Funktionswerte eines Bereichs der x-Achse liegen.
+     *
+     * @param xMin      Der kleinste x-Wert des Bereichs.
+     * @param xMax      Der größte x-Wert des Bereichs.
+     * @param workspace Der Arbeitsspeicher, welcher mit {@link #createWorkspace()} erzeugt wurde.
+     * @param bounds    Das Array, in welches an dem Index 0 die untere und an dem Index 1 die obere Grenze des
+     *                  y-Bereichs geschrieben wird.
+     */
+    public void evaluate(
+        final double xMin,
+        final double xMax,
+        @NotNull final double[] workspace,
+        @NotNull final double[] bounds
+    ) {
+        final int scratch = this.program.size() * BOUNDS;
+
+        final ExpressionType[] types = this.program.getTypes();
+        final double[] values = this.program.getValues();
+        final int[] leftIndices = this.program.getLeftIndices();
+        final int[] rightIndices = this.program.getRightIndices();
+
+        for (int node = 0; node < types.length; node++) {
+            final int out = node * BOUNDS;
+            final int left = leftIndices[node] * BOUNDS;
+            final int right = rightIndices[node] * BOUNDS;
+
+            // an operand that is nowhere defined makes the whole node undefined
+            if ((left >= 0 && isEmpty(workspace, left)) || (right >= 0 && isEmpty(workspace, right))) {
+                setEmpty(workspace, out);
+                continue;
+            }
+
+            switch (types[node]) {
+                case CONSTANT:
+                    workspace[out] = values[node];
+                    workspace[out + 1] = values[node];
+                    break;
+
+                case VARIABLE:
+                    workspace[out] = xMin;
+                    workspace[out + 1] = xMax;
+                    break;
+
+                case ADD:
+                    set(
+                        workspace,
+                        out,
+                        workspace[left] + workspace[right],
+                        workspace[left + 1] + workspace[right + 1]
+                    );
+                    break;
+
+                case SUBTRACT:
+                    set(
+                        workspace,
+                        out,
+                        workspace[left] - workspace[right + 1],
+                        workspace[left + 1] - workspace[right]
+                    );
+                    break;
+
+                case MULTIPLY:
+                    multiply(workspace, out, left, right);
+                    break;
+
+                case DIVIDE:
+                    divide(workspace, out, left, right);
+                    break;
+
+                case POWER:
+                    power(workspace, out, left, right, scratch);
+                    break;
+
+                case NEGATE:
+                    workspace[out] = -workspace[left + 1];
+                    workspace[out + 1] = -workspace[left];
+                    break;
+
+                case SQRT:
+                    if (workspace[left + 1] < 0) {
+                        setEmpty(workspace, out);
+                        break;
+                    }
+
+                    set(workspace, out, Math.sqrt(Math.max(0, workspace[left])), Math.sqrt(workspace[left + 1]));
+                    break;
+
+                case LN:
+                    ln(workspace, out, left, false);
+                    break;
+
+                case LOG:
+                    ln(workspace, out, left, true);
+                    break;
+
+                case SIN:
+                    sinCos(workspace, out, left, false);
+                    break;
+
+                case COS:
+                    sinCos(workspace, out, left, true);
+                    break;
+
+                case TAN:
+                    tan(workspace, out, left);
+                    break;
+
+                default:
+                    throw new IllegalStateException("Unknown expression type: " + types[node]);
+            }
+        }
+
+        final int root = (this.program.size() - 1) * BOUNDS;
+
+        bounds[0] = workspace[root];
+        bounds[1] = workspace[root + 1];
+    }
+
+    //<editor-fold desc="utility">
+
+    /**
+     * Prüft, ob ein berechneter Bereich der y-Achse beschränkt ist, also ob beide Grenzen endlich sind.
+     *
+     * @param bounds Der berechnete Bereich.
+     *
+     * @return Ob der Bereich beschränkt ist.
+     */
+    public static boolean isBounded(@NotNull final double[] bounds) {
+        return Double.isFinite(bounds[0]) && Double.isFinite(bounds[1]);
+    }
+
+    /**
+     * Prüft, ob ein berechneter Bereich der y-Achse einen bestimmten Wert sicher nicht beinhaltet. Ein leerer Bereich
+     * beinhaltet keinen Wert.
+     *
+     * @param bounds Der berechnete Bereich.
+     * @param value  Der Wert.
+     *
+     * @return Ob der Bereich den Wert sicher nicht beinhaltet.
+     */
+    public static boolean excludes(@NotNull final double[] bounds, final double value) {
+        return Double.isNaN(bounds[0]) || bounds[0] > value || bounds[1] < value;
+    }
+
+    /**
+     * Setzt einen Bereich auf zwei berechnete Grenzen, welche dabei nach außen gerundet werden. Eine Grenze, die sich
+     * nicht berechnen ließ ({@link Double#NaN}), wird durch die entsprechende unendliche Grenze ersetzt.
+     *
+     * @param c     Der Arbeitsspeicher.
+     * @param out   Die Position des Bereichs im Arbeitsspeicher.
+     * @param lower Die berechnete untere Grenze.
+     * @param upper Die berechnete obere Grenze.
+     */
+    private static void set(@NotNull final double[] c, final int out, final double lower, final double upper) {
+        c[out] = Double.isNaN(lower) ? Double.NEGATIVE_INFINITY : Math.nextDown(lower);
+        c[out + 1] = Double.isNaN(upper) ? Double.POSITIVE_INFINITY : Math.nextUp(upper);
+    }
+
+    /**
+     * Setzt einen Bereich auf die gesamte y-Achse.
+     *
+     * @param c   Der Arbeitsspeicher.
+     * @param out Die Position des Bereichs im Arbeitsspeicher.
+     */
+    private static void setUnbounded(@NotNull final double[] c, final int out) {
+        c[out] = Double.NEGATIVE_INFINITY;
+        c[out + 1] = Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Setzt einen Bereich auf den leeren Bereich.
+     *
+     * @param c   Der Arbeitsspeicher.
+     * @param out Die Position des Bereichs im Arbeitsspeicher.
+     */
+    private static void setEmpty(@NotNull final double[] c, final int out) {
+        c[out] = Double.NaN;
+        c[out + 1] = Double.NaN;
+    }
+
+    /**
+     * Prüft, ob ein Bereich leer ist.
+     *
+     * @param c   Der Arbeitsspeicher.
+     * @param a   Die Position des Bereichs im Arbeitsspeicher.
+     *
+     * @return Ob der Bereich leer ist.
+     */
+    private static boolean isEmpty(@NotNull final double[] c, final int a) {
+        return Double.isNaN(c[a]);
+    }
+
+    /**
+     * Multipliziert zwei Grenzen miteinander, wobei 0 mal unendlich als 0 gewertet wird.
+     *
+     * @param a Die erste Grenze.
+     * @param b Die zweite Grenze.
+     *
+     * @return Das Produkt beider Grenzen.
+     */
+    private static double product(final double a, final double b) {
+        return a == 0 || b == 0 ? 0 : a * b;
+    }
+
+    /**
+     * Multipliziert zwei Bereiche miteinander.
+     *
+     * @param c   Der Arbeitsspeicher.
+     * @param out Die Position des Ergebnisses im Arbeitsspeicher.
+     * @param a   Die Position des ersten Faktors im Arbeitsspeicher.
+     * @param b   Die Position des zweiten Faktors im Arbeitsspeicher.
+     */
+    private static void multiply(@NotNull final double[] c, final int out, final int a, final int b) {
+        final double p1 = product(c[a], c[b]);
+        final double p2 = product(c[a], c[b + 1]);
+        final double p3 = product(c[a + 1], c[b]);
+        final double p4 = product(c[a + 1], c[b + 1]);
+
+        set(c, out, Math.min(Math.min(p1, p2), Math.min(p3, p4)), Math.max(Math.max(p1, p2), Math.max(p3, p4)));
+    }
+
+    /**
+     * Dividiert zwei Bereiche durch einander. Beinhaltet der Divisor die 0, ist das Ergebnis unbeschränkt.
+     *
+     * @param c   Der Arbeitsspeicher.
+     * @param out Die Position des Ergebnisses im Arbeitsspeicher.
+     * @param a   Die Position des Dividenden im Arbeitsspeicher.
+     * @param b   Die Position des Divisors im Arbeitsspeicher.
+     */
+    private static void divide(@NotNull final double[] c, final int out, final int a, final int b) {
+        final double lower = c[b];
+        final double upper = c[b + 1];
+
+        if (lower == 0 && upper == 0) {
+            setEmpty(c, out);
+            return;
+        }
+
+        if (lower <= 0 && upper >= 0) {
+            if (c[a] == 0 && c[a + 1] == 0) {
+                c[out] = 0;
+                c[out + 1] = 0;
+                return;
+            }
+
+            setUnbounded(c, out);
+            return;
+        }
+
+        final double q1 = c[a] / lower;
+        final double q2 = c[a] / upper;
+        final double q3 = c[a + 1] / lower;
+        final double q4 = c[a + 1] / upper;
+
+        set(c, out, Math.min(Math.min(q1, q2), Math.min(q3, q4)), Math.max(Math.max(q1, q2), Math.max(q3, q4)));
+    }
+
+    /**
+     * Potenziert einen Bereich mit einem anderen. Ist der Exponent eine feste ganze Zahl, sind auch negative Basen
+     * möglich; ansonsten wird nur der nicht negative Teil der Basis berücksichtigt.
+     *
+     * @param c       Der Arbeitsspeicher.
+     * @param out     Die Position des Ergebnisses im Arbeitsspeicher.
+     * @param a       Die Position der Basis im Arbeitsspeicher.
+     * @param b       Die Position des Exponenten im Arbeitsspeicher.
+     * @param scratch Die Position der zusätzlichen Bereiche für Zwischenergebnisse im Arbeitsspeicher.
+     */
+    private static void power(
+        @NotNull final double[] c,
+        final int out,
+        final int a,
+        final int b,
+        final int scratch
+    ) {
+        final double lower = c[a];
+        final double upper = c[a + 1];
+        final double exponent = c[b];
+
+        if (exponent != c[b + 1]) {
+            // a ^ b is monotone in both operands if the base is positive
+            if (lower <= 0) {
+                setUnbounded(c, out);
+                return;
+            }
+
+            final double p1 = Math.pow(lower, exponent);
+            final double p2 = Math.pow(lower, c[b + 1]);
+            final double p3 = Math.pow(upper, exponent);
+            final double p4 = Math.pow(upper, c[b + 1]);
+
+            set(c, out, Math.min(Math.min(p1, p2), Math.min(p3, p4)), Math.max(Math.max(p1, p2), Math.max(p3, p4)));
+            return;
+        }
+
+        if (exponent == 0) {
+            c[out] = 1;
+            c[out + 1] = 1;
+            return;
+        }
+
+        if (exponent != Math.rint(exponent)) {
+            // only the non-negative part of the base is defined
+            if (upper < 0) {
+                setEmpty(c, out);
+                return;
+            }
+
+            final double lowerPower = Math.pow(Math.max(0, lower), exponent);
+            final double upperPower = Math.pow(upper, exponent);
+
+            set(c, out, Math.min(lowerPower, upperPower), Math.max(lowerPower, upperPower));
+            return;
+        }
+
+        final double absExponent = Math.abs(exponent);
+        final double lowerPower = Math.pow(lower, absExponent);
+        final double upperPower = Math.pow(upper, absExponent);
+
+        if (absExponent % 2 == 1 || lower >= 0) {
+            set(c, scratch, Math.min(lowerPower, upperPower), Math.max(lowerPower, upperPower));
+        } else if (upper <= 0) {
+            set(c, scratch, upperPower, lowerPower);
+        } else {
+            c[scratch] = 0;
+            c[scratch + 1] = Math.nextUp(Math.max(lowerPower, upperPower));
+        }
+
+        if (exponent > 0) {
+            System.arraycopy(c, scratch, c, out, BOUNDS);
+            return;
+        }
+
+        // a ^ -n = 1 / a ^ n
+        c[scratch + BOUNDS] = 1;
+        c[scratch + BOUNDS + 1] = 1;
+        divide(c, out, scratch + BOUNDS, scratch);
+    }
+
+    /**
+     * Berechnet den Logarithmus eines Bereichs, wobei nur der positive Teil des Bereichs berücksichtigt wird. Der
+     * Logarithmus zur Basis 10 wird direkt mit {@link Math#log10(double)} berechnet, da dieser - wie
+     * {@link Math#log(double)} - höchstens um eine Stelle vom exakten Ergebnis abweicht und monoton ist, sodass das
+     * Runden nach außen genügt; eine Division durch {@code ln(10)} würde zusätzliche Rundungsfehler verursachen.
+     *
+     * @param c       Der Arbeitsspeicher.
+     * @param out     Die Position des Ergebnisses im Arbeitsspeicher.
+     * @param a       Die Position des Bereichs im Arbeitsspeicher.
+     * @param decimal Ob der Logarithmus zur Basis 10 ({@code true}) oder der natürliche Logarithmus ({@code false})
+     *                berechnet wird.
+     */
+    private static void ln(@NotNull final double[] c, final int out, final int a, final boolean decimal) {
+        if (c[a + 1] <= 0) {
+            setEmpty(c, out);
+            return;
+        }
+
+        final double lower = c[a] <= 0 ? Double.NaN : decimal ? Math.log10(c[a]) : Math.log(c[a]);
+        final double upper = decimal ? Math.log10(c[a + 1]) : Math.log(c[a + 1]);
+
+        set(c, out, lower, upper);
+    }
+
+    /**
+     * Berechnet den Sinus oder Cosinus eines Bereichs. Beinhaltet der Bereich eine Stelle, an der die Funktion ihr
+     * Maximum oder Minimum besitzt, wird die entsprechende Grenze auf 1 bzw. -1 gesetzt.
+     *
+     * @param c      Der Arbeitsspeicher.
+     * @param out    Die Position des Ergebnisses im Arbeitsspeicher.
+     * @param a      Die Position des Bereichs im Arbeitsspeicher.
+     * @param cosine Ob der Cosinus ({@code true}) oder der Sinus ({@code false}) berechnet wird.
+     */
+    private static void sinCos(@NotNull final double[] c, final int out, final int a, final boolean cosine) {
+        final double lower = c[a];
+        final double upper = c[a + 1];
+
+        if (!(upper - lower < TWO_PI)) {
+            c[out] = -1;
+            c[out + 1] = 1;
+            return;
+        }
+
+        final double lowerValue = cosine ? Math.cos(lower) : Math.sin(lower);
+        final double upperValue = cosine ? Math.cos(upper) : Math.sin(upper);
+        final double maximum = cosine ? 0 : Math.PI / 2;
+
+        set(c, out, Math.min(lowerValue, upperValue), Math.max(lowerValue, upperValue));
+
+        if (containsPeriodicPoint(lower, upper, maximum, TWO_PI)) c[out + 1] = 1;
+        if (containsPeriodicPoint(lower, upper, maximum + Math.PI, TWO_PI)) c[out] = -1;
+
+        c[out] = Math.max(-1, c[out]);
+        c[out + 1] = Math.min(1, c[out + 1]);
+    }
+
+    /**
+     * Berechnet den Tangens eines Bereichs. Beinhaltet der Bereich eine Polstelle des Tangens, ist das Ergebnis
+     * unbeschränkt.
+     *
+     * @param c   Der Arbeitsspeicher.
+     * @param out Die Position des Ergebnisses im Arbeitsspeicher.
+     * @param a   Die Position des Bereichs im Arbeitsspeicher.
+     */
+    private static void tan(@NotNull final double[] c, final int out, final int a) {
+        final double lower = c[a];
+        final double upper = c[a + 1];
+
+        if (!(upper - lower < Math.PI) || containsPeriodicPoint(lower, upper, Math.PI / 2, Math.PI)) {
+            setUnbounded(c, out);
+            return;
+        }
+
+        set(c, out, Math.tan(lower), Math.tan(upper));
+    }
+
+    /**
+     * Prüft, ob ein Bereich eine Stelle der Form {@code offset + k * period} mit einer ganzen Zahl {@code k}
+     * beinhaltet. Die Grenzen des Bereichs werden dabei um einige Rundungsfehler vergrößert.
+     *
+     * @param lower  Die untere Grenze des Bereichs.
+     * @param upper  Die obere Grenze des Bereichs.
+     * @param offset Die Verschiebung der Stellen.
+     * @param period Der Abstand zwischen zwei Stellen.
+     *
+     * @return Ob der Bereich eine solche Stelle beinhaltet.
+     */
+    private static boolean containsPeriodicPoint(
+        final double lower,
+        final double upper,
+        final double offset,
+        final double period
+    ) {
+        final double tolerance = 4 * Math.ulp(Math.max(Math.abs(lower), Math.abs(upper)) + period);
+        final double point = offset + Math.ceil((lower - tolerance - offset) / period) * period;
+
+        return point <= upper + tolerance;
+    }
+    //</editor-fold>
+
+}
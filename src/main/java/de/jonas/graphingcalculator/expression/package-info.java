@@ -0,0 +1,5 @@
+/**
+ * In diesem package befinden sich alle Klassen, mit denen ein Term einmalig eingelesen und anschließend beliebig oft
+ * ausgerechnet werden kann.
+ */
+package de.jonas.graphingcalculator.expression;
@@ -131,15 +131,7 @@ public final class CalculatorGui extends Gui implements ActionListener, KeyListe
                 break;
 
             case "=":
-                this.termField.setText(
-                    String.valueOf(FunctionHandler.eval(
-                        this.termField.getText()
-                            .replaceAll("√", "sqrt")
-                            .replaceAll("÷", "/")
-                            .replaceAll("×", "*")
-                            .replaceAll(",", ".")
-                    ))
-                );
+                this.termField.setText(String.valueOf(FunctionHandler.eval(this.termField.getText())));
                 break;
 
             default:
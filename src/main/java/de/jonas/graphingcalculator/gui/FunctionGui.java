@@ -1,10 +1,14 @@
 package de.jonas.graphingcalculator.gui;
 
+import de.jonas.graphingcalculator.constant.ExportFormat;
+import de.jonas.graphingcalculator.expression.CompiledFunction;
+import de.jonas.graphingcalculator.expression.FunctionCache;
 import de.jonas.graphingcalculator.handler.FileHandler;
 import de.jonas.graphingcalculator.handler.FunctionHandler;
 import de.jonas.graphingcalculator.object.Derivation;
 import de.jonas.graphingcalculator.object.DrawFunction;
 import de.jonas.graphingcalculator.object.Gui;
+import de.jonas.graphingcalculator.object.SampledFunction;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Range;
@@ -19,21 +23,33 @@ import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.JRadioButtonMenuItem;
 import javax.swing.JTextField;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
 
 import java.awt.Color;
+import java.awt.Point;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 import java.awt.event.MouseMotionListener;
+import java.awt.event.MouseWheelEvent;
+import java.awt.event.MouseWheelListener;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
 
 /**
  * Ein {@link FunctionGui} stellt eine Instanz eines {@link Gui} dar, welches eine grafische Oberfläche darstellt, auf
  * der eine bestimmte Funktion gezeichnet werden kann, mithilfe eines
- * {@link de.jonas.graphingcalculator.object.DrawFunction}.
+ * {@link de.jonas.graphingcalculator.object.DrawFunction}. Werden mehrere Funktionen durch ein
+ * {@link FunctionHandler#FUNCTION_SEPARATOR} getrennt angegeben, werden alle Funktionen gemeinsam gezeichnet.
  */
 @NotNull
-public final class FunctionGui extends Gui implements MouseListener, MouseMotionListener {
+public final class FunctionGui extends Gui implements MouseListener, MouseMotionListener, MouseWheelListener {
 
     //<editor-fold desc="CONSTANTS">
     /** Der Titel dieses Fensters. */
@@ -71,6 +87,9 @@ public final class FunctionGui extends Gui implements MouseListener, MouseMotion
     /** Die Funktion, welche alle grafischen Inhalte auf das Fenster zeichnet. */
     @Nullable
     private final DrawFunction drawFunction;
+    /** Die letzte Position der Maus, während der sichtbare Bereich mit der rechten Maustaste verschoben wird. */
+    @Nullable
+    private Point lastPanPoint;
     //</editor-fold>
 
 
@@ -118,19 +137,35 @@ public final class FunctionGui extends Gui implements MouseListener, MouseMotion
             return;
         }
 
+        // split the input into the function and all additional functions
+        final List<String> functions = FunctionHandler.splitFunctions(functionField.getText());
+
+        if (functions.isEmpty()) functions.add(functionField.getText());
+
         // create new function handler
         final FunctionHandler functionHandler = new FunctionHandler(
-            functionField.getText().replaceAll(",", "."),
-            getXScaling()
+            functions.get(0),
+            getXScaling(),
+            getYScaling()
         );
+        final List<CompiledFunction> additionalFunctions = new ArrayList<>();
+        final StringBuilder allFunctions = new StringBuilder(functionHandler.getFunction());
+
+        for (@NotNull final String function : functions.subList(1, functions.size())) {
+            final CompiledFunction additionalFunction = FunctionCache.get(function);
+
+            additionalFunctions.add(additionalFunction);
+            allFunctions.append(FunctionHandler.FUNCTION_SEPARATOR).append(' ');
+            allFunctions.append(additionalFunction.getFunction());
+        }
 
         // set last values
-        lastFunction = functionHandler.getFunction();
+        lastFunction = allFunctions.toString();
         lastScalingX = String.valueOf(getXScaling());
         lastScalingY = String.valueOf(getYScaling());
 
         // create draw object
-        this.drawFunction = new DrawFunction(functionHandler, getXScaling(), getYScaling());
+        this.drawFunction = new DrawFunction(functionHandler, additionalFunctions, getXScaling(), getYScaling());
         this.drawFunction.setBounds(0, 0, WIDTH, HEIGHT - 21);
         this.drawFunction.setVisible(true);
 
@@ -170,9 +205,19 @@ public final class FunctionGui extends Gui implements MouseListener, MouseMotion
             this.drawFunction.repaint();
         });
 
+        // create popup-menu item to show intersections
+        final JRadioButtonMenuItem showIntersectionsItem = new JRadioButtonMenuItem("Schnittpunkte anzeigen", false);
+        showIntersectionsItem.setEnabled(!additionalFunctions.isEmpty());
+        showIntersectionsItem.addChangeListener(e -> {
+            if (this.drawFunction.isEnableIntersections() == showIntersectionsItem.isSelected()) return;
+
+            this.drawFunction.setEnableIntersections(showIntersectionsItem.isSelected());
+            this.drawFunction.repaint();
+        });
+
         // create popup-menu item to show derivation
-        final JRadioButtonMenuItem[] derivationItems = new JRadioButtonMenuItem[this.drawFunction.getDerivations().size()];
-        for (int i = 0; i < this.drawFunction.getDerivations().size(); i++) {
+        final JRadioButtonMenuItem[] derivationItems = new JRadioButtonMenuItem[DrawFunction.DERIVATION_AMOUNT];
+        for (int i = 0; i < DrawFunction.DERIVATION_AMOUNT; i++) {
             derivationItems[i] = new JRadioButtonMenuItem((i + 1) + ". Ableitung anzeigen");
 
             final int finalI = i;
@@ -237,7 +282,9 @@ public final class FunctionGui extends Gui implements MouseListener, MouseMotion
             try {
                 final double x = Double.parseDouble(input.replaceAll(",", "."));
 
-                this.drawFunction.setTangentFunction(functionHandler.getTangentFunction(x));
+                this.drawFunction.setTangentFunction(
+                    this.drawFunction.getFunctionHandler().getTangentFunction(x)
+                );
                 this.drawFunction.repaint();
 
                 tangentItem.setText("Tangente ausblenden");
@@ -261,12 +308,46 @@ public final class FunctionGui extends Gui implements MouseListener, MouseMotion
             }
         });
 
+        // create button to save the currently drawn function-values
+        final JButton saveValuesButton = new JButton("Werte speichern");
+        saveValuesButton.setFocusable(false);
+        saveValuesButton.setBounds(WIDTH - 420, HEIGHT - 100, 190, 30);
+        saveValuesButton.addActionListener(e -> {
+            final SampledFunction values = this.drawFunction.getFunction();
+
+            if (values == null) return;
+
+            final ExportFormat format = (ExportFormat) JOptionPane.showInputDialog(
+                null,
+                "Format:",
+                "Werte speichern",
+                JOptionPane.PLAIN_MESSAGE,
+                null,
+                ExportFormat.values(),
+                ExportFormat.CSV
+            );
+
+            if (format == null) return;
+
+            final File file = FileHandler.getSelectedExportFile(format);
+
+            if (file == null) return;
+
+            try {
+                FileHandler.exportValues(file, format, values);
+            } catch (@NotNull final IOException ex) {
+                throw new RuntimeException(ex);
+            }
+        });
+
         // create menu to display points in the menu-bar
         final JMenu pointMenu = new JMenu("Punkte");
+        pointMenu.setEnabled(false);
         pointMenu.add(showRootsItem);
         pointMenu.add(showExtremesItem);
         pointMenu.add(showTurningPointsItem);
         pointMenu.add(showSaddlePointsItem);
+        pointMenu.add(showIntersectionsItem);
 
         // create menu to display marks in the menu-bar
         final JMenu markMenu = new JMenu("Markierungen");
@@ -275,6 +356,7 @@ public final class FunctionGui extends Gui implements MouseListener, MouseMotion
 
         // create menu to display derivations in the menu-bar
         final JMenu derivationMenu = new JMenu("Ableitung");
+        derivationMenu.setEnabled(false);
 
         for (@NotNull final JRadioButtonMenuItem derivationItem : derivationItems) {
             derivationMenu.add(derivationItem);
@@ -283,6 +365,7 @@ public final class FunctionGui extends Gui implements MouseListener, MouseMotion
         // create menu to display extras in the menu-bar
         final JMenu extraMenu = new JMenu("Extra");
         extraMenu.add(tangentItem);
+        extraMenu.setEnabled(false);
 
         // create menu-bar
         final JMenuBar menuBar = new JMenuBar();
@@ -299,14 +382,74 @@ public final class FunctionGui extends Gui implements MouseListener, MouseMotion
 
         // add components to gui
         super.add(saveToImageButton);
+        super.add(saveValuesButton);
         super.add(this.drawFunction);
 
         // add listener to gui
         super.addMouseListener(this);
         super.addMouseMotionListener(this);
+        super.addMouseWheelListener(this);
+
+        // calculate function values and special points in the background
+        final DrawFunction drawFunction = this.drawFunction;
+        final SwingWorker<Void, Void> calculationWorker = new SwingWorker<Void, Void>() {
+            @Override
+            protected Void doInBackground() {
+                // the pool threads are not interrupted on cancel, so the calculation polls the worker instead
+                drawFunction.calculateFunctionValues(this::setProgress, this::isCancelled);
+
+                if (isCancelled()) return null;
+
+                publish();
+                drawFunction.calculateSpecialPoints(this::isCancelled);
+                return null;
+            }
+
+            @Override
+            protected void process(@NotNull final List<Void> chunks) {
+                if (isCancelled()) return;
+
+                drawFunction.showFunctionValuesInBackground();
+                drawFunction.repaint();
+                derivationMenu.setEnabled(true);
+            }
+
+            @Override
+            protected void done() {
+                if (isCancelled()) return;
+
+                try {
+                    get();
+                } catch (@NotNull final InterruptedException | CancellationException ignored) {
+                    return;
+                } catch (@NotNull final ExecutionException ex) {
+                    throw new RuntimeException(ex.getCause());
+                }
+
+                drawFunction.repaint();
+                derivationMenu.setEnabled(true);
+                pointMenu.setEnabled(true);
+                extraMenu.setEnabled(true);
+            }
+        };
+        calculationWorker.addPropertyChangeListener(e -> {
+            if (!"progress".equals(e.getPropertyName())) return;
+
+            drawFunction.setProgress((Integer) e.getNewValue());
+            drawFunction.repaint();
+        });
+
+        // cancel the calculation when the gui is closed
+        super.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(@NotNull final WindowEvent e) {
+                calculationWorker.cancel(true);
+            }
+        });
 
         // show gui
         super.setVisible(true);
+        calculationWorker.execute();
     }
     //</editor-fold>
 
@@ -340,6 +483,12 @@ public final class FunctionGui extends Gui implements MouseListener, MouseMotion
     //<editor-fold desc="implementation">
     @Override
     public void mousePressed(@NotNull final MouseEvent e) {
+        // start moving the visible area
+        if (SwingUtilities.isRightMouseButton(e)) {
+            this.lastPanPoint = e.getPoint();
+            return;
+        }
+
         assert this.drawFunction != null;
         this.drawFunction.handleMousePressed(e.getX() - 7);
         this.drawFunction.repaint();
@@ -347,6 +496,11 @@ public final class FunctionGui extends Gui implements MouseListener, MouseMotion
 
     @Override
     public void mouseReleased(@NotNull final MouseEvent e) {
+        if (SwingUtilities.isRightMouseButton(e)) {
+            this.lastPanPoint = null;
+            return;
+        }
+
         assert this.drawFunction != null;
         this.drawFunction.handleMouseReleased();
         this.drawFunction.repaint();
@@ -354,8 +508,16 @@ public final class FunctionGui extends Gui implements MouseListener, MouseMotion
 
     @Override
     public void mouseDragged(@NotNull final MouseEvent e) {
-        // check if the mouse has clicked before
         assert this.drawFunction != null;
+
+        // move the visible area
+        if (this.lastPanPoint != null) {
+            this.drawFunction.handlePan(e.getX() - this.lastPanPoint.x, e.getY() - this.lastPanPoint.y);
+            this.lastPanPoint = e.getPoint();
+            return;
+        }
+
+        // check if the mouse has clicked before
         if (this.drawFunction.getMouse() == null) return;
 
         // handle mouse-pressed
@@ -378,5 +540,13 @@ public final class FunctionGui extends Gui implements MouseListener, MouseMotion
     @Override
     public void mouseMoved(@NotNull final MouseEvent e) {
     }
+
+    @Override
+    public void mouseWheelMoved(@NotNull final MouseWheelEvent e) {
+        assert this.drawFunction != null;
+        final Point point = SwingUtilities.convertPoint(this, e.getPoint(), this.drawFunction);
+
+        this.drawFunction.handleMouseWheel(point.x, point.y, e.getPreciseWheelRotation());
+    }
     //</editor-fold>
 }
@@ -1,29 +1,37 @@
 package de.jonas.graphingcalculator.gui;
 
+import de.jonas.graphingcalculator.constant.ExportFormat;
+import de.jonas.graphingcalculator.handler.FileHandler;
 import de.jonas.graphingcalculator.handler.FunctionHandler;
+import de.jonas.graphingcalculator.object.DrawFunction;
 import de.jonas.graphingcalculator.object.Gui;
+import de.jonas.graphingcalculator.object.ValueTable;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Range;
 
-import javax.swing.ImageIcon;
+import javax.swing.JButton;
+import javax.swing.JComboBox;
+import javax.swing.JComponent;
 import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
-import javax.swing.JScrollPane;
+import javax.swing.JScrollBar;
 import javax.swing.JTextField;
+import javax.swing.ProgressMonitor;
+import javax.swing.SwingWorker;
 
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.Graphics;
-import java.awt.Image;
-import java.awt.image.BufferedImage;
-import java.util.Map;
-import java.util.NavigableMap;
-import java.util.TreeMap;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
 
 /**
  * Ein {@link ValueTableGui} stellt eine Instanz eines {@link Gui} dar, welches eine grafische Oberfläche darstellt, auf
- * der eine Wertetabelle angezeigt werden kann.
+ * der eine Wertetabelle angezeigt werden kann. Es werden immer nur die sichtbaren Zeilen berechnet und gezeichnet,
+ * sodass auch Wertetabellen mit Millionen an Zeilen sofort angezeigt werden.
  */
 @NotNull
 public final class ValueTableGui extends Gui {
@@ -43,6 +51,10 @@ public final class ValueTableGui extends Gui {
     private static final int VALUE_TABLE_WIDTH = WIDTH - 60;
     /** Die Höhe jeder einzelnen Zeile der Wertetabelle. */
     private static final int VALUE_TABLE_ROW_HEIGHT = 30;
+    /** Die Anzahl an Zeilen der Wertetabelle, die gleichzeitig sichtbar sind. */
+    private static final int VISIBLE_ROWS = 23;
+    /** Der größte Betrag eines Wertes, der noch auf fünf Nachkommastellen gerundet werden kann. */
+    private static final double MAX_ROUNDED_VALUE = 1E13;
     /** Die standardmäßig in diesem Fenster genutzte Schriftart. */
     @NotNull
     private static final Font DEFAULT_FONT = new Font("Arial", Font.BOLD, 15);
@@ -75,9 +87,6 @@ public final class ValueTableGui extends Gui {
     /** Das Textfeld, in welchem die Schrittweite der Wertetabelle angegeben wird. */
     @NotNull
     private final JTextField incrementField = new JTextField(lastIncrement, 10);
-    /** Die {@link Map}, in der alle Werte dieser Wertetabelle abgespeichert werden. */
-    @NotNull
-    private final NavigableMap<Double, Double> values = new TreeMap<>();
     //</editor-fold>
 
 
@@ -126,10 +135,7 @@ public final class ValueTableGui extends Gui {
         if (functionDrawOption != JOptionPane.OK_OPTION) return;
 
         // create new function handler to calculate function values
-        final FunctionHandler functionHandler = new FunctionHandler(
-            functionField.getText().replaceAll(",", "."),
-            0
-        );
+        final FunctionHandler functionHandler = new FunctionHandler(functionField.getText(), 0, 0);
 
         // set last values
         lastFunction = functionHandler.getFunction();
@@ -142,55 +148,199 @@ public final class ValueTableGui extends Gui {
         functionLabel.setBounds(0, 0, WIDTH, 50);
         functionLabel.setFont(DEFAULT_FONT.deriveFont(23F));
 
-        // fill value-map with function-values
-        for (double i = getXMin(); i <= getXMax(); i += getIncrement()) {
-            this.values.put(i, functionHandler.getFunctionValue(i));
-        }
+        // the function-values are calculated on demand while scrolling
+        final ValueTable valueTable = new ValueTable(
+            functionHandler.getCompiledFunction(),
+            getXMin(),
+            getIncrement(),
+            getRowAmount()
+        );
 
-        // create scrollable value-table
-        final JLabel valueTableLabel = new JLabel(new ImageIcon(getValueTable()));
-        final JScrollPane scrollPane = new JScrollPane(valueTableLabel);
-        scrollPane.setBounds((WIDTH - VALUE_TABLE_WIDTH - 40) / 2, 50, VALUE_TABLE_WIDTH + 25, HEIGHT - 120);
+        // create scrollbar whose value is the first visible row
+        final JScrollBar scrollBar = new JScrollBar(
+            JScrollBar.VERTICAL,
+            0,
+            Math.min(VISIBLE_ROWS, valueTable.getRowAmount()),
+            0,
+            valueTable.getRowAmount()
+        );
+        scrollBar.setBlockIncrement(VISIBLE_ROWS);
+
+        // create value-table, which only draws the visible rows
+        final JComponent valueTableComponent = new JComponent() {
+            @Override
+            protected void paintComponent(@NotNull final Graphics g) {
+                super.paintComponent(g);
+                drawValueTable(g, valueTable, scrollBar.getValue(), VISIBLE_ROWS);
+            }
+        };
+        final int tableX = (WIDTH - VALUE_TABLE_WIDTH - 40) / 2;
+        valueTableComponent.setBounds(tableX, 50, VALUE_TABLE_WIDTH, VISIBLE_ROWS * VALUE_TABLE_ROW_HEIGHT);
+        valueTableComponent.addMouseWheelListener(
+            e -> scrollBar.setValue(scrollBar.getValue() + e.getUnitsToScroll())
+        );
+        scrollBar.setBounds(tableX + VALUE_TABLE_WIDTH, 50, 25, VISIBLE_ROWS * VALUE_TABLE_ROW_HEIGHT);
+        scrollBar.addAdjustmentListener(e -> valueTableComponent.repaint());
+
+        // create field to jump to any x-value
+        final int jumpY = 60 + VISIBLE_ROWS * VALUE_TABLE_ROW_HEIGHT;
+        final JLabel jumpLabel = new JLabel("Springe zu x: ", JLabel.RIGHT);
+        jumpLabel.setBounds(tableX, jumpY, 150, 25);
+
+        final JTextField jumpField = new JTextField(10);
+        jumpField.setBounds(tableX + 150, jumpY, 150, 25);
+        jumpField.addActionListener(e -> {
+            try {
+                final double x = Double.parseDouble(jumpField.getText().replaceAll(",", "."));
+
+                scrollBar.setValue(valueTable.getRow(x));
+            } catch (@NotNull final NumberFormatException ignored) {
+            }
+        });
+
+        // create button to export the whole value-table into a file
+        final JButton exportButton = new JButton("Exportieren");
+        exportButton.setFocusable(false);
+        exportButton.setBounds(tableX + VALUE_TABLE_WIDTH - 165, jumpY, 190, 25);
+        exportButton.addActionListener(e -> exportValueTable(valueTable));
 
         super.add(functionLabel);
-        super.add(scrollPane);
+        super.add(valueTableComponent);
+        super.add(scrollBar);
+        super.add(jumpLabel);
+        super.add(jumpField);
+        super.add(exportButton);
         super.setVisible(true);
     }
     //</editor-fold>
 
 
     /**
-     * Gibt die Wertetabelle, die angezeigt werden soll in Form eines Bildes zurück, damit diese Tabelle als festes
-     * Objekt unveränderbar angezeigt werden kann.
+     * Lässt den Nutzer das {@link ExportFormat Format}, die Anzahl an Ableitungen und die Datei auswählen und schreibt
+     * anschließend alle Zeilen einer Wertetabelle im Hintergrund in diese Datei. Der Fortschritt wird dabei in einem
+     * eigenen Fenster angezeigt, in dem der Export auch abgebrochen werden kann. Wird der Export abgebrochen oder
+     * schlägt er fehl, wird die unvollständige Datei gelöscht, sobald sie nicht mehr geschrieben wird.
      *
-     * @return Die Wertetabelle, die angezeigt werden soll in Form eines Bildes, damit diese Tabelle als festes Objekt
-     *     unveränderbar angezeigt werden kann.
+     * @param valueTable Die Wertetabelle, deren Zeilen geschrieben werden.
      */
-    @NotNull
-    private Image getValueTable() {
-        // create new image
-        final BufferedImage image = new BufferedImage(
-            VALUE_TABLE_WIDTH,
-            this.values.size() * VALUE_TABLE_ROW_HEIGHT,
-            BufferedImage.TYPE_INT_ARGB
+    private void exportValueTable(@NotNull final ValueTable valueTable) {
+        // create export message panel
+        final JPanel[] messagePanel = new JPanel[2];
+
+        messagePanel[0] = new JPanel();
+        messagePanel[1] = new JPanel();
+
+        // add format box
+        final JComboBox<ExportFormat> formatBox = new JComboBox<>(ExportFormat.values());
+        messagePanel[0].add(new JLabel("Format: "));
+        messagePanel[0].add(formatBox);
+
+        // add derivation box
+        final JComboBox<Integer> derivationBox = new JComboBox<>();
+        for (int i = 0; i <= DrawFunction.DERIVATION_AMOUNT; i++) {
+            derivationBox.addItem(i);
+        }
+        messagePanel[1].add(new JLabel("Ableitungen: "));
+        messagePanel[1].add(derivationBox);
+
+        // create dialog
+        final int exportOption = JOptionPane.showConfirmDialog(
+            this,
+            messagePanel,
+            "Wertetabelle exportieren",
+            JOptionPane.OK_CANCEL_OPTION
         );
 
-        // create image graphics
-        final Graphics g = image.createGraphics();
-        g.setFont(DEFAULT_FONT);
+        if (exportOption != JOptionPane.OK_OPTION) return;
+
+        final ExportFormat format = (ExportFormat) formatBox.getSelectedItem();
+        final int derivationAmount = (Integer) derivationBox.getSelectedItem();
+        final File file = FileHandler.getSelectedExportFile(format);
+
+        if (file == null) return;
+
+        // write the value-table in the background
+        final ProgressMonitor progressMonitor = new ProgressMonitor(this, "Wertetabelle exportieren", null, 0, 100);
+        final SwingWorker<Void, Void> exportWorker = new SwingWorker<Void, Void>() {
+            @Override
+            protected Void doInBackground() throws IOException {
+                boolean complete = false;
+
+                try {
+                    FileHandler.exportValues(
+                        file,
+                        format,
+                        valueTable.getFunction(),
+                        valueTable.getXMin(),
+                        valueTable.getIncrement(),
+                        valueTable.getRowAmount(),
+                        derivationAmount,
+                        progress -> {
+                            if (isCancelled()) throw new CancellationException();
+
+                            setProgress(progress);
+                        }
+                    );
+                    complete = true;
+                } finally {
+                    // the file is already closed here, so an incomplete file can be removed safely
+                    if ((!complete || isCancelled()) && !file.delete()) file.deleteOnExit();
+                }
+                return null;
+            }
 
-        // calculate value table height
-        final int valueTableHeight = this.values.size() * VALUE_TABLE_ROW_HEIGHT;
+            @Override
+            protected void done() {
+                progressMonitor.close();
 
-        int count = 1;
+                if (isCancelled()) return;
 
-        for (@NotNull final Map.Entry<Double, Double> valueTableEntry : this.values.entrySet()) {
-            // get x- and y-coordinate
-            final double x = Math.round(valueTableEntry.getKey() * 100000D) / 100000D;
-            final double y = Math.round(valueTableEntry.getValue() * 100000D) / 100000D;
+                try {
+                    get();
+                } catch (@NotNull final InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                } catch (@NotNull final ExecutionException ex) {
+                    if (!(ex.getCause() instanceof CancellationException)) throw new RuntimeException(ex.getCause());
+                }
+            }
+        };
+        exportWorker.addPropertyChangeListener(e -> {
+            if (!"progress".equals(e.getPropertyName())) return;
+
+            progressMonitor.setProgress((Integer) e.getNewValue());
 
-            // mark background light-gray
-            if (count % 2 == 0) {
+            if (progressMonitor.isCanceled()) exportWorker.cancel(false);
+        });
+        exportWorker.execute();
+    }
+
+    /**
+     * Zeichnet einen Ausschnitt einer Wertetabelle, beginnend mit einer bestimmten Zeile. Es werden nur die
+     * Funktionswerte der gezeichneten Zeilen berechnet, sodass die Dauer unabhängig von der Größe der Wertetabelle ist.
+     *
+     * @param g         Das {@link Graphics Grafik-Objekt}, auf welches die Wertetabelle gezeichnet wird.
+     * @param table     Die Wertetabelle.
+     * @param firstRow  Der Index der ersten Zeile, die gezeichnet wird.
+     * @param rowAmount Die Anzahl an Zeilen, die höchstens gezeichnet werden.
+     */
+    public static void drawValueTable(
+        @NotNull final Graphics g,
+        @NotNull final ValueTable table,
+        @Range(from = 0, to = Integer.MAX_VALUE) final int firstRow,
+        @Range(from = 0, to = Integer.MAX_VALUE) final int rowAmount
+    ) {
+        g.setFont(DEFAULT_FONT);
+
+        // calculate height of the drawn rows
+        final int drawnRows = Math.max(0, Math.min(rowAmount, table.getRowAmount() - firstRow));
+        final int valueTableHeight = drawnRows * VALUE_TABLE_ROW_HEIGHT;
+
+        for (int i = 0; i < drawnRows; i++) {
+            final int row = firstRow + i;
+            final int count = i + 1;
+
+            // mark background of every second row light-gray
+            if (row % 2 == 1) {
                 g.setColor(Color.LIGHT_GRAY);
                 g.fillRect(
                     1,
@@ -208,10 +358,12 @@ public final class ValueTableGui extends Gui {
                 VALUE_TABLE_WIDTH - 1,
                 count * VALUE_TABLE_ROW_HEIGHT
             );
-            g.drawString(Double.toString(x), 50, count * VALUE_TABLE_ROW_HEIGHT - 10);
-            g.drawString(Double.toString(y), VALUE_TABLE_WIDTH / 2 + 50, count * VALUE_TABLE_ROW_HEIGHT - 10);
-
-            count++;
+            g.drawString(formatValue(table.getX(row)), 50, count * VALUE_TABLE_ROW_HEIGHT - 10);
+            g.drawString(
+                formatValue(table.getY(row)),
+                VALUE_TABLE_WIDTH / 2 + 50,
+                count * VALUE_TABLE_ROW_HEIGHT - 10
+            );
         }
 
         // draw value table framework
@@ -221,8 +373,34 @@ public final class ValueTableGui extends Gui {
         g.drawLine(1, valueTableHeight - 1, VALUE_TABLE_WIDTH - 1, valueTableHeight - 1);
         g.drawLine(VALUE_TABLE_WIDTH - 1, 1, VALUE_TABLE_WIDTH - 1, valueTableHeight - 1);
         g.drawLine(VALUE_TABLE_WIDTH / 2, 1, VALUE_TABLE_WIDTH / 2, valueTableHeight - 1);
+    }
+
+    /**
+     * Bringt einen Wert der Wertetabelle in eine lesbare Form, wobei dieser auf fünf Nachkommastellen gerundet wird.
+     * Nicht definierte Werte und Werte, die zu groß zum Runden sind, werden unverändert angezeigt.
+     *
+     * @param value Der Wert.
+     *
+     * @return Der Wert in lesbarer Form.
+     */
+    @NotNull
+    private static String formatValue(final double value) {
+        if (!(Math.abs(value) < MAX_ROUNDED_VALUE)) return Double.toString(value);
+
+        return Double.toString(Math.round(value * 100000D) / 100000D);
+    }
+
+    /**
+     * Gibt die Anzahl an Zeilen der Wertetabelle zurück, also die Anzahl an x-Werten, die mit der Schrittweite zwischen
+     * dem kleinsten und dem größten x-Wert liegen.
+     *
+     * @return Die Anzahl an Zeilen der Wertetabelle.
+     */
+    @Range(from = 0, to = Integer.MAX_VALUE)
+    private int getRowAmount() {
+        if (getXMax() < getXMin() || getIncrement() <= 0) return 0;
 
-        return image;
+        return (int) Math.min(Integer.MAX_VALUE, Math.floor((getXMax() - getXMin()) / getIncrement() + 1E-9) + 1);
     }
 
     /**
@@ -230,11 +408,11 @@ public final class ValueTableGui extends Gui {
      *
      * @return Der kleinste x-Wert der Wertetabelle unter Berücksichtigung einer falschen Eingabe des Nutzers.
      */
-    private int getXMin() {
+    private double getXMin() {
         try {
-            return Integer.parseInt(this.xMinField.getText());
+            return Double.parseDouble(this.xMinField.getText().replaceAll(",", "."));
         } catch (@NotNull final NumberFormatException ignored) {
-            return -5;
+            return -5D;
         }
     }
 
@@ -243,11 +421,11 @@ public final class ValueTableGui extends Gui {
      *
      * @return Der größte x-Wert der Wertetabelle unter Berücksichtigung einer falschen Eingabe des Nutzers.
      */
-    private int getXMax() {
+    private double getXMax() {
         try {
-            return Integer.parseInt(this.xMaxField.getText());
+            return Double.parseDouble(this.xMaxField.getText().replaceAll(",", "."));
         } catch (@NotNull final NumberFormatException ignored) {
-            return 5;
+            return 5D;
         }
     }
 
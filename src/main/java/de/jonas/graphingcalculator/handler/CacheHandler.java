@@ -0,0 +1,392 @@
+package de.jonas.graphingcalculator.handler;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Range;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Mithilfe des {@link CacheHandler} werden aufwändig berechnete Werte, wie z.B. die Funktionswerte eines gezeichneten
+ * Bereichs oder die Nullstellen einer Funktion, über das Ende der Anwendung hinaus in einem Ordner im
+ * Benutzerverzeichnis zwischengespeichert. Jeder Eintrag wird über einen Schlüssel identifiziert, der die Funktion,
+ * den Bereich und die Auflösung der Werte beschreibt, und besteht aus beliebig vielen Arrays an Kommazahlen.
+ *
+ * <p>Jeder Eintrag wird in einer eigenen Datei gespeichert, deren Name sich aus dem Hash des Schlüssels ergibt. Die
+ * Datei beginnt mit den vier Zeichen {@code GCC1}, gefolgt von der Länge (4 Byte) und den UTF-8-Bytes des Schlüssels
+ * sowie der Anzahl an Arrays (4 Byte). Danach folgt jedes Array mit seiner Länge (4 Byte) und seinen Werten (je
+ * 8 Byte); am Ende steht die CRC32-Prüfsumme (8 Byte) aller vorherigen Bytes. Alle Zahlen stehen im
+ * Little-Endian-Format. Die Dateien werden mithilfe eines {@link MappedByteBuffer} gelesen; ist eine Datei
+ * beschädigt oder gehört sie zu einem anderen Schlüssel, wird sie gelöscht und die Werte werden neu berechnet.</p>
+ *
+ * <p>Überschreitet die Größe aller Dateien die maximale Größe, werden die am längsten nicht genutzten Dateien gelöscht.
+ * Überreste abgebrochener Schreibvorgänge werden dabei mitgezählt und ebenfalls gelöscht. Da hierfür alle Dateien
+ * aufgelistet werden müssen, wird dies erst nach {@value #EVICTION_INTERVAL} Schreibvorgängen bzw. nach einem
+ * {@value #EVICTION_INTERVAL}-tel der maximalen Größe geprüft, sodass die maximale Größe kurzzeitig um höchstens diesen
+ * Teil überschritten wird. Der Zwischenspeicher ist standardmäßig ausgeschaltet.</p>
+ */
+@NotNull
+public final class CacheHandler {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Der Name der System-Property, mit welcher der Zwischenspeicher eingeschaltet werden kann. */
+    @NotNull
+    public static final String ENABLED_PROPERTY = "graphingcalculator.diskCache";
+    /** Der Name der System-Property, mit der die maximale Größe aller Dateien in Byte festgelegt werden kann. */
+    @NotNull
+    public static final String MAX_SIZE_PROPERTY = "graphingcalculator.diskCacheSize";
+    /** Der Name der System-Property, mit welcher der Ordner des Zwischenspeichers festgelegt werden kann. */
+    @NotNull
+    public static final String DIRECTORY_PROPERTY = "graphingcalculator.diskCacheDir";
+    /** Die Zeichen, mit denen jede Datei beginnt; diese ändern sich, sobald sich das Format ändert. */
+    @NotNull
+    private static final byte[] MAGIC = {'G', 'C', 'C', '1'};
+    /** Die Dateiendung aller Dateien des Zwischenspeichers. */
+    @NotNull
+    private static final String EXTENSION = ".bin";
+    /** Die Dateiendung aller Dateien, die gerade geschrieben werden. */
+    @NotNull
+    private static final String TEMPORARY_EXTENSION = ".tmp";
+    /**
+     * Die Zeit in Millisekunden, nach der eine Datei, die gerade geschrieben wird, als Überrest eines abgebrochenen
+     * Schreibvorgangs gilt.
+     */
+    private static final long TEMPORARY_FILE_TIMEOUT = TimeUnit.MINUTES.toMillis(10);
+    /** Die Anzahl an Zeichen des Hashes, aus dem sich der Name einer Datei ergibt. */
+    private static final int NAME_LENGTH = 32;
+    /**
+     * Die Anzahl an Schreibvorgängen bzw. der Teil der maximalen Größe, nach denen bzw. nach dem geprüft wird, ob
+     * Dateien gelöscht werden müssen.
+     */
+    private static final int EVICTION_INTERVAL = 32;
+    //</editor-fold>
+
+
+    //<editor-fold desc="STATIC FIELDS">
+    /** Der Zustand, ob Werte auf der Festplatte zwischengespeichert werden sollen oder nicht. */
+    @Getter
+    @Setter
+    private static boolean enabled = Boolean.getBoolean(ENABLED_PROPERTY);
+    /** Die maximale Größe aller Dateien des Zwischenspeichers in Byte. */
+    @Getter
+    @Setter
+    @Range(from = 0, to = Long.MAX_VALUE)
+    private static long maxSize = Long.getLong(MAX_SIZE_PROPERTY, 256L << 20);
+    /** Der Ordner, in dem alle Dateien des Zwischenspeichers liegen. */
+    @Getter
+    @Setter
+    @NotNull
+    private static File directory = new File(System.getProperty(
+        DIRECTORY_PROPERTY,
+        new File(new File(System.getProperty("user.home"), ".graphingcalculator"), "cache").getPath()
+    ));
+    /** Die Anzahl an Schreibvorgängen seit der letzten Prüfung, ob Dateien gelöscht werden müssen. */
+    private static int pendingWrites;
+    /** Die Anzahl an Bytes, die seit der letzten Prüfung, ob Dateien gelöscht werden müssen, geschrieben wurden. */
+    private static long pendingSize;
+    //</editor-fold>
+
+
+    //<editor-fold desc="utility">
+
+    /**
+     * Liest einen Eintrag aus dem Zwischenspeicher.
+     *
+     * @param key Der Schlüssel des Eintrags.
+     *
+     * @return Alle Arrays des Eintrags; {@code null}, wenn der Zwischenspeicher ausgeschaltet ist oder der Eintrag
+     *     nicht vorhanden bzw. beschädigt ist.
+     */
+    @Nullable
+    public static double[][] read(@NotNull final String key) {
+        if (!enabled) return null;
+
+        final File file = getFile(key);
+
+        if (!file.isFile()) return null;
+
+        try {
+            final double[][] arrays = readFile(file.toPath(), key);
+
+            if (arrays == null) {
+                Files.deleteIfExists(file.toPath());
+                return null;
+            }
+
+            // the modification time marks the last use of this entry for the eviction
+            file.setLastModified(System.currentTimeMillis());
+
+            return arrays;
+        } catch (@NotNull final IOException ignored) {
+            // the entry may have been evicted in the meantime, so the values are simply calculated again
+            return null;
+        }
+    }
+
+    /**
+     * Schreibt einen Eintrag in den Zwischenspeicher. Ein vorhandener Eintrag mit demselben Schlüssel wird dabei
+     * ersetzt. Da die Datei zunächst unter einem anderen Namen geschrieben und anschließend umbenannt wird, kann ein
+     * Eintrag nie unvollständig gelesen werden.
+     *
+     * @param key    Der Schlüssel des Eintrags.
+     * @param arrays Alle Arrays des Eintrags.
+     */
+    public static void write(@NotNull final String key, @NotNull final double[]... arrays) {
+        if (!enabled) return;
+
+        final byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        long size = MAGIC.length + Integer.BYTES + keyBytes.length + Integer.BYTES + Long.BYTES;
+
+        for (@NotNull final double[] array : arrays) {
+            size += Integer.BYTES + (long) array.length * Double.BYTES;
+        }
+
+        if (size > Math.min(maxSize, Integer.MAX_VALUE)) return;
+
+        final ByteBuffer buffer = ByteBuffer.allocate((int) size).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(MAGIC).putInt(keyBytes.length).put(keyBytes).putInt(arrays.length);
+
+        for (@NotNull final double[] array : arrays) {
+            buffer.putInt(array.length);
+            buffer.asDoubleBuffer().put(array);
+            // the buffer methods are called on Buffer, whose signatures also exist on Java 8
+            ((Buffer) buffer).position(buffer.position() + array.length * Double.BYTES);
+        }
+
+        final CRC32 checksum = new CRC32();
+        checksum.update(buffer.array(), 0, buffer.position());
+        buffer.putLong(checksum.getValue());
+        ((Buffer) buffer).flip();
+
+        try {
+            final Path target = getFile(key).toPath();
+            Files.createDirectories(target.getParent());
+
+            final Path temporaryFile = Files.createTempFile(target.getParent(), "entry", TEMPORARY_EXTENSION);
+
+            try {
+                try (@NotNull final FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.WRITE)) {
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                }
+
+                try {
+                    Files.move(
+                        temporaryFile,
+                        target,
+                        StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE
+                    );
+                } catch (@NotNull final AtomicMoveNotSupportedException ex) {
+                    Files.move(temporaryFile, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                // the temporary file only remains if writing or moving it failed
+                Files.deleteIfExists(temporaryFile);
+            }
+
+            if (countWrite(size)) evict();
+        } catch (@NotNull final IOException ignored) {
+            // the cache is only an optimisation, so the values are simply not stored
+        }
+    }
+
+    /**
+     * Löscht alle Dateien des Zwischenspeichers sowie alle Überreste abgebrochener Schreibvorgänge.
+     */
+    public static synchronized void clear() {
+        for (@NotNull final String extension : new String[] {EXTENSION, TEMPORARY_EXTENSION}) {
+            for (@NotNull final File file : listFiles(extension)) {
+                if (!file.delete()) file.deleteOnExit();
+            }
+        }
+    }
+
+    /**
+     * Liest eine Datei mithilfe eines {@link MappedByteBuffer} und prüft dabei ihre Prüfsumme, ihr Format und ihren
+     * Schlüssel.
+     *
+     * @param file Die Datei.
+     * @param key  Der Schlüssel, zu dem die Datei gehören muss.
+     *
+     * @return Alle Arrays der Datei; {@code null}, wenn die Datei beschädigt ist oder zu einem anderen Schlüssel
+     *     gehört.
+     *
+     * @throws IOException Wird geworfen, wenn die Datei nicht gelesen werden kann.
+     */
+    @Nullable
+    private static double[][] readFile(@NotNull final Path file, @NotNull final String key) throws IOException {
+        try (@NotNull final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long size = channel.size();
+
+            if (size < MAGIC.length + 2 * Integer.BYTES + Long.BYTES || size > Integer.MAX_VALUE) return null;
+
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+            // check the checksum before interpreting any length
+            final ByteBuffer content = buffer.duplicate();
+            // the buffer methods are called on Buffer, whose signatures also exist on Java 8
+            ((Buffer) content).limit((int) size - Long.BYTES);
+
+            final CRC32 checksum = new CRC32();
+            checksum.update(content);
+
+            if (buffer.getLong((int) size - Long.BYTES) != checksum.getValue()) return null;
+
+            ((Buffer) buffer).limit((int) size - Long.BYTES);
+
+            final byte[] magic = new byte[MAGIC.length];
+            buffer.get(magic);
+
+            if (!Arrays.equals(magic, MAGIC)) return null;
+
+            final byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+
+            if (buffer.getInt() != keyBytes.length || buffer.remaining() < keyBytes.length) return null;
+
+            final byte[] storedKey = new byte[keyBytes.length];
+            buffer.get(storedKey);
+
+            if (!Arrays.equals(storedKey, keyBytes)) return null;
+
+            final int arrayCount = buffer.getInt();
+
+            if (arrayCount < 0 || arrayCount > buffer.remaining() / Integer.BYTES) return null;
+
+            final double[][] arrays = new double[arrayCount][];
+
+            for (int i = 0; i < arrayCount; i++) {
+                if (buffer.remaining() < Integer.BYTES) return null;
+
+                final int length = buffer.getInt();
+
+                if (length < 0 || length > buffer.remaining() / Double.BYTES) return null;
+
+                arrays[i] = new double[length];
+                buffer.slice().order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer().get(arrays[i]);
+                ((Buffer) buffer).position(buffer.position() + length * Double.BYTES);
+            }
+
+            return buffer.hasRemaining() ? null : arrays;
+        }
+    }
+
+    /**
+     * Zählt einen Schreibvorgang und gibt zurück, ob seit der letzten Prüfung genug geschrieben wurde, um erneut zu
+     * prüfen, ob Dateien gelöscht werden müssen.
+     *
+     * @param size Die Anzahl an geschriebenen Bytes.
+     *
+     * @return Wenn erneut geprüft werden soll {@code true}, ansonsten {@code false}.
+     */
+    private static synchronized boolean countWrite(@Range(from = 0, to = Long.MAX_VALUE) final long size) {
+        pendingWrites++;
+        pendingSize += size;
+
+        if (pendingWrites < EVICTION_INTERVAL && pendingSize < maxSize / EVICTION_INTERVAL) return false;
+
+        pendingWrites = 0;
+        pendingSize = 0;
+        return true;
+    }
+
+    /**
+     * Löscht alle Überreste abgebrochener Schreibvorgänge und anschließend die am längsten nicht genutzten Dateien,
+     * bis die Größe aller Dateien - einschließlich der Dateien, die gerade geschrieben werden - die maximale Größe
+     * nicht mehr überschreitet.
+     */
+    private static synchronized void evict() {
+        final File[] files = listFiles(EXTENSION);
+        final long staleTime = System.currentTimeMillis() - TEMPORARY_FILE_TIMEOUT;
+        long size = 0;
+
+        for (@NotNull final File file : listFiles(TEMPORARY_EXTENSION)) {
+            final long length = file.length();
+
+            if (file.lastModified() < staleTime && file.delete()) continue;
+
+            size += length;
+        }
+
+        for (@NotNull final File file : files) {
+            size += file.length();
+        }
+
+        if (size <= maxSize) return;
+
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+
+        for (@NotNull final File file : files) {
+            if (size <= maxSize) break;
+
+            final long length = file.length();
+
+            if (file.delete()) size -= length;
+        }
+    }
+
+    /**
+     * Gibt alle Dateien des Zwischenspeichers mit einer bestimmten Dateiendung zurück.
+     *
+     * @param extension Die Dateiendung der Dateien.
+     *
+     * @return Alle Dateien des Zwischenspeichers mit dieser Dateiendung.
+     */
+    @NotNull
+    private static File[] listFiles(@NotNull final String extension) {
+        final File[] files = directory.listFiles((dir, name) -> name.endsWith(extension));
+
+        return files == null ? new File[0] : files;
+    }
+
+    /**
+     * Gibt die Datei zurück, in welcher der Eintrag eines Schlüssels gespeichert wird. Der Name der Datei ergibt sich
+     * aus dem SHA-256-Hash des Schlüssels.
+     *
+     * @param key Der Schlüssel des Eintrags.
+     *
+     * @return Die Datei des Eintrags.
+     */
+    @NotNull
+    private static File getFile(@NotNull final String key) {
+        final byte[] hash;
+
+        try {
+            hash = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+        } catch (@NotNull final NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+
+        final StringBuilder name = new StringBuilder(NAME_LENGTH + EXTENSION.length());
+
+        for (int i = 0; i < NAME_LENGTH / 2; i++) {
+            name.append(Character.forDigit((hash[i] >> 4) & 0xF, 16)).append(Character.forDigit(hash[i] & 0xF, 16));
+        }
+
+        return new File(directory, name.append(EXTENSION).toString());
+    }
+    //</editor-fold>
+
+}
@@ -1,16 +1,46 @@
 package de.jonas.graphingcalculator.handler;
 
+import de.jonas.graphingcalculator.constant.ExportFormat;
+import de.jonas.graphingcalculator.expression.CompiledFunction;
+import de.jonas.graphingcalculator.object.SampledFunction;
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Range;
 
 import javax.swing.JFileChooser;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
 
 /**
  * Mithilfe des {@link FileHandler} werden alle Interaktionen mit Dateien außerhalb dieses Projekts geregelt.
+ * Funktionswerte werden dabei blockweise berechnet und über einen {@link FileChannel} geschrieben, sodass auch
+ * Dateien mit sehr vielen Zeilen geschrieben werden können, ohne dass alle Werte gleichzeitig im Speicher liegen.
  */
 public final class FileHandler {
 
+    //<editor-fold desc="CONSTANTS">
+    /** Die Anzahl an Zeilen, deren Werte gemeinsam berechnet und geschrieben werden. */
+    private static final int CHUNK_ROWS = 65536;
+    /** Die Größe des Puffers, in dem die Zeilen vor dem Schreiben gesammelt werden. */
+    private static final int BUFFER_SIZE = 8 << 20;
+    /** Die Anzahl an Zeilen einer CSV-Datei, die gemeinsam in Text umgewandelt werden. */
+    private static final int SLICE_ROWS = 4096;
+    /** Die maximale Anzahl an Zeichen, die {@link Double#toString(double)} für eine Zahl erzeugt. */
+    private static final int MAX_NUMBER_LENGTH = 24;
+    /** Die Zeichen, mit denen jede Binärdatei beginnt. */
+    @NotNull
+    private static final byte[] BINARY_MAGIC = {'G', 'C', 'V', '1'};
+    //</editor-fold>
+
+
     //<editor-fold desc="utility">
 
     /**
@@ -35,6 +65,371 @@ public final class FileHandler {
 
         return null;
     }
+
+    /**
+     * Öffnet für den Nutzer ein Fenster, in welchem er eine Datei auswählen kann, in die Werte in einem bestimmten
+     * {@link ExportFormat Format} geschrieben werden sollen. Besitzt die ausgewählte Datei keine Dateiendung, wird die
+     * Endung des Formats angehängt.
+     *
+     * @param format Das {@link ExportFormat Format}, in dem die Werte geschrieben werden sollen.
+     *
+     * @return Die Datei, die der Nutzer ausgewählt hat; wenn der Nutzer keine Datei gewählt hat {@code null}.
+     */
+    @Nullable
+    public static File getSelectedExportFile(@NotNull final ExportFormat format) {
+        final File file = getSelectedSaveDir();
+
+        if (file == null || file.getName().contains(".")) return file;
+
+        return new File(file.getParentFile(), file.getName() + "." + format.getExtension());
+    }
+
+    /**
+     * Schreibt die Funktionswerte einer Funktion an x-Werten mit fester Schrittweite in eine Datei. Die Werte werden
+     * dabei in Blöcken von {@value CHUNK_ROWS} Zeilen berechnet und geschrieben, sodass der benötigte Speicher
+     * unabhängig von der Anzahl an Zeilen ist.
+     *
+     * @param file             Die Datei, in welche die Werte geschrieben werden.
+     * @param format           Das {@link ExportFormat Format} der Datei.
+     * @param function         Die Funktion, deren Funktionswerte geschrieben werden.
+     * @param xMin             Der x-Wert der ersten Zeile.
+     * @param increment        Die Schrittweite zwischen den x-Werten zweier aufeinanderfolgender Zeilen.
+     * @param rowAmount        Die Anzahl an Zeilen.
+     * @param derivativeAmount Die Anzahl an Ableitungen, deren Werte zusätzlich in jeder Zeile geschrieben werden.
+     * @param progressListener Der Listener, dem nach jedem geschriebenen Block der Fortschritt in Prozent übergeben
+     *                         wird.
+     *
+     * @throws IOException Wird geworfen, wenn die Datei nicht geschrieben werden kann.
+     */
+    public static void exportValues(
+        @NotNull final File file,
+        @NotNull final ExportFormat format,
+        @NotNull final CompiledFunction function,
+        final double xMin,
+        final double increment,
+        @Range(from = 0, to = Long.MAX_VALUE) final long rowAmount,
+        @Range(from = 0, to = Integer.MAX_VALUE) final int derivativeAmount,
+        @NotNull final IntConsumer progressListener
+    ) throws IOException {
+        final CompiledFunction[] functions = new CompiledFunction[derivativeAmount + 1];
+
+        for (int i = 0; i < functions.length; i++) {
+            functions[i] = function.getDerivative(i);
+        }
+
+        final double[][] columns = new double[functions.length + 1][CHUNK_ROWS];
+        final ByteBuffer buffer = createBuffer();
+
+        try (@NotNull final FileChannel channel = openChannel(file)) {
+            writeHeader(channel, buffer, format, columns.length, rowAmount);
+
+            for (long firstRow = 0; firstRow < rowAmount; firstRow += CHUNK_ROWS) {
+                final int size = (int) Math.min(CHUNK_ROWS, rowAmount - firstRow);
+
+                for (int i = 0; i < size; i++) {
+                    columns[0][i] = xMin + (firstRow + i) * increment;
+                }
+
+                for (int i = 0; i < functions.length; i++) {
+                    functions[i].evaluate(columns[0], columns[i + 1], 0, size);
+                }
+
+                writeRows(channel, buffer, format, columns, size);
+                progressListener.accept((int) (100 * (firstRow + size) / rowAmount));
+            }
+
+            flush(channel, buffer);
+        }
+    }
+
+    /**
+     * Schreibt bereits berechnete Funktionswerte, wie z.B. die aktuell gezeichneten Werte einer Funktion, in eine
+     * Datei.
+     *
+     * @param file   Die Datei, in welche die Werte geschrieben werden.
+     * @param format Das {@link ExportFormat Format} der Datei.
+     * @param values Die Funktionswerte, die geschrieben werden.
+     *
+     * @throws IOException Wird geworfen, wenn die Datei nicht geschrieben werden kann.
+     */
+    public static void exportValues(
+        @NotNull final File file,
+        @NotNull final ExportFormat format,
+        @NotNull final SampledFunction values
+    ) throws IOException {
+        final double[][] columns = new double[2][CHUNK_ROWS];
+        final ByteBuffer buffer = createBuffer();
+
+        try (@NotNull final FileChannel channel = openChannel(file)) {
+            writeHeader(channel, buffer, format, columns.length, values.getSize());
+
+            for (int firstRow = 0; firstRow < values.getSize(); firstRow += CHUNK_ROWS) {
+                final int size = Math.min(CHUNK_ROWS, values.getSize() - firstRow);
+
+                for (int i = 0; i < size; i++) {
+                    columns[0][i] = values.getX(firstRow + i);
+                    columns[1][i] = values.getY(firstRow + i);
+                }
+
+                writeRows(channel, buffer, format, columns, size);
+            }
+
+            flush(channel, buffer);
+        }
+    }
+
+    /**
+     * Schreibt den Kopf einer Datei, also bei einer CSV-Datei die Namen der Spalten und bei einer Binärdatei die
+     * Kennung des Formats und die Anzahl an Spalten und Zeilen.
+     *
+     * @param channel     Der {@link FileChannel}, in den geschrieben wird.
+     * @param buffer      Der Puffer, in dem die Zeilen vor dem Schreiben gesammelt werden.
+     * @param format      Das {@link ExportFormat Format} der Datei.
+     * @param columnCount Die Anzahl an Spalten, also der x-Wert und alle Funktionswerte.
+     * @param rowAmount   Die Anzahl an Zeilen.
+     *
+     * @throws IOException Wird geworfen, wenn die Datei nicht geschrieben werden kann.
+     */
+    private static void writeHeader(
+        @NotNull final FileChannel channel,
+        @NotNull final ByteBuffer buffer,
+        @NotNull final ExportFormat format,
+        @Range(from = 1, to = Integer.MAX_VALUE) final int columnCount,
+        @Range(from = 0, to = Long.MAX_VALUE) final long rowAmount
+    ) throws IOException {
+        if (format == ExportFormat.BINARY) {
+            buffer.put(BINARY_MAGIC);
+            buffer.putInt(columnCount);
+            buffer.putLong(rowAmount);
+            return;
+        }
+
+        final StringBuilder header = new StringBuilder("x");
+
+        for (int i = 0; i < columnCount - 1; i++) {
+            header.append(",f");
+
+            for (int j = 0; j < i; j++) {
+                header.append('\'');
+            }
+
+            header.append("(x)");
+        }
+
+        putAscii(channel, buffer, header.append('\n'));
+    }
+
+    /**
+     * Schreibt die ersten Zeilen aller Spalten in eine Datei. Die Zeilen werden dabei im Puffer gesammelt und erst
+     * geschrieben, wenn der Puffer voll ist. Da das Umwandeln der Zahlen in Text deutlich aufwändiger als das Schreiben
+     * ist, werden die Zeilen einer CSV-Datei in Abschnitten von {@value SLICE_ROWS} Zeilen parallel umgewandelt.
+     *
+     * @param channel Der {@link FileChannel}, in den geschrieben wird.
+     * @param buffer  Der Puffer, in dem die Zeilen vor dem Schreiben gesammelt werden.
+     * @param format  Das {@link ExportFormat Format} der Datei.
+     * @param columns Alle Spalten, also die x-Werte und alle Funktionswerte.
+     * @param size    Die Anzahl an Zeilen, die geschrieben werden.
+     *
+     * @throws IOException Wird geworfen, wenn die Datei nicht geschrieben werden kann.
+     */
+    private static void writeRows(
+        @NotNull final FileChannel channel,
+        @NotNull final ByteBuffer buffer,
+        @NotNull final ExportFormat format,
+        @NotNull final double[][] columns,
+        @Range(from = 0, to = Integer.MAX_VALUE) final int size
+    ) throws IOException {
+        if (format == ExportFormat.BINARY) {
+            final int rowLength = columns.length * Double.BYTES;
+
+            for (int row = 0; row < size; row++) {
+                if (buffer.remaining() < rowLength) flush(channel, buffer);
+
+                for (@NotNull final double[] column : columns) {
+                    buffer.putDouble(column[row]);
+                }
+            }
+            return;
+        }
+
+        final ByteBuffer[] slices = new ByteBuffer[(size + SLICE_ROWS - 1) / SLICE_ROWS];
+        SamplingHandler.getPool().invoke(new CsvTask(columns, size, slices, 0, slices.length));
+
+        for (@NotNull final ByteBuffer slice : slices) {
+            if (buffer.remaining() < slice.remaining()) flush(channel, buffer);
+
+            buffer.put(slice);
+        }
+    }
+
+    /**
+     * Schreibt einen Text, der nur aus ASCII-Zeichen besteht, in eine Datei.
+     *
+     * @param channel Der {@link FileChannel}, in den geschrieben wird.
+     * @param buffer  Der Puffer, in dem die Zeichen vor dem Schreiben gesammelt werden.
+     * @param text    Der Text.
+     *
+     * @throws IOException Wird geworfen, wenn die Datei nicht geschrieben werden kann.
+     */
+    private static void putAscii(
+        @NotNull final FileChannel channel,
+        @NotNull final ByteBuffer buffer,
+        @NotNull final CharSequence text
+    ) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            if (!buffer.hasRemaining()) flush(channel, buffer);
+
+            buffer.put((byte) text.charAt(i));
+        }
+    }
+
+    /**
+     * Schreibt den gesamten Inhalt eines Puffers in eine Datei und leert den Puffer anschließend.
+     *
+     * @param channel Der {@link FileChannel}, in den geschrieben wird.
+     * @param buffer  Der Puffer.
+     *
+     * @throws IOException Wird geworfen, wenn die Datei nicht geschrieben werden kann.
+     */
+    private static void flush(@NotNull final FileChannel channel, @NotNull final ByteBuffer buffer) throws IOException {
+        // the buffer methods are called on Buffer, whose signatures also exist on Java 8
+        ((Buffer) buffer).flip();
+
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+
+        ((Buffer) buffer).clear();
+    }
+
+    /**
+     * Erzeugt einen neuen Puffer außerhalb des Heaps, aus dem der {@link FileChannel} direkt schreiben kann. Alle
+     * Zahlen werden im Little-Endian-Format in den Puffer geschrieben.
+     *
+     * @return Der neue Puffer.
+     */
+    @NotNull
+    private static ByteBuffer createBuffer() {
+        return ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Öffnet eine Datei zum Schreiben. Existiert die Datei bereits, wird ihr Inhalt ersetzt.
+     *
+     * @param file Die Datei.
+     *
+     * @return Der {@link FileChannel}, mit dem in die Datei geschrieben wird.
+     *
+     * @throws IOException Wird geworfen, wenn die Datei nicht geöffnet werden kann.
+     */
+    @NotNull
+    private static FileChannel openChannel(@NotNull final File file) throws IOException {
+        return FileChannel.open(
+            file.toPath(),
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING
+        );
+    }
     //</editor-fold>
 
+
+
+    /**
+     * Ein {@link CsvTask} wandelt einen Bereich an Abschnitten der Zeilen in den Text einer CSV-Datei um und legt den
+     * Text jedes Abschnitts an die richtige Stelle des gemeinsamen Arrays. Sind mehrere Abschnitte vorhanden, wird der
+     * Bereich halbiert und beide Hälften werden parallel umgewandelt.
+     */
+    private static final class CsvTask extends RecursiveAction {
+
+        //<editor-fold desc="LOCAL FIELDS">
+        /** Alle Spalten, also die x-Werte und alle Funktionswerte. */
+        @NotNull
+        private final double[][] columns;
+        /** Die Anzahl an Zeilen, die umgewandelt werden. */
+        private final int size;
+        /** Das gemeinsame Array, in welches der Text jedes Abschnitts gelegt wird. */
+        @NotNull
+        private final ByteBuffer[] slices;
+        /** Der Index des ersten Abschnitts dieses Bereichs. */
+        private final int from;
+        /** Der Index hinter dem letzten Abschnitt dieses Bereichs. */
+        private final int to;
+        //</editor-fold>
+
+
+        //<editor-fold desc="CONSTRUCTORS">
+
+        /**
+         * Erzeugt einen neuen {@link CsvTask} für einen Bereich an Abschnitten.
+         *
+         * @param columns Alle Spalten, also die x-Werte und alle Funktionswerte.
+         * @param size    Die Anzahl an Zeilen, die umgewandelt werden.
+         * @param slices  Das gemeinsame Array, in welches der Text jedes Abschnitts gelegt wird.
+         * @param from    Der Index des ersten Abschnitts dieses Bereichs.
+         * @param to      Der Index hinter dem letzten Abschnitt dieses Bereichs.
+         */
+        private CsvTask(
+            @NotNull final double[][] columns,
+            @Range(from = 0, to = Integer.MAX_VALUE) final int size,
+            @NotNull final ByteBuffer[] slices,
+            @Range(from = 0, to = Integer.MAX_VALUE) final int from,
+            @Range(from = 0, to = Integer.MAX_VALUE) final int to
+        ) {
+            this.columns = columns;
+            this.size = size;
+            this.slices = slices;
+            this.from = from;
+            this.to = to;
+        }
+        //</editor-fold>
+
+
+        /**
+         * Wandelt die Zeilen eines Abschnitts in den Text einer CSV-Datei um.
+         *
+         * @param slice Der Index des Abschnitts.
+         *
+         * @return Der Text des Abschnitts, welcher direkt gelesen werden kann.
+         */
+        @NotNull
+        private ByteBuffer encode(@Range(from = 0, to = Integer.MAX_VALUE) final int slice) {
+            final int firstRow = slice * SLICE_ROWS;
+            final int lastRow = Math.min(this.size, firstRow + SLICE_ROWS);
+            final byte[] text = new byte[(lastRow - firstRow) * this.columns.length * (MAX_NUMBER_LENGTH + 1)];
+            int length = 0;
+
+            for (int row = firstRow; row < lastRow; row++) {
+                for (int column = 0; column < this.columns.length; column++) {
+                    final String value = Double.toString(this.columns[column][row]);
+
+                    for (int i = 0; i < value.length(); i++) {
+                        text[length++] = (byte) value.charAt(i);
+                    }
+
+                    text[length++] = (byte) (column == this.columns.length - 1 ? '\n' : ',');
+                }
+            }
+
+            return ByteBuffer.wrap(text, 0, length);
+        }
+
+        //<editor-fold desc="implementation">
+        @Override
+        protected void compute() {
+            if (this.to - this.from == 1) {
+                this.slices[this.from] = encode(this.from);
+                return;
+            }
+
+            final int middle = (this.from + this.to) >>> 1;
+
+            invokeAll(
+                new CsvTask(this.columns, this.size, this.slices, this.from, middle),
+                new CsvTask(this.columns, this.size, this.slices, middle, this.to)
+            );
+        }
+        //</editor-fold>
+    }
+
 }
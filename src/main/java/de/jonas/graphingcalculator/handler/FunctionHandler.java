@@ -1,101 +1,436 @@
 package de.jonas.graphingcalculator.handler;
 
+import de.jonas.graphingcalculator.expression.CompiledFunction;
+import de.jonas.graphingcalculator.expression.DerivativeEvaluator;
+import de.jonas.graphingcalculator.expression.FunctionCache;
+import de.jonas.graphingcalculator.expression.IntervalEvaluator;
+import de.jonas.graphingcalculator.object.SampledFunction;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Range;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.NavigableMap;
-import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
 
 /**
  * Mithilfe eines {@link FunctionHandler} lassen sich sowohl alle Funktionswerte in einem bestimmten Bereich, als auch
- * ein bestimmter Funktionswert wiedergeben. Außerdem stellt dieser Handler die Utility-Methode {@code eval} zur
- * Verfügung, welche einen Term ausrechnet.
+ * ein bestimmter Funktionswert wiedergeben. Alle Funktionswerte, Ableitungen und besonderen Punkte werden dabei für
+ * die Funktion und den Bereich dieses Handlers nur einmalig berechnet und anschließend wiederverwendet. Außerdem
+ * stellt dieser Handler die Utility-Methode {@code eval} zur Verfügung, welche einen Term ausrechnet.
  */
 @NotNull
-@RequiredArgsConstructor
 public final class FunctionHandler {
 
+    //<editor-fold desc="CONSTANTS">
+    /**
+     * Die Anzahl an Abschnitten, in denen zu Beginn nach einem Vorzeichenwechsel der Funktion oder ihrer Ableitungen
+     * gesucht wird.
+     */
+    private static final int SCAN_COLUMNS = 1024;
+    /** Das Zeichen, mit dem mehrere Funktionen, die gemeinsam gezeichnet werden, voneinander getrennt werden. */
+    public static final char FUNCTION_SEPARATOR = ';';
+    //</editor-fold>
+
+
     //<editor-fold desc="LOCAL FIELDS">
     /** Die Funktion, für die dieser {@link FunctionHandler} erzeugt wird. */
     @Getter
     @NotNull
     private final String function;
-    /** Die Skalierung der x-Achse. */
-    private final double xScaling;
+    /** Der kleinste x-Wert des Bereichs, in dem die Funktionswerte berechnet werden. */
+    @Getter
+    private final double xMin;
+    /** Der größte x-Wert des Bereichs, in dem die Funktionswerte berechnet werden. */
+    @Getter
+    private final double xMax;
+    /** Die Skalierung der y-Achse. */
+    private final double yScaling;
+    /** Die bereits eingelesene Funktion, mit der alle Funktionswerte ausgerechnet werden. */
+    @Getter
+    @NotNull
+    private final CompiledFunction compiledFunction;
+    /**
+     * Der Zustand, ob die besonderen Punkte dieses Bereichs in dem {@link CacheHandler} zwischengespeichert werden
+     * sollen oder nicht.
+     */
+    private final boolean persistent;
+    /** Alle bereits berechneten Ableitungen an den x-Werten von {@code functionValues}. */
+    @NotNull
+    private final List<SampledFunction> derivationValues = new ArrayList<>();
+    /** Alle bereits berechneten Ableitungen an den x-Werten von {@code adaptiveFunctionValues}. */
+    @NotNull
+    private final List<SampledFunction> adaptiveDerivationValues = new ArrayList<>();
+    /** Die bereits berechneten Funktionswerte in gleichmäßigen Abständen. */
+    @Nullable
+    private SampledFunction functionValues;
+    /** Die bereits berechneten Funktionswerte, die zum Zeichnen der Funktion benötigt werden. */
+    @Nullable
+    private SampledFunction adaptiveFunctionValues;
+    /** Die Anzahl an Pixel-Spalten, für welche die Funktionswerte zum Zeichnen berechnet wurden. */
+    private int adaptiveColumns;
+    /** Die Anzahl an Pixel-Zeilen, für welche die Funktionswerte zum Zeichnen berechnet wurden. */
+    private int adaptiveRows;
+    /** Die bereits berechneten Nullstellen. */
+    @Nullable
+    private Map<Double, Double> roots;
+    /** Die bereits berechneten Extremstellen. */
+    @Nullable
+    private Map<Double, Double> extremes;
+    /** Die bereits berechneten Wendepunkte. */
+    @Nullable
+    private Map<Double, Double> turningPoints;
+    /** Die bereits berechneten Sattelpunkte. */
+    @Nullable
+    private Map<Double, Double> saddlePoints;
     //</editor-fold>
 
 
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Erzeugt eine neue Instanz eines {@link FunctionHandler}, dessen Bereich von der negativen bis zur positiven
+     * Skalierung der x-Achse reicht. Die Funktion wird dabei einmalig eingelesen, sodass jeder weitere Funktionswert
+     * ohne erneutes Verarbeiten des Terms ausgerechnet werden kann.
+     *
+     * @param function Die Funktion, für die dieser {@link FunctionHandler} erzeugt wird.
+     * @param xScaling Die Skalierung der x-Achse.
+     * @param yScaling Die Skalierung der y-Achse.
+     */
+    public FunctionHandler(@NotNull final String function, final double xScaling, final double yScaling) {
+        this(function, -xScaling, xScaling, yScaling);
+    }
+
     /**
-     * Gibt alle Funktionswerte in Abständen von 0.001 im Bereich der x-Achsen-Skalierung wieder. In der
-     * {@link NavigableMap} sind alle x-Werte den entsprechenden y-Werten zugeordnet.
+     * Erzeugt eine neue Instanz eines {@link FunctionHandler} für einen beliebigen Bereich der x-Achse. Die Funktion
+     * wird dabei aus dem {@link FunctionCache} entnommen bzw. einmalig eingelesen, sodass jeder weitere Funktionswert
+     * ohne erneutes Verarbeiten des Terms ausgerechnet werden kann.
      *
-     * @return Eine {@link NavigableMap}, welche alle Funktionswerte im Bereich der x-Achsen-Skalierung in Abständen von
-     *     0.001 beinhaltet.
+     * @param function Die Funktion, für die dieser {@link FunctionHandler} erzeugt wird.
+     * @param xMin     Der kleinste x-Wert des Bereichs, in dem die Funktionswerte berechnet werden.
+     * @param xMax     Der größte x-Wert des Bereichs, in dem die Funktionswerte berechnet werden.
+     * @param yScaling Die Skalierung der y-Achse.
+     */
+    public FunctionHandler(
+        @NotNull final String function,
+        final double xMin,
+        final double xMax,
+        final double yScaling
+    ) {
+        this(FunctionCache.get(function), xMin, xMax, yScaling);
+    }
+
+    /**
+     * Erzeugt eine neue Instanz eines {@link FunctionHandler} für eine bereits eingelesene Funktion und einen
+     * beliebigen Bereich der x-Achse.
+     *
+     * @param compiledFunction Die bereits eingelesene Funktion, für die dieser {@link FunctionHandler} erzeugt wird.
+     * @param xMin             Der kleinste x-Wert des Bereichs, in dem die Funktionswerte berechnet werden.
+     * @param xMax             Der größte x-Wert des Bereichs, in dem die Funktionswerte berechnet werden.
+     * @param yScaling         Die Skalierung der y-Achse.
+     */
+    public FunctionHandler(
+        @NotNull final CompiledFunction compiledFunction,
+        final double xMin,
+        final double xMax,
+        final double yScaling
+    ) {
+        this(compiledFunction, xMin, xMax, yScaling, true);
+    }
+
+    /**
+     * Erzeugt eine neue Instanz eines {@link FunctionHandler} für eine bereits eingelesene Funktion und einen
+     * beliebigen Bereich der x-Achse, dessen besondere Punkte nur dann in dem {@link CacheHandler} zwischengespeichert
+     * werden, wenn dies gewünscht ist. Bereiche, die durch Verschieben oder Vergrößern entstehen, werden nur selten
+     * erneut genau so angezeigt und sollten daher nicht zwischengespeichert werden.
+     *
+     * @param compiledFunction Die bereits eingelesene Funktion, für die dieser {@link FunctionHandler} erzeugt wird.
+     * @param xMin             Der kleinste x-Wert des Bereichs, in dem die Funktionswerte berechnet werden.
+     * @param xMax             Der größte x-Wert des Bereichs, in dem die Funktionswerte berechnet werden.
+     * @param yScaling         Die Skalierung der y-Achse.
+     * @param persistent       Der Zustand, ob die besonderen Punkte in dem {@link CacheHandler} zwischengespeichert
+     *                         werden sollen oder nicht.
+     */
+    public FunctionHandler(
+        @NotNull final CompiledFunction compiledFunction,
+        final double xMin,
+        final double xMax,
+        final double yScaling,
+        final boolean persistent
+    ) {
+        this.function = compiledFunction.getFunction();
+        this.xMin = xMin;
+        this.xMax = xMax;
+        this.yScaling = yScaling;
+        this.compiledFunction = compiledFunction;
+        this.persistent = persistent;
+    }
+    //</editor-fold>
+
+
+    /**
+     * Gibt alle Funktionswerte in gleichmäßigen Abständen im Bereich dieses Handlers wieder. Die Abstände betragen
+     * dabei ein Zehntausendstel der halben Breite des Bereichs, ab einer halben Breite von 10 auf Tausendstel gerundet.
+     * Die Funktionswerte werden parallel und nur beim ersten Aufruf berechnet.
+     *
+     * @return Eine {@link SampledFunction}, welche alle Funktionswerte im Bereich dieses Handlers beinhaltet.
+     */
+    @NotNull
+    public synchronized SampledFunction getFunctionValues() {
+        if (this.functionValues == null) {
+            final double halfWidth = (this.xMax - this.xMin) / 2;
+            final double step = halfWidth < 10
+                ? halfWidth / 10_000D
+                : Math.max(1, Math.round(halfWidth / 10D)) / 1000D;
+            final int size = (int) Math.ceil(2 * halfWidth / step);
+
+            this.functionValues = SamplingHandler.getUniformValues(
+                this.compiledFunction,
+                this.xMin,
+                step,
+                size
+            );
+        }
+
+        return this.functionValues;
+    }
+
+    /**
+     * Gibt alle Funktionswerte einer bestimmten Ableitung dieser Funktion an denselben x-Werten wie
+     * {@link #getFunctionValues()} zurück. Jede Ableitung wird nur beim ersten Aufruf berechnet.
+     *
+     * @param order Die Ordnung der Ableitung, beginnend bei 1 für die erste Ableitung.
+     *
+     * @return Alle Funktionswerte der Ableitung.
      */
     @NotNull
-    public NavigableMap<Double, Double> getFunctionValues() {
-        final NavigableMap<Double, Double> values = new TreeMap<>();
+    public synchronized SampledFunction getDerivationValues(
+        @Range(from = 1, to = Integer.MAX_VALUE) final int order
+    ) {
+        if (this.derivationValues.size() < order) {
+            this.derivationValues.clear();
+            this.derivationValues.addAll(getDerivationValues(
+                this.compiledFunction,
+                getFunctionValues(),
+                Math.max(order, DerivativeEvaluator.MAX_ORDER)
+            ));
+        }
+
+        return this.derivationValues.get(order - 1);
+    }
 
-        // calculate function values
-        for (double i = -this.xScaling; i < this.xScaling; i += Math.round(this.xScaling / 10D) / 1000D) {
-            final double functionValue = getFunctionValue(Math.round(i * 1000D) / 1000D);
+    /**
+     * Gibt die Funktionswerte im Bereich dieses Handlers wieder, die zum Zeichnen der Funktion benötigt werden.
+     * Dabei wird mit einem Funktionswert pro Pixel-Spalte begonnen und nur dort weiter unterteilt, wo es der Verlauf
+     * der Funktion erfordert, sodass die Anzahl an Funktionswerten nicht von der Breite des Bereichs abhängt. Die
+     * Funktionswerte werden nur neu berechnet, wenn sich die Anzahl an Pixel-Spalten oder -Zeilen ändert.
+     *
+     * @param columns Die Anzahl an Pixel-Spalten, auf welche die x-Achse gezeichnet wird.
+     * @param rows    Die Anzahl an Pixel-Zeilen, auf welche die y-Achse gezeichnet wird.
+     *
+     * @return Eine {@link SampledFunction}, welche alle zum Zeichnen benötigten Funktionswerte beinhaltet.
+     */
+    @NotNull
+    public synchronized SampledFunction getAdaptiveFunctionValues(
+        @Range(from = 1, to = Integer.MAX_VALUE) final int columns,
+        @Range(from = 1, to = Integer.MAX_VALUE) final int rows
+    ) {
+        if (this.adaptiveFunctionValues == null || this.adaptiveColumns != columns || this.adaptiveRows != rows) {
+            this.adaptiveFunctionValues = SamplingHandler.getAdaptiveValues(
+                this.compiledFunction,
+                this.xMin,
+                this.xMax,
+                columns,
+                this.yScaling / rows,
+                SamplingHandler.getMaxSamples()
+            );
+            this.adaptiveColumns = columns;
+            this.adaptiveRows = rows;
+            this.adaptiveDerivationValues.clear();
+        }
 
-            if (!Double.isFinite(functionValue)) continue;
+        return this.adaptiveFunctionValues;
+    }
 
-            values.put(i, functionValue);
+    /**
+     * Gibt alle Funktionswerte einer bestimmten Ableitung dieser Funktion an denselben x-Werten wie
+     * {@link #getAdaptiveFunctionValues(int, int)} zurück. Jede Ableitung wird nur beim ersten Aufruf berechnet.
+     *
+     * @param columns Die Anzahl an Pixel-Spalten, auf welche die x-Achse gezeichnet wird.
+     * @param rows    Die Anzahl an Pixel-Zeilen, auf welche die y-Achse gezeichnet wird.
+     * @param order   Die Ordnung der Ableitung, beginnend bei 1 für die erste Ableitung.
+     *
+     * @return Alle Funktionswerte der Ableitung.
+     */
+    @NotNull
+    public synchronized SampledFunction getAdaptiveDerivationValues(
+        @Range(from = 1, to = Integer.MAX_VALUE) final int columns,
+        @Range(from = 1, to = Integer.MAX_VALUE) final int rows,
+        @Range(from = 1, to = Integer.MAX_VALUE) final int order
+    ) {
+        final SampledFunction functionValues = getAdaptiveFunctionValues(columns, rows);
+
+        if (this.adaptiveDerivationValues.size() < order) {
+            this.adaptiveDerivationValues.clear();
+            this.adaptiveDerivationValues.addAll(getDerivationValues(
+                this.compiledFunction,
+                functionValues,
+                Math.max(order, DerivativeEvaluator.MAX_ORDER)
+            ));
         }
 
-        return values;
+        return this.adaptiveDerivationValues.get(order - 1);
     }
 
     /**
-     * Gibt alle Wendepunkte dieser Funktion zurück.
+     * Gibt alle Nullstellen dieser Funktion zurück. Die Nullstellen werden dabei mit nur wenigen Funktionswerten
+     * eingegrenzt und anschließend mithilfe des {@link RootHandler} bis auf dessen Toleranz verfeinert. Die
+     * Nullstellen werden nur beim ersten Aufruf berechnet bzw. aus dem {@link CacheHandler} gelesen.
      *
-     * @return Alle Wendepunkte dieser Funktion.
+     * @return Alle Nullstellen dieser Funktion.
      */
     @NotNull
-    public Map<Double, Double> getTurningPoints() {
-        final Map<Double, Double> turningPoints = new HashMap<>();
-        final NavigableMap<Double, Double> derivationValues = getDerivationValues(getFunctionValues());
+    public Map<Double, Double> getRoots() {
+        return getRoots(SamplingHandler.NEVER_CANCELLED);
+    }
 
-        for (@NotNull final Map.Entry<Double, Double> wsPointEntry : getWSPoints().entrySet()) {
-            final double x = wsPointEntry.getKey();
-            final double y = wsPointEntry.getValue();
-            final double m = Math.round(derivationValues.get(x) * 1000D) / 1000D;
+    /**
+     * Gibt alle Nullstellen dieser Funktion genauso wie {@link #getRoots()} zurück, wobei die Berechnung abgebrochen
+     * wird, sobald {@code cancelled} dies verlangt. Abgebrochene Nullstellen werden nicht übernommen, sodass sie beim
+     * nächsten Aufruf erneut berechnet werden.
+     *
+     * @param cancelled Der Zustand, ob die Berechnung abgebrochen werden soll. Dieser muss von mehreren Threads
+     *                  gleichzeitig abgefragt werden können.
+     *
+     * @return Alle Nullstellen dieser Funktion.
+     *
+     * @throws CancellationException Wird geworfen, wenn die Berechnung abgebrochen wurde.
+     */
+    @NotNull
+    public synchronized Map<Double, Double> getRoots(@NotNull final BooleanSupplier cancelled) {
+        if (this.roots == null) {
+            Map<Double, Double> roots = readPoints("roots");
 
-            if (m == 0) continue;
+            if (roots == null) {
+                roots = getRoots(this.compiledFunction, cancelled);
+                writePoints("roots", roots);
+            }
 
-            turningPoints.put(x, y);
+            this.roots = Collections.unmodifiableMap(roots);
         }
 
-        return turningPoints;
+        return this.roots;
     }
 
     /**
-     * Gibt alle Sattelpunkte dieser Funktion zurück.
+     * Gibt alle Extremstellen dieser Funktion zurück. Diese werden als Nullstellen der symbolisch gebildeten ersten
+     * Ableitung berechnet, an denen die erste Ableitung ihr Vorzeichen wechselt. Die Extremstellen werden nur beim
+     * ersten Aufruf berechnet bzw. aus dem {@link CacheHandler} gelesen.
      *
-     * @return Alle Sattelpunkte dieser Funktion.
+     * @return Alle Extremstellen dieser Funktion.
      */
     @NotNull
-    public Map<Double, Double> getSaddlePoints() {
-        final Map<Double, Double> saddlePoints = new HashMap<>();
-        final NavigableMap<Double, Double> derivationValues = getDerivationValues(getFunctionValues());
+    public Map<Double, Double> getExtremes() {
+        return getExtremes(SamplingHandler.NEVER_CANCELLED);
+    }
+
+    /**
+     * Gibt alle Extremstellen dieser Funktion genauso wie {@link #getExtremes()} zurück, wobei die Berechnung
+     * abgebrochen wird, sobald {@code cancelled} dies verlangt.
+     *
+     * @param cancelled Der Zustand, ob die Berechnung abgebrochen werden soll. Dieser muss von mehreren Threads
+     *                  gleichzeitig abgefragt werden können.
+     *
+     * @return Alle Extremstellen dieser Funktion.
+     *
+     * @throws CancellationException Wird geworfen, wenn die Berechnung abgebrochen wurde.
+     */
+    @NotNull
+    public synchronized Map<Double, Double> getExtremes(@NotNull final BooleanSupplier cancelled) {
+        if (this.extremes == null) {
+            Map<Double, Double> extremes = readPoints("extremes");
+
+            if (extremes == null) {
+                extremes = new HashMap<>();
+                final CompiledFunction derivative = this.compiledFunction.getDerivative();
 
-        for (@NotNull final Map.Entry<Double, Double> wsPointEntry : getWSPoints().entrySet()) {
-            final double x = wsPointEntry.getKey();
-            final double y = wsPointEntry.getValue();
-            final double m = Math.round(derivationValues.get(x) * 1000D) / 1000D;
+                for (final double x : getRoots(derivative, cancelled).keySet()) {
+                    if (!isSignChange(derivative, 1, x)) continue;
 
-            if (m != 0) continue;
+                    extremes.put(x, getFunctionValue(x));
+                }
 
-            saddlePoints.put(x, y);
+                writePoints("extremes", extremes);
+            }
+
+            this.extremes = Collections.unmodifiableMap(extremes);
         }
 
-        return saddlePoints;
+        return this.extremes;
+    }
+
+    /**
+     * Gibt alle Wendepunkte dieser Funktion zurück, deren Steigung nicht 0 ist. Die Wendepunkte werden nur beim ersten
+     * Aufruf berechnet.
+     *
+     * @return Alle Wendepunkte dieser Funktion.
+     */
+    @NotNull
+    public Map<Double, Double> getTurningPoints() {
+        return getTurningPoints(SamplingHandler.NEVER_CANCELLED);
+    }
+
+    /**
+     * Gibt alle Wendepunkte dieser Funktion genauso wie {@link #getTurningPoints()} zurück, wobei die Berechnung
+     * abgebrochen wird, sobald {@code cancelled} dies verlangt.
+     *
+     * @param cancelled Der Zustand, ob die Berechnung abgebrochen werden soll. Dieser muss von mehreren Threads
+     *                  gleichzeitig abgefragt werden können.
+     *
+     * @return Alle Wendepunkte dieser Funktion.
+     *
+     * @throws CancellationException Wird geworfen, wenn die Berechnung abgebrochen wurde.
+     */
+    @NotNull
+    public synchronized Map<Double, Double> getTurningPoints(@NotNull final BooleanSupplier cancelled) {
+        if (this.turningPoints == null) calculateInflectionPoints(cancelled);
+
+        return this.turningPoints;
+    }
+
+    /**
+     * Gibt alle Sattelpunkte dieser Funktion zurück, also alle Wendepunkte, deren Steigung 0 ist. Die Sattelpunkte
+     * werden nur beim ersten Aufruf berechnet.
+     *
+     * @return Alle Sattelpunkte dieser Funktion.
+     */
+    @NotNull
+    public Map<Double, Double> getSaddlePoints() {
+        return getSaddlePoints(SamplingHandler.NEVER_CANCELLED);
+    }
+
+    /**
+     * Gibt alle Sattelpunkte dieser Funktion genauso wie {@link #getSaddlePoints()} zurück, wobei die Berechnung
+     * abgebrochen wird, sobald {@code cancelled} dies verlangt.
+     *
+     * @param cancelled Der Zustand, ob die Berechnung abgebrochen werden soll. Dieser muss von mehreren Threads
+     *                  gleichzeitig abgefragt werden können.
+     *
+     * @return Alle Sattelpunkte dieser Funktion.
+     *
+     * @throws CancellationException Wird geworfen, wenn die Berechnung abgebrochen wurde.
+     */
+    @NotNull
+    public synchronized Map<Double, Double> getSaddlePoints(@NotNull final BooleanSupplier cancelled) {
+        if (this.saddlePoints == null) calculateInflectionPoints(cancelled);
+
+        return this.saddlePoints;
     }
 
     /**
@@ -106,9 +441,7 @@ public final class FunctionHandler {
      * @return Der Funktionswert für einen bestimmten x-Wert.
      */
     public double getFunctionValue(final double x) {
-        final String function = this.function.replaceAll("x", "(" + x + ")");
-
-        return eval(function);
+        return this.compiledFunction.applyAsDouble(x);
     }
 
     /**
@@ -120,25 +453,13 @@ public final class FunctionHandler {
      */
     @Nullable
     public String getTangentFunction(final double x) {
-        final NavigableMap<Double, Double> functionValues = getFunctionValues();
-
-        if (functionValues.lowerEntry(x) == null || functionValues.higherEntry(x) == null) return null;
+        // get current function value and exact pitch
+        final double[] derivatives = this.compiledFunction.getDerivativeEvaluator().evaluate(x);
+        final double y = derivatives[0];
 
-        // get current function value
-        final double y = getFunctionValue(x);
+        if (!Double.isFinite(y) || !Double.isFinite(derivatives[1])) return null;
 
-        // get next and previous entry
-        final Map.Entry<Double, Double> previousEntry = functionValues.lowerEntry(x);
-        final Map.Entry<Double, Double> nextEntry = functionValues.higherEntry(x);
-
-        // get next and previous x- and y-coordinates
-        final double previousX = previousEntry.getKey();
-        final double previousY = previousEntry.getValue();
-        final double nextX = nextEntry.getKey();
-        final double nextY = nextEntry.getValue();
-
-        // get current pitch
-        final double m = Math.round(((nextY - previousY) / (nextX - previousX)) * 100D) / 100D;
+        final double m = Math.round(derivatives[1] * 100D) / 100D;
         final double b = Math.round((y - m * x) * 100D) / 100D;
 
         // return function without b if b is 0
@@ -149,263 +470,310 @@ public final class FunctionHandler {
     }
 
     /**
-     * Gibt eine Map zurück, die sowohl Wendepunkte als auch Sattelpunkte beinhaltet. Diese Punkte müssen mithilfe ihrer
-     * Steigung erst als Wende- oder Sattelpunkt identifiziert werden.
+     * Berechnet alle Wende- und Sattelpunkte dieser Funktion. Beide Arten von Punkten sind Nullstellen der symbolisch
+     * gebildeten zweiten Ableitung, an denen die zweite Ableitung ihr Vorzeichen wechselt, und werden mithilfe ihrer
+     * Steigung als Wende- oder Sattelpunkt identifiziert: Könnte die Steigung innerhalb der Genauigkeit der Nullstelle
+     * 0 sein, handelt es sich um einen Sattelpunkt.
      *
-     * @return Eine Map, die sowohl Wendepunkte als auch Sattelpunkte beinhaltet. Diese Punkte müssen mithilfe ihrer
-     *     Steigung erst als Wende- oder Sattelpunkt identifiziert werden.
+     * @param cancelled Der Zustand, ob die Berechnung abgebrochen werden soll.
+     *
+     * @throws CancellationException Wird geworfen, wenn die Berechnung abgebrochen wurde.
      */
-    @NotNull
-    private Map<Double, Double> getWSPoints() {
-        final Map<Double, Double> wsPoints = new HashMap<>();
+    private void calculateInflectionPoints(@NotNull final BooleanSupplier cancelled) {
+        final Map<Double, Double> cachedTurningPoints = readPoints("turningPoints");
+        final Map<Double, Double> cachedSaddlePoints = readPoints("saddlePoints");
+
+        if (cachedTurningPoints != null && cachedSaddlePoints != null) {
+            this.turningPoints = Collections.unmodifiableMap(cachedTurningPoints);
+            this.saddlePoints = Collections.unmodifiableMap(cachedSaddlePoints);
+            return;
+        }
 
-        final NavigableMap<Double, Double> functionValues = getFunctionValues();
-        final NavigableMap<Double, Double> derivationValues = getDerivationValues(functionValues);
+        final Map<Double, Double> turningPoints = new HashMap<>();
+        final Map<Double, Double> saddlePoints = new HashMap<>();
+        final CompiledFunction secondDerivative = this.compiledFunction.getDerivative(2);
 
-        final Map<Double, Double> derivationExtremes = getExtremes(derivationValues);
+        for (final double x : getRoots(secondDerivative, cancelled).keySet()) {
+            if (!isSignChange(secondDerivative, 2, x)) continue;
 
-        for (@NotNull final Map.Entry<Double, Double> derivationExtremesEntry : derivationExtremes.entrySet()) {
-            final double x = derivationExtremesEntry.getKey();
-            final double y = getFunctionValue(x);
+            final boolean saddlePoint = isPossiblyZero(this.compiledFunction.getDerivative(), x);
 
-            wsPoints.put(x, y);
+            (saddlePoint ? saddlePoints : turningPoints).put(x, getFunctionValue(x));
         }
 
-        return wsPoints;
-    }
+        writePoints("turningPoints", turningPoints);
+        writePoints("saddlePoints", saddlePoints);
 
-    //<editor-fold desc="utility">
+        this.turningPoints = Collections.unmodifiableMap(turningPoints);
+        this.saddlePoints = Collections.unmodifiableMap(saddlePoints);
+    }
 
     /**
-     * Berechnet einen Term, welcher in Form eines Strings übergeben wird und gibt diesen ausgerechnet wieder zurück.
+     * Liest besondere Punkte dieser Funktion aus dem {@link CacheHandler}.
      *
-     * @param term Der String der mathematisch berechnet wird.
+     * @param type Die Art der besonderen Punkte, z.B. {@code roots}.
      *
-     * @return Das Ergebnis der Rechnung.
+     * @return Die besonderen Punkte, wobei jedem x-Wert sein Funktionswert zugeordnet ist; {@code null}, wenn diese
+     *     nicht zwischengespeichert sind.
      */
-    public static double eval(@NotNull final String term) {
-        String replacedTerm = term.replaceAll("e", String.valueOf(Math.E)).replaceAll("π", String.valueOf(Math.PI));
+    @Nullable
+    private Map<Double, Double> readPoints(@NotNull final String type) {
+        if (!this.persistent) return null;
 
-        for (int i = 0; i < replacedTerm.length(); i++) {
-            if ((i + 1) >= replacedTerm.length()) continue;
-            if (replacedTerm.charAt(i + 1) != '(') continue;
+        final double[][] arrays = CacheHandler.read(getCacheKey(type));
 
-            final char currentChar = replacedTerm.charAt(i);
+        if (arrays == null || arrays.length != 2 || arrays[0].length != arrays[1].length) return null;
 
-            if ((currentChar < '0' || currentChar > '9') && currentChar != ')') continue;
+        final Map<Double, Double> points = new HashMap<>();
 
-            replacedTerm = replacedTerm.substring(0, i + 1) + "*" + replacedTerm.substring(i + 1);
+        for (int i = 0; i < arrays[0].length; i++) {
+            points.put(arrays[0][i], arrays[1][i]);
         }
 
-        final String finalTerm = replacedTerm;
-
-        return new Object() {
-            private int pos = -1;
-            private int ch;
+        return points;
+    }
 
-            private void nextChar() {
-                ch = (++pos < finalTerm.length()) ? finalTerm.charAt(pos) : -1;
-            }
+    /**
+     * Schreibt besondere Punkte dieser Funktion in den {@link CacheHandler}, wobei die x- und y-Werte in zwei Arrays
+     * gespeichert werden.
+     *
+     * @param type   Die Art der besonderen Punkte, z.B. {@code roots}.
+     * @param points Die besonderen Punkte, wobei jedem x-Wert sein Funktionswert zugeordnet ist.
+     */
+    private void writePoints(@NotNull final String type, @NotNull final Map<Double, Double> points) {
+        if (!this.persistent || !CacheHandler.isEnabled()) return;
 
-            private boolean eat(final int charToEat) {
-                while (ch == ' ') nextChar();
-                if (ch == charToEat) {
-                    nextChar();
-                    return true;
-                }
-                return false;
-            }
+        final double[] xValues = new double[points.size()];
+        final double[] yValues = new double[points.size()];
+        int index = 0;
 
-            private double parse() {
-                nextChar();
-                double x = parseExpression();
+        for (@NotNull final Map.Entry<Double, Double> point : points.entrySet()) {
+            xValues[index] = point.getKey();
+            yValues[index++] = point.getValue();
+        }
 
-                if (pos < finalTerm.length()) return 0;
+        CacheHandler.write(getCacheKey(type), xValues, yValues);
+    }
 
-                return x;
-            }
+    /**
+     * Gibt den Schlüssel zurück, unter dem besondere Punkte dieser Funktion im {@link CacheHandler} gespeichert
+     * werden. Dieser enthält neben der Funktion auch den Bereich und die Toleranz, mit der die Punkte berechnet werden.
+     *
+     * @param type Die Art der besonderen Punkte, z.B. {@code roots}.
+     *
+     * @return Der Schlüssel der besonderen Punkte.
+     */
+    @NotNull
+    private String getCacheKey(@NotNull final String type) {
+        return "points|" + type + '|' + this.function + '|' + this.xMin + '|' + this.xMax + '|' + SCAN_COLUMNS + '|'
+            + RootHandler.getTolerance();
+    }
 
-            private double parseExpression() {
-                double x = parseTerm();
-                while (true) {
-                    if (eat('+')) {
-                        x += parseTerm();
-                    } else if (eat('-')) {
-                        x -= parseTerm();
-                    } else {
-                        return x;
-                    }
-                }
-            }
+    /**
+     * Gibt alle Nullstellen einer Funktion im Bereich dieses Handlers zurück. Die Nullstellen werden dabei nur in
+     * Abschnitten gesucht, in denen die Funktion eine Nullstelle besitzen könnte, und anschließend mithilfe des
+     * {@link RootHandler} verfeinert.
+     *
+     * @param function  Die Funktion, deren Nullstellen berechnet werden.
+     * @param cancelled Der Zustand, ob die Berechnung abgebrochen werden soll.
+     *
+     * @return Alle Nullstellen der Funktion, wobei jedem x-Wert sein Funktionswert zugeordnet ist.
+     *
+     * @throws CancellationException Wird geworfen, wenn die Berechnung abgebrochen wurde.
+     */
+    @NotNull
+    private Map<Double, Double> getRoots(
+        @NotNull final CompiledFunction function,
+        @NotNull final BooleanSupplier cancelled
+    ) {
+        return RootHandler.getRoots(function, this.xMin, this.xMax, SCAN_COLUMNS, cancelled);
+    }
 
-            private double parseTerm() {
-                double x = parseFactor();
-                while (true) {
-                    if (eat('*')) {
-                        x *= parseFactor();
-                    } else if (eat('/')) {
-                        x /= parseFactor();
-                    } else {
-                        return x;
-                    }
-                }
-            }
+    /**
+     * Prüft, ob eine Ableitung dieser Funktion an einer ihrer Nullstellen das Vorzeichen wechselt. Dazu wird die
+     * Ordnung der ersten höheren Ableitung bestimmt, die an dieser Stelle sicher nicht 0 ist (siehe
+     * {@link #isPossiblyZero(CompiledFunction, double)}): Das Vorzeichen wechselt genau dann, wenn der Abstand beider
+     * Ordnungen ungerade ist. Könnten alle exakt berechneten höheren Ableitungen 0 sein, wird die Ableitung mithilfe
+     * ihres {@link IntervalEvaluator} für je einen Bereich links und rechts der Nullstelle ausgerechnet, der außerhalb
+     * ihrer Genauigkeit beginnt: Nur wenn beide Bereiche sicher ein unterschiedliches Vorzeichen besitzen, wechselt die
+     * Ableitung ihr Vorzeichen. So wird eine Ableitung, die exakt 0 ist, aber mit Rundungsfehlern ausgerechnet wird,
+     * nicht für einen Vorzeichenwechsel gehalten.
+     *
+     * @param derivative Die Ableitung, deren Nullstelle geprüft wird.
+     * @param order      Die Ordnung der Ableitung.
+     * @param x          Die Nullstelle der Ableitung.
+     *
+     * @return Ob die Ableitung an dieser Nullstelle das Vorzeichen wechselt.
+     */
+    private boolean isSignChange(
+        @NotNull final CompiledFunction derivative,
+        @Range(from = 1, to = DerivativeEvaluator.MAX_ORDER) final int order,
+        final double x
+    ) {
+        final double[] derivatives = this.compiledFunction.getDerivativeEvaluator().evaluate(x);
 
-            private double parseFactor() {
-                if (eat('+')) return parseFactor();
-                if (eat('-')) return -parseFactor();
-
-                double x;
-                int startPos = this.pos;
-                if (eat('(')) {
-                    x = parseExpression();
-                    eat(')');
-                } else if ((ch >= '0' && ch <= '9') || ch == '.') {
-                    while ((ch >= '0' && ch <= '9') || ch == '.') nextChar();
-                    x = Double.parseDouble(finalTerm.substring(startPos, this.pos));
-                } else if (ch >= 'a' && ch <= 'z') {
-                    while (ch >= 'a' && ch <= 'z') nextChar();
-                    String func = finalTerm.substring(startPos, this.pos);
-                    x = parseFactor();
-                    switch (func) {
-                        case "sqrt":
-                            x = Math.sqrt(x);
-                            break;
-
-                        case "ln":
-                            x = Math.log(x);
-                            break;
-
-                        case "log":
-                            x = Math.log10(x);
-                            break;
-
-                        case "sin":
-                            x = Math.sin(x);
-                            break;
-
-                        case "cos":
-                            x = Math.cos(x);
-                            break;
-
-                        case "tan":
-                            x = Math.tan(x);
-                            break;
-
-                        default:
-                            throw new RuntimeException("Unknown function: " + func);
-                    }
-                } else {
-                    return 0;
-                }
+        for (int k = order + 1; k <= DerivativeEvaluator.MAX_ORDER; k++) {
+            if (!Double.isFinite(derivatives[k])) break;
+            if (!isPossiblyZero(this.compiledFunction.getDerivative(k), x)) return (k - order) % 2 == 1;
+        }
 
-                if (eat('^')) x = Math.pow(x, parseFactor());
+        // the signs directly next to the root must be certain, as rounding errors can have any sign
+        final double error = getRootError(x);
+        final double h = Math.max(Math.sqrt(RootHandler.getTolerance()) * Math.max(1, Math.abs(x)), 2 * error);
+        final IntervalEvaluator evaluator = derivative.getIntervalEvaluator();
+        final double[] previous = evaluator.evaluate(x - h, x - error);
+        final double[] next = evaluator.evaluate(x + error, x + h);
 
-                return x;
-            }
-        }.parse();
+        return (previous[1] < 0 && next[0] > 0) || (previous[0] > 0 && next[1] < 0);
     }
 
     /**
-     * Gibt alle Nullstellen dieser Funktion in Form einer {@link Map} zurück.
+     * Prüft, ob eine Funktion an einer berechneten Nullstelle (bzw. an einer berechneten Nullstelle einer ihrer
+     * Stammfunktionen) den Wert 0 annehmen könnte. Da eine berechnete Nullstelle nur bis auf die Toleranz des
+     * {@link RootHandler} genau ist, wird die Funktion dazu mithilfe ihres {@link IntervalEvaluator} für den gesamten
+     * Bereich ausgerechnet, in dem die exakte Nullstelle liegen kann. So hängt die Entscheidung weder von der
+     * Größenordnung der Funktion noch von einer festen Schranke ab.
+     *
+     * @param function Die Funktion, welche geprüft wird.
+     * @param x        Die berechnete Nullstelle.
      *
-     * @return Alle Nullstellen dieser Funktion in Form einer {@link Map}.
+     * @return Ob die Funktion innerhalb der Genauigkeit der Nullstelle den Wert 0 annehmen könnte.
      */
-    @NotNull
-    public static Map<Double, Double> getRoots(@NotNull final NavigableMap<Double, Double> functionValues) {
-        final Map<Double, Double> roots = new HashMap<>();
-
-        for (@NotNull final Map.Entry<Double, Double> functionValue : functionValues.entrySet()) {
-            // get current values
-            final double x = functionValue.getKey();
-            final double y = functionValue.getValue();
+    private static boolean isPossiblyZero(@NotNull final CompiledFunction function, final double x) {
+        final double error = getRootError(x);
+        final double[] bounds = function.getIntervalEvaluator().evaluate(x - error, x + error);
 
-            // check if current value is already preset
-            if (roots.containsKey(x)) continue;
+        return !IntervalEvaluator.excludes(bounds, 0);
+    }
 
-            // check if next entry is preset
-            if (functionValues.higherEntry(x) == null) break;
+    /**
+     * Gibt den Abstand zurück, in dem die exakte Nullstelle um eine mithilfe des {@link RootHandler} berechnete
+     * Nullstelle liegen kann.
+     *
+     * @param x Die berechnete Nullstelle.
+     *
+     * @return Der Abstand, in dem die exakte Nullstelle liegen kann.
+     */
+    private static double getRootError(final double x) {
+        return 2 * RootHandler.getTolerance() + 4 * Math.ulp(x);
+    }
 
-            // get next entry
-            final Map.Entry<Double, Double> nextEntry = functionValues.higherEntry(x);
+    //<editor-fold desc="utility">
 
-            // get next values
-            final double nextX = nextEntry.getKey();
-            final double nextY = nextEntry.getValue();
+    /**
+     * Berechnet einen Term, welcher in Form eines Strings übergeben wird und gibt diesen ausgerechnet wieder zurück.
+     * Wurde derselbe Term bereits zuvor berechnet, wird dieser nicht erneut eingelesen.
+     *
+     * @param term Der String der mathematisch berechnet wird.
+     *
+     * @return Das Ergebnis der Rechnung.
+     */
+    public static double eval(@NotNull final String term) {
+        return FunctionCache.get(term).applyAsDouble(0);
+    }
 
-            // check (+ to +) or (- to -)
-            if ((y > 0 && nextY > 0) || (y < 0 && nextY < 0)) continue;
+    /**
+     * Teilt eine Eingabe, in der mehrere Funktionen durch ein {@link #FUNCTION_SEPARATOR} voneinander getrennt sind, in
+     * ihre einzelnen Funktionen auf.
+     *
+     * @param functions Die Eingabe mit einer oder mehreren Funktionen.
+     *
+     * @return Alle nicht leeren Funktionen der Eingabe in ihrer ursprünglichen Reihenfolge.
+     */
+    @NotNull
+    public static List<String> splitFunctions(@NotNull final String functions) {
+        final List<String> entries = new ArrayList<>();
 
-            roots.put(nextX, nextY);
+        for (@NotNull final String function : functions.split(String.valueOf(FUNCTION_SEPARATOR))) {
+            if (!function.trim().isEmpty()) entries.add(function.trim());
         }
 
-        return roots;
+        return entries;
     }
 
     /**
-     * Gibt alle Extremstellen dieser Funktion in Form einer {@link Map} zurück.
+     * Gibt alle Funktionswerte der Ableitung einer Funktion, dessen Funktionswerte bekannt sind wieder. Die Ableitung
+     * nutzt dieselben x-Werte wie die Funktion; an Stellen, an denen kein Nachbar definiert ist, ist auch die Ableitung
+     * nicht definiert.
      *
-     * @return Alle Extremstellen dieser Funktion in Form einer {@link Map}.
+     * @return Alle Funktionswerte der Ableitung einer Funktion, dessen Funktionswerte bekannt sind.
      */
     @NotNull
-    public static Map<Double, Double> getExtremes(@NotNull final NavigableMap<Double, Double> functionValues) {
-        final Map<Double, Double> extremes = new HashMap<>();
+    public static SampledFunction getDerivationValues(@NotNull final SampledFunction function) {
+        final double[] derivationValues = new double[function.getSize()];
+        Arrays.fill(derivationValues, Double.NaN);
 
-        for (@NotNull final Map.Entry<Double, Double> functionValue : functionValues.entrySet()) {
-            // get current values
-            final double x = functionValue.getKey();
-            final double y = functionValue.getValue();
+        for (int i = 1; i < function.getSize() - 1; i++) {
+            // check if next and previous entry is preset
+            if (!function.isConnected(i - 1) || !function.isConnected(i)) continue;
 
-            // check if next or previous entry is preset
-            if (functionValues.lowerEntry(x) == null) continue;
-            if (functionValues.higherEntry(x) == null) break;
+            // get next and previous values
+            final double nextX = function.getX(i + 1);
+            final double nextY = function.getY(i + 1);
+            final double previousX = function.getX(i - 1);
+            final double previousY = function.getY(i - 1);
 
-            // get next and previous y
-            final double nextY = functionValues.higherEntry(x).getValue();
-            final double previousY = functionValues.lowerEntry(x).getValue();
+            final double y = (nextY - previousY) / (nextX - previousX);
+
+            if (!Double.isFinite(y)) continue;
 
-            if ((previousY < y && nextY < y) || (previousY > y && nextY > y)) extremes.put(x, y);
+            derivationValues[i] = y;
         }
 
-        return extremes;
+        return function.withYValues(derivationValues);
     }
 
     /**
-     * Gibt alle Funktionswerte der Ableitung einer Funktion, dessen Funktionswerte bekannt sind wieder.
+     * Gibt die Funktionswerte der ersten Ableitungen einer Funktion an denselben x-Werten wie bereits bekannte
+     * Funktionswerte zurück. Die Ableitungen bis zur Ordnung {@link DerivativeEvaluator#MAX_ORDER} werden dabei in
+     * einem einzigen Durchlauf pro x-Wert exakt berechnet; nur höhere Ableitungen werden - wie in
+     * {@link #getDerivationValues(SampledFunction)} - aus der jeweils vorherigen Ableitung angenähert.
      *
-     * @return Alle Funktionswerte der Ableitung einer Funktion, dessen Funktionswerte bekannt sind.
+     * @param function       Die Funktion, deren Ableitungen berechnet werden.
+     * @param functionValues Die bereits bekannten Funktionswerte der Funktion.
+     * @param amount         Die Anzahl an Ableitungen, die berechnet werden.
+     *
+     * @return Eine Liste, welche an dem Index {@code k} die Funktionswerte der {@code k + 1}-ten Ableitung beinhaltet.
      */
     @NotNull
-    public static NavigableMap<Double, Double> getDerivationValues(
-        @NotNull final NavigableMap<Double, Double> function
+    public static List<SampledFunction> getDerivationValues(
+        @NotNull final CompiledFunction function,
+        @NotNull final SampledFunction functionValues,
+        @Range(from = 0, to = Integer.MAX_VALUE) final int amount
     ) {
-        final NavigableMap<Double, Double> derivationValues = new TreeMap<>();
-
-        for (@NotNull final Map.Entry<Double, Double> functionValue : function.entrySet()) {
-            // get current x
-            final double x = functionValue.getKey();
-
-            // check if next or previous entry is preset
-            if (function.lowerEntry(x) == null) continue;
-            if (function.higherEntry(x) == null) break;
+        final DerivativeEvaluator evaluator = function.getDerivativeEvaluator();
+        final int exactAmount = Math.min(amount, DerivativeEvaluator.MAX_ORDER);
+        final double[] workspace = evaluator.createWorkspace();
+        final double[] derivatives = new double[DerivativeEvaluator.MAX_ORDER + 1];
+        final double[][] derivationValues = new double[exactAmount][functionValues.getSize()];
+
+        for (int i = 0; i < functionValues.getSize(); i++) {
+            // skip undefined values
+            if (!functionValues.isDefined(i)) {
+                for (int k = 0; k < exactAmount; k++) {
+                    derivationValues[k][i] = Double.NaN;
+                }
+                continue;
+            }
 
-            final Map.Entry<Double, Double> nextEntry = function.higherEntry(x);
-            final Map.Entry<Double, Double> previousEntry = function.lowerEntry(x);
+            evaluator.evaluate(functionValues.getX(i), workspace, derivatives);
 
-            // get next and previous y
-            final double nextX = nextEntry.getKey();
-            final double nextY = nextEntry.getValue();
-            final double previousX = previousEntry.getKey();
-            final double previousY = previousEntry.getValue();
+            for (int k = 0; k < exactAmount; k++) {
+                derivationValues[k][i] = Double.isFinite(derivatives[k + 1]) ? derivatives[k + 1] : Double.NaN;
+            }
+        }
 
-            final double y = (nextY - previousY) / (nextX - previousX);
+        final List<SampledFunction> derivations = new ArrayList<>(amount);
 
-            if (!Double.isFinite(y)) continue;
+        for (int k = 0; k < exactAmount; k++) {
+            derivations.add(functionValues.withYValues(derivationValues[k]));
+        }
 
-            derivationValues.put(x, y);
+        while (derivations.size() < amount) {
+            derivations.add(getDerivationValues(derivations.get(derivations.size() - 1)));
         }
 
-        return derivationValues;
+        return derivations;
     }
     //</editor-fold>
 
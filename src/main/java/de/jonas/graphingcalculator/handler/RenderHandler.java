@@ -0,0 +1,459 @@
+package de.jonas.graphingcalculator.handler;
+
+import de.jonas.graphingcalculator.expression.CompiledFunction;
+import de.jonas.graphingcalculator.expression.FunctionCache;
+import de.jonas.graphingcalculator.object.DrawFunction;
+import de.jonas.graphingcalculator.object.RenderJob;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Range;
+
+import javax.imageio.ImageIO;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Mithilfe des {@link RenderHandler} werden Funktionen ohne grafische Oberfläche gezeichnet und als Bilder
+ * gespeichert. Die Funktionen werden aus einer Auftragsdatei gelesen, in der jeder {@link RenderJob Auftrag} mit dem
+ * Namen seines Bildes in eckigen Klammern beginnt, gefolgt von Zeilen der Form {@code schlüssel = wert}:
+ * <pre>
+ * # Kommentar
+ * [kubisch.png]
+ * function = x^3-2x
+ * scaleX = 10
+ * scaleY = 15
+ * roots = true
+ * extremes = true
+ * turningPoints = true
+ * saddlePoints = false
+ * derivations = 1, 2
+ * tangent = 1.5
+ * points = -1, 0.5
+ *
+ * [vergleich.png]
+ * function = sin(x); cos(x); x/5
+ * intersections = true
+ * </pre>
+ * Werden mehrere Funktionen durch ein {@link FunctionHandler#FUNCTION_SEPARATOR} getrennt angegeben, werden alle
+ * Funktionen gemeinsam gezeichnet; alle Punkte, Ableitungen und die Tangente beziehen sich dabei auf die erste
+ * Funktion. Alle Aufträge werden parallel in demselben {@link java.util.concurrent.ForkJoinPool} gezeichnet, in dem
+ * auch die Funktionswerte berechnet werden.
+ */
+@NotNull
+public final class RenderHandler {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Die Breite jedes Bildes, welche der Breite des Fensters zum Zeichnen einer Funktion entspricht. */
+    private static final int IMAGE_WIDTH = 800;
+    /** Die Höhe jedes Bildes, welche der Höhe des Fensters zum Zeichnen einer Funktion entspricht. */
+    private static final int IMAGE_HEIGHT = 829;
+    /** Das Format, in dem Bilder ohne bekannte Dateiendung gespeichert werden. */
+    @NotNull
+    private static final String DEFAULT_IMAGE_FORMAT = "png";
+    //</editor-fold>
+
+
+    //<editor-fold desc="utility">
+
+    /**
+     * Liest alle {@link RenderJob Aufträge} aus einer Auftragsdatei.
+     *
+     * @param jobFile   Die Auftragsdatei.
+     * @param outputDir Der Ordner, relativ zu dem die Namen der Bilder aufgelöst werden.
+     *
+     * @return Alle {@link RenderJob Aufträge} in der Reihenfolge, in der sie in der Auftragsdatei stehen.
+     *
+     * @throws IOException Wird geworfen, wenn die Auftragsdatei nicht gelesen werden kann.
+     */
+    @NotNull
+    public static List<RenderJob> readJobs(
+        @NotNull final File jobFile,
+        @NotNull final File outputDir
+    ) throws IOException {
+        final List<RenderJob> jobs = new ArrayList<>();
+
+        try (@NotNull final BufferedReader reader = Files.newBufferedReader(jobFile.toPath(), StandardCharsets.UTF_8)) {
+            RenderJob job = null;
+            int lineNumber = 0;
+
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                lineNumber++;
+                line = line.trim();
+
+                if (line.isEmpty() || line.startsWith("#")) continue;
+
+                try {
+                    if (line.startsWith("[") && line.endsWith("]")) {
+                        if (job != null) validateJob(job);
+
+                        job = new RenderJob(new File(outputDir, line.substring(1, line.length() - 1).trim()));
+                        jobs.add(job);
+                        continue;
+                    }
+
+                    final int separator = line.indexOf('=');
+
+                    if (job == null || separator < 0) throw new IllegalArgumentException("Unexpected line: " + line);
+
+                    setProperty(job, line.substring(0, separator).trim(), line.substring(separator + 1).trim());
+                } catch (@NotNull final IllegalArgumentException ex) {
+                    throw new IllegalArgumentException(jobFile + ":" + lineNumber + ": " + ex.getMessage(), ex);
+                }
+            }
+
+            if (job != null) validateJob(job);
+        }
+
+        return jobs;
+    }
+
+    /**
+     * Zeichnet alle {@link RenderJob Aufträge} parallel und schreibt ihre Bilder in die jeweilige Datei. Schlägt ein
+     * Auftrag fehl, wird der Fehler ausgegeben und mit den übrigen Aufträgen fortgefahren.
+     *
+     * @param jobs Alle {@link RenderJob Aufträge}.
+     *
+     * @return Die Anzahl an Aufträgen, die fehlgeschlagen sind.
+     */
+    @Range(from = 0, to = Integer.MAX_VALUE)
+    public static int renderAll(@NotNull final List<RenderJob> jobs) {
+        final AtomicInteger failures = new AtomicInteger();
+
+        if (!jobs.isEmpty()) SamplingHandler.getPool().invoke(new RenderTask(jobs, failures, 0, jobs.size()));
+
+        return failures.get();
+    }
+
+    /**
+     * Zeichnet einen {@link RenderJob Auftrag} und schreibt das Bild in die Datei des Auftrags. Das Format des Bildes
+     * ergibt sich aus der Dateiendung.
+     *
+     * @param job Der {@link RenderJob Auftrag}.
+     *
+     * @throws IOException Wird geworfen, wenn das Bild nicht geschrieben werden kann.
+     */
+    public static void render(@NotNull final RenderJob job) throws IOException {
+        final File outputFile = job.getOutputFile();
+
+        if (outputFile == null) throw new IllegalArgumentException("No output file");
+
+        final BufferedImage image = renderImage(job);
+        final File parent = outputFile.getAbsoluteFile().getParentFile();
+
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Could not create directory " + parent);
+        }
+
+        final String format = getImageFormat(outputFile);
+
+        // formats without transparency (e.g. jpg) have no writer for ARGB images
+        if (!ImageIO.write(image, format, outputFile) && !ImageIO.write(toOpaqueImage(image), format, outputFile)) {
+            throw new IOException("No image writer for " + outputFile);
+        }
+    }
+
+    /**
+     * Zeichnet einen {@link RenderJob Auftrag} mithilfe eines {@link DrawFunction} und gibt das Bild zurück.
+     *
+     * @param job Der {@link RenderJob Auftrag}.
+     *
+     * @return Das Bild der Funktion und aller eingeschalteten Inhalte.
+     */
+    @NotNull
+    public static BufferedImage renderImage(@NotNull final RenderJob job) {
+        final List<String> functions = validateJob(job);
+        final FunctionHandler functionHandler = new FunctionHandler(
+            functions.get(0),
+            job.getScaleX(),
+            job.getScaleY()
+        );
+        final List<CompiledFunction> additionalFunctions = new ArrayList<>();
+
+        for (@NotNull final String function : functions.subList(1, functions.size())) {
+            additionalFunctions.add(FunctionCache.get(function));
+        }
+
+        final DrawFunction drawFunction = new DrawFunction(
+            functionHandler,
+            additionalFunctions,
+            job.getScaleX(),
+            job.getScaleY()
+        );
+        drawFunction.setBounds(0, 0, IMAGE_WIDTH, IMAGE_HEIGHT);
+
+        // calculate the function values directly in the current thread
+        drawFunction.calculateFunctionValues(progress -> {
+        });
+        drawFunction.showFunctionValues();
+
+        // enable the requested contents
+        drawFunction.setEnableRoots(job.isEnableRoots());
+        drawFunction.setEnableExtremes(job.isEnableExtremes());
+        drawFunction.setEnableTurningPoints(job.isEnableTurningPoints());
+        drawFunction.setEnableSaddlePoints(job.isEnableSaddlePoints());
+        drawFunction.setEnableIntersections(job.isEnableIntersections());
+
+        for (final int order : job.getDerivations()) {
+            drawFunction.getDerivations().get(order - 1).setDraw(true);
+        }
+
+        for (final double x : job.getMarkedPoints()) {
+            drawFunction.addMarkedPoint(x);
+        }
+
+        if (job.getTangent() != null) {
+            drawFunction.setTangentFunction(functionHandler.getTangentFunction(job.getTangent()));
+        }
+
+        return drawFunction.getGraphicsAsImage();
+    }
+
+    /**
+     * Setzt eine Eigenschaft eines {@link RenderJob Auftrags} anhand einer Zeile der Auftragsdatei bzw. eines
+     * Parameters einer Anfrage an den {@link ServerHandler}.
+     *
+     * @param job   Der {@link RenderJob Auftrag}.
+     * @param key   Der Schlüssel der Eigenschaft.
+     * @param value Der Wert der Eigenschaft.
+     */
+    static void setProperty(
+        @NotNull final RenderJob job,
+        @NotNull final String key,
+        @NotNull final String value
+    ) {
+        switch (key) {
+            case "function":
+                job.setFunction(value);
+                break;
+
+            case "scaleX":
+                job.setScaleX(parseScaling(value));
+                break;
+
+            case "scaleY":
+                job.setScaleY(parseScaling(value));
+                break;
+
+            case "roots":
+                job.setEnableRoots(Boolean.parseBoolean(value));
+                break;
+
+            case "extremes":
+                job.setEnableExtremes(Boolean.parseBoolean(value));
+                break;
+
+            case "turningPoints":
+                job.setEnableTurningPoints(Boolean.parseBoolean(value));
+                break;
+
+            case "saddlePoints":
+                job.setEnableSaddlePoints(Boolean.parseBoolean(value));
+                break;
+
+            case "intersections":
+                job.setEnableIntersections(Boolean.parseBoolean(value));
+                break;
+
+            case "derivations":
+                for (@NotNull final String order : splitList(value)) {
+                    final int parsedOrder = Integer.parseInt(order);
+
+                    if (parsedOrder < 1 || parsedOrder > DrawFunction.DERIVATION_AMOUNT) {
+                        throw new IllegalArgumentException("Unsupported derivation: " + order);
+                    }
+
+                    job.getDerivations().add(parsedOrder);
+                }
+                break;
+
+            case "points":
+                for (@NotNull final String x : splitList(value)) {
+                    job.getMarkedPoints().add(Double.parseDouble(x));
+                }
+                break;
+
+            case "tangent":
+                job.setTangent(Double.parseDouble(value));
+                break;
+
+            default:
+                throw new IllegalArgumentException("Unknown key: " + key);
+        }
+    }
+
+    /**
+     * Prüft, ob in einem {@link RenderJob Auftrag} mindestens eine Funktion angegeben wurde.
+     *
+     * @param job Der {@link RenderJob Auftrag}.
+     *
+     * @return Alle Funktionen des Auftrags, beginnend mit der Funktion, auf die sich alle Punkte beziehen.
+     */
+    @NotNull
+    private static List<String> validateJob(@NotNull final RenderJob job) {
+        final String function = job.getFunction();
+        final List<String> functions = function == null ? new ArrayList<>() : FunctionHandler.splitFunctions(function);
+
+        if (functions.isEmpty()) {
+            throw new IllegalArgumentException("No function for " + job.getOutputFile());
+        }
+
+        return functions;
+    }
+
+    /**
+     * Liest die Skalierung einer Achse, welche eine positive ganze Zahl sein muss.
+     *
+     * @param value Der Wert der Skalierung.
+     *
+     * @return Die Skalierung.
+     */
+    @Range(from = 1, to = Integer.MAX_VALUE)
+    private static int parseScaling(@NotNull final String value) {
+        final int scaling = Integer.parseInt(value);
+
+        if (scaling < 1) throw new IllegalArgumentException("Scaling must be positive: " + value);
+
+        return scaling;
+    }
+
+    /**
+     * Teilt eine durch Kommas oder Leerzeichen getrennte Liste in ihre Einträge auf.
+     *
+     * @param value Die Liste.
+     *
+     * @return Alle nicht leeren Einträge der Liste.
+     */
+    @NotNull
+    private static List<String> splitList(@NotNull final String value) {
+        final List<String> entries = new ArrayList<>();
+
+        for (@NotNull final String entry : value.split("[,\\s]+")) {
+            if (!entry.isEmpty()) entries.add(entry);
+        }
+
+        return entries;
+    }
+
+    /**
+     * Kopiert ein Bild auf einen weißen Hintergrund, sodass es auch in Formaten ohne Transparenz gespeichert werden
+     * kann.
+     *
+     * @param image Das Bild.
+     *
+     * @return Die Kopie des Bildes ohne Transparenz.
+     */
+    @NotNull
+    private static BufferedImage toOpaqueImage(@NotNull final BufferedImage image) {
+        final BufferedImage opaqueImage = new BufferedImage(
+            image.getWidth(),
+            image.getHeight(),
+            BufferedImage.TYPE_INT_RGB
+        );
+        final Graphics2D graphics = opaqueImage.createGraphics();
+
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(0, 0, image.getWidth(), image.getHeight());
+        graphics.drawImage(image, 0, 0, null);
+        graphics.dispose();
+
+        return opaqueImage;
+    }
+
+    /**
+     * Gibt das Format zurück, in dem ein Bild anhand seiner Dateiendung gespeichert wird.
+     *
+     * @param file Die Datei des Bildes.
+     *
+     * @return Das Format des Bildes.
+     */
+    @NotNull
+    private static String getImageFormat(@NotNull final File file) {
+        final String name = file.getName();
+        final int dot = name.lastIndexOf('.');
+
+        return dot < 0 ? DEFAULT_IMAGE_FORMAT : name.substring(dot + 1).toLowerCase(Locale.ROOT);
+    }
+    //</editor-fold>
+
+
+    /**
+     * Ein {@link RenderTask} zeichnet einen Bereich aller {@link RenderJob Aufträge}. Umfasst der Bereich mehr als
+     * einen Auftrag, wird er halbiert und beide Hälften werden parallel gezeichnet.
+     */
+    private static final class RenderTask extends RecursiveAction {
+
+        //<editor-fold desc="LOCAL FIELDS">
+        /** Alle {@link RenderJob Aufträge}. */
+        @NotNull
+        private final List<RenderJob> jobs;
+        /** Die gemeinsame Anzahl an fehlgeschlagenen Aufträgen. */
+        @NotNull
+        private final AtomicInteger failures;
+        /** Der erste Index dieses Bereichs. */
+        private final int from;
+        /** Der Index hinter dem Ende dieses Bereichs. */
+        private final int to;
+        //</editor-fold>
+
+
+        //<editor-fold desc="CONSTRUCTORS">
+
+        /**
+         * Erzeugt einen neuen {@link RenderTask} für einen Bereich der Aufträge.
+         *
+         * @param jobs     Alle {@link RenderJob Aufträge}.
+         * @param failures Die gemeinsame Anzahl an fehlgeschlagenen Aufträgen.
+         * @param from     Der erste Index dieses Bereichs.
+         * @param to       Der Index hinter dem Ende dieses Bereichs.
+         */
+        private RenderTask(
+            @NotNull final List<RenderJob> jobs,
+            @NotNull final AtomicInteger failures,
+            @Range(from = 0, to = Integer.MAX_VALUE) final int from,
+            @Range(from = 0, to = Integer.MAX_VALUE) final int to
+        ) {
+            this.jobs = jobs;
+            this.failures = failures;
+            this.from = from;
+            this.to = to;
+        }
+        //</editor-fold>
+
+
+        //<editor-fold desc="implementation">
+        @Override
+        protected void compute() {
+            if (this.to - this.from == 1) {
+                final RenderJob job = this.jobs.get(this.from);
+
+                try {
+                    render(job);
+                } catch (@NotNull final IOException | RuntimeException ex) {
+                    this.failures.incrementAndGet();
+                    System.err.println(job.getOutputFile() + ": " + ex);
+                }
+                return;
+            }
+
+            final int middle = (this.from + this.to) >>> 1;
+
+            invokeAll(
+                new RenderTask(this.jobs, this.failures, this.from, middle),
+                new RenderTask(this.jobs, this.failures, middle, this.to)
+            );
+        }
+        //</editor-fold>
+    }
+
+}
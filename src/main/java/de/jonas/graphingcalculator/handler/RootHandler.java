@@ -0,0 +1,925 @@
+package de.jonas.graphingcalculator.handler;
+
+import de.jonas.graphingcalculator.expression.CompiledFunction;
+import de.jonas.graphingcalculator.expression.DerivativeEvaluator;
+import de.jonas.graphingcalculator.expression.FunctionCache;
+import de.jonas.graphingcalculator.expression.IntervalEvaluator;
+import de.jonas.graphingcalculator.object.SampledFunction;
+import lombok.Getter;
+import lombok.Setter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Range;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BooleanSupplier;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Mithilfe des {@link RootHandler} werden die Nullstellen einer Funktion mit hoher Genauigkeit berechnet. Bereits
+ * berechnete Funktionswerte dienen dabei nur dazu, Abschnitte mit einem Vorzeichenwechsel einzugrenzen; jeder dieser
+ * Abschnitte wird anschließend mit dem Verfahren von Brent bis auf die eingestellte Toleranz verfeinert. Abschnitte,
+ * in denen die Funktion ihr Vorzeichen an einer Polstelle statt an einer Nullstelle wechselt, werden verworfen.
+ * Nullstellen, an denen die Funktion die x-Achse nur berührt, werden an den kleinsten Beträgen der Funktionswerte
+ * eingegrenzt und als Nullstelle der Ableitung verfeinert. Alle Abschnitte werden parallel in dem {@link ForkJoinPool}
+ * des {@link SamplingHandler} verfeinert. Bereiche, in denen eine Funktion laut ihrem {@link IntervalEvaluator} sicher
+ * keine Nullstelle besitzt, werden dabei gar nicht erst abgetastet.
+ */
+@NotNull
+public final class RootHandler {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Der Name der System-Property, mit der die Toleranz der berechneten Nullstellen festgelegt werden kann. */
+    @NotNull
+    public static final String TOLERANCE_PROPERTY = "graphingcalculator.rootTolerance";
+    /** Die maximale Anzahl an Iterationen, mit denen ein Abschnitt verfeinert wird. */
+    private static final int MAX_ITERATIONS = 100;
+    /** Die kleinste Anzahl an Abschnitten, ab der die Abschnitte auf mehrere Threads aufgeteilt werden. */
+    private static final int PARALLEL_THRESHOLD = 16;
+    /** Die relative Genauigkeit einer Gleitkommazahl. */
+    private static final double EPSILON = Math.ulp(1D);
+    /**
+     * Das Vielfache von {@link #EPSILON}, um das der kleinste Betrag einer Funktion ohne {@link IntervalEvaluator}
+     * höchstens über 0 liegen darf, bezogen auf den größten Betrag an den Rändern des Abschnitts.
+     */
+    private static final double TOUCHING_FACTOR = 16;
+    /** Der Anteil, um den ein Abschnitt beim Minimieren mit dem goldenen Schnitt in jedem Schritt verkleinert wird. */
+    private static final double GOLDEN_SECTION = (Math.sqrt(5) - 1) / 2;
+    //</editor-fold>
+
+
+    //<editor-fold desc="STATIC FIELDS">
+    /** Die größte Abweichung in x-Richtung, mit der eine Nullstelle berechnet wird. */
+    @Getter
+    @Setter
+    private static double tolerance = Double.parseDouble(System.getProperty(TOLERANCE_PROPERTY, "1E-12"));
+    //</editor-fold>
+
+
+    //<editor-fold desc="utility">
+
+    /**
+     * Berechnet alle Nullstellen einer bereits eingelesenen Funktion in einem bestimmten Bereich. Der Bereich wird
+     * dazu so lange halbiert, bis er in höchstens {@code sections} gleich breite Abschnitte aufgeteilt ist; jeder
+     * Teilbereich, in dem die Funktion laut ihrem {@link IntervalEvaluator} sicher keine Nullstelle besitzt, wird dabei
+     * verworfen. Nur an den Rändern der übrigen Abschnitte wird die Funktion ausgerechnet, um die Nullstellen
+     * anschließend wie in {@link #getRoots(DoubleUnaryOperator, SampledFunction)} einzugrenzen und zu verfeinern.
+     *
+     * @param function Die Funktion, deren Nullstellen berechnet werden.
+     * @param xMin     Der kleinste x-Wert des Bereichs.
+     * @param xMax     Der größte x-Wert des Bereichs.
+     * @param sections Die Anzahl an Abschnitten, in denen höchstens nach einem Vorzeichenwechsel gesucht wird.
+     *
+     * @return Alle Nullstellen der Funktion, wobei jedem x-Wert sein Funktionswert zugeordnet ist.
+     */
+    @NotNull
+    public static Map<Double, Double> getRoots(
+        @NotNull final CompiledFunction function,
+        final double xMin,
+        final double xMax,
+        @Range(from = 1, to = Integer.MAX_VALUE) final int sections
+    ) {
+        return getRoots(function, xMin, xMax, sections, SamplingHandler.NEVER_CANCELLED);
+    }
+
+    /**
+     * Berechnet alle Nullstellen einer bereits eingelesenen Funktion in einem bestimmten Bereich genauso wie
+     * {@link #getRoots(CompiledFunction, double, double, int)}, wobei sowohl das Abtasten als auch das Verfeinern
+     * abgebrochen wird, sobald {@code cancelled} dies verlangt.
+     *
+     * @param function  Die Funktion, deren Nullstellen berechnet werden.
+     * @param xMin      Der kleinste x-Wert des Bereichs.
+     * @param xMax      Der größte x-Wert des Bereichs.
+     * @param sections  Die Anzahl an Abschnitten, in denen höchstens nach einem Vorzeichenwechsel gesucht wird.
+     * @param cancelled Der Zustand, ob die Berechnung abgebrochen werden soll. Dieser muss von mehreren Threads
+     *                  gleichzeitig abgefragt werden können.
+     *
+     * @return Alle Nullstellen der Funktion, wobei jedem x-Wert sein Funktionswert zugeordnet ist.
+     *
+     * @throws CancellationException Wird geworfen, wenn die Berechnung abgebrochen wurde.
+     */
+    @NotNull
+    public static Map<Double, Double> getRoots(
+        @NotNull final CompiledFunction function,
+        final double xMin,
+        final double xMax,
+        @Range(from = 1, to = Integer.MAX_VALUE) final int sections,
+        @NotNull final BooleanSupplier cancelled
+    ) {
+        final Scanner scanner = new Scanner(function, (xMax - xMin) / sections, cancelled);
+        scanner.scan(xMin, xMax);
+
+        return getRoots(
+            function.getEvaluator(),
+            function.getDerivativeEvaluator(),
+            function.getIntervalEvaluator(),
+            scanner.getValues(),
+            cancelled
+        );
+    }
+
+    /**
+     * Berechnet alle Nullstellen einer Funktion, deren Vorzeichenwechsel sich zwischen zwei verbundenen, bereits
+     * berechneten Funktionswerten befinden oder die exakt auf einem dieser Funktionswerte liegen. Zusätzlich wird an
+     * jedem Funktionswert, dessen Betrag kleiner als der seiner verbundenen Nachbarn mit demselben Vorzeichen ist,
+     * nach einer Nullstelle gesucht, an der die Funktion die x-Achse nur berührt. Die Genauigkeit der Nullstellen
+     * hängt dabei nicht von den Abständen der bereits berechneten Funktionswerte ab, sondern nur von der eingestellten
+     * {@code tolerance}.
+     *
+     * @param function       Die Funktion, deren Nullstellen berechnet werden. Die Funktion muss von mehreren Threads
+     *                       gleichzeitig genutzt werden können.
+     * @param functionValues Die bereits berechneten Funktionswerte, mit denen die Nullstellen eingegrenzt werden.
+     *
+     * @return Alle Nullstellen der Funktion, wobei jedem x-Wert sein Funktionswert zugeordnet ist.
+     */
+    @NotNull
+    public static Map<Double, Double> getRoots(
+        @NotNull final DoubleUnaryOperator function,
+        @NotNull final SampledFunction functionValues
+    ) {
+        if (!(function instanceof CompiledFunction)) {
+            return getRoots(function, null, null, functionValues, SamplingHandler.NEVER_CANCELLED);
+        }
+
+        final CompiledFunction compiledFunction = (CompiledFunction) function;
+
+        return getRoots(
+            compiledFunction.getEvaluator(),
+            compiledFunction.getDerivativeEvaluator(),
+            compiledFunction.getIntervalEvaluator(),
+            functionValues,
+            SamplingHandler.NEVER_CANCELLED
+        );
+    }
+
+    /**
+     * Berechnet alle Schnittpunkte zweier Funktionen, deren Funktionswerte an denselben x-Werten bekannt sind. Dazu
+     * werden die Nullstellen der Differenz beider Funktionen wie in
+     * {@link #getRoots(DoubleUnaryOperator, SampledFunction)} eingegrenzt und verfeinert; zwei Funktionswerte der
+     * Differenz sind dabei nur verbunden, wenn sie in beiden Funktionen verbunden sind. Schnittpunkte an einer
+     * Polstelle einer der beiden Funktionen werden somit ebenfalls verworfen. Schnittpunkte, an denen sich beide
+     * Funktionen nur berühren, werden wie jede andere berührende Nullstelle verfeinert.
+     *
+     * @param function            Die erste Funktion. Die Funktion muss von mehreren Threads gleichzeitig genutzt
+     *                            werden können.
+     * @param functionValues      Die bereits berechneten Funktionswerte der ersten Funktion.
+     * @param otherFunction       Die zweite Funktion. Die Funktion muss von mehreren Threads gleichzeitig genutzt
+     *                            werden können.
+     * @param otherFunctionValues Die bereits berechneten Funktionswerte der zweiten Funktion an denselben x-Werten.
+     *
+     * @return Alle Schnittpunkte beider Funktionen, wobei jedem x-Wert der Funktionswert der ersten Funktion
+     *     zugeordnet ist.
+     */
+    @NotNull
+    public static Map<Double, Double> getIntersections(
+        @NotNull final DoubleUnaryOperator function,
+        @NotNull final SampledFunction functionValues,
+        @NotNull final DoubleUnaryOperator otherFunction,
+        @NotNull final SampledFunction otherFunctionValues
+    ) {
+        final int size = functionValues.getSize();
+
+        if (otherFunctionValues.getSize() != size) {
+            throw new IllegalArgumentException("The function values do not share the same x-values");
+        }
+
+        final double[] xValues = new double[size];
+        final double[] differences = new double[size];
+        final SampledFunction differenceValues = new SampledFunction(xValues, differences, size);
+
+        for (int i = 0; i < size; i++) {
+            xValues[i] = functionValues.getX(i);
+            differences[i] = functionValues.getY(i) - otherFunctionValues.getY(i);
+
+            if (functionValues.isGap(i) || otherFunctionValues.isGap(i)) differenceValues.markGap(i);
+        }
+
+        final Map<Double, Double> roots = getRoots(getDifference(function, otherFunction), differenceValues);
+        final Map<Double, Double> intersections = new HashMap<>();
+
+        for (final double x : roots.keySet()) {
+            intersections.put(x, function.applyAsDouble(x));
+        }
+
+        return intersections;
+    }
+
+    /**
+     * Gibt die Differenz zweier Funktionen zurück. Sind beide Funktionen bereits eingelesen, wird auch ihre Differenz
+     * über den {@link FunctionCache} eingelesen, sodass deren Ableitung und Intervalle zur Verfügung stehen.
+     *
+     * @param function      Die erste Funktion.
+     * @param otherFunction Die zweite Funktion, welche von der ersten Funktion abgezogen wird.
+     *
+     * @return Die Differenz beider Funktionen.
+     */
+    @NotNull
+    private static DoubleUnaryOperator getDifference(
+        @NotNull final DoubleUnaryOperator function,
+        @NotNull final DoubleUnaryOperator otherFunction
+    ) {
+        if (!(function instanceof CompiledFunction) || !(otherFunction instanceof CompiledFunction)) {
+            return x -> function.applyAsDouble(x) - otherFunction.applyAsDouble(x);
+        }
+
+        final String term = ((CompiledFunction) function).getFunction();
+        final String otherTerm = ((CompiledFunction) otherFunction).getFunction();
+
+        return FunctionCache.get("(" + term + ")-(" + otherTerm + ")");
+    }
+
+    /**
+     * Berechnet alle Nullstellen einer Funktion wie {@link #getRoots(DoubleUnaryOperator, SampledFunction)}. Ist ein
+     * {@link IntervalEvaluator} vorhanden, wird an einem kleinsten Betrag der Funktionswerte nur dann nach einer
+     * berührenden Nullstelle gesucht, wenn die Funktion zwischen dessen Nachbarn laut dem {@link IntervalEvaluator}
+     * den Wert 0 annehmen könnte.
+     *
+     * @param function            Die Funktion, deren Nullstellen berechnet werden.
+     * @param derivativeEvaluator Der {@link DerivativeEvaluator} der Funktion, mit dem berührende Nullstellen als
+     *                            Nullstellen der Ableitung verfeinert werden; {@code null}, wenn stattdessen der
+     *                            Betrag der Funktion minimiert werden soll.
+     * @param intervalEvaluator   Der {@link IntervalEvaluator} der Funktion; {@code null}, wenn an jedem kleinsten
+     *                            Betrag der Funktionswerte gesucht werden soll.
+     * @param functionValues      Die bereits berechneten Funktionswerte, mit denen die Nullstellen eingegrenzt
+     *                            werden.
+     * @param cancelled           Der Zustand, ob die Berechnung abgebrochen werden soll.
+     *
+     * @return Alle Nullstellen der Funktion, wobei jedem x-Wert sein Funktionswert zugeordnet ist.
+     *
+     * @throws CancellationException Wird geworfen, wenn die Berechnung abgebrochen wurde.
+     */
+    @NotNull
+    private static Map<Double, Double> getRoots(
+        @NotNull final DoubleUnaryOperator function,
+        @Nullable final DerivativeEvaluator derivativeEvaluator,
+        @Nullable final IntervalEvaluator intervalEvaluator,
+        @NotNull final SampledFunction functionValues,
+        @NotNull final BooleanSupplier cancelled
+    ) {
+        final Map<Double, Double> roots = new HashMap<>();
+        final double[] workspace = intervalEvaluator == null ? null : intervalEvaluator.createWorkspace();
+        final double[] bounds = new double[2];
+
+        int[] brackets = new int[16];
+        int count = 0;
+        int[] minima = new int[16];
+        int minimumCount = 0;
+
+        for (int i = 0; i < functionValues.getSize(); i++) {
+            final double y = functionValues.getY(i);
+
+            // take values that are exactly zero directly
+            if (y == 0) {
+                roots.put(functionValues.getX(i), y);
+                continue;
+            }
+
+            // the function may touch zero next to the smallest absolute value between its neighbours
+            if (isMinimum(functionValues, i)) {
+                final int from = i > 0 && functionValues.isConnected(i - 1) ? i - 1 : i;
+                final int to = functionValues.isConnected(i) ? i + 1 : i;
+
+                if (intervalEvaluator != null && workspace != null) {
+                    intervalEvaluator.evaluate(functionValues.getX(from), functionValues.getX(to), workspace, bounds);
+                }
+
+                if (intervalEvaluator == null || !IntervalEvaluator.excludes(bounds, 0)) {
+                    if (minimumCount == minima.length) minima = Arrays.copyOf(minima, minimumCount * 2);
+                    minima[minimumCount++] = i;
+                }
+            }
+
+            // check if next entry is connected and has the opposite sign
+            if (!functionValues.isConnected(i)) continue;
+
+            final double nextY = functionValues.getY(i + 1);
+
+            if (nextY == 0 || (y < 0) == (nextY < 0)) continue;
+
+            if (count == brackets.length) brackets = Arrays.copyOf(brackets, count * 2);
+            brackets[count++] = i;
+        }
+
+        final double[] rootValues = new double[count];
+        final double[] touchingRootValues = new double[2 * minimumCount];
+
+        SamplingHandler.getPool().invoke(
+            new BracketTask(function, null, null, cancelled, functionValues, brackets, rootValues, false, 0, count)
+        );
+        SamplingHandler.getPool().invoke(new BracketTask(
+            function,
+            derivativeEvaluator,
+            intervalEvaluator,
+            cancelled,
+            functionValues,
+            minima,
+            touchingRootValues,
+            true,
+            0,
+            minimumCount
+        ));
+
+        for (@NotNull final double[] values : new double[][] {rootValues, touchingRootValues}) {
+            for (final double root : values) {
+                if (Double.isNaN(root)) continue;
+
+                roots.put(root, function.applyAsDouble(root));
+            }
+        }
+
+        return roots;
+    }
+
+    /**
+     * Prüft, ob der Betrag eines Funktionswertes kleiner als der seiner verbundenen Nachbarn ist, die dasselbe
+     * Vorzeichen besitzen. Bei gleich großen Beträgen gilt nur der erste Funktionswert als kleinster Betrag, sodass
+     * jede Stelle höchstens einmal untersucht wird.
+     *
+     * @param functionValues Die bereits berechneten Funktionswerte.
+     * @param index          Der Index des Funktionswertes.
+     *
+     * @return Ob der Funktionswert einen kleinsten Betrag zwischen seinen Nachbarn besitzt.
+     */
+    private static boolean isMinimum(
+        @NotNull final SampledFunction functionValues,
+        @Range(from = 0, to = Integer.MAX_VALUE) final int index
+    ) {
+        final double y = functionValues.getY(index);
+        final boolean previous = index > 0 && functionValues.isConnected(index - 1);
+        final boolean next = functionValues.isConnected(index);
+
+        if (y == 0 || (!previous && !next)) return false;
+
+        if (previous) {
+            final double previousY = functionValues.getY(index - 1);
+
+            if (previousY == 0 || (previousY < 0) != (y < 0) || Math.abs(y) >= Math.abs(previousY)) return false;
+        }
+
+        if (next) {
+            final double nextY = functionValues.getY(index + 1);
+
+            return nextY != 0 && (nextY < 0) == (y < 0) && Math.abs(y) <= Math.abs(nextY);
+        }
+
+        return true;
+    }
+
+    /**
+     * Sucht in einem Abschnitt, an dessen Rändern eine Funktion dasselbe Vorzeichen besitzt, nach Nullstellen. Dazu
+     * wird die Stelle mit dem kleinsten Betrag der Funktion als Nullstelle der Ableitung mit
+     * {@link #findRoot(DoubleUnaryOperator, double, double, double, double)} verfeinert; ist keine Ableitung vorhanden
+     * oder wechselt diese in dem Abschnitt nicht ihr Vorzeichen, wird stattdessen der Betrag der Funktion mit dem
+     * goldenen Schnitt minimiert. Könnte die Funktion an dieser Stelle den Wert 0 annehmen, berührt sie dort die
+     * x-Achse; wechselt die Funktion an dieser Stelle dagegen ihr Vorzeichen, besitzt sie in dem Abschnitt zwei
+     * Nullstellen, die anschließend ebenfalls verfeinert werden.
+     *
+     * @param function          Die Funktion, deren Nullstellen berechnet werden.
+     * @param derivative        Die Ableitung der Funktion; {@code null}, wenn keine Ableitung vorhanden ist.
+     * @param intervalEvaluator Der {@link IntervalEvaluator} der Funktion; {@code null}, wenn keiner vorhanden ist.
+     * @param workspace         Der Arbeitsspeicher des {@link IntervalEvaluator}.
+     * @param x0                Der x-Wert am Anfang des Abschnitts.
+     * @param x1                Der x-Wert am Ende des Abschnitts.
+     * @param roots             Das Array, in welches die beiden Nullstellen geschrieben werden; {@link Double#NaN}
+     *                          für jede Nullstelle, die nicht existiert.
+     * @param offset            Der Index, an den die erste Nullstelle geschrieben wird.
+     */
+    private static void findTouchingRoots(
+        @NotNull final DoubleUnaryOperator function,
+        @Nullable final DoubleUnaryOperator derivative,
+        @Nullable final IntervalEvaluator intervalEvaluator,
+        @Nullable final double[] workspace,
+        final double x0,
+        final double x1,
+        @NotNull final double[] roots,
+        @Range(from = 0, to = Integer.MAX_VALUE) final int offset
+    ) {
+        double x = Double.NaN;
+
+        if (derivative != null) {
+            final double slope0 = derivative.applyAsDouble(x0);
+            final double slope1 = derivative.applyAsDouble(x1);
+
+            if ((slope0 < 0) != (slope1 < 0)) x = findRoot(derivative, x0, slope0, x1, slope1);
+        }
+
+        if (Double.isNaN(x)) x = minimize(function, x0, x1);
+
+        final double y = function.applyAsDouble(x);
+        final double y0 = function.applyAsDouble(x0);
+        final double y1 = function.applyAsDouble(x1);
+
+        roots[offset] = Double.NaN;
+        roots[offset + 1] = Double.NaN;
+
+        if (isTouching(intervalEvaluator, workspace, x, y, Math.max(Math.abs(y0), Math.abs(y1)))) {
+            roots[offset] = x;
+            return;
+        }
+
+        // the function crosses zero twice between both borders
+        if (!Double.isNaN(y) && (y < 0) != (y0 < 0)) {
+            roots[offset] = findRoot(function, x0, y0, x, y);
+            roots[offset + 1] = findRoot(function, x, y, x1, y1);
+        }
+    }
+
+    /**
+     * Minimiert den Betrag einer Funktion in einem Abschnitt mit dem goldenen Schnitt.
+     *
+     * @param function Die Funktion, deren Betrag minimiert wird.
+     * @param x0       Der x-Wert am Anfang des Abschnitts.
+     * @param x1       Der x-Wert am Ende des Abschnitts.
+     *
+     * @return Die Stelle mit dem kleinsten Betrag der Funktion in dem Abschnitt.
+     */
+    private static double minimize(
+        @NotNull final DoubleUnaryOperator function,
+        final double x0,
+        final double x1
+    ) {
+        double a = x0;
+        double b = x1;
+        double c = b - GOLDEN_SECTION * (b - a);
+        double d = a + GOLDEN_SECTION * (b - a);
+        double fc = Math.abs(function.applyAsDouble(c));
+        double fd = Math.abs(function.applyAsDouble(d));
+
+        for (int i = 0; i < MAX_ITERATIONS && b - a > 2 * (Math.sqrt(EPSILON) * Math.abs(c) + tolerance); i++) {
+            if (fc < fd) {
+                b = d;
+                d = c;
+                fd = fc;
+                c = b - GOLDEN_SECTION * (b - a);
+                fc = Math.abs(function.applyAsDouble(c));
+            } else {
+                a = c;
+                c = d;
+                fc = fd;
+                d = a + GOLDEN_SECTION * (b - a);
+                fd = Math.abs(function.applyAsDouble(d));
+            }
+        }
+
+        return fc < fd ? c : d;
+    }
+
+    /**
+     * Prüft, ob eine Funktion an der Stelle ihres kleinsten Betrags die x-Achse berührt. Ist ein
+     * {@link IntervalEvaluator} vorhanden, berührt die Funktion die x-Achse, wenn sie innerhalb der eingestellten
+     * {@code tolerance} um diese Stelle laut dem {@link IntervalEvaluator} den Wert 0 annehmen könnte. Ansonsten darf
+     * ihr Betrag nur um einige Rundungsfehler des größten Betrags an den Rändern des Abschnitts über 0 liegen, sodass
+     * die Entscheidung nicht von der Größenordnung der Funktionswerte abhängt.
+     *
+     * @param intervalEvaluator Der {@link IntervalEvaluator} der Funktion; {@code null}, wenn keiner vorhanden ist.
+     * @param workspace         Der Arbeitsspeicher des {@link IntervalEvaluator}.
+     * @param x                 Die Stelle mit dem kleinsten Betrag der Funktion.
+     * @param y                 Der Funktionswert an dieser Stelle.
+     * @param maxAbsY           Der größte Betrag der Funktion an den Rändern des Abschnitts.
+     *
+     * @return Ob die Funktion an dieser Stelle die x-Achse berührt.
+     */
+    private static boolean isTouching(
+        @Nullable final IntervalEvaluator intervalEvaluator,
+        @Nullable final double[] workspace,
+        final double x,
+        final double y,
+        final double maxAbsY
+    ) {
+        if (y == 0) return true;
+        if (Double.isNaN(y)) return false;
+
+        if (intervalEvaluator == null || workspace == null) {
+            return Math.abs(y) <= TOUCHING_FACTOR * EPSILON * maxAbsY;
+        }
+
+        final double[] bounds = new double[2];
+
+        intervalEvaluator.evaluate(x - tolerance, x + tolerance, workspace, bounds);
+        return !IntervalEvaluator.excludes(bounds, 0);
+    }
+
+    /**
+     * Verfeinert einen Abschnitt, in dem eine Funktion ihr Vorzeichen wechselt, mithilfe des Verfahrens von Brent.
+     * Dabei wird in jedem Schritt entweder interpoliert oder - wenn die Interpolation nicht schnell genug konvergiert -
+     * der Abschnitt halbiert, sodass der Abschnitt garantiert kleiner wird. Wechselt die Funktion ihr Vorzeichen an
+     * einer Polstelle, steigt der Betrag der Funktionswerte beim Verfeinern über den Betrag an den Rändern des
+     * Abschnitts, woran die Polstelle erkannt und verworfen wird.
+     *
+     * @param function Die Funktion, deren Nullstelle berechnet wird.
+     * @param x0       Der x-Wert am Anfang des Abschnitts.
+     * @param y0       Der Funktionswert am Anfang des Abschnitts.
+     * @param x1       Der x-Wert am Ende des Abschnitts.
+     * @param y1       Der Funktionswert am Ende des Abschnitts, welcher ein anderes Vorzeichen als {@code y0} besitzt.
+     *
+     * @return Die Nullstelle in diesem Abschnitt; {@link Double#NaN}, wenn die Funktion in diesem Abschnitt keine
+     *     Nullstelle besitzt.
+     */
+    public static double findRoot(
+        @NotNull final DoubleUnaryOperator function,
+        final double x0,
+        final double y0,
+        final double x1,
+        final double y1
+    ) {
+        final double maxAbsY = Math.max(Math.abs(y0), Math.abs(y1));
+
+        double a = x0;
+        double fa = y0;
+        double b = x1;
+        double fb = y1;
+        double c = a;
+        double fc = fa;
+        double d = b - a;
+        double e = d;
+
+        for (int i = 0; i < MAX_ITERATIONS; i++) {
+            // keep the root between b and c
+            if ((fb < 0) == (fc < 0)) {
+                c = a;
+                fc = fa;
+                d = b - a;
+                e = d;
+            }
+
+            // b is always the best approximation
+            if (Math.abs(fc) < Math.abs(fb)) {
+                a = b;
+                b = c;
+                c = a;
+                fa = fb;
+                fb = fc;
+                fc = fa;
+            }
+
+            final double tol = 2 * EPSILON * Math.abs(b) + tolerance / 2;
+            final double m = (c - b) / 2;
+
+            if (Math.abs(m) <= tol || fb == 0) return Math.abs(fb) <= maxAbsY ? b : Double.NaN;
+
+            if (Math.abs(e) < tol || Math.abs(fa) <= Math.abs(fb)) {
+                // bisection
+                d = m;
+                e = m;
+            } else {
+                // secant or inverse quadratic interpolation
+                final double s = fb / fa;
+                double p;
+                double q;
+
+                if (a == c) {
+                    p = 2 * m * s;
+                    q = 1 - s;
+                } else {
+                    final double r = fb / fc;
+                    q = fa / fc;
+                    p = s * (2 * m * q * (q - r) - (b - a) * (r - 1));
+                    q = (q - 1) * (r - 1) * (s - 1);
+                }
+
+                if (p > 0) {
+                    q = -q;
+                } else {
+                    p = -p;
+                }
+
+                if (2 * p < Math.min(3 * m * q - Math.abs(tol * q), Math.abs(e * q))) {
+                    e = d;
+                    d = p / q;
+                } else {
+                    d = m;
+                    e = m;
+                }
+            }
+
+            a = b;
+            fa = fb;
+            b += Math.abs(d) > tol ? d : (m > 0 ? tol : -tol);
+            fb = function.applyAsDouble(b);
+
+            // the function is not defined inside the section
+            if (Double.isNaN(fb)) return Double.NaN;
+        }
+
+        return Math.abs(fb) <= maxAbsY ? b : Double.NaN;
+    }
+    //</editor-fold>
+
+
+    /**
+     * Ein {@link Scanner} tastet eine Funktion nur in den Abschnitten ab, in denen sie laut ihrem
+     * {@link IntervalEvaluator} eine Nullstelle besitzen könnte. Zwischen zwei Abschnitten, die nicht aneinander
+     * grenzen, wird eine Lücke markiert.
+     */
+    private static final class Scanner {
+
+        //<editor-fold desc="LOCAL FIELDS">
+        /** Die Funktion, deren Funktionswerte berechnet werden. */
+        @NotNull
+        private final DoubleUnaryOperator function;
+        /** Der {@link IntervalEvaluator} der Funktion. */
+        @NotNull
+        private final IntervalEvaluator intervalEvaluator;
+        /** Der Zustand, ob das Abtasten abgebrochen werden soll. */
+        @NotNull
+        private final BooleanSupplier cancelled;
+        /** Der Arbeitsspeicher des {@link IntervalEvaluator}. */
+        @NotNull
+        private final double[] workspace;
+        /** Der zuletzt berechnete Bereich der y-Achse. */
+        @NotNull
+        private final double[] bounds = new double[2];
+        /** Die Breite, ab der ein Abschnitt nicht weiter halbiert wird. */
+        private final double sectionWidth;
+        /** Alle Indizes, deren Funktionswert nicht mit dem nächsten Funktionswert verbunden werden soll. */
+        @NotNull
+        private final BitSet gaps = new BitSet();
+        /** Alle bisher berechneten x-Werte. */
+        @NotNull
+        private double[] xValues = new double[64];
+        /** Alle bisher berechneten y-Werte. */
+        @NotNull
+        private double[] yValues = new double[64];
+        /** Die Anzahl an bisher berechneten Funktionswerten. */
+        private int size;
+        //</editor-fold>
+
+
+        //<editor-fold desc="CONSTRUCTORS">
+
+        /**
+         * Erzeugt einen neuen {@link Scanner} für eine bereits eingelesene Funktion.
+         *
+         * @param function     Die Funktion, deren Funktionswerte berechnet werden.
+         * @param sectionWidth Die Breite, ab der ein Abschnitt nicht weiter halbiert wird.
+         * @param cancelled    Der Zustand, ob das Abtasten abgebrochen werden soll.
+         */
+        private Scanner(
+            @NotNull final CompiledFunction function,
+            final double sectionWidth,
+            @NotNull final BooleanSupplier cancelled
+        ) {
+            this.function = function.getEvaluator();
+            this.intervalEvaluator = function.getIntervalEvaluator();
+            this.cancelled = cancelled;
+            this.workspace = this.intervalEvaluator.createWorkspace();
+            this.sectionWidth = sectionWidth;
+        }
+        //</editor-fold>
+
+
+        /**
+         * Tastet einen Bereich ab, sofern die Funktion in diesem Bereich eine Nullstelle besitzen könnte. Ist der
+         * Bereich breiter als ein Abschnitt, wird er halbiert und beide Hälften werden nacheinander abgetastet.
+         *
+         * @param from Der kleinste x-Wert des Bereichs.
+         * @param to   Der größte x-Wert des Bereichs.
+         */
+        private void scan(final double from, final double to) {
+            SamplingHandler.checkCancelled(this.cancelled);
+            this.intervalEvaluator.evaluate(from, to, this.workspace, this.bounds);
+
+            if (IntervalEvaluator.excludes(this.bounds, 0)) return;
+
+            if (to - from > this.sectionWidth) {
+                final double middle = (from + to) / 2;
+
+                scan(from, middle);
+                scan(middle, to);
+                return;
+            }
+
+            // continue the previous section or start a new one behind a gap
+            if (this.size == 0 || this.xValues[this.size - 1] != from) {
+                if (this.size > 0) this.gaps.set(this.size - 1);
+                add(from);
+            }
+
+            add(to);
+        }
+
+        /**
+         * Rechnet die Funktion für einen bestimmten x-Wert aus und fügt den Funktionswert am Ende der bisher
+         * berechneten Funktionswerte hinzu.
+         *
+         * @param x Der x-Wert.
+         */
+        private void add(final double x) {
+            if (this.size == this.xValues.length) {
+                this.xValues = Arrays.copyOf(this.xValues, this.size * 2);
+                this.yValues = Arrays.copyOf(this.yValues, this.size * 2);
+            }
+
+            this.xValues[this.size] = x;
+            this.yValues[this.size] = this.function.applyAsDouble(x);
+            this.size++;
+        }
+
+        /**
+         * Gibt alle bisher berechneten Funktionswerte zurück.
+         *
+         * @return Alle bisher berechneten Funktionswerte.
+         */
+        @NotNull
+        private SampledFunction getValues() {
+            final SampledFunction values = new SampledFunction(this.xValues, this.yValues, this.size);
+
+            for (int i = this.gaps.nextSetBit(0); i >= 0; i = this.gaps.nextSetBit(i + 1)) {
+                values.markGap(i);
+            }
+
+            return values;
+        }
+    }
+
+    /**
+     * Ein {@link BracketTask} verfeinert die Abschnitte mit einem Vorzeichenwechsel bzw. um einen kleinsten Betrag der
+     * Funktionswerte in einem Bereich der Indizes und schreibt die Nullstellen direkt an die richtige Stelle des
+     * gemeinsamen Arrays. Sind genügend Abschnitte vorhanden, wird der Bereich halbiert und beide Hälften werden
+     * parallel verfeinert.
+     */
+    private static final class BracketTask extends RecursiveAction {
+
+        //<editor-fold desc="LOCAL FIELDS">
+        /** Die Funktion, deren Nullstellen berechnet werden. */
+        @NotNull
+        private final DoubleUnaryOperator function;
+        /** Der {@link DerivativeEvaluator} der Funktion; {@code null}, wenn keiner vorhanden ist. */
+        @Nullable
+        private final DerivativeEvaluator derivativeEvaluator;
+        /** Der {@link IntervalEvaluator} der Funktion; {@code null}, wenn keiner vorhanden ist. */
+        @Nullable
+        private final IntervalEvaluator intervalEvaluator;
+        /** Der Zustand, ob das Verfeinern abgebrochen werden soll. */
+        @NotNull
+        private final BooleanSupplier cancelled;
+        /** Die bereits berechneten Funktionswerte, mit denen die Nullstellen eingegrenzt wurden. */
+        @NotNull
+        private final SampledFunction functionValues;
+        /** Die Indizes der Funktionswerte, nach denen die Funktion ihr Vorzeichen wechselt. */
+        @NotNull
+        private final int[] brackets;
+        /** Das gemeinsame Array aller Nullstellen. */
+        @NotNull
+        private final double[] roots;
+        /**
+         * Ob die Indizes kleinste Beträge der Funktionswerte statt Vorzeichenwechsel beschreiben. In diesem Fall werden
+         * für jeden Index zwei Nullstellen in das gemeinsame Array geschrieben.
+         */
+        private final boolean touching;
+        /** Der erste Index dieses Bereichs. */
+        private final int from;
+        /** Der Index hinter dem Ende dieses Bereichs. */
+        private final int to;
+        //</editor-fold>
+
+
+        //<editor-fold desc="CONSTRUCTORS">
+
+        /**
+         * Erzeugt einen neuen {@link BracketTask} für einen Bereich der Indizes.
+         *
+         * @param function            Die Funktion, deren Nullstellen berechnet werden.
+         * @param derivativeEvaluator Der {@link DerivativeEvaluator} der Funktion; {@code null}, wenn keiner
+         *                            vorhanden ist.
+         * @param intervalEvaluator   Der {@link IntervalEvaluator} der Funktion; {@code null}, wenn keiner vorhanden
+         *                            ist.
+         * @param cancelled           Der Zustand, ob das Verfeinern abgebrochen werden soll.
+         * @param functionValues      Die bereits berechneten Funktionswerte, mit denen die Nullstellen eingegrenzt
+         *                            wurden.
+         * @param brackets            Die Indizes der Funktionswerte, nach denen die Funktion ihr Vorzeichen wechselt.
+         * @param roots               Das gemeinsame Array aller Nullstellen.
+         * @param touching            Ob die Indizes kleinste Beträge der Funktionswerte statt Vorzeichenwechsel
+         *                            beschreiben.
+         * @param from                Der erste Index dieses Bereichs.
+         * @param to                  Der Index hinter dem Ende dieses Bereichs.
+         */
+        private BracketTask(
+            @NotNull final DoubleUnaryOperator function,
+            @Nullable final DerivativeEvaluator derivativeEvaluator,
+            @Nullable final IntervalEvaluator intervalEvaluator,
+            @NotNull final BooleanSupplier cancelled,
+            @NotNull final SampledFunction functionValues,
+            @NotNull final int[] brackets,
+            @NotNull final double[] roots,
+            final boolean touching,
+            @Range(from = 0, to = Integer.MAX_VALUE) final int from,
+            @Range(from = 0, to = Integer.MAX_VALUE) final int to
+        ) {
+            this.function = function;
+            this.derivativeEvaluator = derivativeEvaluator;
+            this.intervalEvaluator = intervalEvaluator;
+            this.cancelled = cancelled;
+            this.functionValues = functionValues;
+            this.brackets = brackets;
+            this.roots = roots;
+            this.touching = touching;
+            this.from = from;
+            this.to = to;
+        }
+        //</editor-fold>
+
+
+        /**
+         * Erzeugt die Ableitung der Funktion, welche mit dem {@link DerivativeEvaluator} und einem eigenen
+         * Arbeitsspeicher ausgerechnet wird und daher nur von dem Thread dieses {@link BracketTask} genutzt werden
+         * darf.
+         *
+         * @return Die Ableitung der Funktion; {@code null}, wenn kein {@link DerivativeEvaluator} vorhanden ist.
+         */
+        @Nullable
+        private DoubleUnaryOperator createDerivative() {
+            final DerivativeEvaluator evaluator = this.derivativeEvaluator;
+
+            if (evaluator == null) return null;
+
+            final double[] workspace = evaluator.createWorkspace();
+            final double[] derivatives = new double[DerivativeEvaluator.MAX_ORDER + 1];
+
+            return x -> {
+                evaluator.evaluate(x, workspace, derivatives);
+                return derivatives[1];
+            };
+        }
+
+        //<editor-fold desc="implementation">
+        @Override
+        protected void compute() {
+            if (this.to - this.from <= PARALLEL_THRESHOLD) {
+                final DoubleUnaryOperator derivative = this.touching ? createDerivative() : null;
+                final double[] workspace = this.touching && this.intervalEvaluator != null
+                    ? this.intervalEvaluator.createWorkspace()
+                    : null;
+
+                for (int i = this.from; i < this.to; i++) {
+                    SamplingHandler.checkCancelled(this.cancelled);
+
+                    final int index = this.brackets[i];
+
+                    if (this.touching) {
+                        final boolean previous = index > 0 && this.functionValues.isConnected(index - 1);
+                        final boolean next = this.functionValues.isConnected(index);
+
+                        findTouchingRoots(
+                            this.function,
+                            derivative,
+                            this.intervalEvaluator,
+                            workspace,
+                            this.functionValues.getX(previous ? index - 1 : index),
+                            this.functionValues.getX(next ? index + 1 : index),
+                            this.roots,
+                            2 * i
+                        );
+                        continue;
+                    }
+
+                    this.roots[i] = findRoot(
+                        this.function,
+                        this.functionValues.getX(index),
+                        this.functionValues.getY(index),
+                        this.functionValues.getX(index + 1),
+                        this.functionValues.getY(index + 1)
+                    );
+                }
+                return;
+            }
+
+            final int middle = (this.from + this.to) >>> 1;
+
+            invokeAll(
+                new BracketTask(
+                    this.function,
+                    this.derivativeEvaluator,
+                    this.intervalEvaluator,
+                    this.cancelled,
+                    this.functionValues,
+                    this.brackets,
+                    this.roots,
+                    this.touching,
+                    this.from,
+                    middle
+                ),
+                new BracketTask(
+                    this.function,
+                    this.derivativeEvaluator,
+                    this.intervalEvaluator,
+                    this.cancelled,
+                    this.functionValues,
+                    this.brackets,
+                    this.roots,
+                    this.touching,
+                    middle,
+                    this.to
+                )
+            );
+        }
+        //</editor-fold>
+    }
+
+}
@@ -0,0 +1,939 @@
+package de.jonas.graphingcalculator.handler;
+
+import de.jonas.graphingcalculator.expression.CompiledFunction;
+import de.jonas.graphingcalculator.expression.IntervalEvaluator;
+import de.jonas.graphingcalculator.object.SampledFunction;
+import lombok.Getter;
+import lombok.Setter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Range;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BooleanSupplier;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Mithilfe des {@link SamplingHandler} werden die Funktionswerte einer Funktion in einem bestimmten Bereich berechnet.
+ * Zum Zeichnen wird dabei mit genau einem Funktionswert pro Pixel-Spalte begonnen; nur an Stellen, an denen die
+ * Funktion stark gekrümmt ist, ihr Vorzeichen wechselt oder nicht definiert ist, werden weitere Funktionswerte
+ * berechnet. Ist für die Funktion ein {@link IntervalEvaluator} vorhanden, wird zwischen zwei Funktionswerten, die
+ * nicht weiter unterteilt werden, eine Lücke markiert, sobald die Funktion zwischen ihnen nicht sicher beschränkt ist
+ * - also möglicherweise eine Polstelle besitzt. Große Bereiche werden in Abschnitte aufgeteilt, die parallel in einem
+ * {@link ForkJoinPool} berechnet und anschließend wieder in aufsteigender Reihenfolge zusammengefügt werden.
+ */
+@NotNull
+public final class SamplingHandler {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Der Name der System-Property, mit der die maximale Anzahl an Funktionswerten festgelegt werden kann. */
+    @NotNull
+    public static final String MAX_SAMPLES_PROPERTY = "graphingcalculator.maxSamples";
+    /** Der Name der System-Property, mit der die Anzahl an Threads zum parallelen Berechnen festgelegt werden kann. */
+    @NotNull
+    public static final String PARALLELISM_PROPERTY = "graphingcalculator.parallelism";
+    /** Der Name der System-Property, mit der die kleinste Anzahl an Funktionswerten pro Thread festgelegt wird. */
+    @NotNull
+    public static final String PARALLEL_THRESHOLD_PROPERTY = "graphingcalculator.parallelThreshold";
+    /** Die maximale Anzahl an Halbierungen, die ein Abschnitt zwischen zwei Pixel-Spalten erfahren kann. */
+    private static final int MAX_DEPTH = 8;
+    /** Der Zustand einer Berechnung, die niemals abgebrochen wird. */
+    @NotNull
+    public static final BooleanSupplier NEVER_CANCELLED = () -> false;
+    //</editor-fold>
+
+
+    //<editor-fold desc="STATIC FIELDS">
+    /** Die maximale Anzahl an Funktionswerten, die für einen Bereich berechnet werden. */
+    @Getter
+    @Setter
+    @Range(from = 2, to = Integer.MAX_VALUE)
+    private static int maxSamples = Integer.getInteger(MAX_SAMPLES_PROPERTY, 20_000);
+    /** Die kleinste Anzahl an Funktionswerten, ab der ein Bereich auf mehrere Threads aufgeteilt wird. */
+    @Getter
+    @Setter
+    @Range(from = 1, to = Integer.MAX_VALUE)
+    private static int parallelThreshold = Integer.getInteger(PARALLEL_THRESHOLD_PROPERTY, 1024);
+    /** Die Anzahl an Threads, mit denen Funktionswerte parallel berechnet werden. */
+    @Getter
+    @Range(from = 1, to = Short.MAX_VALUE)
+    private static int parallelism = Integer.getInteger(
+        PARALLELISM_PROPERTY,
+        Runtime.getRuntime().availableProcessors()
+    );
+    /** Der {@link ForkJoinPool}, in dem alle Funktionswerte parallel berechnet werden. */
+    @Nullable
+    private static ForkJoinPool pool;
+    //</editor-fold>
+
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Die Funktion, deren Funktionswerte berechnet werden. */
+    @NotNull
+    private final DoubleUnaryOperator function;
+    /** Der {@link IntervalEvaluator} der Funktion; {@code null}, wenn keine Lücken markiert werden sollen. */
+    @Nullable
+    private final IntervalEvaluator intervalEvaluator;
+    /** Der Arbeitsspeicher des {@link IntervalEvaluator}. */
+    @Nullable
+    private final double[] intervalWorkspace;
+    /** Der zuletzt berechnete Bereich der y-Achse. */
+    @NotNull
+    private final double[] bounds = new double[2];
+    /** Alle Indizes, deren Funktionswert nicht mit dem nächsten Funktionswert verbunden werden soll. */
+    @NotNull
+    private final BitSet gaps = new BitSet();
+    /** Die größte Abweichung in y-Richtung, die beim Verbinden zweier Funktionswerte toleriert wird. */
+    private final double yTolerance;
+    /** Alle bisher berechneten x-Werte. */
+    @NotNull
+    private double[] xValues;
+    /** Alle bisher berechneten y-Werte. */
+    @NotNull
+    private double[] yValues;
+    /** Die Anzahl an bisher berechneten Funktionswerten. */
+    private int size;
+    /** Die Anzahl an Funktionswerten, die noch zusätzlich berechnet werden dürfen. */
+    private int budget;
+    //</editor-fold>
+
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Erzeugt eine neue Instanz eines {@link SamplingHandler}, welcher die Funktionswerte genau einer Funktion
+     * berechnet.
+     *
+     * @param function          Die Funktion, deren Funktionswerte berechnet werden.
+     * @param intervalEvaluator Der {@link IntervalEvaluator} der Funktion; {@code null}, wenn keine Lücken markiert
+     *                          werden sollen.
+     * @param columns           Die Anzahl an Pixel-Spalten des Bereichs.
+     * @param yTolerance        Die größte Abweichung in y-Richtung, die beim Verbinden zweier Funktionswerte
+     *                          toleriert wird.
+     * @param budget            Die Anzahl an Funktionswerten, die zusätzlich zu einem Funktionswert pro Pixel-Spalte
+     *                          berechnet werden dürfen.
+     */
+    private SamplingHandler(
+        @NotNull final DoubleUnaryOperator function,
+        @Nullable final IntervalEvaluator intervalEvaluator,
+        @Range(from = 1, to = Integer.MAX_VALUE) final int columns,
+        final double yTolerance,
+        @Range(from = 0, to = Integer.MAX_VALUE) final int budget
+    ) {
+        this.function = function;
+        this.intervalEvaluator = intervalEvaluator;
+        this.intervalWorkspace = intervalEvaluator == null ? null : intervalEvaluator.createWorkspace();
+        this.yTolerance = yTolerance;
+        this.xValues = new double[columns * 2 + 1];
+        this.yValues = new double[columns * 2 + 1];
+        this.budget = budget;
+    }
+    //</editor-fold>
+
+
+    /**
+     * Berechnet alle Funktionswerte eines Bereichs, beginnend mit einem Funktionswert pro Pixel-Spalte.
+     *
+     * @param xMin    Der kleinste x-Wert des Bereichs.
+     * @param xMax    Der größte x-Wert des Bereichs.
+     * @param columns Die Anzahl an Pixel-Spalten des Bereichs.
+     *
+     * @return Alle berechneten Funktionswerte des Bereichs.
+     */
+    @NotNull
+    private SampledFunction sample(
+        final double xMin,
+        final double xMax,
+        @Range(from = 1, to = Integer.MAX_VALUE) final int columns
+    ) {
+        final double step = (xMax - xMin) / columns;
+
+        double x = xMin;
+        double y = evaluate(x);
+        add(x, y);
+
+        for (int i = 1; i <= columns; i++) {
+            final double nextX = i == columns ? xMax : xMin + i * step;
+            final double nextY = evaluate(nextX);
+
+            refine(x, y, nextX, nextY, 0);
+            add(nextX, nextY);
+
+            x = nextX;
+            y = nextY;
+        }
+
+        final SampledFunction values = new SampledFunction(this.xValues, this.yValues, this.size);
+
+        for (int i = this.gaps.nextSetBit(0); i >= 0; i = this.gaps.nextSetBit(i + 1)) {
+            values.markGap(i);
+        }
+
+        return values;
+    }
+
+    /**
+     * Prüft, ob der Abschnitt zwischen zwei Funktionswerten weiter unterteilt werden muss, und fügt in diesem Fall alle
+     * Funktionswerte innerhalb dieses Abschnitts in aufsteigender Reihenfolge hinzu.
+     *
+     * @param x     Der x-Wert am Anfang des Abschnitts.
+     * @param y     Der y-Wert am Anfang des Abschnitts.
+     * @param nextX Der x-Wert am Ende des Abschnitts.
+     * @param nextY Der y-Wert am Ende des Abschnitts.
+     * @param depth Die Anzahl an Halbierungen, die bereits zu diesem Abschnitt geführt haben.
+     */
+    private void refine(
+        final double x,
+        final double y,
+        final double nextX,
+        final double nextY,
+        @Range(from = 0, to = MAX_DEPTH) final int depth
+    ) {
+        final boolean defined = Double.isFinite(y);
+        final boolean nextDefined = Double.isFinite(nextY);
+
+        if (depth >= MAX_DEPTH || this.budget <= 0) {
+            // the section will be connected, unless the function may have a pole inside it
+            if (defined && nextDefined && !isBounded(x, nextX)) this.gaps.set(this.size - 1);
+            return;
+        }
+
+        // nothing to draw between two undefined values
+        if (!defined && !nextDefined) return;
+
+        final double middleX = (x + nextX) / 2;
+        final double middleY = evaluate(middleX);
+
+        // keep the line if both ends are defined, the sign does not change and the curve is nearly straight
+        if (defined && nextDefined && Double.isFinite(middleY)
+            && (y > 0) == (nextY > 0) && (y < 0) == (nextY < 0)
+            && Math.abs(middleY - (y + nextY) / 2) <= this.yTolerance) {
+            return;
+        }
+
+        this.budget--;
+        refine(x, y, middleX, middleY, depth + 1);
+        add(middleX, middleY);
+        refine(middleX, middleY, nextX, nextY, depth + 1);
+    }
+
+    /**
+     * Prüft mithilfe des {@link IntervalEvaluator}, ob die Funktion in einem Abschnitt sicher beschränkt ist. Ist kein
+     * {@link IntervalEvaluator} vorhanden, gilt jeder Abschnitt als beschränkt.
+     *
+     * @param x     Der x-Wert am Anfang des Abschnitts.
+     * @param nextX Der x-Wert am Ende des Abschnitts.
+     *
+     * @return Ob die Funktion in dem Abschnitt sicher beschränkt ist.
+     */
+    private boolean isBounded(final double x, final double nextX) {
+        if (this.intervalEvaluator == null || this.intervalWorkspace == null) return true;
+
+        this.intervalEvaluator.evaluate(x, nextX, this.intervalWorkspace, this.bounds);
+
+        return IntervalEvaluator.isBounded(this.bounds);
+    }
+
+    /**
+     * Rechnet die Funktion für einen bestimmten x-Wert aus.
+     *
+     * @param x Der x-Wert.
+     *
+     * @return Der y-Wert; {@link Double#NaN}, wenn die Funktion an dieser Stelle nicht definiert ist.
+     */
+    private double evaluate(final double x) {
+        final double y = this.function.applyAsDouble(x);
+
+        return Double.isFinite(y) ? y : Double.NaN;
+    }
+
+    /**
+     * Fügt einen Funktionswert am Ende der bisher berechneten Funktionswerte hinzu.
+     *
+     * @param x Der x-Wert.
+     * @param y Der y-Wert.
+     */
+    private void add(final double x, final double y) {
+        if (this.size == this.xValues.length) {
+            this.xValues = Arrays.copyOf(this.xValues, this.size * 2);
+            this.yValues = Arrays.copyOf(this.yValues, this.size * 2);
+        }
+
+        this.xValues[this.size] = x;
+        this.yValues[this.size] = y;
+        this.size++;
+    }
+
+    //<editor-fold desc="utility">
+
+    /**
+     * Berechnet die Funktionswerte einer Funktion in einem bestimmten Bereich. Es wird mit einem Funktionswert pro
+     * Pixel-Spalte begonnen und nur dort weiter unterteilt, wo die Funktion stark gekrümmt ist, ihr Vorzeichen wechselt
+     * oder nicht definiert ist. Insgesamt werden dabei höchstens {@code maxSamples} Funktionswerte berechnet. Besitzt
+     * der Bereich genügend Pixel-Spalten, werden mehrere Abschnitte parallel berechnet.
+     *
+     * @param function   Die Funktion, deren Funktionswerte berechnet werden sollen. Die Funktion muss von mehreren
+     *                   Threads gleichzeitig genutzt werden können.
+     * @param xMin       Der kleinste x-Wert des Bereichs.
+     * @param xMax       Der größte x-Wert des Bereichs.
+     * @param columns    Die Anzahl an Pixel-Spalten, auf die der Bereich gezeichnet wird.
+     * @param yTolerance Die größte Abweichung in y-Richtung, die beim Verbinden zweier Funktionswerte toleriert wird.
+     *
+     * @return Alle berechneten Funktionswerte des Bereichs.
+     */
+    @NotNull
+    public static SampledFunction getAdaptiveValues(
+        @NotNull final DoubleUnaryOperator function,
+        final double xMin,
+        final double xMax,
+        @Range(from = 1, to = Integer.MAX_VALUE) final int columns,
+        final double yTolerance
+    ) {
+        return getAdaptiveValues(function, xMin, xMax, columns, yTolerance, maxSamples);
+    }
+
+    /**
+     * Berechnet die Funktionswerte einer Funktion in einem bestimmten Bereich genauso wie
+     * {@link #getAdaptiveValues(DoubleUnaryOperator, double, double, int, double)}, wobei die maximale Anzahl an
+     * Funktionswerten für diesen Bereich individuell festgelegt wird.
+     *
+     * @param function   Die Funktion, deren Funktionswerte berechnet werden sollen. Die Funktion muss von mehreren
+     *                   Threads gleichzeitig genutzt werden können.
+     * @param xMin       Der kleinste x-Wert des Bereichs.
+     * @param xMax       Der größte x-Wert des Bereichs.
+     * @param columns    Die Anzahl an Pixel-Spalten, auf die der Bereich gezeichnet wird.
+     * @param yTolerance Die größte Abweichung in y-Richtung, die beim Verbinden zweier Funktionswerte toleriert wird.
+     * @param maxSamples Die maximale Anzahl an Funktionswerten, die für diesen Bereich berechnet werden.
+     *
+     * @return Alle berechneten Funktionswerte des Bereichs.
+     */
+    @NotNull
+    public static SampledFunction getAdaptiveValues(
+        @NotNull final DoubleUnaryOperator function,
+        final double xMin,
+        final double xMax,
+        @Range(from = 1, to = Integer.MAX_VALUE) final int columns,
+        final double yTolerance,
+        @Range(from = 2, to = Integer.MAX_VALUE) final int maxSamples
+    ) {
+        return getAdaptiveValues(function, null, xMin, xMax, columns, yTolerance, maxSamples, NEVER_CANCELLED);
+    }
+
+    /**
+     * Berechnet die Funktionswerte einer bereits eingelesenen Funktion in einem bestimmten Bereich genauso wie
+     * {@link #getAdaptiveValues(DoubleUnaryOperator, double, double, int, double, int)}. Zusätzlich wird dabei
+     * zwischen zwei Funktionswerten, die nicht weiter unterteilt werden, eine Lücke markiert, sobald die Funktion
+     * zwischen ihnen laut ihrem {@link IntervalEvaluator} nicht sicher beschränkt ist.
+     *
+     * @param function   Die Funktion, deren Funktionswerte berechnet werden sollen.
+     * @param xMin       Der kleinste x-Wert des Bereichs.
+     * @param xMax       Der größte x-Wert des Bereichs.
+     * @param columns    Die Anzahl an Pixel-Spalten, auf die der Bereich gezeichnet wird.
+     * @param yTolerance Die größte Abweichung in y-Richtung, die beim Verbinden zweier Funktionswerte toleriert wird.
+     * @param maxSamples Die maximale Anzahl an Funktionswerten, die für diesen Bereich berechnet werden.
+     *
+     * @return Alle berechneten Funktionswerte des Bereichs.
+     */
+    @NotNull
+    public static SampledFunction getAdaptiveValues(
+        @NotNull final CompiledFunction function,
+        final double xMin,
+        final double xMax,
+        @Range(from = 1, to = Integer.MAX_VALUE) final int columns,
+        final double yTolerance,
+        @Range(from = 2, to = Integer.MAX_VALUE) final int maxSamples
+    ) {
+        return getAdaptiveValues(function, xMin, xMax, columns, yTolerance, maxSamples, NEVER_CANCELLED);
+    }
+
+    /**
+     * Berechnet die Funktionswerte einer bereits eingelesenen Funktion in einem bestimmten Bereich genauso wie
+     * {@link #getAdaptiveValues(CompiledFunction, double, double, int, double, int)}, wobei die Berechnung vor jedem
+     * Abschnitt abgebrochen wird, sobald {@code cancelled} dies verlangt.
+     *
+     * @param function   Die Funktion, deren Funktionswerte berechnet werden sollen.
+     * @param xMin       Der kleinste x-Wert des Bereichs.
+     * @param xMax       Der größte x-Wert des Bereichs.
+     * @param columns    Die Anzahl an Pixel-Spalten, auf die der Bereich gezeichnet wird.
+     * @param yTolerance Die größte Abweichung in y-Richtung, die beim Verbinden zweier Funktionswerte toleriert wird.
+     * @param maxSamples Die maximale Anzahl an Funktionswerten, die für diesen Bereich berechnet werden.
+     * @param cancelled  Der Zustand, ob die Berechnung abgebrochen werden soll. Dieser muss von mehreren Threads
+     *                   gleichzeitig abgefragt werden können.
+     *
+     * @return Alle berechneten Funktionswerte des Bereichs.
+     *
+     * @throws CancellationException Wird geworfen, wenn die Berechnung abgebrochen wurde.
+     */
+    @NotNull
+    public static SampledFunction getAdaptiveValues(
+        @NotNull final CompiledFunction function,
+        final double xMin,
+        final double xMax,
+        @Range(from = 1, to = Integer.MAX_VALUE) final int columns,
+        final double yTolerance,
+        @Range(from = 2, to = Integer.MAX_VALUE) final int maxSamples,
+        @NotNull final BooleanSupplier cancelled
+    ) {
+        return getAdaptiveValues(
+            function.getEvaluator(),
+            function.getIntervalEvaluator(),
+            xMin,
+            xMax,
+            columns,
+            yTolerance,
+            maxSamples,
+            cancelled
+        );
+    }
+
+    /**
+     * Berechnet die Funktionswerte einer Funktion in einem bestimmten Bereich und markiert - sofern ein
+     * {@link IntervalEvaluator} übergeben wird - alle Lücken, an denen die Funktion möglicherweise eine Polstelle
+     * besitzt.
+     *
+     * @param function          Die Funktion, deren Funktionswerte berechnet werden sollen.
+     * @param intervalEvaluator Der {@link IntervalEvaluator} der Funktion; {@code null}, wenn keine Lücken markiert
+     *                          werden sollen.
+     * @param xMin              Der kleinste x-Wert des Bereichs.
+     * @param xMax              Der größte x-Wert des Bereichs.
+     * @param columns           Die Anzahl an Pixel-Spalten, auf die der Bereich gezeichnet wird.
+     * @param yTolerance        Die größte Abweichung in y-Richtung, die beim Verbinden zweier Funktionswerte
+     *                          toleriert wird.
+     * @param maxSamples        Die maximale Anzahl an Funktionswerten, die für diesen Bereich berechnet werden.
+     * @param cancelled         Der Zustand, ob die Berechnung abgebrochen werden soll.
+     *
+     * @return Alle berechneten Funktionswerte des Bereichs.
+     *
+     * @throws CancellationException Wird geworfen, wenn die Berechnung abgebrochen wurde.
+     */
+    @NotNull
+    private static SampledFunction getAdaptiveValues(
+        @NotNull final DoubleUnaryOperator function,
+        @Nullable final IntervalEvaluator intervalEvaluator,
+        final double xMin,
+        final double xMax,
+        @Range(from = 1, to = Integer.MAX_VALUE) final int columns,
+        final double yTolerance,
+        @Range(from = 2, to = Integer.MAX_VALUE) final int maxSamples,
+        @NotNull final BooleanSupplier cancelled
+    ) {
+        final AdaptiveTask task = new AdaptiveTask(
+            function,
+            intervalEvaluator,
+            cancelled,
+            xMin,
+            (xMax - xMin) / columns,
+            0,
+            columns,
+            columns,
+            yTolerance,
+            Math.max(0, maxSamples - columns - 1)
+        );
+
+        return getPool().invoke(task);
+    }
+
+    /**
+     * Berechnet die Funktionswerte einer Funktion an gleichmäßig verteilten x-Werten. Die Berechnung wird dabei auf
+     * mehrere Threads aufgeteilt, sobald mehr als {@code parallelThreshold} Funktionswerte berechnet werden. Ist die
+     * Funktion eine {@link CompiledFunction}, wird jeder Abschnitt mit einem einzigen Aufruf von
+     * {@link CompiledFunction#evaluate(double[], double[], int, int)} berechnet.
+     *
+     * @param function Die Funktion, deren Funktionswerte berechnet werden sollen. Die Funktion muss von mehreren
+     *                 Threads gleichzeitig genutzt werden können.
+     * @param xMin     Der kleinste x-Wert.
+     * @param step     Der Abstand zwischen zwei x-Werten.
+     * @param size     Die Anzahl an Funktionswerten.
+     *
+     * @return Alle berechneten Funktionswerte.
+     */
+    @NotNull
+    public static SampledFunction getUniformValues(
+        @NotNull final DoubleUnaryOperator function,
+        final double xMin,
+        final double step,
+        @Range(from = 0, to = Integer.MAX_VALUE) final int size
+    ) {
+        final double[] xValues = new double[size];
+        final double[] yValues = new double[size];
+
+        getPool().invoke(new UniformTask(function, xMin, step, xValues, yValues, 0, size));
+
+        return new SampledFunction(xValues, yValues, size);
+    }
+
+    /**
+     * Berechnet die Funktionswerte mehrerer bereits eingelesener Funktionen an denselben x-Werten wie bereits bekannte
+     * Funktionswerte. Alle Funktionen werden dabei in einem einzigen parallelen Durchlauf berechnet: Jeder Abschnitt
+     * der x-Werte wird nacheinander für alle Funktionen mit
+     * {@link CompiledFunction#evaluate(double[], double[], int, int)} ausgerechnet, solange die x-Werte des
+     * Abschnitts noch im Cache des Prozessors liegen. Die Lücken der bekannten Funktionswerte werden nicht übernommen;
+     * stattdessen wird für jede Funktion zwischen zwei x-Werten eine Lücke markiert, sobald sie zwischen ihnen laut
+     * ihrem {@link IntervalEvaluator} nicht sicher beschränkt ist.
+     *
+     * @param functions Die Funktionen, deren Funktionswerte berechnet werden sollen.
+     * @param grid      Die bereits bekannten Funktionswerte, deren x-Werte genutzt werden.
+     *
+     * @return Eine Liste, welche an dem Index {@code k} die Funktionswerte der {@code k}-ten Funktion beinhaltet. Alle
+     *     Funktionswerte nutzen dabei dasselbe Array an x-Werten.
+     */
+    @NotNull
+    public static List<SampledFunction> getSharedValues(
+        @NotNull final List<CompiledFunction> functions,
+        @NotNull final SampledFunction grid
+    ) {
+        final int size = grid.getSize();
+        final double[] xValues = new double[size];
+        final double[][] yValues = new double[functions.size()][size];
+        final boolean[][] gaps = new boolean[functions.size()][size];
+
+        for (int i = 0; i < size; i++) {
+            xValues[i] = grid.getX(i);
+        }
+
+        if (!functions.isEmpty()) getPool().invoke(new SharedTask(functions, xValues, yValues, gaps, 0, size));
+
+        final List<SampledFunction> values = new ArrayList<>(functions.size());
+
+        for (int k = 0; k < functions.size(); k++) {
+            final SampledFunction function = new SampledFunction(xValues, yValues[k], size);
+
+            for (int i = 0; i < size; i++) {
+                if (gaps[k][i]) function.markGap(i);
+            }
+
+            values.add(function);
+        }
+
+        return values;
+    }
+
+    /**
+     * Prüft, ob eine Berechnung abgebrochen werden soll, und bricht sie in diesem Fall mit einer
+     * {@link CancellationException} ab. Diese Prüfung wird zwischen einzelnen Abschnitten einer langen Berechnung
+     * aufgerufen, da ein Unterbrechen des aufrufenden Threads die Threads des {@link ForkJoinPool} nicht erreicht.
+     *
+     * @param cancelled Der Zustand, ob die Berechnung abgebrochen werden soll.
+     *
+     * @throws CancellationException Wird geworfen, wenn die Berechnung abgebrochen werden soll.
+     */
+    public static void checkCancelled(@NotNull final BooleanSupplier cancelled) {
+        if (cancelled.getAsBoolean()) throw new CancellationException();
+    }
+
+    /**
+     * Setzt die Anzahl an Threads, mit denen Funktionswerte parallel berechnet werden. Ein bereits erzeugter
+     * {@link ForkJoinPool} wird dabei beendet und beim nächsten Zugriff mit der neuen Anzahl erzeugt.
+     *
+     * @param parallelism Die Anzahl an Threads, mit denen Funktionswerte parallel berechnet werden.
+     */
+    public static synchronized void setParallelism(@Range(from = 1, to = Short.MAX_VALUE) final int parallelism) {
+        SamplingHandler.parallelism = parallelism;
+
+        if (pool == null) return;
+
+        pool.shutdown();
+        pool = null;
+    }
+
+    /**
+     * Gibt den {@link ForkJoinPool} zurück, in dem alle Funktionswerte parallel berechnet werden. Ist noch kein
+     * {@link ForkJoinPool} vorhanden, wird dieser erzeugt.
+     *
+     * @return Der {@link ForkJoinPool}, in dem alle Funktionswerte parallel berechnet werden.
+     */
+    @NotNull
+    public static synchronized ForkJoinPool getPool() {
+        if (pool == null) pool = new ForkJoinPool(parallelism);
+
+        return pool;
+    }
+    //</editor-fold>
+
+
+    /**
+     * Ein {@link AdaptiveTask} berechnet die Funktionswerte eines Abschnitts aus aufeinanderfolgenden Pixel-Spalten.
+     * Ist der Abschnitt groß genug, wird er halbiert und beide Hälften werden parallel berechnet.
+     */
+    private static final class AdaptiveTask extends RecursiveTask<SampledFunction> {
+
+        //<editor-fold desc="LOCAL FIELDS">
+        /** Die Funktion, deren Funktionswerte berechnet werden. */
+        @NotNull
+        private final DoubleUnaryOperator function;
+        /** Der {@link IntervalEvaluator} der Funktion; {@code null}, wenn keine Lücken markiert werden sollen. */
+        @Nullable
+        private final IntervalEvaluator intervalEvaluator;
+        /** Der Zustand, ob die Berechnung abgebrochen werden soll. */
+        @NotNull
+        private final BooleanSupplier cancelled;
+        /** Der kleinste x-Wert des gesamten Bereichs. */
+        private final double xMin;
+        /** Die Breite einer Pixel-Spalte. */
+        private final double step;
+        /** Die erste Pixel-Spalte dieses Abschnitts. */
+        private final int fromColumn;
+        /** Die Pixel-Spalte hinter dem Ende dieses Abschnitts. */
+        private final int toColumn;
+        /** Die Anzahl an Pixel-Spalten des gesamten Bereichs. */
+        private final int columns;
+        /** Die größte Abweichung in y-Richtung, die beim Verbinden zweier Funktionswerte toleriert wird. */
+        private final double yTolerance;
+        /** Die Anzahl an Funktionswerten, die in diesem Abschnitt zusätzlich berechnet werden dürfen. */
+        private final int budget;
+        //</editor-fold>
+
+
+        //<editor-fold desc="CONSTRUCTORS">
+
+        /**
+         * Erzeugt einen neuen {@link AdaptiveTask} für einen Abschnitt aus aufeinanderfolgenden Pixel-Spalten.
+         *
+         * @param function          Die Funktion, deren Funktionswerte berechnet werden.
+         * @param intervalEvaluator Der {@link IntervalEvaluator} der Funktion; {@code null}, wenn keine Lücken
+         *                          markiert werden sollen.
+         * @param cancelled         Der Zustand, ob die Berechnung abgebrochen werden soll.
+         * @param xMin              Der kleinste x-Wert des gesamten Bereichs.
+         * @param step              Die Breite einer Pixel-Spalte.
+         * @param fromColumn        Die erste Pixel-Spalte dieses Abschnitts.
+         * @param toColumn          Die Pixel-Spalte hinter dem Ende dieses Abschnitts.
+         * @param columns           Die Anzahl an Pixel-Spalten des gesamten Bereichs.
+         * @param yTolerance        Die größte Abweichung in y-Richtung, die beim Verbinden zweier Funktionswerte
+         *                          toleriert wird.
+         * @param budget            Die Anzahl an Funktionswerten, die in diesem Abschnitt zusätzlich berechnet werden
+         *                          dürfen.
+         */
+        private AdaptiveTask(
+            @NotNull final DoubleUnaryOperator function,
+            @Nullable final IntervalEvaluator intervalEvaluator,
+            @NotNull final BooleanSupplier cancelled,
+            final double xMin,
+            final double step,
+            final int fromColumn,
+            final int toColumn,
+            final int columns,
+            final double yTolerance,
+            final int budget
+        ) {
+            this.function = function;
+            this.intervalEvaluator = intervalEvaluator;
+            this.cancelled = cancelled;
+            this.xMin = xMin;
+            this.step = step;
+            this.fromColumn = fromColumn;
+            this.toColumn = toColumn;
+            this.columns = columns;
+            this.yTolerance = yTolerance;
+            this.budget = budget;
+        }
+        //</editor-fold>
+
+
+        /**
+         * Gibt den x-Wert am Anfang einer bestimmten Pixel-Spalte zurück.
+         *
+         * @param column Die Pixel-Spalte.
+         *
+         * @return Der x-Wert am Anfang der Pixel-Spalte.
+         */
+        private double getColumnX(final int column) {
+            return this.xMin + column * this.step;
+        }
+
+        //<editor-fold desc="implementation">
+        @NotNull
+        @Override
+        protected SampledFunction compute() {
+            checkCancelled(this.cancelled);
+
+            final int columnAmount = this.toColumn - this.fromColumn;
+
+            // every column costs at least two evaluations (the column itself and one refinement check)
+            if (columnAmount * 2 <= parallelThreshold || columnAmount < 2) {
+                return new SamplingHandler(
+                    this.function,
+                    this.intervalEvaluator,
+                    columnAmount,
+                    this.yTolerance,
+                    this.budget
+                ).sample(
+                    getColumnX(this.fromColumn),
+                    getColumnX(this.toColumn),
+                    columnAmount
+                );
+            }
+
+            final int middleColumn = this.fromColumn + columnAmount / 2;
+            final int leftBudget = (int) ((long) this.budget * (middleColumn - this.fromColumn) / columnAmount);
+
+            final AdaptiveTask left = new AdaptiveTask(
+                this.function, this.intervalEvaluator, this.cancelled, this.xMin, this.step, this.fromColumn,
+                middleColumn, this.columns, this.yTolerance, leftBudget
+            );
+            final AdaptiveTask right = new AdaptiveTask(
+                this.function, this.intervalEvaluator, this.cancelled, this.xMin, this.step, middleColumn,
+                this.toColumn, this.columns, this.yTolerance, this.budget - leftBudget
+            );
+
+            right.fork();
+            final SampledFunction leftValues = left.compute();
+            final SampledFunction rightValues = right.join();
+
+            // merge both halves, the first value of the right half equals the last value of the left half
+            final int size = leftValues.getSize() + rightValues.getSize() - 1;
+            final double[] xValues = new double[size];
+            final double[] yValues = new double[size];
+
+            for (int i = 0; i < leftValues.getSize(); i++) {
+                xValues[i] = leftValues.getX(i);
+                yValues[i] = leftValues.getY(i);
+            }
+
+            for (int i = 1; i < rightValues.getSize(); i++) {
+                xValues[leftValues.getSize() + i - 1] = rightValues.getX(i);
+                yValues[leftValues.getSize() + i - 1] = rightValues.getY(i);
+            }
+
+            final SampledFunction values = new SampledFunction(xValues, yValues, size);
+
+            for (int i = 0; i < leftValues.getSize(); i++) {
+                if (leftValues.isGap(i)) values.markGap(i);
+            }
+
+            for (int i = 0; i < rightValues.getSize(); i++) {
+                if (rightValues.isGap(i)) values.markGap(leftValues.getSize() + i - 1);
+            }
+
+            return values;
+        }
+        //</editor-fold>
+    }
+
+    /**
+     * Ein {@link UniformTask} berechnet die Funktionswerte eines Abschnitts gleichmäßig verteilter x-Werte und schreibt
+     * diese direkt an die richtige Stelle der gemeinsamen Arrays. Ist der Abschnitt groß genug, wird er halbiert und
+     * beide Hälften werden parallel berechnet.
+     */
+    private static final class UniformTask extends RecursiveAction {
+
+        //<editor-fold desc="LOCAL FIELDS">
+        /** Die Funktion, deren Funktionswerte berechnet werden. */
+        @NotNull
+        private final DoubleUnaryOperator function;
+        /** Der kleinste x-Wert des gesamten Bereichs. */
+        private final double xMin;
+        /** Der Abstand zwischen zwei x-Werten. */
+        private final double step;
+        /** Das gemeinsame Array aller x-Werte. */
+        @NotNull
+        private final double[] xValues;
+        /** Das gemeinsame Array aller y-Werte. */
+        @NotNull
+        private final double[] yValues;
+        /** Der erste Index dieses Abschnitts. */
+        private final int from;
+        /** Der Index hinter dem Ende dieses Abschnitts. */
+        private final int to;
+        //</editor-fold>
+
+
+        //<editor-fold desc="CONSTRUCTORS">
+
+        /**
+         * Erzeugt einen neuen {@link UniformTask} für einen Abschnitt gleichmäßig verteilter x-Werte.
+         *
+         * @param function Die Funktion, deren Funktionswerte berechnet werden.
+         * @param xMin     Der kleinste x-Wert des gesamten Bereichs.
+         * @param step     Der Abstand zwischen zwei x-Werten.
+         * @param xValues  Das gemeinsame Array aller x-Werte.
+         * @param yValues  Das gemeinsame Array aller y-Werte.
+         * @param from     Der erste Index dieses Abschnitts.
+         * @param to       Der Index hinter dem Ende dieses Abschnitts.
+         */
+        private UniformTask(
+            @NotNull final DoubleUnaryOperator function,
+            final double xMin,
+            final double step,
+            @NotNull final double[] xValues,
+            @NotNull final double[] yValues,
+            final int from,
+            final int to
+        ) {
+            this.function = function;
+            this.xMin = xMin;
+            this.step = step;
+            this.xValues = xValues;
+            this.yValues = yValues;
+            this.from = from;
+            this.to = to;
+        }
+        //</editor-fold>
+
+
+        //<editor-fold desc="implementation">
+        @Override
+        protected void compute() {
+            if (this.to - this.from <= parallelThreshold) {
+                for (int i = this.from; i < this.to; i++) {
+                    this.xValues[i] = this.xMin + i * this.step;
+                }
+
+                if (this.function instanceof CompiledFunction) {
+                    ((CompiledFunction) this.function).evaluate(this.xValues, this.yValues, this.from, this.to);
+                    return;
+                }
+
+                for (int i = this.from; i < this.to; i++) {
+                    this.yValues[i] = this.function.applyAsDouble(this.xValues[i]);
+                }
+                return;
+            }
+
+            final int middle = (this.from + this.to) >>> 1;
+
+            invokeAll(
+                new UniformTask(this.function, this.xMin, this.step, this.xValues, this.yValues, this.from, middle),
+                new UniformTask(this.function, this.xMin, this.step, this.xValues, this.yValues, middle, this.to)
+            );
+        }
+        //</editor-fold>
+    }
+
+    /**
+     * Ein {@link SharedTask} berechnet die Funktionswerte mehrerer Funktionen in einem Abschnitt gemeinsamer x-Werte
+     * und schreibt diese direkt an die richtige Stelle der Arrays der jeweiligen Funktion. Ist der Abschnitt groß
+     * genug, wird er halbiert und beide Hälften werden parallel berechnet.
+     */
+    private static final class SharedTask extends RecursiveAction {
+
+        //<editor-fold desc="LOCAL FIELDS">
+        /** Die Funktionen, deren Funktionswerte berechnet werden. */
+        @NotNull
+        private final List<CompiledFunction> functions;
+        /** Das gemeinsame Array aller x-Werte. */
+        @NotNull
+        private final double[] xValues;
+        /** Die Arrays der y-Werte jeder Funktion. */
+        @NotNull
+        private final double[][] yValues;
+        /** Die Arrays jeder Funktion, in denen alle Indizes markiert werden, hinter denen sich eine Lücke befindet. */
+        @NotNull
+        private final boolean[][] gaps;
+        /** Der erste Index dieses Abschnitts. */
+        private final int from;
+        /** Der Index hinter dem Ende dieses Abschnitts. */
+        private final int to;
+        //</editor-fold>
+
+
+        //<editor-fold desc="CONSTRUCTORS">
+
+        /**
+         * Erzeugt einen neuen {@link SharedTask} für einen Abschnitt gemeinsamer x-Werte.
+         *
+         * @param functions Die Funktionen, deren Funktionswerte berechnet werden.
+         * @param xValues   Das gemeinsame Array aller x-Werte.
+         * @param yValues   Die Arrays der y-Werte jeder Funktion.
+         * @param gaps      Die Arrays jeder Funktion, in denen alle Indizes markiert werden, hinter denen sich eine
+         *                  Lücke befindet.
+         * @param from      Der erste Index dieses Abschnitts.
+         * @param to        Der Index hinter dem Ende dieses Abschnitts.
+         */
+        private SharedTask(
+            @NotNull final List<CompiledFunction> functions,
+            @NotNull final double[] xValues,
+            @NotNull final double[][] yValues,
+            @NotNull final boolean[][] gaps,
+            final int from,
+            final int to
+        ) {
+            this.functions = functions;
+            this.xValues = xValues;
+            this.yValues = yValues;
+            this.gaps = gaps;
+            this.from = from;
+            this.to = to;
+        }
+        //</editor-fold>
+
+
+        //<editor-fold desc="implementation">
+        @Override
+        protected void compute() {
+            // the threshold counts the values of all functions, as every function is calculated in this section
+            if ((long) (this.to - this.from) * this.functions.size() <= parallelThreshold || this.to - this.from < 2) {
+                final double[] bounds = new double[2];
+
+                for (int k = 0; k < this.functions.size(); k++) {
+                    final CompiledFunction function = this.functions.get(k);
+                    final IntervalEvaluator intervalEvaluator = function.getIntervalEvaluator();
+
+                    function.evaluate(this.xValues, this.yValues[k], this.from, this.to);
+                    markGaps(
+                        intervalEvaluator,
+                        intervalEvaluator.createWorkspace(),
+                        bounds,
+                        this.gaps[k],
+                        this.from,
+                        Math.min(this.to, this.xValues.length - 1)
+                    );
+                }
+                return;
+            }
+
+            final int middle = (this.from + this.to) >>> 1;
+
+            invokeAll(
+                new SharedTask(this.functions, this.xValues, this.yValues, this.gaps, this.from, middle),
+                new SharedTask(this.functions, this.xValues, this.yValues, this.gaps, middle, this.to)
+            );
+        }
+        //</editor-fold>
+
+        /**
+         * Markiert alle Lücken einer Funktion zwischen zwei x-Werten. Ist die Funktion über den gesamten Bereich
+         * zwischen beiden x-Werten laut ihrem {@link IntervalEvaluator} sicher beschränkt, ist sie es auch zwischen
+         * allen x-Werten dazwischen; nur andernfalls wird der Bereich halbiert und jede Hälfte einzeln geprüft.
+         *
+         * @param intervalEvaluator Der {@link IntervalEvaluator} der Funktion.
+         * @param workspace         Der Arbeitsspeicher des {@link IntervalEvaluator}.
+         * @param bounds            Das Array, in welches der berechnete Bereich der y-Achse geschrieben wird.
+         * @param gaps              Das Array der Funktion, in dem alle Indizes markiert werden, hinter denen sich eine
+         *                          Lücke befindet.
+         * @param from              Der Index des ersten x-Wertes.
+         * @param to                Der Index des letzten x-Wertes.
+         */
+        private void markGaps(
+            @NotNull final IntervalEvaluator intervalEvaluator,
+            @NotNull final double[] workspace,
+            @NotNull final double[] bounds,
+            @NotNull final boolean[] gaps,
+            final int from,
+            final int to
+        ) {
+            if (to <= from) return;
+
+            intervalEvaluator.evaluate(this.xValues[from], this.xValues[to], workspace, bounds);
+
+            if (IntervalEvaluator.isBounded(bounds)) return;
+
+            if (to - from == 1) {
+                gaps[from] = true;
+                return;
+            }
+
+            final int middle = (from + to) >>> 1;
+
+            markGaps(intervalEvaluator, workspace, bounds, gaps, from, middle);
+            markGaps(intervalEvaluator, workspace, bounds, gaps, middle, to);
+        }
+    }
+
+}
@@ -0,0 +1,662 @@
+package de.jonas.graphingcalculator.handler;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import de.jonas.graphingcalculator.expression.CompiledFunction;
+import de.jonas.graphingcalculator.expression.FunctionCache;
+import de.jonas.graphingcalculator.object.LatencyStatistics;
+import de.jonas.graphingcalculator.object.RenderJob;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Range;
+
+import javax.imageio.ImageIO;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Mithilfe des {@link ServerHandler} lassen sich Funktionen über einen lokalen HTTP-Server ausrechnen, ohne die
+ * grafische Oberfläche zu öffnen. Der Server ist nur über die Loopback-Adresse erreichbar und stellt folgende
+ * Endpunkte bereit, deren Funktion jeweils mit dem Parameter {@code function} übergeben wird:
+ * <ul>
+ *     <li>{@code /evaluate?x=} - Der Funktionswert an einer Stelle.</li>
+ *     <li>{@code /batch} - Die Funktionswerte aller x-Werte im Inhalt der Anfrage. Diese werden entweder als Text
+ *     (durch Leerzeichen, Zeilenumbrüche oder Kommas getrennt) oder mit dem Content-Type
+ *     {@code application/octet-stream} als Kommazahlen im Little-Endian-Format übergeben; die Antwort besitzt dasselbe
+ *     Format.</li>
+ *     <li>{@code /sample?xMin=&xMax=&amount=} - Die Funktionswerte an gleichmäßig verteilten x-Werten.</li>
+ *     <li>{@code /roots}, {@code /extremes}, {@code /turningPoints}, {@code /saddlePoints} mit {@code ?xMin=&xMax=} -
+ *     Die besonderen Punkte in einem Bereich.</li>
+ *     <li>{@code /render} - Ein PNG-Bild der Funktion, wobei alle Parameter einer Auftragsdatei des
+ *     {@link RenderHandler} unterstützt werden.</li>
+ *     <li>{@code /statistics} - Die Anzahl an Anfragen und die Antwortzeiten jedes Endpunkts.</li>
+ * </ul>
+ * Die Funktionen werden dem {@link FunctionCache} entnommen und ihre besonderen Punkte werden über alle Anfragen hinweg
+ * wiederverwendet. Jede Anfrage wird - sofern die Java-Version dies unterstützt - in einem eigenen virtuellen Thread
+ * bearbeitet.
+ */
+@NotNull
+public final class ServerHandler {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Der Port, auf dem der Server standardmäßig erreichbar ist. */
+    public static final int DEFAULT_PORT = 8080;
+    /** Der Name der System-Property, mit welcher der HTTP-Server der JDK kleine Pakete sofort sendet. */
+    @NotNull
+    private static final String NO_DELAY_PROPERTY = "sun.net.httpserver.nodelay";
+    /** Die maximale Anzahl an Verbindungen, die auf ihre Annahme warten können. */
+    private static final int BACKLOG = 1024;
+    /** Die kleinste Anzahl an Threads, wenn keine virtuellen Threads genutzt werden können. */
+    private static final int MIN_THREADS = 4;
+    /** Die maximale Anzahl an Bereichen, deren besondere Punkte gleichzeitig zwischengespeichert werden. */
+    private static final int MAX_CACHED_ANALYSES = 256;
+    /** Die maximale Anzahl an x-Werten, die in einer Anfrage ausgerechnet werden. */
+    private static final int MAX_VALUE_AMOUNT = 1 << 20;
+    /** Die maximale Größe des Inhalts einer Anfrage in Byte. */
+    private static final int MAX_BODY_SIZE = 64 << 20;
+    /** Die Anzahl an Funktionswerten, die standardmäßig von {@code /sample} berechnet werden. */
+    private static final int DEFAULT_SAMPLE_AMOUNT = 1001;
+    /** Der Betrag des kleinsten und größten x-Werts, wenn kein Bereich angegeben wurde. */
+    private static final double DEFAULT_RANGE = 10;
+    /** Der Content-Type für Antworten in Textform. */
+    @NotNull
+    private static final String TEXT_TYPE = "text/plain; charset=utf-8";
+    /** Der Content-Type für Kommazahlen im Little-Endian-Format. */
+    @NotNull
+    private static final String BINARY_TYPE = "application/octet-stream";
+    /** Der Content-Type für PNG-Bilder. */
+    @NotNull
+    private static final String PNG_TYPE = "image/png";
+    //</editor-fold>
+
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Der HTTP-Server, der alle Anfragen annimmt. */
+    @NotNull
+    private final HttpServer server;
+    /** Der {@link ExecutorService}, in dem die Anfragen bearbeitet werden. */
+    @NotNull
+    private final ExecutorService executor;
+    /** Alle {@link FunctionHandler} der Funktionen und Bereiche, deren besondere Punkte angefragt wurden. */
+    @NotNull
+    private final Map<String, FunctionHandler> analyses = new ConcurrentHashMap<>();
+    /** Die Antwortzeiten jedes Endpunkts. */
+    @NotNull
+    private final Map<String, LatencyStatistics> statistics = new LinkedHashMap<>();
+    //</editor-fold>
+
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Erzeugt eine neue Instanz eines {@link ServerHandler}, dessen Server auf einem bestimmten Port der
+     * Loopback-Adresse erreichbar ist. Der Server wird dabei noch nicht gestartet.
+     *
+     * @param port Der Port, auf dem der Server erreichbar ist; bei 0 wird ein freier Port gewählt.
+     *
+     * @throws IOException Wird geworfen, wenn der Port nicht genutzt werden kann.
+     */
+    public ServerHandler(@Range(from = 0, to = 65535) final int port) throws IOException {
+        // the header and the body of a response are written separately, which would otherwise wait for delayed acks
+        if (System.getProperty(NO_DELAY_PROPERTY) == null) System.setProperty(NO_DELAY_PROPERTY, "true");
+
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), BACKLOG);
+        this.executor = createExecutor();
+        this.server.setExecutor(this.executor);
+
+        register("/evaluate", this::evaluate);
+        register("/batch", this::evaluateBatch);
+        register("/sample", this::sample);
+        register("/roots", (exchange, parameters) -> sendPoints(exchange, getAnalysis(parameters).getRoots()));
+        register("/extremes", (exchange, parameters) -> sendPoints(exchange, getAnalysis(parameters).getExtremes()));
+        register(
+            "/turningPoints",
+            (exchange, parameters) -> sendPoints(exchange, getAnalysis(parameters).getTurningPoints())
+        );
+        register(
+            "/saddlePoints",
+            (exchange, parameters) -> sendPoints(exchange, getAnalysis(parameters).getSaddlePoints())
+        );
+        register("/render", this::render);
+        register("/statistics", this::sendStatistics);
+    }
+    //</editor-fold>
+
+
+    /**
+     * Startet den Server, sodass dieser Anfragen annimmt.
+     */
+    public void start() {
+        this.server.start();
+    }
+
+    /**
+     * Beendet den Server, wobei keine weiteren Anfragen angenommen werden.
+     */
+    public void stop() {
+        this.server.stop(0);
+        this.executor.shutdown();
+    }
+
+    /**
+     * Gibt den Port zurück, auf dem der Server erreichbar ist.
+     *
+     * @return Der Port, auf dem der Server erreichbar ist.
+     */
+    @Range(from = 0, to = 65535)
+    public int getPort() {
+        return this.server.getAddress().getPort();
+    }
+
+    /**
+     * Registriert einen {@link Endpoint} unter einem bestimmten Pfad. Die Antwortzeit jeder Anfrage wird dabei in der
+     * {@link LatencyStatistics} dieses Endpunkts gesammelt, ungültige Anfragen werden mit dem Status 400 und Anfragen,
+     * deren Bearbeitung mit einem {@link Error} abbricht, mit dem Status 500 beantwortet.
+     *
+     * @param path     Der Pfad des Endpunkts.
+     * @param endpoint Der {@link Endpoint}, der die Anfragen bearbeitet.
+     */
+    private void register(@NotNull final String path, @NotNull final Endpoint endpoint) {
+        final LatencyStatistics latencyStatistics = new LatencyStatistics();
+        this.statistics.put(path, latencyStatistics);
+
+        this.server.createContext(path, exchange -> {
+            final long start = System.nanoTime();
+
+            try {
+                endpoint.handle(exchange, getParameters(exchange.getRequestURI().getRawQuery()));
+            } catch (@NotNull final RuntimeException ex) {
+                sendError(exchange, 400, ex);
+            } catch (@NotNull final Error ex) {
+                // e.g. a stack overflow for a term that is too deep, which must not leave the exchange unanswered
+                sendError(exchange, 500, ex);
+            } finally {
+                exchange.close();
+                latencyStatistics.record(System.nanoTime() - start);
+            }
+        });
+    }
+
+    /**
+     * Beantwortet eine Anfrage an {@code /evaluate} mit dem Funktionswert an der Stelle {@code x}.
+     *
+     * @param exchange   Die Anfrage.
+     * @param parameters Die Parameter der Anfrage.
+     *
+     * @throws IOException Wird geworfen, wenn die Antwort nicht gesendet werden kann.
+     */
+    private void evaluate(
+        @NotNull final HttpExchange exchange,
+        @NotNull final Map<String, String> parameters
+    ) throws IOException {
+        final CompiledFunction function = getFunction(parameters);
+        final double y = function.applyAsDouble(getDouble(parameters, "x", null));
+
+        sendText(exchange, new StringBuilder().append(y).append('\n'));
+    }
+
+    /**
+     * Beantwortet eine Anfrage an {@code /batch} mit den Funktionswerten aller x-Werte im Inhalt der Anfrage.
+     *
+     * @param exchange   Die Anfrage.
+     * @param parameters Die Parameter der Anfrage.
+     *
+     * @throws IOException Wird geworfen, wenn die Anfrage nicht gelesen oder die Antwort nicht gesendet werden kann.
+     */
+    private void evaluateBatch(
+        @NotNull final HttpExchange exchange,
+        @NotNull final Map<String, String> parameters
+    ) throws IOException {
+        final CompiledFunction function = getFunction(parameters);
+        final byte[] body = readBody(exchange.getRequestBody());
+        final String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+
+        if (contentType != null && contentType.startsWith(BINARY_TYPE)) {
+            if (body.length % Double.BYTES != 0) throw new IllegalArgumentException("Incomplete value");
+
+            final DoubleBuffer input = ByteBuffer.wrap(body).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+            final double[] xValues = new double[checkAmount(input.remaining())];
+            final double[] yValues = new double[xValues.length];
+
+            input.get(xValues);
+            function.evaluate(xValues, yValues);
+
+            final ByteBuffer output = ByteBuffer.allocate(body.length).order(ByteOrder.LITTLE_ENDIAN);
+            output.asDoubleBuffer().put(yValues);
+
+            send(exchange, 200, BINARY_TYPE, output.array());
+            return;
+        }
+
+        final String text = new String(body, StandardCharsets.UTF_8).trim();
+        final String[] values = text.isEmpty() ? new String[0] : text.split("[\\s,;]+");
+        final double[] xValues = new double[checkAmount(values.length)];
+        final double[] yValues = new double[xValues.length];
+
+        for (int i = 0; i < values.length; i++) {
+            xValues[i] = Double.parseDouble(values[i]);
+        }
+
+        function.evaluate(xValues, yValues);
+
+        final StringBuilder response = new StringBuilder(yValues.length * 20);
+
+        for (final double y : yValues) {
+            response.append(y).append('\n');
+        }
+
+        sendText(exchange, response);
+    }
+
+    /**
+     * Beantwortet eine Anfrage an {@code /sample} mit den Funktionswerten an {@code amount} gleichmäßig verteilten
+     * x-Werten zwischen {@code xMin} und {@code xMax}. Jede Zeile der Antwort besteht aus dem x-Wert und dem
+     * Funktionswert.
+     *
+     * @param exchange   Die Anfrage.
+     * @param parameters Die Parameter der Anfrage.
+     *
+     * @throws IOException Wird geworfen, wenn die Antwort nicht gesendet werden kann.
+     */
+    private void sample(
+        @NotNull final HttpExchange exchange,
+        @NotNull final Map<String, String> parameters
+    ) throws IOException {
+        final CompiledFunction function = getFunction(parameters);
+        final double xMin = getDouble(parameters, "xMin", -DEFAULT_RANGE);
+        final double xMax = getDouble(parameters, "xMax", DEFAULT_RANGE);
+        final String amount = parameters.get("amount");
+        final int size = checkAmount(amount == null ? DEFAULT_SAMPLE_AMOUNT : Integer.parseInt(amount));
+
+        if (size < 2) throw new IllegalArgumentException("At least 2 values are required");
+
+        final double increment = (xMax - xMin) / (size - 1);
+        final double[] xValues = new double[size];
+        final double[] yValues = new double[size];
+
+        for (int i = 0; i < size; i++) {
+            xValues[i] = xMin + i * increment;
+        }
+
+        function.evaluate(xValues, yValues);
+
+        final StringBuilder response = new StringBuilder(size * 40).append("x,f(x)\n");
+
+        for (int i = 0; i < size; i++) {
+            response.append(xValues[i]).append(',').append(yValues[i]).append('\n');
+        }
+
+        sendText(exchange, response);
+    }
+
+    /**
+     * Beantwortet eine Anfrage an {@code /render} mit einem PNG-Bild der Funktion, welches wie ein
+     * {@link RenderJob Auftrag} des {@link RenderHandler} gezeichnet wird.
+     *
+     * @param exchange   Die Anfrage.
+     * @param parameters Die Parameter der Anfrage.
+     *
+     * @throws IOException Wird geworfen, wenn das Bild nicht gesendet werden kann.
+     */
+    private void render(
+        @NotNull final HttpExchange exchange,
+        @NotNull final Map<String, String> parameters
+    ) throws IOException {
+        final RenderJob job = new RenderJob();
+
+        for (@NotNull final Map.Entry<String, String> parameter : parameters.entrySet()) {
+            RenderHandler.setProperty(job, parameter.getKey(), parameter.getValue());
+        }
+
+        final ByteArrayOutputStream image = new ByteArrayOutputStream();
+        ImageIO.write(RenderHandler.renderImage(job), "png", image);
+
+        send(exchange, 200, PNG_TYPE, image.toByteArray());
+    }
+
+    /**
+     * Beantwortet eine Anfrage an {@code /statistics} mit der Anzahl an Anfragen und den Antwortzeiten jedes
+     * Endpunkts in Mikrosekunden sowie der Statistik des {@link FunctionCache}.
+     *
+     * @param exchange   Die Anfrage.
+     * @param parameters Die Parameter der Anfrage.
+     *
+     * @throws IOException Wird geworfen, wenn die Antwort nicht gesendet werden kann.
+     */
+    private void sendStatistics(
+        @NotNull final HttpExchange exchange,
+        @NotNull final Map<String, String> parameters
+    ) throws IOException {
+        final StringBuilder response = new StringBuilder(String.format(
+            Locale.ROOT,
+            "%-15s %10s %10s %10s %10s %10s %10s%n",
+            "endpoint", "count", "mean_us", "p50_us", "p90_us", "p99_us", "max_us"
+        ));
+
+        for (@NotNull final Map.Entry<String, LatencyStatistics> entry : this.statistics.entrySet()) {
+            final LatencyStatistics latency = entry.getValue();
+
+            response.append(String.format(
+                Locale.ROOT,
+                "%-15s %10d %10.1f %10.1f %10.1f %10.1f %10.1f%n",
+                entry.getKey(),
+                latency.getCount(),
+                latency.getMeanNanos() / 1E3,
+                latency.getPercentileNanos(0.5) / 1E3,
+                latency.getPercentileNanos(0.9) / 1E3,
+                latency.getPercentileNanos(0.99) / 1E3,
+                latency.getMaxNanos() / 1E3
+            ));
+        }
+
+        response.append(String.format(
+            Locale.ROOT,
+            "%nfunction cache: %d functions, weight %d, %d hits, %d misses, %d evictions%n",
+            FunctionCache.getSize(),
+            FunctionCache.getWeight(),
+            FunctionCache.getHits(),
+            FunctionCache.getMisses(),
+            FunctionCache.getEvictions()
+        ));
+
+        sendText(exchange, response);
+    }
+
+    /**
+     * Beantwortet eine Anfrage mit besonderen Punkten einer Funktion, wobei jede Zeile der Antwort aus dem x- und
+     * y-Wert eines Punktes besteht. Die Punkte werden aufsteigend nach ihrem x-Wert sortiert.
+     *
+     * @param exchange Die Anfrage.
+     * @param points   Die besonderen Punkte.
+     *
+     * @throws IOException Wird geworfen, wenn die Antwort nicht gesendet werden kann.
+     */
+    private static void sendPoints(
+        @NotNull final HttpExchange exchange,
+        @NotNull final Map<Double, Double> points
+    ) throws IOException {
+        final StringBuilder response = new StringBuilder("x,y\n");
+
+        for (@NotNull final Map.Entry<Double, Double> point : new TreeMap<>(points).entrySet()) {
+            response.append(point.getKey()).append(',').append(point.getValue()).append('\n');
+        }
+
+        sendText(exchange, response);
+    }
+
+    /**
+     * Gibt die eingelesene Funktion des Parameters {@code function} aus dem {@link FunctionCache} zurück.
+     *
+     * @param parameters Die Parameter der Anfrage.
+     *
+     * @return Die eingelesene Funktion.
+     */
+    @NotNull
+    private static CompiledFunction getFunction(@NotNull final Map<String, String> parameters) {
+        return FunctionCache.get(getParameter(parameters, "function"));
+    }
+
+    /**
+     * Gibt den {@link FunctionHandler} für die Funktion des Parameters {@code function} im Bereich von {@code xMin}
+     * bis {@code xMax} zurück, sodass die besonderen Punkte für jede Funktion und jeden Bereich nur einmalig berechnet
+     * werden. Sind bereits {@value MAX_CACHED_ANALYSES} Bereiche zwischengespeichert, werden zuvor alle verworfen.
+     *
+     * @param parameters Die Parameter der Anfrage.
+     *
+     * @return Der {@link FunctionHandler} der Funktion und des Bereichs.
+     */
+    @NotNull
+    private FunctionHandler getAnalysis(@NotNull final Map<String, String> parameters) {
+        final CompiledFunction function = getFunction(parameters);
+        final double xMin = getDouble(parameters, "xMin", -DEFAULT_RANGE);
+        final double xMax = getDouble(parameters, "xMax", DEFAULT_RANGE);
+
+        if (!(xMin < xMax)) throw new IllegalArgumentException("xMin must be less than xMax");
+
+        final String key = function.getFunction() + '|' + xMin + '|' + xMax;
+        final FunctionHandler analysis = this.analyses.get(key);
+
+        if (analysis != null) return analysis;
+        if (this.analyses.size() >= MAX_CACHED_ANALYSES) this.analyses.clear();
+
+        return this.analyses.computeIfAbsent(key, k -> new FunctionHandler(function, xMin, xMax, (xMax - xMin) / 2));
+    }
+
+    /**
+     * Wandelt den Text einer Antwort in Bytes um und sendet diese.
+     *
+     * @param exchange Die Anfrage.
+     * @param text     Der Text der Antwort.
+     *
+     * @throws IOException Wird geworfen, wenn die Antwort nicht gesendet werden kann.
+     */
+    private static void sendText(
+        @NotNull final HttpExchange exchange,
+        @NotNull final CharSequence text
+    ) throws IOException {
+        send(exchange, 200, TEXT_TYPE, text.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Sendet eine Antwort mit einer festen Länge, sodass die Verbindung für weitere Anfragen genutzt werden kann.
+     *
+     * @param exchange    Die Anfrage.
+     * @param status      Der Status der Antwort.
+     * @param contentType Der Content-Type der Antwort.
+     * @param body        Der Inhalt der Antwort.
+     *
+     * @throws IOException Wird geworfen, wenn die Antwort nicht gesendet werden kann.
+     */
+    private static void send(
+        @NotNull final HttpExchange exchange,
+        final int status,
+        @NotNull final String contentType,
+        @NotNull final byte[] body
+    ) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+
+        if (body.length > 0) exchange.getResponseBody().write(body);
+    }
+
+    /**
+     * Beantwortet eine Anfrage, deren Bearbeitung fehlgeschlagen ist, mit einem Fehlerstatus und der Nachricht des
+     * Fehlers - oder seinem Namen, falls dieser keine Nachricht besitzt. Wurde bereits eine Antwort begonnen, kann kein
+     * Status mehr gesendet werden und die Anfrage wird lediglich geschlossen.
+     *
+     * @param exchange Die Anfrage.
+     * @param status   Der Fehlerstatus.
+     * @param error    Der Fehler, mit dem die Bearbeitung abgebrochen ist.
+     *
+     * @throws IOException Wird geworfen, wenn die Antwort nicht gesendet werden kann.
+     */
+    private static void sendError(
+        @NotNull final HttpExchange exchange,
+        final int status,
+        @NotNull final Throwable error
+    ) throws IOException {
+        if (exchange.getResponseCode() != -1) return;
+
+        final String message = error.getMessage() == null ? error.getClass().getSimpleName() : error.getMessage();
+        send(exchange, status, TEXT_TYPE, message.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Liest den vollständigen Inhalt einer Anfrage.
+     *
+     * @param input Der Inhalt der Anfrage.
+     *
+     * @return Alle Bytes des Inhalts.
+     *
+     * @throws IOException Wird geworfen, wenn der Inhalt nicht gelesen werden kann.
+     */
+    @NotNull
+    private static byte[] readBody(@NotNull final InputStream input) throws IOException {
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[8192];
+
+        for (int read = input.read(buffer); read >= 0; read = input.read(buffer)) {
+            if (body.size() + read > MAX_BODY_SIZE) throw new IllegalArgumentException("Request body too large");
+
+            body.write(buffer, 0, read);
+        }
+
+        return body.toByteArray();
+    }
+
+    /**
+     * Liest alle Parameter einer Anfrage aus dem noch nicht dekodierten Query-String. Ein {@code +} in einer Funktion
+     * muss daher als {@code %2B} übergeben werden.
+     *
+     * @param query Der Query-String der Anfrage.
+     *
+     * @return Alle Parameter der Anfrage.
+     */
+    @NotNull
+    private static Map<String, String> getParameters(@Nullable final String query) {
+        final Map<String, String> parameters = new HashMap<>();
+
+        if (query == null || query.isEmpty()) return parameters;
+
+        for (@NotNull final String parameter : query.split("&")) {
+            final int separator = parameter.indexOf('=');
+
+            if (separator < 0) {
+                parameters.put(decode(parameter), "");
+                continue;
+            }
+
+            parameters.put(decode(parameter.substring(0, separator)), decode(parameter.substring(separator + 1)));
+        }
+
+        return parameters;
+    }
+
+    /**
+     * Dekodiert einen Teil des Query-Strings.
+     *
+     * @param value Der kodierte Teil des Query-Strings.
+     *
+     * @return Der dekodierte Teil des Query-Strings.
+     */
+    @NotNull
+    private static String decode(@NotNull final String value) {
+        try {
+            return URLDecoder.decode(value, "UTF-8");
+        } catch (@NotNull final UnsupportedEncodingException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Gibt den Wert eines Parameters zurück, der angegeben werden muss.
+     *
+     * @param parameters Die Parameter der Anfrage.
+     * @param name       Der Name des Parameters.
+     *
+     * @return Der Wert des Parameters.
+     */
+    @NotNull
+    private static String getParameter(@NotNull final Map<String, String> parameters, @NotNull final String name) {
+        final String value = parameters.get(name);
+
+        if (value == null || value.isEmpty()) throw new IllegalArgumentException("Missing parameter: " + name);
+
+        return value;
+    }
+
+    /**
+     * Gibt den Wert eines Parameters als Kommazahl zurück.
+     *
+     * @param parameters   Die Parameter der Anfrage.
+     * @param name         Der Name des Parameters.
+     * @param defaultValue Der Wert, wenn der Parameter nicht angegeben wurde; bei {@code null} muss der Parameter
+     *                     angegeben werden.
+     *
+     * @return Der Wert des Parameters.
+     */
+    private static double getDouble(
+        @NotNull final Map<String, String> parameters,
+        @NotNull final String name,
+        @Nullable final Double defaultValue
+    ) {
+        if (defaultValue != null && !parameters.containsKey(name)) return defaultValue;
+
+        return Double.parseDouble(getParameter(parameters, name));
+    }
+
+    /**
+     * Prüft, ob eine Anzahl an x-Werten in einer Anfrage ausgerechnet werden darf.
+     *
+     * @param amount Die Anzahl an x-Werten.
+     *
+     * @return Die Anzahl an x-Werten.
+     */
+    @Range(from = 0, to = MAX_VALUE_AMOUNT)
+    private static int checkAmount(final int amount) {
+        if (amount < 0 || amount > MAX_VALUE_AMOUNT) {
+            throw new IllegalArgumentException("Amount must be between 0 and " + MAX_VALUE_AMOUNT);
+        }
+
+        return amount;
+    }
+
+    /**
+     * Erzeugt den {@link ExecutorService}, in dem die Anfragen bearbeitet werden. Sofern die Java-Version virtuelle
+     * Threads unterstützt, wird jede Anfrage in einem eigenen virtuellen Thread bearbeitet; ansonsten wird eine feste
+     * Anzahl an Threads genutzt.
+     *
+     * @return Der {@link ExecutorService}, in dem die Anfragen bearbeitet werden.
+     */
+    @NotNull
+    private static ExecutorService createExecutor() {
+        try {
+            // virtual threads exist since Java 21, while this project is compiled for Java 8
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (@NotNull final ReflectiveOperationException ex) {
+            return Executors.newFixedThreadPool(Math.max(MIN_THREADS, 2 * SamplingHandler.getParallelism()));
+        }
+    }
+
+
+    /**
+     * Ein {@link Endpoint} bearbeitet alle Anfragen an einen bestimmten Pfad des Servers.
+     */
+    @FunctionalInterface
+    private interface Endpoint {
+
+        /**
+         * Bearbeitet eine Anfrage und sendet die Antwort.
+         *
+         * @param exchange   Die Anfrage.
+         * @param parameters Die bereits dekodierten Parameter der Anfrage.
+         *
+         * @throws IOException Wird geworfen, wenn die Anfrage nicht gelesen oder die Antwort nicht gesendet werden
+         *                     kann.
+         */
+        void handle(
+            @NotNull final HttpExchange exchange,
+            @NotNull final Map<String, String> parameters
+        ) throws IOException;
+
+    }
+
+}
@@ -4,12 +4,14 @@ import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Range;
 
-import java.util.NavigableMap;
+import java.awt.image.BufferedImage;
 
 /**
- * Eine {@link Derivation Ableitung} besteht aus einigen Funktionswerten der Ableitung und einem Zustand, ob sie
- * gezeichnet werden soll oder nicht.
+ * Eine {@link Derivation Ableitung} besteht aus ihrer Ordnung, ihrer Funktionsgleichung, einigen Funktionswerten der
+ * Ableitung und einem Zustand, ob sie gezeichnet werden soll oder nicht.
  */
 @Getter
 @NotNull
@@ -17,12 +19,40 @@ import java.util.NavigableMap;
 public final class Derivation {
 
     //<editor-fold desc="LOCAL FIELDS">
+    /** Die Ordnung dieser Ableitung, beginnend bei 1 für die erste Ableitung. */
+    @Range(from = 1, to = Integer.MAX_VALUE)
+    private final int order;
+    /** Die Funktionsgleichung dieser Ableitung. */
+    @NotNull
+    private final String function;
     /** Die Funktionswerte dieser Ableitung. */
     @NotNull
-    private final NavigableMap<Double, Double> derivationValues;
+    private final SampledFunction derivationValues;
     /** Der Zustand, ob diese Ableitung angezeigt werden soll oder nicht. */
     @Setter
     private boolean draw;
+    /** Das Bild, in welches diese Ableitung gezeichnet wurde; {@code null}, solange dies noch nicht geschah. */
+    @Setter
+    @Nullable
+    private BufferedImage layer;
     //</editor-fold>
 
+
+    /**
+     * Gibt die Beschriftung dieser Ableitung zurück, welche aus ihrem Namen (wie {@code f''(x)}) und ihrer
+     * Funktionsgleichung besteht.
+     *
+     * @return Die Beschriftung dieser Ableitung.
+     */
+    @NotNull
+    public String getLabel() {
+        final StringBuilder label = new StringBuilder("f");
+
+        for (int i = 0; i < this.order; i++) {
+            label.append('\'');
+        }
+
+        return label.append("(x) = ").append(this.function).toString();
+    }
+
 }
@@ -1,27 +1,44 @@
 package de.jonas.graphingcalculator.object;
 
+import de.jonas.graphingcalculator.constant.DrawLayer;
+import de.jonas.graphingcalculator.expression.CompiledFunction;
 import de.jonas.graphingcalculator.handler.FunctionHandler;
+import de.jonas.graphingcalculator.handler.RootHandler;
+import de.jonas.graphingcalculator.handler.SamplingHandler;
 import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Range;
 
 import javax.swing.JLabel;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
 
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.Graphics;
+import java.awt.GraphicsConfiguration;
+import java.awt.Transparency;
 import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
-import java.util.NavigableMap;
-import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntConsumer;
 
 /**
  * Mit einem {@link DrawFunction} lässt sich eine bestimmte Funktion, deren Werte in Form von X- und Y-Koordinate in
- * einer {@link Map} abgespeichert übergeben werden, zeichnen.
+ * einer {@link SampledFunction} abgespeichert übergeben werden, zeichnen. Zusätzlich lassen sich beliebig viele
+ * weitere Funktionen in dasselbe Koordinatensystem zeichnen, die an denselben x-Werten wie die Funktion berechnet
+ * werden, sodass auch die Schnittpunkte aller Funktionen eingezeichnet werden können.
  */
 @NotNull
 public final class DrawFunction extends JLabel {
@@ -41,39 +58,102 @@ public final class DrawFunction extends JLabel {
     private static final int LABEL_AMOUNT_Y = 10;
     /** Die Größe jeder Markierung. */
     private static final int MARK_SIZE = 10;
+    /** Die Anzahl an Pixel-Spalten, auf welche die x-Achse gezeichnet wird. */
+    private static final int PLOT_WIDTH = 2 * LABEL_AMOUNT_X * LABEL_MARGIN;
+    /** Die Anzahl an Pixel-Zeilen, auf welche die y-Achse gezeichnet wird. */
+    private static final int PLOT_HEIGHT = 2 * LABEL_AMOUNT_Y * LABEL_MARGIN;
     /** Die Menge an Ableitungen, die angeboten werden soll. */
-    private static final int DERIVATION_AMOUNT = 3;
+    public static final int DERIVATION_AMOUNT = 3;
+    /** Der Faktor, um den sich die Skalierung pro Umdrehung des Mausrads verändert. */
+    private static final double ZOOM_FACTOR = 1.25;
+    /** Die kleinste Skalierung, auf die hereingezoomt werden kann. */
+    private static final double MIN_SCALE = 1E-9;
+    /** Die größte Skalierung, auf die herausgezoomt werden kann. */
+    private static final double MAX_SCALE = 1E9;
+    /** Die Zeit in Millisekunden, die sich der sichtbare Bereich nicht verändern darf, bevor er analysiert wird. */
+    private static final int SETTLE_DELAY = 200;
+    /** Die Farben, in denen die weiteren Funktionen nacheinander gezeichnet werden. */
+    @NotNull
+    private static final Color[] ADDITIONAL_FUNCTION_COLORS = {
+        Color.ORANGE,
+        Color.CYAN,
+        Color.MAGENTA,
+        Color.YELLOW,
+        Color.PINK,
+        new Color(140, 90, 255),
+        new Color(0, 200, 130),
+        new Color(255, 140, 80),
+        new Color(120, 180, 255),
+        new Color(200, 255, 100),
+    };
     //</editor-fold>
 
 
     //<editor-fold desc="LOCAL FIELDS">
-    /** Der {@link FunctionHandler}, dessen Funktion gezeichnet wird. */
+    /**
+     * Der {@link FunctionHandler}, dessen besondere Punkte zuletzt übernommen wurden. Da die besonderen Punkte auch
+     * außerhalb des Event-Dispatch-Threads berechnet werden, wird dieser bei jeder Nutzung nur einmal gelesen.
+     */
+    @Getter
     @NotNull
-    private final FunctionHandler functionHandler;
-    /** Alle Funktionswerte, aus denen dann eine Funktion gezeichnet wird. */
+    private volatile FunctionHandler functionHandler;
+    /** Der {@link TileCache}, in dem die Funktionswerte aller bisher sichtbaren Bereiche zwischengespeichert sind. */
     @NotNull
-    private final NavigableMap<Double, Double> function;
-    /** Die verschiedenen Ableitungen der Funktion gekoppelt an den Zustand, ob sie angezeigt werden sollen. */
+    private final TileCache tileCache;
+    /** Alle Funktionswerte, aus denen dann eine Funktion gezeichnet wird; solange sie berechnet werden {@code null}. */
+    @Getter
+    @Nullable
+    private SampledFunction function;
+    /**
+     * Die verschiedenen Ableitungen der Funktion gekoppelt an den Zustand, ob sie angezeigt werden sollen. Bis ihre
+     * Funktionswerte zum ersten Mal berechnet wurden, besitzt jede Ableitung keine Funktionswerte.
+     */
     @Getter
     @NotNull
     private final LinkedHashMap<Integer, Derivation> derivations = new LinkedHashMap<>();
+    /** Alle weiteren Funktionen, die an denselben x-Werten wie die Funktion berechnet und gezeichnet werden. */
+    @Getter
+    @NotNull
+    private final List<CompiledFunction> additionalFunctions;
+    /** Die Funktionswerte aller weiteren Funktionen an den x-Werten von {@code function}. */
+    @NotNull
+    private List<SampledFunction> additionalValues = Collections.emptyList();
+    /** Die zuletzt übernommenen besonderen Punkte und Schnittpunkte, zugeordnet zu der Ebene, auf der sie liegen. */
+    @NotNull
+    private Map<DrawLayer, Map<Double, Double>> points = new EnumMap<>(DrawLayer.class);
+    /** Der {@link Timer}, der die Analyse des sichtbaren Bereichs erst startet, wenn sich dieser nicht mehr ändert. */
+    @NotNull
+    private final Timer settleTimer = new Timer(SETTLE_DELAY, e -> startAnalysis());
+    /** Die Nummer der zuletzt gestarteten Analyse; jede ältere Analyse wird abgebrochen und nicht mehr übernommen. */
+    private volatile int analysisVersion;
     /** Eine Liste, die alle Punkte beinhaltet, die besonders hervorgehoben werden sollen in der Funktion. */
     @NotNull
     private final LinkedList<Point> markedPoints = new LinkedList<>();
-    /** Die Skalierung für die x-Achse. */
-    @Range(from = LABEL_AMOUNT_X, to = Integer.MAX_VALUE)
-    private final int scaleX;
-    /** Die Skalierung für die y-Achse. */
-    @Range(from = LABEL_AMOUNT_Y, to = Integer.MAX_VALUE)
-    private final int scaleY;
+    /** Die zwischengespeicherten Bilder aller bereits gezeichneten {@link DrawLayer Ebenen}. */
+    @NotNull
+    private final Map<DrawLayer, BufferedImage> layers = new EnumMap<>(DrawLayer.class);
+    /** Der x-Wert der Funktion, der in der Mitte dieses Objekts angezeigt wird. */
+    private double viewX;
+    /** Der y-Wert der Funktion, der in der Mitte dieses Objekts angezeigt wird. */
+    private double viewY;
+    /** Die Skalierung für die x-Achse, also der Abstand zwischen der Mitte und dem Rand der x-Achse. */
+    private double scaleX;
+    /** Die Skalierung für die y-Achse, also der Abstand zwischen der Mitte und dem Rand der y-Achse. */
+    private double scaleY;
+    /** Der Fortschritt der Berechnung der Funktionswerte in Prozent. */
+    @Setter
+    @Range(from = 0, to = 100)
+    private int progress;
     /** Die x-Koordinate der Maus. */
     @Getter
     @Nullable
     private Point mouse;
     /** Die Funktion der Tangente, die angelegt werden soll. */
-    @Setter
     @Nullable
     private String tangentFunction;
+    /** Die bereits eingelesene Funktion der Tangente, mit der die Funktionswerte der Tangente berechnet werden. */
+    @Nullable
+    private CompiledFunction compiledTangentFunction;
     /** Der Zustand, ob die Nullstellen angezeigt werden sollen oder nicht. */
     @Getter
     @Setter
@@ -90,6 +170,10 @@ public final class DrawFunction extends JLabel {
     @Getter
     @Setter
     private boolean enableSaddlePoints;
+    /** Der Zustand, ob die Schnittpunkte aller Funktionen angezeigt werden sollen oder nicht. */
+    @Getter
+    @Setter
+    private boolean enableIntersections;
     //</editor-fold>
 
 
@@ -97,8 +181,12 @@ public final class DrawFunction extends JLabel {
 
     /**
      * Erzeugt eine neue und vollständig unabhängige Instanz eines {@link DrawFunction}. Mit einem {@link DrawFunction}
-     * lässt sich eine bestimmte Funktion, deren Werte in Form von X- und Y-Koordinate in einer {@link Map}
-     * abgespeichert übergeben werden, zeichnen.
+     * lässt sich eine bestimmte Funktion, deren Werte in Form von X- und Y-Koordinate in einer {@link SampledFunction}
+     * abgespeichert übergeben werden, zeichnen. Die Funktionswerte werden dabei noch nicht berechnet; bis sie mithilfe
+     * von {@link #calculateFunctionValues(IntConsumer)} berechnet und mit {@link #showFunctionValues()} übernommen
+     * wurden, wird nur das Koordinatensystem und der Fortschritt der Berechnung angezeigt. Anschließend lässt sich der
+     * sichtbare Bereich mithilfe von {@link #handleMouseWheel(int, int, double)} und {@link #handlePan(int, int)}
+     * verändern.
      *
      * @param functionHandler Der {@link FunctionHandler}, dessen Funktion gezeichnet werden soll.
      * @param scaleX          Die Skalierung für die x-Achse.
@@ -109,42 +197,319 @@ public final class DrawFunction extends JLabel {
         @Range(from = 0, to = Integer.MAX_VALUE) final int scaleX,
         @Range(from = 0, to = Integer.MAX_VALUE) final int scaleY
     ) {
-        // create temp map
-        final NavigableMap<Double, Double> filteredFunction = new TreeMap<>();
+        this(functionHandler, Collections.emptyList(), scaleX, scaleY);
+    }
 
-        // calculate draw tolerance
-        final double xTolerance = (double) scaleX / 10;
+    /**
+     * Erzeugt eine neue und vollständig unabhängige Instanz eines {@link DrawFunction}, welches neben der Funktion
+     * eines {@link FunctionHandler} beliebig viele weitere Funktionen in dasselbe Koordinatensystem zeichnet. Die
+     * weiteren Funktionen werden dabei nicht einzeln abgetastet, sondern gemeinsam in einem einzigen parallelen
+     * Durchlauf an denselben x-Werten wie die Funktion berechnet.
+     *
+     * @param functionHandler     Der {@link FunctionHandler}, dessen Funktion gezeichnet werden soll.
+     * @param additionalFunctions Alle weiteren Funktionen, die gemeinsam mit der Funktion gezeichnet werden sollen.
+     * @param scaleX              Die Skalierung für die x-Achse.
+     * @param scaleY              Die Skalierung für die y-Achse.
+     */
+    public DrawFunction(
+        @NotNull final FunctionHandler functionHandler,
+        @NotNull final List<CompiledFunction> additionalFunctions,
+        @Range(from = 0, to = Integer.MAX_VALUE) final int scaleX,
+        @Range(from = 0, to = Integer.MAX_VALUE) final int scaleY
+    ) {
+        this.functionHandler = functionHandler;
+        this.additionalFunctions = Collections.unmodifiableList(new ArrayList<>(additionalFunctions));
+        this.scaleX = scaleX;
+        this.scaleY = scaleY;
+        this.tileCache = new TileCache(
+            functionHandler.getCompiledFunction(),
+            (double) scaleY / scaleX * PLOT_WIDTH / PLOT_HEIGHT
+        );
+        this.tileCache.setRefinementListener(() -> SwingUtilities.invokeLater(() -> {
+            if (this.function == null) return;
 
-        // filter function values
-        for (@NotNull final Map.Entry<Double, Double> functionEntry : functionHandler.getFunctionValues().entrySet()) {
-            // get current values from entry
-            final double x = functionEntry.getKey();
-            final double y = functionEntry.getValue();
+            // analyse the refined values only once all visible tiles have been refined
+            updateFunctionValues();
+            this.settleTimer.restart();
+            super.repaint();
+        }));
+        this.settleTimer.setRepeats(false);
 
-            // check if values are out of bounds
-            if (x > scaleX + xTolerance || x < -scaleX - xTolerance) {
-                continue;
-            }
+        for (int i = 0; i < DERIVATION_AMOUNT; i++) {
+            this.derivations.put(i, new Derivation(
+                i + 1,
+                functionHandler.getCompiledFunction().getDerivative(i + 1).getFunction(),
+                new SampledFunction(new double[0], new double[0], 0)
+            ));
+        }
+    }
+    //</editor-fold>
+
+    /**
+     * Berechnet alle Funktionswerte der Funktion, die zum Zeichnen des aktuell sichtbaren Bereichs benötigt werden. Da
+     * diese Berechnung lange dauern kann, darf sie auch außerhalb des Event-Dispatch-Threads ausgeführt werden.
+     *
+     * @param progressListener Der Listener, dem nach jedem Berechnungsschritt der Fortschritt in Prozent übergeben
+     *                         wird.
+     */
+    public void calculateFunctionValues(@NotNull final IntConsumer progressListener) {
+        calculateFunctionValues(progressListener, SamplingHandler.NEVER_CANCELLED);
+    }
+
+    /**
+     * Berechnet alle Funktionswerte der Funktion genauso wie {@link #calculateFunctionValues(IntConsumer)}, wobei die
+     * Berechnung vor jeder Kachel des {@link TileCache} abgebrochen wird, sobald {@code cancelled} dies verlangt.
+     *
+     * @param progressListener Der Listener, dem nach jedem Berechnungsschritt der Fortschritt in Prozent übergeben
+     *                         wird.
+     * @param cancelled        Der Zustand, ob die Berechnung abgebrochen werden soll. Dieser muss von mehreren
+     *                         Threads gleichzeitig abgefragt werden können.
+     *
+     * @throws CancellationException Wird geworfen, wenn die Berechnung abgebrochen wurde.
+     */
+    public void calculateFunctionValues(
+        @NotNull final IntConsumer progressListener,
+        @NotNull final BooleanSupplier cancelled
+    ) {
+        this.tileCache.prepare(getXMin(), getXMax(), PLOT_WIDTH, progressListener, cancelled);
+    }
+
+    /**
+     * Berechnet alle Nullstellen, Extremstellen, Wendepunkte und Sattelpunkte der Funktion, sodass diese anschließend
+     * ohne Verzögerung angezeigt werden können. Da diese Berechnung lange dauern kann, darf sie auch außerhalb des
+     * Event-Dispatch-Threads ausgeführt werden.
+     */
+    public void calculateSpecialPoints() {
+        calculateSpecialPoints(SamplingHandler.NEVER_CANCELLED);
+    }
+
+    /**
+     * Berechnet alle besonderen Punkte der Funktion genauso wie {@link #calculateSpecialPoints()}, wobei die
+     * Berechnung vor jeder Art von Punkten sowie während des Abtastens und Verfeinerns abgebrochen wird, sobald
+     * {@code cancelled} dies verlangt.
+     *
+     * @param cancelled Der Zustand, ob die Berechnung abgebrochen werden soll. Dieser muss von mehreren Threads
+     *                  gleichzeitig abgefragt werden können.
+     *
+     * @throws CancellationException Wird geworfen, wenn die Berechnung abgebrochen wurde.
+     */
+    public void calculateSpecialPoints(@NotNull final BooleanSupplier cancelled) {
+        getSpecialPoints(this.functionHandler, cancelled);
+    }
 
-            // mark values as filtered
-            filteredFunction.put(x, y);
+    /**
+     * Übernimmt die berechneten Funktionswerte der Funktion und berechnet im aktuellen Thread an denselben x-Werten
+     * die Funktionswerte aller Ableitungen und weiteren Funktionen sowie alle besonderen Punkte und Schnittpunkte,
+     * sodass diese gezeichnet werden. Wurden die Funktionswerte noch nicht berechnet, werden sie hierbei berechnet.
+     */
+    public void showFunctionValues() {
+        this.analysisVersion++;
+        updateFunctionValues();
+        applyAnalysis(calculateAnalysis(this.functionHandler, this.function, SamplingHandler.NEVER_CANCELLED));
+    }
+
+    /**
+     * Übernimmt die berechneten Funktionswerte der Funktion genauso wie {@link #showFunctionValues()}, wobei alle
+     * Ableitungen, weiteren Funktionen, besonderen Punkte und Schnittpunkte im Hintergrund berechnet und erst danach
+     * übernommen werden. Diese Methode muss im Event-Dispatch-Thread ausgeführt werden.
+     */
+    public void showFunctionValuesInBackground() {
+        updateFunctionValues();
+        startAnalysis();
+    }
+
+    /**
+     * Setzt den sichtbaren Bereich der Funktion neu. Alle Ebenen werden dabei verworfen und die Funktion aus den -
+     * soweit möglich bereits zwischengespeicherten - Kacheln des {@link TileCache} neu gezeichnet. Alle übrigen Inhalte
+     * werden erst im Hintergrund für den neuen Bereich berechnet, wenn sich dieser für einen kurzen Moment nicht mehr
+     * verändert hat; bis dahin werden die bisherigen Inhalte gezeichnet.
+     *
+     * @param viewX  Der x-Wert der Funktion, der in der Mitte dieses Objekts angezeigt werden soll.
+     * @param viewY  Der y-Wert der Funktion, der in der Mitte dieses Objekts angezeigt werden soll.
+     * @param scaleX Die Skalierung für die x-Achse.
+     * @param scaleY Die Skalierung für die y-Achse.
+     */
+    public void setView(final double viewX, final double viewY, final double scaleX, final double scaleY) {
+        this.viewX = viewX;
+        this.viewY = viewY;
+        this.scaleX = scaleX;
+        this.scaleY = scaleY;
+        this.layers.clear();
+        this.derivations.values().forEach(derivation -> derivation.setLayer(null));
+
+        if (this.function != null) {
+            // cancel the analysis of the previous view and wait until the view settles
+            this.analysisVersion++;
+            updateFunctionValues();
+            this.settleTimer.restart();
         }
 
-        // set derivations
-        NavigableMap<Double, Double> lastDerivation = FunctionHandler.getDerivationValues(filteredFunction);
+        super.repaint();
+    }
+
+    /**
+     * Verarbeitet das Drehen des Mausrads und vergrößert bzw. verkleinert somit den sichtbaren Bereich um die Position
+     * der Maus herum.
+     *
+     * @param mouseX   Die x-Koordinate der Maus.
+     * @param mouseY   Die y-Koordinate der Maus.
+     * @param rotation Die Anzahl an Umdrehungen des Mausrads; positive Werte verkleinern die Funktion.
+     */
+    public void handleMouseWheel(final int mouseX, final int mouseY, final double rotation) {
+        if (this.function == null) return;
+
+        final double factor = Math.max(
+            Math.max(MIN_SCALE / this.scaleX, MIN_SCALE / this.scaleY),
+            Math.min(Math.min(MAX_SCALE / this.scaleX, MAX_SCALE / this.scaleY), Math.pow(ZOOM_FACTOR, rotation))
+        );
+        final double x = getFunctionX(mouseX);
+        final double y = getFunctionY(mouseY);
+
+        setView(
+            x - (x - this.viewX) * factor,
+            y - (y - this.viewY) * factor,
+            this.scaleX * factor,
+            this.scaleY * factor
+        );
+    }
+
+    /**
+     * Verarbeitet das Ziehen der Maus und verschiebt somit den sichtbaren Bereich um eine bestimmte Anzahl an Pixeln.
+     *
+     * @param deltaX Die Anzahl an Pixeln, um welche die Maus nach rechts gezogen wurde.
+     * @param deltaY Die Anzahl an Pixeln, um welche die Maus nach unten gezogen wurde.
+     */
+    public void handlePan(final int deltaX, final int deltaY) {
+        if (this.function == null || (deltaX == 0 && deltaY == 0)) return;
+
+        setView(
+            this.viewX - deltaX / getPixelsPerUnitX(),
+            this.viewY + deltaY / getPixelsPerUnitY(),
+            this.scaleX,
+            this.scaleY
+        );
+    }
+
+    /**
+     * Übernimmt die Funktionswerte des aktuell sichtbaren Bereichs aus dem {@link TileCache}, sodass die Funktion neu
+     * gezeichnet wird.
+     */
+    private void updateFunctionValues() {
+        this.function = this.tileCache.getValues(getXMin(), getXMax(), PLOT_WIDTH);
+        this.layers.remove(DrawLayer.FUNCTION);
+    }
+
+    /**
+     * Startet die Analyse des aktuell sichtbaren Bereichs im Hintergrund und bricht dabei jede zuvor gestartete
+     * Analyse ab. Sobald die Analyse abgeschlossen ist, wird sie im Event-Dispatch-Thread übernommen, sofern bis dahin
+     * keine neuere Analyse gestartet wurde.
+     */
+    private void startAnalysis() {
+        final SampledFunction values = this.function;
+
+        if (values == null) return;
+
+        final FunctionHandler previousHandler = this.functionHandler;
+        final double xMin = getXMin();
+        final double xMax = getXMax();
+        final double yScaling = this.scaleY;
+        final int version = ++this.analysisVersion;
+        final BooleanSupplier cancelled = () -> this.analysisVersion != version;
+
+        SamplingHandler.getPool().execute(() -> {
+            // keep the memoised special points if the view has not changed, panned views are never persisted
+            final FunctionHandler handler = previousHandler.getXMin() == xMin && previousHandler.getXMax() == xMax
+                ? previousHandler
+                : new FunctionHandler(previousHandler.getCompiledFunction(), xMin, xMax, yScaling, false);
+            final Analysis analysis;
+
+            try {
+                analysis = calculateAnalysis(handler, values, cancelled);
+            } catch (@NotNull final CancellationException ignored) {
+                return;
+            }
+
+            SwingUtilities.invokeLater(() -> {
+                if (cancelled.getAsBoolean()) return;
+
+                applyAnalysis(analysis);
+                super.repaint();
+            });
+        });
+    }
+
+    /**
+     * Berechnet an den x-Werten bestimmter Funktionswerte die Funktionswerte aller Ableitungen und weiteren Funktionen
+     * sowie alle besonderen Punkte eines {@link FunctionHandler} und alle Schnittpunkte. Da diese Berechnung lange
+     * dauern kann, darf sie auch außerhalb des Event-Dispatch-Threads ausgeführt werden.
+     *
+     * @param handler   Der {@link FunctionHandler}, dessen besondere Punkte berechnet werden.
+     * @param values    Die Funktionswerte, an deren x-Werten alle weiteren Funktionswerte berechnet werden.
+     * @param cancelled Der Zustand, ob die Berechnung abgebrochen werden soll.
+     *
+     * @return Die berechnete {@link Analysis Analyse}.
+     *
+     * @throws CancellationException Wird geworfen, wenn die Berechnung abgebrochen wurde.
+     */
+    @NotNull
+    private Analysis calculateAnalysis(
+        @NotNull final FunctionHandler handler,
+        @NotNull final SampledFunction values,
+        @NotNull final BooleanSupplier cancelled
+    ) {
+        final CompiledFunction compiledFunction = handler.getCompiledFunction();
+        final List<SampledFunction> derivationValues = FunctionHandler.getDerivationValues(
+            compiledFunction,
+            values,
+            DERIVATION_AMOUNT
+        );
+        final List<Derivation> derivations = new ArrayList<>();
 
         for (int i = 0; i < DERIVATION_AMOUNT; i++) {
-            this.derivations.put(i, new Derivation(lastDerivation));
-            lastDerivation = FunctionHandler.getDerivationValues(lastDerivation);
+            derivations.add(new Derivation(
+                i + 1,
+                compiledFunction.getDerivative(i + 1).getFunction(),
+                derivationValues.get(i)
+            ));
         }
 
-        // initialize variables
-        this.functionHandler = functionHandler;
-        this.function = filteredFunction;
-        this.scaleX = scaleX;
-        this.scaleY = scaleY;
+        SamplingHandler.checkCancelled(cancelled);
+        final List<SampledFunction> additionalValues = SamplingHandler.getSharedValues(
+            this.additionalFunctions,
+            values
+        );
+        final Map<DrawLayer, Map<Double, Double>> points = getSpecialPoints(handler, cancelled);
+
+        points.put(DrawLayer.INTERSECTIONS, getIntersections(compiledFunction, values, additionalValues, cancelled));
+
+        return new Analysis(handler, derivations, additionalValues, points);
+    }
+
+    /**
+     * Übernimmt eine berechnete {@link Analysis Analyse}, sodass ihre Inhalte gezeichnet werden. Alle Ableitungen
+     * behalten dabei den Zustand, ob sie angezeigt werden sollen oder nicht.
+     *
+     * @param analysis Die {@link Analysis Analyse}, die übernommen werden soll.
+     */
+    private void applyAnalysis(@NotNull final Analysis analysis) {
+        this.functionHandler = analysis.getFunctionHandler();
+        this.additionalValues = analysis.getAdditionalValues();
+        this.points = analysis.getPoints();
+
+        for (@NotNull final Derivation derivation : analysis.getDerivations()) {
+            final Derivation previousDerivation = this.derivations.get(derivation.getOrder() - 1);
+
+            if (previousDerivation != null) derivation.setDraw(previousDerivation.isDraw());
+
+            this.derivations.put(derivation.getOrder() - 1, derivation);
+        }
+
+        for (@NotNull final DrawLayer layer : analysis.getPoints().keySet()) {
+            this.layers.remove(layer);
+        }
+
+        this.layers.remove(DrawLayer.ADDITIONAL_FUNCTIONS);
     }
-    //</editor-fold>
 
     /**
      * Gibt die aktuellen Zeichnungen dieses {@link DrawFunction} in Form eines Bildes zurück.
@@ -166,9 +531,24 @@ public final class DrawFunction extends JLabel {
      * @param x Der x-Wert, zu dem der Punkt besonders markiert werden soll.
      */
     public void addMarkedPoint(final double x) {
-        if (Double.isNaN(this.functionHandler.getFunctionValue(x))) return;
+        final double y = this.functionHandler.getFunctionValue(x);
+
+        if (Double.isNaN(y)) return;
 
-        this.markedPoints.addLast(new Point(x, this.functionHandler.getFunctionValue(x)));
+        this.markedPoints.addLast(new Point(x, y));
+        this.layers.remove(DrawLayer.MARKED_POINTS);
+    }
+
+    /**
+     * Setzt die Funktion der Tangente, die angelegt werden soll und liest diese direkt einmalig ein.
+     *
+     * @param tangentFunction Die Funktion der Tangente, die angelegt werden soll; {@code null}, wenn keine Tangente
+     *                        angelegt werden soll.
+     */
+    public void setTangentFunction(@Nullable final String tangentFunction) {
+        this.tangentFunction = tangentFunction;
+        this.compiledTangentFunction = tangentFunction == null ? null : CompiledFunction.compile(tangentFunction);
+        this.layers.remove(DrawLayer.TANGENT);
     }
 
     /**
@@ -179,6 +559,7 @@ public final class DrawFunction extends JLabel {
         if (this.markedPoints.isEmpty()) return;
 
         this.markedPoints.removeLast();
+        this.layers.remove(DrawLayer.MARKED_POINTS);
     }
 
     /**
@@ -200,11 +581,220 @@ public final class DrawFunction extends JLabel {
     }
 
     /**
-     * Zeichnet alle Grafiken.
+     * Zeichnet alle Grafiken. Alle statischen Inhalte werden dabei aus ihren zwischengespeicherten
+     * {@link DrawLayer Ebenen} übernommen, sodass nur die Maus bei jedem Neuzeichnen tatsächlich gezeichnet wird.
      *
      * @param g Das {@link Graphics Graphics-Objekt}, mit dem alle Grafiken gezeichnet werden sollen.
      */
     private void drawGraphics(@NotNull final Graphics g) {
+        if (super.getWidth() <= 0 || super.getHeight() <= 0) return;
+
+        // draw coordinate system
+        g.drawImage(getLayer(DrawLayer.COORDINATE_SYSTEM), 0, 0, null);
+
+        // draw progress while the function values are calculated
+        if (this.function == null) {
+            g.setColor(Color.WHITE);
+            g.setFont(DEFAULT_FONT.deriveFont(17F));
+            g.drawString("Funktion wird berechnet... (" + this.progress + "%)", 20, 55);
+            return;
+        }
+
+        // draw function
+        g.drawImage(getLayer(DrawLayer.FUNCTION), 0, 0, null);
+
+        // draw additional functions
+        if (!this.additionalFunctions.isEmpty()) g.drawImage(getLayer(DrawLayer.ADDITIONAL_FUNCTIONS), 0, 0, null);
+
+        // check if derivations are enabled
+        for (@NotNull final Map.Entry<Integer, Derivation> derivationEntry : this.derivations.entrySet()) {
+            final Derivation derivation = derivationEntry.getValue();
+
+            if (!derivation.isDraw()) continue;
+
+            g.drawImage(getDerivationLayer(derivation), 0, 0, null);
+        }
+
+        // check if roots, extremes, turning points, saddle points or intersections are enabled
+        if (this.enableRoots) g.drawImage(getLayer(DrawLayer.ROOTS), 0, 0, null);
+        if (this.enableExtremes) g.drawImage(getLayer(DrawLayer.EXTREMES), 0, 0, null);
+        if (this.enableTurningPoints) g.drawImage(getLayer(DrawLayer.TURNING_POINTS), 0, 0, null);
+        if (this.enableSaddlePoints) g.drawImage(getLayer(DrawLayer.SADDLE_POINTS), 0, 0, null);
+        if (this.enableIntersections && !this.additionalFunctions.isEmpty()) {
+            g.drawImage(getLayer(DrawLayer.INTERSECTIONS), 0, 0, null);
+        }
+
+        // draw marked points
+        if (!this.markedPoints.isEmpty()) g.drawImage(getLayer(DrawLayer.MARKED_POINTS), 0, 0, null);
+
+        // draw tangent
+        if (this.tangentFunction != null) g.drawImage(getLayer(DrawLayer.TANGENT), 0, 0, null);
+
+        // draw mouse
+        g.setColor(Color.BLUE);
+        if (this.mouse != null) drawPoint(this.mouse, g);
+    }
+
+    /**
+     * Gibt das Bild einer bestimmten {@link DrawLayer Ebene} zurück. Wurde die Ebene noch nicht gezeichnet oder hat
+     * sich die Größe dieses Objekts seitdem verändert, wird sie hierbei neu gezeichnet.
+     *
+     * @param layer Die {@link DrawLayer Ebene}, deren Bild zurückgegeben werden soll.
+     *
+     * @return Das Bild der {@link DrawLayer Ebene}.
+     */
+    @NotNull
+    private BufferedImage getLayer(
+        @NotNull final DrawLayer layer
+    ) {
+        final BufferedImage cachedImage = this.layers.get(layer);
+
+        if (isValidLayer(cachedImage)) return cachedImage;
+
+        final BufferedImage image = createLayer();
+        final Graphics g = image.createGraphics();
+
+        drawLayer(layer, g);
+        g.dispose();
+
+        this.layers.put(layer, image);
+        return image;
+    }
+
+    /**
+     * Gibt das Bild zurück, in welches eine bestimmte {@link Derivation Ableitung} gezeichnet wurde. Wurde die
+     * Ableitung noch nicht gezeichnet oder hat sich die Größe dieses Objekts seitdem verändert, wird sie hierbei neu
+     * gezeichnet.
+     *
+     * @param derivation Die {@link Derivation Ableitung}, deren Bild zurückgegeben werden soll.
+     *
+     * @return Das Bild, in welches die {@link Derivation Ableitung} gezeichnet wurde.
+     */
+    @NotNull
+    private BufferedImage getDerivationLayer(
+        @NotNull final Derivation derivation
+    ) {
+        final BufferedImage cachedImage = derivation.getLayer();
+
+        if (isValidLayer(cachedImage)) return cachedImage;
+
+        final BufferedImage image = createLayer();
+        final Graphics g = image.createGraphics();
+
+        g.setColor(Color.GREEN);
+        drawFunction(g, derivation.getDerivationValues());
+
+        // display function
+        g.setFont(DEFAULT_FONT.deriveFont(14F));
+        g.drawString(
+            derivation.getLabel(),
+            20,
+            super.getHeight() - 15 - 20 * (DERIVATION_AMOUNT - derivation.getOrder())
+        );
+        g.dispose();
+
+        derivation.setLayer(image);
+        return image;
+    }
+
+    /**
+     * Zeichnet den Inhalt einer bestimmten {@link DrawLayer Ebene}.
+     *
+     * @param layer Die {@link DrawLayer Ebene}, deren Inhalt gezeichnet werden soll.
+     * @param g     Das {@link Graphics Grafik-Objekt}, mit dem die Ebene gezeichnet werden soll.
+     */
+    private void drawLayer(
+        @NotNull final DrawLayer layer,
+        @NotNull final Graphics g
+    ) {
+        g.setColor(Color.BLUE);
+
+        switch (layer) {
+            case COORDINATE_SYSTEM:
+                drawCoordinateSystem(g);
+                break;
+
+            case FUNCTION:
+                if (this.function == null) break;
+
+                g.setColor(Color.RED);
+                drawFunction(g, this.function);
+                break;
+
+            case ADDITIONAL_FUNCTIONS:
+                drawAdditionalFunctions(g);
+                break;
+
+            case ROOTS:
+                drawRoots(g);
+                break;
+
+            case EXTREMES:
+                drawExtremes(g);
+                break;
+
+            case TURNING_POINTS:
+                drawTurningPoints(g);
+                break;
+
+            case SADDLE_POINTS:
+                drawSaddlePoints(g);
+                break;
+
+            case INTERSECTIONS:
+                drawIntersections(g);
+                break;
+
+            case MARKED_POINTS:
+                for (@NotNull final Point point : this.markedPoints) {
+                    drawPoint(point, g);
+                }
+                break;
+
+            case TANGENT:
+                drawTangent(g);
+                break;
+
+            default:
+                throw new IllegalArgumentException("Unknown layer: " + layer);
+        }
+    }
+
+    /**
+     * Erzeugt ein neues, vollständig durchsichtiges Bild in der Größe dieses Objekts, in welches eine Ebene gezeichnet
+     * werden kann. Wenn möglich, wird dabei ein Bild erzeugt, welches zu dem aktuellen Bildschirm kompatibel ist.
+     *
+     * @return Ein neues, vollständig durchsichtiges Bild in der Größe dieses Objekts.
+     */
+    @NotNull
+    private BufferedImage createLayer() {
+        final GraphicsConfiguration configuration = super.getGraphicsConfiguration();
+
+        if (configuration == null) {
+            return new BufferedImage(super.getWidth(), super.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        }
+
+        return configuration.createCompatibleImage(super.getWidth(), super.getHeight(), Transparency.TRANSLUCENT);
+    }
+
+    /**
+     * Prüft, ob ein zwischengespeichertes Bild einer Ebene noch verwendet werden kann, also ob es existiert und noch
+     * der Größe dieses Objekts entspricht.
+     *
+     * @param image Das zwischengespeicherte Bild der Ebene.
+     *
+     * @return Wenn das Bild noch verwendet werden kann {@code true}, ansonsten {@code false}.
+     */
+    private boolean isValidLayer(@Nullable final BufferedImage image) {
+        return image != null && image.getWidth() == super.getWidth() && image.getHeight() == super.getHeight();
+    }
+
+    /**
+     * Zeichnet den Hintergrund, die Funktionsgleichung und das Koordinatensystem samt Beschriftungen.
+     *
+     * @param g Das {@link Graphics Grafik-Objekt}, mit dem das Koordinatensystem gezeichnet werden soll.
+     */
+    private void drawCoordinateSystem(@NotNull final Graphics g) {
         // draw background
         g.setColor(Color.DARK_GRAY);
         g.fillRect(0, 0, super.getWidth(), super.getHeight());
@@ -214,8 +804,9 @@ public final class DrawFunction extends JLabel {
         g.setFont(DEFAULT_FONT.deriveFont(17F));
         g.drawString("f(x) = " + this.functionHandler.getFunction(), 20, 30);
 
-        final int yAxisX = super.getWidth() / 2;
-        final int xAxisY = super.getHeight() / 2;
+        // keep the axes at the border if the origin is not visible
+        final int yAxisX = Math.max(X_MARGIN, Math.min(super.getWidth() - X_MARGIN, getValueX(0)));
+        final int xAxisY = Math.max(Y_MARGIN, Math.min(super.getHeight() - Y_MARGIN, getValueY(0)));
 
         // draw coordinate system
         g.setFont(DEFAULT_FONT);
@@ -239,102 +830,106 @@ public final class DrawFunction extends JLabel {
         g.drawLine(yAxisX, Y_MARGIN, yAxisX + 5, Y_MARGIN + 10);
 
         // draw x labels
-        for (int i = -LABEL_AMOUNT_X; i <= LABEL_AMOUNT_X; i++) {
-            g.drawLine(
-                yAxisX + i * LABEL_MARGIN,
-                xAxisY - 5,
-                yAxisX + i * LABEL_MARGIN,
-                xAxisY + 5
-            );
+        final double labelStepX = this.scaleX / LABEL_AMOUNT_X;
 
-            if (i == 0) continue;
+        for (long i = (long) Math.ceil(getXMin() / labelStepX); i <= (long) Math.floor(getXMax() / labelStepX); i++) {
+            final int x = getValueX(i * labelStepX);
 
-            g.drawString(
-                String.valueOf(Math.round((((double) this.scaleX / LABEL_AMOUNT_X) * i) * 10D) / 10D),
-                yAxisX + i * LABEL_MARGIN - 5,
-                xAxisY + 20
-            );
-        }
-
-        // draw y labels
-        for (int i = -LABEL_AMOUNT_Y; i <= LABEL_AMOUNT_Y; i++) {
-            g.drawLine(
-                yAxisX - 5,
-                xAxisY - i * LABEL_MARGIN,
-                yAxisX + 5,
-                xAxisY - i * LABEL_MARGIN
-            );
+            g.drawLine(x, xAxisY - 5, x, xAxisY + 5);
 
             if (i == 0) continue;
 
-            g.drawString(
-                String.valueOf(Math.round((((double) this.scaleY / LABEL_AMOUNT_Y) * i) * 10D) / 10D),
-                yAxisX - 40,
-                (xAxisY - i * LABEL_MARGIN) + 5
-            );
+            g.drawString(formatLabel(i * labelStepX, labelStepX), x - 5, xAxisY + 20);
         }
 
-        // draw function
-        g.setColor(Color.RED);
-        drawFunction(g, this.function, yAxisX, xAxisY);
+        // draw y labels
+        final double labelStepY = this.scaleY / LABEL_AMOUNT_Y;
 
-        // check if roots, extremes or turning points are enabled
-        g.setColor(Color.BLUE);
-        if (this.enableRoots) drawRoots(g, yAxisX, xAxisY);
-        if (this.enableExtremes) drawExtremes(g, yAxisX, xAxisY);
-        if (this.enableTurningPoints) drawTurningPoints(g, yAxisX, xAxisY);
-        if (this.enableSaddlePoints) drawSaddlePoints(g, yAxisX, xAxisY);
+        for (long i = (long) Math.ceil(getYMin() / labelStepY); i <= (long) Math.floor(getYMax() / labelStepY); i++) {
+            final int y = getValueY(i * labelStepY);
 
-        // draw marked points
-        for (@NotNull final Point point : this.markedPoints) {
-            final int x = getValueX(point.getX());
-            final int y = getValueY(point.getY());
+            g.drawLine(yAxisX - 5, y, yAxisX + 5, y);
 
-            g.fillOval(
-                x + (yAxisX - X_MARGIN) - (MARK_SIZE / 2),
-                y - (xAxisY - Y_MARGIN) - (MARK_SIZE / 2),
-                MARK_SIZE,
-                MARK_SIZE
-            );
-
-            final double xCoordinate = Math.round(point.getX() * 100D) / 100D;
-            final double yCoordinate = Math.round(point.getY() * 100D) / 100D;
+            if (i == 0) continue;
 
-            g.setFont(DEFAULT_FONT.deriveFont(12F));
-            g.drawString(
-                "(" + xCoordinate + " | " + yCoordinate + ")",
-                x + (yAxisX - X_MARGIN) - 10,
-                y - (xAxisY - Y_MARGIN) - 15
-            );
+            g.drawString(formatLabel(i * labelStepY, labelStepY), yAxisX - 40, y + 5);
         }
+    }
 
-        // draw mouse
-        if (this.mouse != null) drawPoint(this.mouse, g, yAxisX, xAxisY);
+    /**
+     * Gibt den kleinsten sichtbaren x-Wert der Funktion zurück.
+     *
+     * @return Der kleinste sichtbare x-Wert der Funktion.
+     */
+    private double getXMin() {
+        return this.viewX - this.scaleX;
+    }
 
-        // draw tangent
-        if (this.tangentFunction != null) drawTangent(g, yAxisX, xAxisY);
+    /**
+     * Gibt den größten sichtbaren x-Wert der Funktion zurück.
+     *
+     * @return Der größte sichtbare x-Wert der Funktion.
+     */
+    private double getXMax() {
+        return this.viewX + this.scaleX;
+    }
 
-        // check if derivations are enabled
-        g.setColor(Color.GREEN);
+    /**
+     * Gibt den kleinsten sichtbaren y-Wert der Funktion zurück.
+     *
+     * @return Der kleinste sichtbare y-Wert der Funktion.
+     */
+    private double getYMin() {
+        return this.viewY - this.scaleY;
+    }
 
-        for (@NotNull final Map.Entry<Integer, Derivation> derivationEntry : this.derivations.entrySet()) {
-            final Derivation derivation = derivationEntry.getValue();
+    /**
+     * Gibt den größten sichtbaren y-Wert der Funktion zurück.
+     *
+     * @return Der größte sichtbare y-Wert der Funktion.
+     */
+    private double getYMax() {
+        return this.viewY + this.scaleY;
+    }
 
-            if (!derivation.isDraw()) continue;
+    /**
+     * Gibt die Anzahl an Pixeln zurück, die eine Einheit der x-Achse breit ist.
+     *
+     * @return Die Anzahl an Pixeln, die eine Einheit der x-Achse breit ist.
+     */
+    private double getPixelsPerUnitX() {
+        return LABEL_MARGIN * LABEL_AMOUNT_X / this.scaleX;
+    }
 
-            drawFunction(g, derivation.getDerivationValues(), yAxisX, xAxisY);
-        }
+    /**
+     * Gibt die Anzahl an Pixeln zurück, die eine Einheit der y-Achse hoch ist.
+     *
+     * @return Die Anzahl an Pixeln, die eine Einheit der y-Achse hoch ist.
+     */
+    private double getPixelsPerUnitY() {
+        return LABEL_MARGIN * LABEL_AMOUNT_Y / this.scaleY;
     }
 
     /**
-     * Gibt die x-Koordinate angepasst an die Skalierung der Funktion wieder.
+     * Gibt die x-Koordinate angepasst an die Skalierung und den sichtbaren Bereich der Funktion wieder.
      *
      * @param x Die x-Koordinate in dem Fenster.
      *
-     * @return Die x-Koordinate angepasst an die Skalierung der Funktion.
+     * @return Die x-Koordinate angepasst an die Skalierung und den sichtbaren Bereich der Funktion.
      */
     private double getFunctionX(final int x) {
-        return ((x - X_MARGIN) / (double) LABEL_MARGIN * ((double) this.scaleX / LABEL_AMOUNT_X)) - this.scaleX;
+        return this.viewX + (x - super.getWidth() / 2) / getPixelsPerUnitX();
+    }
+
+    /**
+     * Gibt die y-Koordinate angepasst an die Skalierung und den sichtbaren Bereich der Funktion wieder.
+     *
+     * @param y Die y-Koordinate in dem Fenster.
+     *
+     * @return Die y-Koordinate angepasst an die Skalierung und den sichtbaren Bereich der Funktion.
+     */
+    private double getFunctionY(final int y) {
+        return this.viewY + (super.getHeight() - super.getHeight() / 2 - y) / getPixelsPerUnitY();
     }
 
     /**
@@ -346,7 +941,7 @@ public final class DrawFunction extends JLabel {
      * @return Der finale x-Wert, der dem x-Wert der Funktion entspricht.
      */
     private int getValueX(final double x) {
-        return (int) (X_MARGIN + (x * LABEL_MARGIN / ((double) this.scaleX / LABEL_AMOUNT_X)));
+        return (int) (super.getWidth() / 2 + (x - this.viewX) * getPixelsPerUnitX());
     }
 
     /**
@@ -358,26 +953,22 @@ public final class DrawFunction extends JLabel {
      * @return Der finale y-Wert, der dem y-Wert der Funktion entspricht.
      */
     private int getValueY(final double y) {
-        return (int) (super.getHeight() - Y_MARGIN - (y * LABEL_MARGIN / ((double) this.scaleY / LABEL_AMOUNT_Y)));
+        return (int) (super.getHeight() - super.getHeight() / 2 - (y - this.viewY) * getPixelsPerUnitY());
     }
 
     /**
      * Zeichnet einen bestimmten {@link Point Punkt} in dieses Koordinatensystem.
      *
-     * @param point  Der {@link Point Punkt}, der in diesem Koordinatensystem eingezeichnet werden soll.
-     * @param g      Das {@link Graphics Grafik-Objekt}, mit dem der Punkt eingezeichnet werden soll.
-     * @param yAxisX Die x-Koordinate der y-Achse.
-     * @param xAxisY Die y-Koordinate der x-Achse.
+     * @param point Der {@link Point Punkt}, der in diesem Koordinatensystem eingezeichnet werden soll.
+     * @param g     Das {@link Graphics Grafik-Objekt}, mit dem der Punkt eingezeichnet werden soll.
      */
     private void drawPoint(
         @NotNull final Point point,
-        @NotNull final Graphics g,
-        @Range(from = 0, to = Integer.MAX_VALUE) final int yAxisX,
-        @Range(from = 0, to = Integer.MAX_VALUE) final int xAxisY
+        @NotNull final Graphics g
     ) {
         g.fillOval(
-            getValueX(point.getX()) + (yAxisX - X_MARGIN) - (MARK_SIZE / 2),
-            getValueY(point.getY()) - (xAxisY - Y_MARGIN) - (MARK_SIZE / 2),
+            getValueX(point.getX()) - (MARK_SIZE / 2),
+            getValueY(point.getY()) - (MARK_SIZE / 2),
             MARK_SIZE,
             MARK_SIZE
         );
@@ -388,25 +979,21 @@ public final class DrawFunction extends JLabel {
         g.setFont(DEFAULT_FONT.deriveFont(12F));
         g.drawString(
             "(" + xCoordinate + " | " + yCoordinate + ")",
-            getValueX(point.getX()) + (yAxisX - X_MARGIN) - 10,
-            getValueY(point.getY()) - (xAxisY - Y_MARGIN) - 15
+            getValueX(point.getX()) - 10,
+            getValueY(point.getY()) - 15
         );
     }
 
     /**
      * Zeichnet alle Nullstellen der Funktion mit ihren Koordinaten ein.
      *
-     * @param g      Das {@link Graphics Grafik-Objekt}, mit dem die Nullstellen eingezeichnet werden sollen.
-     * @param yAxisX Die x-Koordinate der y-Achse.
-     * @param xAxisY Die y-Koordinate der x-Achse.
+     * @param g Das {@link Graphics Grafik-Objekt}, mit dem die Nullstellen eingezeichnet werden sollen.
      */
     private void drawRoots(
-        @NotNull final Graphics g,
-        @Range(from = 0, to = Integer.MAX_VALUE) final int yAxisX,
-        @Range(from = 0, to = Integer.MAX_VALUE) final int xAxisY
+        @NotNull final Graphics g
     ) {
         // get roots
-        final Map<Double, Double> roots = FunctionHandler.getRoots(this.function);
+        final Map<Double, Double> roots = getPoints(DrawLayer.ROOTS);
 
         // draw roots
         for (@NotNull final Map.Entry<Double, Double> rootEntry : roots.entrySet()) {
@@ -414,8 +1001,8 @@ public final class DrawFunction extends JLabel {
             final int y = getValueY(rootEntry.getValue());
 
             g.fillOval(
-                x + (yAxisX - X_MARGIN) - (MARK_SIZE / 2),
-                y - (xAxisY - Y_MARGIN) - (MARK_SIZE / 2),
+                x - (MARK_SIZE / 2),
+                y - (MARK_SIZE / 2),
                 MARK_SIZE,
                 MARK_SIZE
             );
@@ -425,8 +1012,8 @@ public final class DrawFunction extends JLabel {
             g.setFont(DEFAULT_FONT.deriveFont(12F));
             g.drawString(
                 "(" + xCoordinate + ")",
-                x + (yAxisX - X_MARGIN) - 10,
-                y - (xAxisY - Y_MARGIN) - 15
+                x - 10,
+                y - 15
             );
         }
     }
@@ -434,89 +1021,206 @@ public final class DrawFunction extends JLabel {
     /**
      * Zeichnet alle Extremstellen der Funktion mit ihren Koordinaten ein.
      *
-     * @param g      Das {@link Graphics Grafik-Objekt}, mit dem die Extremstellen eingezeichnet werden sollen.
-     * @param yAxisX Die x-Koordinate der y-Achse.
-     * @param xAxisY Die y-Koordinate der x-Achse.
+     * @param g Das {@link Graphics Grafik-Objekt}, mit dem die Extremstellen eingezeichnet werden sollen.
      */
     private void drawExtremes(
-        @NotNull final Graphics g,
-        @Range(from = 0, to = Integer.MAX_VALUE) final int yAxisX,
-        @Range(from = 0, to = Integer.MAX_VALUE) final int xAxisY
+        @NotNull final Graphics g
     ) {
         // get extremes
-        final Map<Double, Double> extremes = FunctionHandler.getExtremes(this.function);
+        final Map<Double, Double> extremes = getPoints(DrawLayer.EXTREMES);
 
         // draw extremes
         for (@NotNull final Map.Entry<Double, Double> extremeEntry : extremes.entrySet()) {
-            drawPoint(new Point(extremeEntry.getKey(), extremeEntry.getValue()), g, yAxisX, xAxisY);
+            drawPoint(new Point(extremeEntry.getKey(), extremeEntry.getValue()), g);
         }
     }
 
     /**
      * Zeichnet alle Wendepunkte der Funktion mit ihren Koordinaten ein.
      *
-     * @param g      Das {@link Graphics Grafik-Objekt}, mit dem die Wendepunkte eingezeichnet werden sollen.
-     * @param yAxisX Die x-Koordinate der y-Achse.
-     * @param xAxisY Die y-Koordinate der x-Achse.
+     * @param g Das {@link Graphics Grafik-Objekt}, mit dem die Wendepunkte eingezeichnet werden sollen.
      */
     private void drawTurningPoints(
-        @NotNull final Graphics g,
-        @Range(from = 0, to = Integer.MAX_VALUE) final int yAxisX,
-        @Range(from = 0, to = Integer.MAX_VALUE) final int xAxisY
+        @NotNull final Graphics g
     ) {
         // get turning points
-        final Map<Double, Double> turningPoints = this.functionHandler.getTurningPoints();
+        final Map<Double, Double> turningPoints = getPoints(DrawLayer.TURNING_POINTS);
 
         // draw turning points
         for (@NotNull final Map.Entry<Double, Double> turningPoint : turningPoints.entrySet()) {
-            drawPoint(new Point(turningPoint.getKey(), turningPoint.getValue()), g, yAxisX, xAxisY);
+            drawPoint(new Point(turningPoint.getKey(), turningPoint.getValue()), g);
         }
     }
 
     /**
      * Zeichnet alle Sattelpunkte der Funktion mit ihren Koordinaten ein.
      *
-     * @param g      Das {@link Graphics Grafik-Objekt}, mit dem die Sattelpunkte eingezeichnet werden sollen.
-     * @param yAxisX Die x-Koordinate der y-Achse.
-     * @param xAxisY Die y-Koordinate der x-Achse.
+     * @param g Das {@link Graphics Grafik-Objekt}, mit dem die Sattelpunkte eingezeichnet werden sollen.
      */
     private void drawSaddlePoints(
-        @NotNull final Graphics g,
-        @Range(from = 0, to = Integer.MAX_VALUE) final int yAxisX,
-        @Range(from = 0, to = Integer.MAX_VALUE) final int xAxisY
+        @NotNull final Graphics g
     ) {
         // get turning points
-        final Map<Double, Double> saddlePoints = this.functionHandler.getSaddlePoints();
+        final Map<Double, Double> saddlePoints = getPoints(DrawLayer.SADDLE_POINTS);
 
         // draw turning points
         for (@NotNull final Map.Entry<Double, Double> saddlePoint : saddlePoints.entrySet()) {
-            drawPoint(new Point(saddlePoint.getKey(), saddlePoint.getValue()), g, yAxisX, xAxisY);
+            drawPoint(new Point(saddlePoint.getKey(), saddlePoint.getValue()), g);
+        }
+    }
+
+    /**
+     * Zeichnet alle Schnittpunkte der Funktionen mit ihren Koordinaten ein.
+     *
+     * @param g Das {@link Graphics Grafik-Objekt}, mit dem die Schnittpunkte eingezeichnet werden sollen.
+     */
+    private void drawIntersections(
+        @NotNull final Graphics g
+    ) {
+        // draw intersections
+        for (@NotNull final Map.Entry<Double, Double> intersection : getPoints(DrawLayer.INTERSECTIONS).entrySet()) {
+            drawPoint(new Point(intersection.getKey(), intersection.getValue()), g);
+        }
+    }
+
+    /**
+     * Gibt die zuletzt übernommenen Punkte einer {@link DrawLayer Ebene} zurück.
+     *
+     * @param layer Die {@link DrawLayer Ebene}, deren Punkte zurückgegeben werden sollen.
+     *
+     * @return Die Punkte der Ebene, wobei jedem x-Wert sein Funktionswert zugeordnet ist.
+     */
+    @NotNull
+    private Map<Double, Double> getPoints(@NotNull final DrawLayer layer) {
+        return this.points.getOrDefault(layer, Collections.emptyMap());
+    }
+
+    /**
+     * Gibt alle Nullstellen, Extremstellen, Wendepunkte und Sattelpunkte eines {@link FunctionHandler} zurück, wobei
+     * die Berechnung vor jeder Art von Punkten sowie während des Abtastens und Verfeinerns abgebrochen wird, sobald
+     * {@code cancelled} dies verlangt.
+     *
+     * @param handler   Der {@link FunctionHandler}, dessen besondere Punkte berechnet werden.
+     * @param cancelled Der Zustand, ob die Berechnung abgebrochen werden soll.
+     *
+     * @return Alle besonderen Punkte, zugeordnet zu der {@link DrawLayer Ebene}, auf der sie liegen.
+     *
+     * @throws CancellationException Wird geworfen, wenn die Berechnung abgebrochen wurde.
+     */
+    @NotNull
+    private static Map<DrawLayer, Map<Double, Double>> getSpecialPoints(
+        @NotNull final FunctionHandler handler,
+        @NotNull final BooleanSupplier cancelled
+    ) {
+        final Map<DrawLayer, Map<Double, Double>> points = new EnumMap<>(DrawLayer.class);
+
+        SamplingHandler.checkCancelled(cancelled);
+        points.put(DrawLayer.ROOTS, handler.getRoots(cancelled));
+        SamplingHandler.checkCancelled(cancelled);
+        points.put(DrawLayer.EXTREMES, handler.getExtremes(cancelled));
+        SamplingHandler.checkCancelled(cancelled);
+        points.put(DrawLayer.TURNING_POINTS, handler.getTurningPoints(cancelled));
+        SamplingHandler.checkCancelled(cancelled);
+        points.put(DrawLayer.SADDLE_POINTS, handler.getSaddlePoints(cancelled));
+        return points;
+    }
+
+    /**
+     * Gibt alle Schnittpunkte zwischen je zwei Funktionen zurück, die in dem Bereich bestimmter Funktionswerte liegen.
+     * Die Schnittpunkte werden dabei mithilfe der gemeinsamen x-Werte aller Funktionen eingegrenzt und anschließend
+     * mit dem {@link RootHandler} verfeinert.
+     *
+     * @param compiledFunction Die Funktion, die gezeichnet wird.
+     * @param values           Die Funktionswerte der Funktion.
+     * @param additionalValues Die Funktionswerte aller weiteren Funktionen an den x-Werten von {@code values}.
+     * @param cancelled        Der Zustand, ob die Berechnung abgebrochen werden soll.
+     *
+     * @return Alle Schnittpunkte, wobei jedem x-Wert sein Funktionswert zugeordnet ist.
+     *
+     * @throws CancellationException Wird geworfen, wenn die Berechnung abgebrochen wurde.
+     */
+    @NotNull
+    private Map<Double, Double> getIntersections(
+        @NotNull final CompiledFunction compiledFunction,
+        @NotNull final SampledFunction values,
+        @NotNull final List<SampledFunction> additionalValues,
+        @NotNull final BooleanSupplier cancelled
+    ) {
+        final Map<Double, Double> intersections = new HashMap<>();
+        final List<CompiledFunction> functions = new ArrayList<>();
+        final List<SampledFunction> functionValues = new ArrayList<>();
+
+        functions.add(compiledFunction);
+        functionValues.add(values);
+        functions.addAll(this.additionalFunctions);
+        functionValues.addAll(additionalValues);
+
+        for (int i = 0; i < functions.size(); i++) {
+            for (int j = i + 1; j < functions.size(); j++) {
+                // identical functions intersect everywhere
+                if (functions.get(i).getFunction().equals(functions.get(j).getFunction())) continue;
+
+                SamplingHandler.checkCancelled(cancelled);
+                intersections.putAll(RootHandler.getIntersections(
+                    functions.get(i),
+                    functionValues.get(i),
+                    functions.get(j),
+                    functionValues.get(j)
+                ));
+            }
+        }
+
+        return Collections.unmodifiableMap(intersections);
+    }
+
+    /**
+     * Zeichnet alle weiteren Funktionen in ihren jeweiligen Farben ein und beschriftet diese mit ihrem Namen und ihrer
+     * Funktionsgleichung.
+     *
+     * @param g Das {@link Graphics Grafik-Objekt}, mit dem die weiteren Funktionen eingezeichnet werden sollen.
+     */
+    private void drawAdditionalFunctions(
+        @NotNull final Graphics g
+    ) {
+        final int amount = Math.min(this.additionalFunctions.size(), this.additionalValues.size());
+
+        for (int i = 0; i < amount; i++) {
+            g.setColor(ADDITIONAL_FUNCTION_COLORS[i % ADDITIONAL_FUNCTION_COLORS.length]);
+            drawFunction(g, this.additionalValues.get(i));
+
+            // display function above the derivations
+            g.setFont(DEFAULT_FONT.deriveFont(14F));
+            g.drawString(
+                getAdditionalFunctionName(i) + "(x) = " + this.additionalFunctions.get(i).getFunction(),
+                20,
+                super.getHeight() - 15 - 20 * (DERIVATION_AMOUNT + amount - 1 - i)
+            );
         }
     }
 
     /**
      * Zeichnet, falls eine Tangentengleichung vorhanden ist, die Tangente ein.
      *
-     * @param g      Das {@link Graphics Grafik-Objekt}, mit dem die Tangente eingezeichnet werden soll.
-     * @param yAxisX Die x-Koordinate der y-Achse.
-     * @param xAxisY Die y-Koordinate der x-Achse.
+     * @param g Das {@link Graphics Grafik-Objekt}, mit dem die Tangente eingezeichnet werden soll.
      */
     private void drawTangent(
-        @NotNull final Graphics g,
-        @Range(from = 0, to = Integer.MAX_VALUE) final int yAxisX,
-        @Range(from = 0, to = Integer.MAX_VALUE) final int xAxisY
+        @NotNull final Graphics g
     ) {
-        if (this.tangentFunction == null) return;
+        if (this.tangentFunction == null || this.compiledTangentFunction == null) return;
 
-        final NavigableMap<Double, Double> tangentValues = new TreeMap<>();
+        final int size = PLOT_WIDTH + 1;
+        final double[] xValues = new double[size];
+        final double[] yValues = new double[size];
 
         // calculate and save tangent values
-        for (double i = -this.scaleX; i < this.scaleX; i = Math.round((i + 0.001) * 1000D) / 1000D) {
-            tangentValues.put(i, FunctionHandler.eval(this.tangentFunction.replaceAll("x", "(" + i + ")")));
+        for (int i = 0; i < size; i++) {
+            xValues[i] = getXMin() + (getXMax() - getXMin()) * i / PLOT_WIDTH;
         }
 
+        this.compiledTangentFunction.evaluate(xValues, yValues);
+
         // draw tangent
-        drawFunction(g, tangentValues, yAxisX, xAxisY);
+        drawFunction(g, new SampledFunction(xValues, yValues, size));
 
         // display function
         g.setColor(Color.WHITE);
@@ -525,47 +1229,67 @@ public final class DrawFunction extends JLabel {
     }
 
     /**
-     * Zeichnet eine Funktion mithilfe von beliebig vielen Funktionswerten.
+     * Zeichnet eine Funktion mithilfe von beliebig vielen Funktionswerten. Jeder zusammenhängende Abschnitt der
+     * Funktion wird dabei als eine einzige {@link Polyline} gezeichnet.
      *
      * @param g              Das {@link Graphics Grafik-Objekt}, mit dem die Funktion eingezeichnet werden soll.
      * @param functionValues Alle Funktionswerte, die genutzt werden sollen, um die Funktion zu zeichnen.
-     * @param yAxisX         Die x-Koordinate der y-Achse.
-     * @param xAxisY         Die y-Koordinate der x-Achse.
      */
     private void drawFunction(
         @NotNull final Graphics g,
-        @NotNull final NavigableMap<Double, Double> functionValues,
-        @Range(from = 0, to = Integer.MAX_VALUE) final int yAxisX,
-        @Range(from = 0, to = Integer.MAX_VALUE) final int xAxisY
+        @NotNull final SampledFunction functionValues
     ) {
-        for (@NotNull final Map.Entry<Double, Double> functionValue : functionValues.entrySet()) {
-            if (functionValue.getValue().isNaN()) continue;
+        final Polyline polyline = new Polyline(functionValues.getSize());
 
-            // get current values
-            final double x = functionValue.getKey();
-            final double y = functionValue.getValue();
+        for (int i = 0; i < functionValues.getSize(); i++) {
+            // skip undefined values
+            if (!functionValues.isDefined(i)) continue;
 
-            // check if next entry is preset
-            if (functionValues.higherEntry(x) == null) break;
+            // add current value
+            polyline.add(
+                getValueX(functionValues.getX(i)),
+                getValueY(functionValues.getY(i))
+            );
+
+            // check if next entry is connected, poles are already marked as gaps
+            if (functionValues.isConnected(i)) continue;
 
-            // get next entry
-            final Map.Entry<Double, Double> nextEntry = functionValues.higherEntry(x);
+            // draw connected section
+            polyline.draw(g);
+        }
+    }
+
+    /**
+     * Gibt den Namen einer weiteren Funktion zurück. Die weiteren Funktionen werden dabei - beginnend bei {@code g} -
+     * in alphabetischer Reihenfolge benannt; sind alle Buchstaben vergeben, wird die Funktion {@code f} mit ihrer
+     * Nummer benannt.
+     *
+     * @param index Der Index der weiteren Funktion.
+     *
+     * @return Der Name der weiteren Funktion.
+     */
+    @NotNull
+    private static String getAdditionalFunctionName(@Range(from = 0, to = Integer.MAX_VALUE) final int index) {
+        if (index <= 'z' - 'g') return String.valueOf((char) ('g' + index));
 
-            // get next values
-            final double nextX = nextEntry.getKey();
-            final double nextY = nextEntry.getValue();
+        return "f" + (index + 2);
+    }
 
-            // skip (+ to -) or (- to +)
-            if ((y > 0 && nextY < 0) || (y < 0 && nextY > 0)) continue;
+    /**
+     * Formatiert eine Beschriftung des Koordinatensystems, sodass sie genau so viele Nachkommastellen besitzt, wie für
+     * den Abstand zwischen den Beschriftungen benötigt werden.
+     *
+     * @param value Der Wert der Beschriftung.
+     * @param step  Der Abstand zwischen den einzelnen Beschriftungen.
+     *
+     * @return Die formatierte Beschriftung.
+     */
+    @NotNull
+    private static String formatLabel(final double value, final double step) {
+        final int decimals = Math.min(15, Math.max(1, (int) Math.ceil(-Math.log10(step)) + 1));
+        final double factor = Math.pow(10, decimals);
 
-            // draw line
-            g.drawLine(
-                getValueX(x) + (yAxisX - X_MARGIN),
-                getValueY(y) - (xAxisY - Y_MARGIN),
-                getValueX(nextX) + (yAxisX - X_MARGIN),
-                getValueY(nextY) - (xAxisY - Y_MARGIN)
-            );
-        }
+        return String.valueOf(Math.round(value * factor) / factor);
     }
 
     //<editor-fold desc="implementation">
@@ -575,5 +1299,42 @@ public final class DrawFunction extends JLabel {
 
         drawGraphics(g);
     }
+
+    @Override
+    public void removeNotify() {
+        // cancel the analysis once this object is no longer displayed
+        this.settleTimer.stop();
+        this.analysisVersion++;
+
+        super.removeNotify();
+    }
     //</editor-fold>
+
+
+    /**
+     * Eine {@link Analysis} beinhaltet alle Inhalte eines sichtbaren Bereichs, die im Hintergrund berechnet und
+     * anschließend gemeinsam übernommen werden.
+     */
+    @Getter
+    @NotNull
+    @RequiredArgsConstructor
+    private static final class Analysis {
+
+        //<editor-fold desc="LOCAL FIELDS">
+        /** Der {@link FunctionHandler} des analysierten Bereichs. */
+        @NotNull
+        private final FunctionHandler functionHandler;
+        /** Die Ableitungen der Funktion, berechnet an den x-Werten der Funktionswerte. */
+        @NotNull
+        private final List<Derivation> derivations;
+        /** Die Funktionswerte aller weiteren Funktionen, berechnet an den x-Werten der Funktionswerte. */
+        @NotNull
+        private final List<SampledFunction> additionalValues;
+        /** Alle besonderen Punkte und Schnittpunkte, zugeordnet zu der Ebene, auf der sie liegen. */
+        @NotNull
+        private final Map<DrawLayer, Map<Double, Double>> points;
+        //</editor-fold>
+
+    }
+
 }
@@ -0,0 +1,154 @@
+package de.jonas.graphingcalculator.object;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Range;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Eine {@link LatencyStatistics} sammelt die Antwortzeiten eines Endpunkts des
+ * {@link de.jonas.graphingcalculator.handler.ServerHandler}. Die Antwortzeiten werden nicht einzeln gespeichert,
+ * sondern in ein Histogramm einsortiert, dessen Bereiche mit jeder Zweierpotenz in {@value SUB_BUCKETS} gleich große
+ * Abschnitte geteilt werden. Dadurch bleibt der Speicher konstant und jedes Perzentil wird auf etwa 12,5 % genau
+ * angegeben. Alle Methoden können von mehreren Threads gleichzeitig genutzt werden.
+ */
+@NotNull
+public final class LatencyStatistics {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Die Anzahl an Bits, mit denen eine Zweierpotenz in Abschnitte geteilt wird. */
+    private static final int SUB_BUCKET_BITS = 3;
+    /** Die Anzahl an Abschnitten je Zweierpotenz. */
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    //</editor-fold>
+
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Die Anzahl an Antwortzeiten in jedem Abschnitt des Histogramms. */
+    @NotNull
+    private final AtomicLongArray buckets = new AtomicLongArray(Long.SIZE * SUB_BUCKETS);
+    /** Die Anzahl an gesammelten Antwortzeiten. */
+    @NotNull
+    private final LongAdder count = new LongAdder();
+    /** Die Summe aller gesammelten Antwortzeiten in Nanosekunden. */
+    @NotNull
+    private final LongAdder totalNanos = new LongAdder();
+    /** Die längste gesammelte Antwortzeit in Nanosekunden. */
+    @NotNull
+    private final AtomicLong maxNanos = new AtomicLong();
+    //</editor-fold>
+
+
+    /**
+     * Fügt eine Antwortzeit zu dieser Statistik hinzu.
+     *
+     * @param nanos Die Antwortzeit in Nanosekunden.
+     */
+    public void record(@Range(from = 0, to = Long.MAX_VALUE) final long nanos) {
+        final long value = Math.max(0, nanos);
+
+        this.buckets.incrementAndGet(getBucket(value));
+        this.count.increment();
+        this.totalNanos.add(value);
+        this.maxNanos.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Gibt die Anzahl an gesammelten Antwortzeiten zurück.
+     *
+     * @return Die Anzahl an gesammelten Antwortzeiten.
+     */
+    @Range(from = 0, to = Long.MAX_VALUE)
+    public long getCount() {
+        return this.count.sum();
+    }
+
+    /**
+     * Gibt die durchschnittliche Antwortzeit zurück.
+     *
+     * @return Die durchschnittliche Antwortzeit in Nanosekunden; 0, wenn noch keine Antwortzeit gesammelt wurde.
+     */
+    public double getMeanNanos() {
+        final long count = getCount();
+
+        return count == 0 ? 0 : (double) this.totalNanos.sum() / count;
+    }
+
+    /**
+     * Gibt die längste gesammelte Antwortzeit zurück.
+     *
+     * @return Die längste gesammelte Antwortzeit in Nanosekunden.
+     */
+    @Range(from = 0, to = Long.MAX_VALUE)
+    public long getMaxNanos() {
+        return this.maxNanos.get();
+    }
+
+    /**
+     * Gibt die Antwortzeit zurück, die von einem bestimmten Anteil aller gesammelten Antwortzeiten nicht überschritten
+     * wird. Es wird dabei die obere Grenze des Abschnitts im Histogramm zurückgegeben, in dem dieses Perzentil liegt.
+     *
+     * @param percentile Der Anteil zwischen 0 und 1, z.B. 0.99 für das 99. Perzentil.
+     *
+     * @return Die Antwortzeit des Perzentils in Nanosekunden; 0, wenn noch keine Antwortzeit gesammelt wurde.
+     */
+    @Range(from = 0, to = Long.MAX_VALUE)
+    public long getPercentileNanos(final double percentile) {
+        long total = 0;
+
+        for (int i = 0; i < this.buckets.length(); i++) {
+            total += this.buckets.get(i);
+        }
+
+        if (total == 0) return 0;
+
+        final long target = Math.max(1, (long) Math.ceil(percentile * total));
+        long seen = 0;
+
+        for (int i = 0; i < this.buckets.length(); i++) {
+            seen += this.buckets.get(i);
+
+            if (seen >= target) return Math.min(getUpperBound(i), getMaxNanos());
+        }
+
+        return getMaxNanos();
+    }
+
+    /**
+     * Gibt den Index des Abschnitts im Histogramm zurück, in den eine Antwortzeit einsortiert wird.
+     *
+     * @param nanos Die Antwortzeit in Nanosekunden.
+     *
+     * @return Der Index des Abschnitts.
+     */
+    @Range(from = 0, to = Long.SIZE * SUB_BUCKETS - 1)
+    private static int getBucket(@Range(from = 0, to = Long.MAX_VALUE) final long nanos) {
+        if (nanos < SUB_BUCKETS) return (int) nanos;
+
+        final int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(nanos) - SUB_BUCKET_BITS;
+
+        return (shift + 1) * SUB_BUCKETS + (int) (nanos >>> shift) - SUB_BUCKETS;
+    }
+
+    /**
+     * Gibt die größte Antwortzeit zurück, die in einen bestimmten Abschnitt des Histogramms einsortiert wird.
+     *
+     * @param bucket Der Index des Abschnitts.
+     *
+     * @return Die größte Antwortzeit des Abschnitts in Nanosekunden.
+     */
+    @Range(from = 0, to = Long.MAX_VALUE)
+    private static long getUpperBound(@Range(from = 0, to = Long.SIZE * SUB_BUCKETS - 1) final int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+
+        final int shift = bucket / SUB_BUCKETS - 1;
+        final long subBucket = bucket % SUB_BUCKETS + SUB_BUCKETS;
+
+        if (shift >= Long.SIZE - SUB_BUCKET_BITS - 2) return Long.MAX_VALUE;
+
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+}
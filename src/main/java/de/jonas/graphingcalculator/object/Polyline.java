@@ -0,0 +1,144 @@
+package de.jonas.graphingcalculator.object;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Range;
+
+import java.awt.Graphics;
+
+/**
+ * Eine {@link Polyline} sammelt die Punkte eines zusammenhängenden Abschnitts einer Funktion in Pixel-Koordinaten und
+ * zeichnet diese mit einem einzigen Aufruf von {@link Graphics#drawPolyline(int[], int[], int)}. Alle Punkte, die in
+ * dieselbe Pixel-Spalte fallen, werden dabei auf den ersten, den kleinsten, den größten und den letzten Punkt dieser
+ * Spalte reduziert, wodurch das Ergebnis Pixel für Pixel dem Verbinden aller einzelnen Punkte entspricht.
+ */
+@NotNull
+public final class Polyline {
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Alle x-Koordinaten der bereits reduzierten Punkte. */
+    @NotNull
+    private final int[] xPoints;
+    /** Alle y-Koordinaten der bereits reduzierten Punkte. */
+    @NotNull
+    private final int[] yPoints;
+    /** Die Anzahl an bereits reduzierten Punkten. */
+    private int pointAmount;
+    /** Die Anzahl an Punkten, die seit dem letzten Zeichnen hinzugefügt wurden. */
+    private int addedAmount;
+    /** Die x-Koordinate der aktuellen Pixel-Spalte. */
+    private int column;
+    /** Die y-Koordinate des ersten Punktes der aktuellen Pixel-Spalte. */
+    private int firstY;
+    /** Die kleinste y-Koordinate der aktuellen Pixel-Spalte. */
+    private int minY;
+    /** Die größte y-Koordinate der aktuellen Pixel-Spalte. */
+    private int maxY;
+    /** Die y-Koordinate des letzten Punktes der aktuellen Pixel-Spalte. */
+    private int lastY;
+    /** Der Zustand, ob die kleinste y-Koordinate der aktuellen Pixel-Spalte vor der größten erreicht wurde. */
+    private boolean minFirst;
+    //</editor-fold>
+
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Erzeugt eine neue und vollständig unabhängige Instanz einer {@link Polyline}. Eine {@link Polyline} sammelt die
+     * Punkte eines zusammenhängenden Abschnitts einer Funktion in Pixel-Koordinaten und zeichnet diese mit einem
+     * einzigen Aufruf.
+     *
+     * @param capacity Die maximale Anzahl an Punkten, die zwischen zwei Aufrufen von {@link #draw(Graphics)}
+     *                 hinzugefügt werden.
+     */
+    public Polyline(@Range(from = 0, to = Integer.MAX_VALUE) final int capacity) {
+        this.xPoints = new int[capacity];
+        this.yPoints = new int[capacity];
+    }
+    //</editor-fold>
+
+
+    /**
+     * Fügt einen weiteren Punkt an das Ende dieser {@link Polyline} an. Liegt der Punkt in derselben Pixel-Spalte wie
+     * der vorherige Punkt, wird er mit diesem zusammengefasst.
+     *
+     * @param x Die x-Koordinate des Punktes in Pixeln.
+     * @param y Die y-Koordinate des Punktes in Pixeln.
+     */
+    public void add(final int x, final int y) {
+        if (this.addedAmount > 0 && x == this.column) {
+            if (y < this.minY) {
+                this.minY = y;
+                this.minFirst = false;
+            }
+
+            if (y > this.maxY) {
+                this.maxY = y;
+                this.minFirst = true;
+            }
+
+            this.lastY = y;
+            this.addedAmount++;
+            return;
+        }
+
+        if (this.addedAmount > 0) flushColumn();
+
+        this.column = x;
+        this.firstY = y;
+        this.minY = y;
+        this.maxY = y;
+        this.lastY = y;
+        this.minFirst = true;
+        this.addedAmount++;
+    }
+
+    /**
+     * Zeichnet alle Punkte, die seit dem letzten Zeichnen hinzugefügt wurden, als zusammenhängenden Linienzug und
+     * beginnt anschließend einen neuen Linienzug. Ein einzelner Punkt wird - wie eine einzelne Linie ohne Länge - nicht
+     * gezeichnet.
+     *
+     * @param g Das {@link Graphics Grafik-Objekt}, mit dem der Linienzug gezeichnet werden soll.
+     */
+    public void draw(@NotNull final Graphics g) {
+        if (this.addedAmount > 0) flushColumn();
+
+        if (this.addedAmount > 1) {
+            if (this.pointAmount == 1) {
+                g.drawLine(this.xPoints[0], this.yPoints[0], this.xPoints[0], this.yPoints[0]);
+            } else {
+                g.drawPolyline(this.xPoints, this.yPoints, this.pointAmount);
+            }
+        }
+
+        this.pointAmount = 0;
+        this.addedAmount = 0;
+    }
+
+    /**
+     * Übernimmt den ersten, den kleinsten, den größten und den letzten Punkt der aktuellen Pixel-Spalte in der
+     * Reihenfolge, in der sie hinzugefügt wurden, in die reduzierten Punkte.
+     */
+    private void flushColumn() {
+        addPoint(this.firstY);
+        addPoint(this.minFirst ? this.minY : this.maxY);
+        addPoint(this.minFirst ? this.maxY : this.minY);
+        addPoint(this.lastY);
+    }
+
+    /**
+     * Fügt einen Punkt der aktuellen Pixel-Spalte zu den reduzierten Punkten hinzu, sofern er sich von dem zuletzt
+     * hinzugefügten Punkt unterscheidet.
+     *
+     * @param y Die y-Koordinate des Punktes in Pixeln.
+     */
+    private void addPoint(final int y) {
+        final int last = this.pointAmount - 1;
+
+        if (last >= 0 && this.xPoints[last] == this.column && this.yPoints[last] == y) return;
+
+        this.xPoints[this.pointAmount] = this.column;
+        this.yPoints[this.pointAmount] = y;
+        this.pointAmount++;
+    }
+
+}
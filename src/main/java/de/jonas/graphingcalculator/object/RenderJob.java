@@ -0,0 +1,81 @@
+package de.jonas.graphingcalculator.object;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Range;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Ein {@link RenderJob} beschreibt eine Funktion, die ohne grafische Oberfläche mithilfe eines {@link DrawFunction}
+ * gezeichnet und als Bild gespeichert werden soll. Neben der Funktion und der Skalierung enthält ein
+ * {@link RenderJob} alle Inhalte, die zusätzlich zu der Funktion eingezeichnet werden sollen.
+ */
+@Getter
+@Setter
+@NotNull
+public final class RenderJob {
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Die Datei, in welche das Bild der Funktion geschrieben wird; {@code null}, wenn das Bild direkt genutzt wird. */
+    @Nullable
+    private final File outputFile;
+    /** Die Funktion, die gezeichnet wird; {@code null}, solange diese noch nicht angegeben wurde. */
+    @Nullable
+    private String function;
+    /** Die Skalierung für die x-Achse. */
+    @Range(from = 1, to = Integer.MAX_VALUE)
+    private int scaleX = 10;
+    /** Die Skalierung für die y-Achse. */
+    @Range(from = 1, to = Integer.MAX_VALUE)
+    private int scaleY = 10;
+    /** Der Zustand, ob die Nullstellen eingezeichnet werden sollen oder nicht. */
+    private boolean enableRoots;
+    /** Der Zustand, ob die Extremstellen eingezeichnet werden sollen oder nicht. */
+    private boolean enableExtremes;
+    /** Der Zustand, ob die Wendepunkte eingezeichnet werden sollen oder nicht. */
+    private boolean enableTurningPoints;
+    /** Der Zustand, ob die Sattelpunkte eingezeichnet werden sollen oder nicht. */
+    private boolean enableSaddlePoints;
+    /** Der Zustand, ob die Schnittpunkte aller Funktionen eingezeichnet werden sollen oder nicht. */
+    private boolean enableIntersections;
+    /** Die Ordnungen aller Ableitungen, die eingezeichnet werden sollen. */
+    @NotNull
+    private final SortedSet<Integer> derivations = new TreeSet<>();
+    /** Die x-Werte aller Punkte, die auf der Funktion markiert werden sollen. */
+    @NotNull
+    private final List<Double> markedPoints = new ArrayList<>();
+    /** Der x-Wert, an dem eine Tangente angelegt werden soll; {@code null}, wenn keine Tangente angelegt wird. */
+    @Nullable
+    private Double tangent;
+    //</editor-fold>
+
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Erzeugt eine neue Instanz eines {@link RenderJob}, dessen Bild nicht in eine Datei geschrieben, sondern direkt
+     * genutzt wird.
+     */
+    public RenderJob() {
+        this(null);
+    }
+
+    /**
+     * Erzeugt eine neue Instanz eines {@link RenderJob}, in dem noch keine Funktion angegeben und keine zusätzlichen
+     * Inhalte eingeschaltet sind.
+     *
+     * @param outputFile Die Datei, in welche das Bild der Funktion geschrieben wird.
+     */
+    public RenderJob(@Nullable final File outputFile) {
+        this.outputFile = outputFile;
+    }
+    //</editor-fold>
+
+}
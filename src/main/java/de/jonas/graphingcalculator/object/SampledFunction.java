@@ -0,0 +1,172 @@
+package de.jonas.graphingcalculator.object;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Range;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Eine {@link SampledFunction} beinhaltet die Funktionswerte einer Funktion an aufsteigend sortierten x-Werten. Die x-
+ * und y-Werte werden dabei in zwei parallelen Arrays abgespeichert, sodass auf jeden Funktionswert und seine Nachbarn
+ * direkt über seinen Index zugegriffen werden kann. Stellen, an denen die Funktion nicht definiert ist, besitzen den
+ * y-Wert {@link Double#NaN}; zwischen zwei benachbarten Funktionswerten kann außerdem eine Lücke markiert werden, an
+ * der die Funktion nicht durchgehend gezeichnet werden soll.
+ */
+@NotNull
+public final class SampledFunction {
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Alle aufsteigend sortierten x-Werte dieser Funktionswerte. */
+    @NotNull
+    private final double[] xValues;
+    /** Alle y-Werte, die den x-Werten mit demselben Index zugeordnet sind. */
+    @NotNull
+    private final double[] yValues;
+    /** Die Anzahl an Funktionswerten. */
+    @Getter
+    @Range(from = 0, to = Integer.MAX_VALUE)
+    private final int size;
+    /** Alle Indizes, deren Funktionswert nicht mit dem nächsten Funktionswert verbunden werden soll. */
+    @NotNull
+    private final BitSet gaps = new BitSet();
+    //</editor-fold>
+
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Erzeugt eine neue Instanz einer {@link SampledFunction}, welche die ersten {@code size} Einträge der übergebenen
+     * Arrays nutzt. Die Arrays werden nicht kopiert und dürfen daher nach der Übergabe nicht mehr verändert werden.
+     *
+     * @param xValues Alle aufsteigend sortierten x-Werte.
+     * @param yValues Alle y-Werte, die den x-Werten mit demselben Index zugeordnet sind.
+     * @param size    Die Anzahl an Funktionswerten.
+     */
+    public SampledFunction(
+        @NotNull final double[] xValues,
+        @NotNull final double[] yValues,
+        @Range(from = 0, to = Integer.MAX_VALUE) final int size
+    ) {
+        if (xValues.length < size || yValues.length < size) {
+            throw new IllegalArgumentException("The arrays do not contain " + size + " values.");
+        }
+
+        this.xValues = xValues;
+        this.yValues = yValues;
+        this.size = size;
+    }
+    //</editor-fold>
+
+
+    /**
+     * Gibt den x-Wert an einem bestimmten Index zurück.
+     *
+     * @param index Der Index des Funktionswertes.
+     *
+     * @return Der x-Wert an dem Index.
+     */
+    public double getX(@Range(from = 0, to = Integer.MAX_VALUE) final int index) {
+        return this.xValues[index];
+    }
+
+    /**
+     * Gibt den y-Wert an einem bestimmten Index zurück.
+     *
+     * @param index Der Index des Funktionswertes.
+     *
+     * @return Der y-Wert an dem Index; {@link Double#NaN}, wenn die Funktion an dieser Stelle nicht definiert ist.
+     */
+    public double getY(@Range(from = 0, to = Integer.MAX_VALUE) final int index) {
+        return this.yValues[index];
+    }
+
+    /**
+     * Gibt zurück, ob die Funktion an einem bestimmten Index definiert ist, also einen endlichen y-Wert besitzt.
+     *
+     * @param index Der Index des Funktionswertes.
+     *
+     * @return Ob die Funktion an dem Index definiert ist.
+     */
+    public boolean isDefined(@Range(from = 0, to = Integer.MAX_VALUE) final int index) {
+        return Double.isFinite(this.yValues[index]);
+    }
+
+    /**
+     * Gibt zurück, ob der Funktionswert an einem bestimmten Index mit dem nächsten Funktionswert verbunden ist. Dies
+     * ist der Fall, wenn beide Funktionswerte definiert sind und zwischen ihnen keine Lücke markiert wurde.
+     *
+     * @param index Der Index des Funktionswertes.
+     *
+     * @return Ob der Funktionswert an dem Index mit dem nächsten Funktionswert verbunden ist.
+     */
+    public boolean isConnected(@Range(from = 0, to = Integer.MAX_VALUE) final int index) {
+        return index + 1 < this.size && isDefined(index) && isDefined(index + 1) && !this.gaps.get(index);
+    }
+
+    /**
+     * Markiert eine Lücke zwischen dem Funktionswert an einem bestimmten Index und dem nächsten Funktionswert.
+     *
+     * @param index Der Index des Funktionswertes, hinter dem sich die Lücke befindet.
+     */
+    public void markGap(@Range(from = 0, to = Integer.MAX_VALUE) final int index) {
+        this.gaps.set(index);
+    }
+
+    /**
+     * Gibt zurück, ob zwischen dem Funktionswert an einem bestimmten Index und dem nächsten Funktionswert eine Lücke
+     * markiert wurde.
+     *
+     * @param index Der Index des Funktionswertes.
+     *
+     * @return Ob hinter dem Funktionswert an dem Index eine Lücke markiert wurde.
+     */
+    public boolean isGap(@Range(from = 0, to = Integer.MAX_VALUE) final int index) {
+        return this.gaps.get(index);
+    }
+
+    /**
+     * Gibt den Index des größten x-Wertes zurück, der kleiner als ein bestimmter x-Wert ist.
+     *
+     * @param x Der x-Wert, dessen Vorgänger gesucht wird.
+     *
+     * @return Der Index des größten x-Wertes, der kleiner als der x-Wert ist; -1, wenn es keinen solchen x-Wert gibt.
+     */
+    public int lowerIndex(final double x) {
+        final int index = Arrays.binarySearch(this.xValues, 0, this.size, x);
+
+        return (index >= 0 ? index : -index - 1) - 1;
+    }
+
+    /**
+     * Gibt den Index des kleinsten x-Wertes zurück, der größer als ein bestimmter x-Wert ist.
+     *
+     * @param x Der x-Wert, dessen Nachfolger gesucht wird.
+     *
+     * @return Der Index des kleinsten x-Wertes, der größer als der x-Wert ist; -1, wenn es keinen solchen x-Wert gibt.
+     */
+    public int higherIndex(final double x) {
+        final int index = Arrays.binarySearch(this.xValues, 0, this.size, x);
+        final int higherIndex = index >= 0 ? index + 1 : -index - 1;
+
+        return higherIndex < this.size ? higherIndex : -1;
+    }
+
+    /**
+     * Erzeugt eine neue {@link SampledFunction} mit denselben x-Werten und Lücken, aber anderen y-Werten. Die x-Werte
+     * werden dabei nicht kopiert, sondern von beiden Instanzen gemeinsam genutzt.
+     *
+     * @param yValues Die y-Werte der neuen Funktionswerte.
+     *
+     * @return Eine neue {@link SampledFunction} mit denselben x-Werten, aber anderen y-Werten.
+     */
+    @NotNull
+    public SampledFunction withYValues(@NotNull final double[] yValues) {
+        final SampledFunction function = new SampledFunction(this.xValues, yValues, this.size);
+
+        function.gaps.or(this.gaps);
+        return function;
+    }
+
+}
@@ -0,0 +1,539 @@
+package de.jonas.graphingcalculator.object;
+
+import de.jonas.graphingcalculator.expression.CompiledFunction;
+import de.jonas.graphingcalculator.handler.CacheHandler;
+import de.jonas.graphingcalculator.handler.SamplingHandler;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Range;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntConsumer;
+
+/**
+ * Ein {@link TileCache} speichert die Funktionswerte einer Funktion in Kacheln, also in gleich breiten Abschnitten der
+ * x-Achse, die auf mehreren Auflösungsstufen berechnet werden. Auf der Stufe {@code n} besitzt jede Pixel-Spalte einer
+ * Kachel die Breite {@code 2^-n}, sodass beim Verschieben eines Bereichs alle bereits berechneten Kacheln
+ * wiederverwendet werden und nur die neu sichtbaren Kacheln berechnet werden müssen. Fehlt beim Vergrößern oder
+ * Verkleinern eine Kachel, wird vorübergehend eine Kachel der nächstgelegenen bereits berechneten Stufe genutzt und
+ * die fehlende Kachel im Hintergrund berechnet.
+ */
+@NotNull
+public final class TileCache {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Die Anzahl an Pixel-Spalten, die eine Kachel umfasst. */
+    private static final int TILE_COLUMNS = 128;
+    /** Die maximale Anzahl an Funktionswerten, die für eine Kachel berechnet werden. */
+    private static final int TILE_MAX_SAMPLES = TILE_COLUMNS * 16;
+    /** Die maximale Anzahl an Kacheln, die gleichzeitig zwischengespeichert werden. */
+    private static final int MAX_TILES = 512;
+    /** Der größte Abstand zwischen zwei Stufen, deren Kacheln vorübergehend füreinander genutzt werden. */
+    private static final int MAX_LEVEL_DISTANCE = 4;
+    /** Die kleinste und größte Stufe, auf der Kacheln berechnet werden. */
+    private static final int MAX_LEVEL = 1000;
+    //</editor-fold>
+
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Die Funktion, deren Funktionswerte berechnet werden. */
+    @NotNull
+    private final CompiledFunction function;
+    /** Das Verhältnis zwischen der Höhe und der Breite eines Pixels in Einheiten der Funktion. */
+    private final double yPerX;
+    /** Alle bereits berechneten Kacheln, wobei die am längsten nicht genutzten Kacheln zuerst entfernt werden. */
+    @NotNull
+    private final Map<TileKey, SampledFunction> tiles = Collections.synchronizedMap(
+        new LinkedHashMap<TileKey, SampledFunction>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(@NotNull final Map.Entry<TileKey, SampledFunction> eldest) {
+                return size() > MAX_TILES;
+            }
+        }
+    );
+    /** Alle Kacheln, die gerade im Hintergrund berechnet werden. */
+    @NotNull
+    private final Set<TileKey> pendingTiles = ConcurrentHashMap.newKeySet();
+    /** Der Listener, der aufgerufen wird, sobald eine Kachel im Hintergrund berechnet wurde. */
+    @Setter
+    @Nullable
+    private volatile Runnable refinementListener;
+    //</editor-fold>
+
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Erzeugt eine neue und vollständig unabhängige Instanz eines {@link TileCache}, welcher die Funktionswerte genau
+     * einer Funktion in Kacheln zwischenspeichert.
+     *
+     * @param function Die Funktion, deren Funktionswerte berechnet werden.
+     * @param yPerX    Das Verhältnis zwischen der Höhe und der Breite eines Pixels in Einheiten der Funktion. Da beim
+     *                 Vergrößern und Verkleinern beide Achsen gleichermaßen skaliert werden, bleibt dieses Verhältnis
+     *                 unverändert.
+     */
+    public TileCache(@NotNull final CompiledFunction function, final double yPerX) {
+        this.function = function;
+        this.yPerX = yPerX;
+    }
+    //</editor-fold>
+
+
+    /**
+     * Berechnet alle Kacheln, die zum Zeichnen eines bestimmten Bereichs benötigt werden und noch nicht
+     * zwischengespeichert wurden. Alle Kacheln werden dabei direkt und nicht im Hintergrund berechnet. Ist der
+     * {@link CacheHandler} eingeschaltet, werden die Kacheln des Bereichs zuvor aus diesem gelesen bzw. nach dem
+     * Berechnen in diesen geschrieben, sodass derselbe Bereich beim nächsten Start nicht erneut berechnet wird. Vor
+     * jeder Kachel wird geprüft, ob die Berechnung abgebrochen werden soll; bereits berechnete Kacheln bleiben dabei
+     * erhalten.
+     *
+     * @param xMin             Der kleinste x-Wert des Bereichs.
+     * @param xMax             Der größte x-Wert des Bereichs.
+     * @param columns          Die Anzahl an Pixel-Spalten, auf die der Bereich gezeichnet wird.
+     * @param progressListener Der Listener, dem nach jeder berechneten Kachel der Fortschritt in Prozent übergeben
+     *                         wird.
+     * @param cancelled        Der Zustand, ob die Berechnung abgebrochen werden soll. Dieser muss von mehreren
+     *                         Threads gleichzeitig abgefragt werden können.
+     *
+     * @throws CancellationException Wird geworfen, wenn die Berechnung abgebrochen wurde.
+     */
+    public void prepare(
+        final double xMin,
+        final double xMax,
+        @Range(from = 1, to = Integer.MAX_VALUE) final int columns,
+        @NotNull final IntConsumer progressListener,
+        @NotNull final BooleanSupplier cancelled
+    ) {
+        final int level = getLevel(xMin, xMax, columns);
+        final long fromIndex = getTileIndex(level, xMin);
+        final long toIndex = getTileIndex(level, xMax);
+        final String cacheKey = "tiles|" + this.function.getFunction() + '|' + this.yPerX + '|' + level + '|'
+            + fromIndex + '|' + toIndex;
+        boolean calculated = false;
+
+        for (long index = fromIndex; index <= toIndex; index++) {
+            final TileKey key = new TileKey(level, index);
+
+            SamplingHandler.checkCancelled(cancelled);
+
+            if (!this.tiles.containsKey(key)) {
+                // all tiles of this range are read at once, as soon as the first one is missing
+                if (!calculated && readTiles(cacheKey, level, fromIndex, toIndex)) break;
+
+                this.tiles.put(key, calculate(key, cancelled));
+                calculated = true;
+            }
+
+            progressListener.accept((int) (100 * (index - fromIndex + 1) / (toIndex - fromIndex + 1)));
+        }
+
+        if (calculated) writeTiles(cacheKey, level, fromIndex, toIndex);
+
+        progressListener.accept(100);
+    }
+
+    /**
+     * Gibt alle Funktionswerte zurück, die zum Zeichnen eines bestimmten Bereichs benötigt werden. Dabei wird die
+     * gröbste Stufe gewählt, deren Pixel-Spalten höchstens so breit wie die Pixel-Spalten des Bereichs sind. Fehlende
+     * Kacheln werden - sofern eine Kachel einer nahegelegenen Stufe existiert - im Hintergrund berechnet, ansonsten
+     * direkt.
+     *
+     * @param xMin    Der kleinste x-Wert des Bereichs.
+     * @param xMax    Der größte x-Wert des Bereichs.
+     * @param columns Die Anzahl an Pixel-Spalten, auf die der Bereich gezeichnet wird.
+     *
+     * @return Alle Funktionswerte, die zum Zeichnen des Bereichs benötigt werden.
+     */
+    @NotNull
+    public SampledFunction getValues(
+        final double xMin,
+        final double xMax,
+        @Range(from = 1, to = Integer.MAX_VALUE) final int columns
+    ) {
+        final int level = getLevel(xMin, xMax, columns);
+        final long fromIndex = getTileIndex(level, xMin);
+        final long toIndex = getTileIndex(level, xMax);
+        final List<SampledFunction> parts = new ArrayList<>();
+
+        for (long index = fromIndex; index <= toIndex; index++) {
+            parts.add(getTile(level, index));
+        }
+
+        return clip(merge(parts), xMin, xMax);
+    }
+
+    /**
+     * Gibt eine bestimmte Kachel zurück. Wurde die Kachel noch nicht berechnet, wird - falls vorhanden - vorübergehend
+     * eine Kachel einer nahegelegenen Stufe zurückgegeben und die Kachel im Hintergrund berechnet.
+     *
+     * @param level Die Stufe der Kachel.
+     * @param index Der Index der Kachel auf ihrer Stufe.
+     *
+     * @return Die Funktionswerte der Kachel.
+     */
+    @NotNull
+    private SampledFunction getTile(final int level, final long index) {
+        final TileKey key = new TileKey(level, index);
+        final SampledFunction tile = this.tiles.get(key);
+
+        if (tile != null) return tile;
+
+        final SampledFunction placeholder = getPlaceholder(level, index);
+
+        if (placeholder != null) {
+            calculateInBackground(key);
+            return placeholder;
+        }
+
+        final SampledFunction calculatedTile = calculate(key, SamplingHandler.NEVER_CANCELLED);
+        this.tiles.put(key, calculatedTile);
+
+        return calculatedTile;
+    }
+
+    /**
+     * Gibt die Funktionswerte einer Kachel aus bereits berechneten Kacheln der nächstgelegenen Stufe zurück. Eine
+     * gröbere Stufe wird dabei auf den Bereich der Kachel zugeschnitten, von einer feineren Stufe müssen alle Kacheln
+     * im Bereich der Kachel vorhanden sein.
+     *
+     * @param level Die Stufe der Kachel.
+     * @param index Der Index der Kachel auf ihrer Stufe.
+     *
+     * @return Die Funktionswerte der Kachel; {@code null}, wenn keine passenden Kacheln vorhanden sind.
+     */
+    @Nullable
+    private SampledFunction getPlaceholder(final int level, final long index) {
+        final double tileStart = getTileStart(level, index);
+        final double tileEnd = getTileStart(level, index + 1);
+
+        for (int distance = 1; distance <= MAX_LEVEL_DISTANCE; distance++) {
+            // try coarser level
+            final SampledFunction coarseTile = this.tiles.get(
+                new TileKey(level - distance, Math.floorDiv(index, 1L << distance))
+            );
+
+            if (coarseTile != null) return clip(coarseTile, tileStart, tileEnd);
+
+            // try finer level
+            final List<SampledFunction> fineTiles = new ArrayList<>();
+
+            for (long fineIndex = index << distance; fineIndex < (index + 1) << distance; fineIndex++) {
+                final SampledFunction fineTile = this.tiles.get(new TileKey(level + distance, fineIndex));
+
+                if (fineTile == null) break;
+
+                fineTiles.add(fineTile);
+            }
+
+            if (fineTiles.size() == 1 << distance) return merge(fineTiles);
+        }
+
+        return null;
+    }
+
+    /**
+     * Berechnet eine Kachel im Hintergrund, sofern sie nicht bereits im Hintergrund berechnet wird, und benachrichtigt
+     * anschließend den {@code refinementListener}.
+     *
+     * @param key Der Schlüssel der Kachel.
+     */
+    private void calculateInBackground(@NotNull final TileKey key) {
+        if (!this.pendingTiles.add(key)) return;
+
+        SamplingHandler.getPool().execute(() -> {
+            try {
+                this.tiles.put(key, calculate(key, SamplingHandler.NEVER_CANCELLED));
+            } finally {
+                this.pendingTiles.remove(key);
+            }
+
+            final Runnable listener = this.refinementListener;
+
+            if (listener != null) listener.run();
+        });
+    }
+
+    /**
+     * Liest alle Kacheln eines Bereichs einer Stufe aus dem {@link CacheHandler} und übernimmt diese.
+     *
+     * @param cacheKey  Der Schlüssel des Bereichs im {@link CacheHandler}.
+     * @param level     Die Stufe der Kacheln.
+     * @param fromIndex Der Index der ersten Kachel.
+     * @param toIndex   Der Index der letzten Kachel.
+     *
+     * @return Ob alle Kacheln gelesen und übernommen wurden.
+     */
+    private boolean readTiles(
+        @NotNull final String cacheKey,
+        final int level,
+        final long fromIndex,
+        final long toIndex
+    ) {
+        final double[][] arrays = CacheHandler.read(cacheKey);
+
+        if (arrays == null || arrays.length != 3 * (toIndex - fromIndex + 1)) return false;
+
+        final List<SampledFunction> cachedTiles = new ArrayList<>();
+
+        for (int i = 0; i < arrays.length; i += 3) {
+            final double[] xValues = arrays[i];
+            final double[] yValues = arrays[i + 1];
+
+            if (xValues.length != yValues.length) return false;
+
+            final SampledFunction tile = new SampledFunction(xValues, yValues, xValues.length);
+
+            for (final double gap : arrays[i + 2]) {
+                if (!(gap >= 0 && gap < xValues.length)) return false;
+
+                tile.markGap((int) gap);
+            }
+
+            cachedTiles.add(tile);
+        }
+
+        for (int i = 0; i < cachedTiles.size(); i++) {
+            this.tiles.put(new TileKey(level, fromIndex + i), cachedTiles.get(i));
+        }
+
+        return true;
+    }
+
+    /**
+     * Schreibt alle Kacheln eines Bereichs einer Stufe in den {@link CacheHandler}, wobei jede Kachel aus ihren x-
+     * und y-Werten sowie den Indizes ihrer Lücken besteht.
+     *
+     * @param cacheKey  Der Schlüssel des Bereichs im {@link CacheHandler}.
+     * @param level     Die Stufe der Kacheln.
+     * @param fromIndex Der Index der ersten Kachel.
+     * @param toIndex   Der Index der letzten Kachel.
+     */
+    private void writeTiles(
+        @NotNull final String cacheKey,
+        final int level,
+        final long fromIndex,
+        final long toIndex
+    ) {
+        if (!CacheHandler.isEnabled()) return;
+
+        final double[][] arrays = new double[(int) (3 * (toIndex - fromIndex + 1))][];
+
+        for (long index = fromIndex; index <= toIndex; index++) {
+            final SampledFunction tile = this.tiles.get(new TileKey(level, index));
+
+            if (tile == null) return;
+
+            final int offset = (int) (3 * (index - fromIndex));
+            final double[] xValues = new double[tile.getSize()];
+            final double[] yValues = new double[tile.getSize()];
+            final double[] gaps = new double[tile.getSize()];
+            int gapCount = 0;
+
+            for (int i = 0; i < tile.getSize(); i++) {
+                xValues[i] = tile.getX(i);
+                yValues[i] = tile.getY(i);
+
+                if (tile.isGap(i)) gaps[gapCount++] = i;
+            }
+
+            arrays[offset] = xValues;
+            arrays[offset + 1] = yValues;
+            arrays[offset + 2] = Arrays.copyOf(gaps, gapCount);
+        }
+
+        CacheHandler.write(cacheKey, arrays);
+    }
+
+    /**
+     * Berechnet die Funktionswerte einer Kachel. Dabei wird mit einem Funktionswert pro Pixel-Spalte begonnen und
+     * dort weiter unterteilt, wo die Abweichung in y-Richtung einen halben Pixel übersteigt. An möglichen Polstellen
+     * werden dabei Lücken markiert.
+     *
+     * @param key       Der Schlüssel der Kachel.
+     * @param cancelled Der Zustand, ob die Berechnung abgebrochen werden soll.
+     *
+     * @return Die Funktionswerte der Kachel.
+     *
+     * @throws CancellationException Wird geworfen, wenn die Berechnung abgebrochen wurde.
+     */
+    @NotNull
+    private SampledFunction calculate(@NotNull final TileKey key, @NotNull final BooleanSupplier cancelled) {
+        return SamplingHandler.getAdaptiveValues(
+            this.function,
+            getTileStart(key.level, key.index),
+            getTileStart(key.level, key.index + 1),
+            TILE_COLUMNS,
+            getColumnWidth(key.level) * this.yPerX / 2,
+            TILE_MAX_SAMPLES,
+            cancelled
+        );
+    }
+
+    //<editor-fold desc="utility">
+
+    /**
+     * Gibt die Stufe zurück, deren Pixel-Spalten höchstens so breit wie die Pixel-Spalten eines Bereichs sind.
+     *
+     * @param xMin    Der kleinste x-Wert des Bereichs.
+     * @param xMax    Der größte x-Wert des Bereichs.
+     * @param columns Die Anzahl an Pixel-Spalten, auf die der Bereich gezeichnet wird.
+     *
+     * @return Die Stufe, deren Pixel-Spalten höchstens so breit wie die Pixel-Spalten des Bereichs sind.
+     */
+    private static int getLevel(
+        final double xMin,
+        final double xMax,
+        @Range(from = 1, to = Integer.MAX_VALUE) final int columns
+    ) {
+        final double level = Math.ceil(-Math.log((xMax - xMin) / columns) / Math.log(2));
+
+        return (int) Math.max(-MAX_LEVEL, Math.min(MAX_LEVEL, level));
+    }
+
+    /**
+     * Gibt die Breite einer Pixel-Spalte auf einer bestimmten Stufe zurück.
+     *
+     * @param level Die Stufe.
+     *
+     * @return Die Breite einer Pixel-Spalte auf der Stufe.
+     */
+    private static double getColumnWidth(final int level) {
+        return Math.scalb(1D, -level);
+    }
+
+    /**
+     * Gibt den x-Wert zurück, an dem eine bestimmte Kachel beginnt.
+     *
+     * @param level Die Stufe der Kachel.
+     * @param index Der Index der Kachel auf ihrer Stufe.
+     *
+     * @return Der x-Wert, an dem die Kachel beginnt.
+     */
+    private static double getTileStart(final int level, final long index) {
+        return index * TILE_COLUMNS * getColumnWidth(level);
+    }
+
+    /**
+     * Gibt den Index der Kachel zurück, in der ein bestimmter x-Wert auf einer bestimmten Stufe liegt.
+     *
+     * @param level Die Stufe.
+     * @param x     Der x-Wert.
+     *
+     * @return Der Index der Kachel, in der der x-Wert liegt.
+     */
+    private static long getTileIndex(final int level, final double x) {
+        return (long) Math.floor(x / (TILE_COLUMNS * getColumnWidth(level)));
+    }
+
+    /**
+     * Gibt alle Funktionswerte zurück, deren x-Werte in einem bestimmten Bereich liegen.
+     *
+     * @param function Die Funktionswerte, die zugeschnitten werden.
+     * @param xMin     Der kleinste x-Wert des Bereichs.
+     * @param xMax     Der größte x-Wert des Bereichs.
+     *
+     * @return Alle Funktionswerte, deren x-Werte in dem Bereich liegen.
+     */
+    @NotNull
+    private static SampledFunction clip(
+        @NotNull final SampledFunction function,
+        final double xMin,
+        final double xMax
+    ) {
+        final int fromIndex = function.lowerIndex(xMin) + 1;
+        final int higherIndex = function.higherIndex(xMax);
+        final int toIndex = higherIndex < 0 ? function.getSize() : higherIndex;
+        final int size = Math.max(0, toIndex - fromIndex);
+
+        final double[] xValues = new double[size];
+        final double[] yValues = new double[size];
+        final SampledFunction clippedFunction = new SampledFunction(xValues, yValues, size);
+
+        for (int i = 0; i < size; i++) {
+            xValues[i] = function.getX(fromIndex + i);
+            yValues[i] = function.getY(fromIndex + i);
+
+            if (function.isGap(fromIndex + i)) clippedFunction.markGap(i);
+        }
+
+        return clippedFunction;
+    }
+
+    /**
+     * Fügt die Funktionswerte mehrerer aufeinanderfolgender Abschnitte zusammen. Stimmt der erste x-Wert eines
+     * Abschnitts mit dem letzten x-Wert des vorherigen Abschnitts überein, wird er nur einmal übernommen.
+     *
+     * @param parts Die Funktionswerte aller Abschnitte in aufsteigender Reihenfolge.
+     *
+     * @return Die zusammengefügten Funktionswerte.
+     */
+    @NotNull
+    private static SampledFunction merge(@NotNull final List<SampledFunction> parts) {
+        int capacity = 0;
+
+        for (@NotNull final SampledFunction part : parts) {
+            capacity += part.getSize();
+        }
+
+        final double[] xValues = new double[capacity];
+        final double[] yValues = new double[capacity];
+        final SampledFunction mergedFunction = new SampledFunction(xValues, yValues, capacity);
+
+        int size = 0;
+
+        for (@NotNull final SampledFunction part : parts) {
+            for (int i = 0; i < part.getSize(); i++) {
+                // skip values that are not behind the last value
+                if (size > 0 && part.getX(i) <= xValues[size - 1]) continue;
+
+                xValues[size] = part.getX(i);
+                yValues[size] = part.getY(i);
+
+                if (part.isGap(i)) mergedFunction.markGap(size);
+
+                size++;
+            }
+        }
+
+        if (size == capacity) return mergedFunction;
+
+        final SampledFunction trimmedFunction = new SampledFunction(xValues, yValues, size);
+
+        for (int i = 0; i < size; i++) {
+            if (mergedFunction.isGap(i)) trimmedFunction.markGap(i);
+        }
+
+        return trimmedFunction;
+    }
+    //</editor-fold>
+
+
+    /**
+     * Ein {@link TileKey} identifiziert eine Kachel eindeutig über ihre Stufe und ihren Index auf dieser Stufe.
+     */
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static final class TileKey {
+
+        //<editor-fold desc="LOCAL FIELDS">
+        /** Die Stufe der Kachel. */
+        private final int level;
+        /** Der Index der Kachel auf ihrer Stufe. */
+        private final long index;
+        //</editor-fold>
+
+    }
+
+}
@@ -0,0 +1,149 @@
+package de.jonas.graphingcalculator.object;
+
+import de.jonas.graphingcalculator.expression.CompiledFunction;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Range;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Eine {@link ValueTable} stellt die Zeilen einer Wertetabelle bereit, also die Funktionswerte einer Funktion an
+ * x-Werten mit fester Schrittweite. Die Funktionswerte werden nicht vorab, sondern erst beim ersten Zugriff in Blöcken
+ * aus aufeinanderfolgenden Zeilen berechnet und zwischengespeichert. Da nur eine feste Anzahl an Blöcken
+ * zwischengespeichert wird, bleibt der benötigte Speicher unabhängig von der Anzahl an Zeilen gleich.
+ */
+@NotNull
+public final class ValueTable {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Die Anzahl an Zeilen, deren Funktionswerte gemeinsam berechnet werden. */
+    private static final int BLOCK_ROWS = 256;
+    /** Die maximale Anzahl an Blöcken, die gleichzeitig zwischengespeichert werden. */
+    private static final int MAX_BLOCKS = 64;
+    //</editor-fold>
+
+
+    //<editor-fold desc="LOCAL FIELDS">
+    /** Die Funktion, deren Funktionswerte in der Wertetabelle stehen. */
+    @Getter
+    @NotNull
+    private final CompiledFunction function;
+    /** Der x-Wert der ersten Zeile. */
+    @Getter
+    private final double xMin;
+    /** Die Schrittweite zwischen den x-Werten zweier aufeinanderfolgender Zeilen. */
+    @Getter
+    private final double increment;
+    /** Die Anzahl an Zeilen der Wertetabelle. */
+    @Getter
+    @Range(from = 0, to = Integer.MAX_VALUE)
+    private final int rowAmount;
+    /** Alle bereits berechneten Blöcke, wobei die am längsten nicht genutzten Blöcke zuerst entfernt werden. */
+    @NotNull
+    private final Map<Integer, double[]> blocks = new LinkedHashMap<Integer, double[]>(16, 0.75F, true) {
+        @Override
+        protected boolean removeEldestEntry(@NotNull final Map.Entry<Integer, double[]> eldest) {
+            return size() > MAX_BLOCKS;
+        }
+    };
+    //</editor-fold>
+
+
+    //<editor-fold desc="CONSTRUCTORS">
+
+    /**
+     * Erzeugt eine neue Instanz einer {@link ValueTable}. Dabei wird noch kein Funktionswert berechnet.
+     *
+     * @param function  Die Funktion, deren Funktionswerte in der Wertetabelle stehen.
+     * @param xMin      Der x-Wert der ersten Zeile.
+     * @param increment Die Schrittweite zwischen den x-Werten zweier aufeinanderfolgender Zeilen.
+     * @param rowAmount Die Anzahl an Zeilen der Wertetabelle.
+     */
+    public ValueTable(
+        @NotNull final CompiledFunction function,
+        final double xMin,
+        final double increment,
+        @Range(from = 0, to = Integer.MAX_VALUE) final int rowAmount
+    ) {
+        this.function = function;
+        this.xMin = xMin;
+        this.increment = increment;
+        this.rowAmount = rowAmount;
+    }
+    //</editor-fold>
+
+
+    /**
+     * Gibt den x-Wert einer bestimmten Zeile zurück.
+     *
+     * @param row Der Index der Zeile.
+     *
+     * @return Der x-Wert der Zeile.
+     */
+    public double getX(@Range(from = 0, to = Integer.MAX_VALUE) final int row) {
+        return this.xMin + row * this.increment;
+    }
+
+    /**
+     * Gibt den Funktionswert einer bestimmten Zeile zurück. Wurde der Block, in dem sich die Zeile befindet, noch
+     * nicht berechnet oder bereits wieder verworfen, wird der gesamte Block berechnet.
+     *
+     * @param row Der Index der Zeile.
+     *
+     * @return Der Funktionswert der Zeile; {@link Double#NaN}, wenn die Funktion an dieser Stelle nicht definiert ist.
+     */
+    public double getY(@Range(from = 0, to = Integer.MAX_VALUE) final int row) {
+        if (row < 0 || row >= this.rowAmount) throw new IndexOutOfBoundsException("Row: " + row);
+
+        return getBlock(row / BLOCK_ROWS)[row % BLOCK_ROWS];
+    }
+
+    /**
+     * Gibt den Index der Zeile zurück, deren x-Wert am nächsten an einem bestimmten x-Wert liegt. Liegt der x-Wert
+     * außerhalb der Wertetabelle, wird die erste bzw. letzte Zeile zurückgegeben.
+     *
+     * @param x Der x-Wert.
+     *
+     * @return Der Index der Zeile, deren x-Wert am nächsten an dem x-Wert liegt.
+     */
+    @Range(from = 0, to = Integer.MAX_VALUE)
+    public int getRow(final double x) {
+        final double row = Math.rint((x - this.xMin) / this.increment);
+
+        if (!(row > 0)) return 0;
+
+        return (int) Math.min(row, Math.max(0, this.rowAmount - 1));
+    }
+
+    /**
+     * Gibt die Funktionswerte eines bestimmten Blocks zurück und berechnet diese, sofern sie noch nicht
+     * zwischengespeichert sind.
+     *
+     * @param block Der Index des Blocks.
+     *
+     * @return Die Funktionswerte aller Zeilen des Blocks.
+     */
+    @NotNull
+    private double[] getBlock(@Range(from = 0, to = Integer.MAX_VALUE) final int block) {
+        final double[] cachedValues = this.blocks.get(block);
+
+        if (cachedValues != null) return cachedValues;
+
+        final int firstRow = block * BLOCK_ROWS;
+        final int size = Math.min(BLOCK_ROWS, this.rowAmount - firstRow);
+        final double[] xValues = new double[size];
+        final double[] yValues = new double[size];
+
+        for (int i = 0; i < size; i++) {
+            xValues[i] = getX(firstRow + i);
+        }
+
+        this.function.evaluate(xValues, yValues);
+        this.blocks.put(block, yValues);
+
+        return yValues;
+    }
+
+}
@@ -0,0 +1,111 @@
+package de.jonas.graphingcalculator.handler;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Prüft, ob ein {@link FunctionHandler} genau die erwarteten Nullstellen, Extremstellen, Wende- und Sattelpunkte
+ * findet. Dazu gehören auch Nullstellen, an denen die Funktion die x-Achse nur berührt, Sattelpunkte, die nicht im
+ * Ursprung liegen, und Funktionen, deren zweite Ableitung exakt 0 ist, aber mit Rundungsfehlern ausgerechnet wird.
+ * Jede Prüfung wird für mehrere Skalierungen der Achsen durchgeführt.
+ */
+@NotNull
+final class FunctionHandlerTest {
+
+    //<editor-fold desc="CONSTANTS">
+    /** Die größte Abweichung eines berechneten Punktes von dem erwarteten Punkt. */
+    private static final double TOLERANCE = 1E-10;
+    //</editor-fold>
+
+
+    /**
+     * Prüft, ob alle Nullstellen gefunden werden, auch wenn die Funktion die x-Achse nur berührt.
+     *
+     * @param scaling Die Skalierung der x- und y-Achse.
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {10, 100})
+    void roots(final int scaling) {
+        assertPoints("x^4-5x^2+4", scaling, FunctionHandler::getRoots, -2, -1, 1, 2);
+        assertPoints("(x-1)^2", scaling, FunctionHandler::getRoots, 1);
+        assertPoints("x^4-2x^2+1", scaling, FunctionHandler::getRoots, -1, 1);
+        assertPoints("1000000(x-1)^2", scaling, FunctionHandler::getRoots, 1);
+    }
+
+    /**
+     * Prüft, ob ein Sattelpunkt - auch wenn er nicht im Ursprung liegt - nicht als Extremstelle erkannt wird und eine
+     * flache Extremstelle keinen Sattelpunkt besitzt.
+     *
+     * @param scaling Die Skalierung der x- und y-Achse.
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {10, 100})
+    void saddlePoints(final int scaling) {
+        assertPoints("(x-1)^3", scaling, FunctionHandler::getExtremes);
+        assertPoints("(x-1)^3", scaling, FunctionHandler::getSaddlePoints, 1);
+        assertPoints("x^3-3x^2+3x", scaling, FunctionHandler::getExtremes);
+        assertPoints("x^3-3x^2+3x", scaling, FunctionHandler::getSaddlePoints, 1);
+        assertPoints("(x-2)^3", scaling, FunctionHandler::getExtremes);
+        assertPoints("(x-2)^3", scaling, FunctionHandler::getSaddlePoints, 2);
+        assertPoints("(x+0.5)^3", scaling, FunctionHandler::getExtremes);
+        assertPoints("(x+0.5)^3", scaling, FunctionHandler::getSaddlePoints, -0.5);
+
+        // a flat extremum has no saddle point
+        assertPoints("(x-1)^4", scaling, FunctionHandler::getExtremes, 1);
+        assertPoints("(x-1)^4", scaling, FunctionHandler::getSaddlePoints);
+    }
+
+    /**
+     * Prüft, ob Wendepunkte gefunden werden und eine zweite Ableitung, die exakt 0 ist, keine Wendepunkte ergibt.
+     *
+     * @param scaling Die Skalierung der x- und y-Achse.
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {10, 100})
+    void turningPoints(final int scaling) {
+        assertPoints("x^3-2x+1", scaling, FunctionHandler::getTurningPoints, 0);
+        assertPoints("x^5-x^3", scaling, FunctionHandler::getTurningPoints, -Math.sqrt(0.3), Math.sqrt(0.3));
+
+        // the second derivative of these functions is 0 wherever it is defined
+        assertPoints("(x^2-1)/(x-1)", scaling, FunctionHandler::getTurningPoints);
+        assertPoints("(x^2-4)/(x+2)", scaling, FunctionHandler::getTurningPoints);
+        assertPoints("sqrt(x^2)", scaling, FunctionHandler::getTurningPoints);
+    }
+
+    //<editor-fold desc="utility">
+
+    /**
+     * Prüft, ob die berechneten Punkte einer Funktion genau den erwarteten Punkten entsprechen, also ob jeder
+     * erwartete Punkt gefunden wird und kein weiterer Punkt berechnet wurde.
+     *
+     * @param function Die Funktion, deren Punkte geprüft werden.
+     * @param scaling  Die Skalierung der x- und y-Achse.
+     * @param type     Die Art der Punkte, welche mithilfe eines neuen {@link FunctionHandler} berechnet werden.
+     * @param expected Die x-Werte der erwarteten Punkte.
+     */
+    private static void assertPoints(
+        @NotNull final String function,
+        final int scaling,
+        @NotNull final Function<FunctionHandler, Map<Double, Double>> type,
+        @NotNull final double... expected
+    ) {
+        final Set<Double> points = type.apply(new FunctionHandler(function, scaling, scaling)).keySet();
+        boolean matches = points.size() == expected.length;
+
+        for (final double expectedPoint : expected) {
+            matches &= points.stream().anyMatch(point -> Math.abs(point - expectedPoint) <= TOLERANCE);
+        }
+
+        assertTrue(matches, () -> function + ": " + points + " statt " + Arrays.toString(expected));
+    }
+    //</editor-fold>
+
+}